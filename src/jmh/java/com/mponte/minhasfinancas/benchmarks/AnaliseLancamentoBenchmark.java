@@ -0,0 +1,93 @@
+package com.mponte.minhasfinancas.benchmarks;
+
+import com.mponte.minhasfinancas.model.dtos.AnaliseLancamentosDTO;
+import com.mponte.minhasfinancas.model.dtos.LancamentoDTO;
+import com.mponte.minhasfinancas.model.entities.Lancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.services.interfaces.AnaliseLancamentoService;
+import com.mponte.minhasfinancas.services.interfaces.LancamentoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class AnaliseLancamentoBenchmark {
+    @Param({"1000000"})
+    private int quantidade;
+
+    @Param({"256MB", "16MB"})
+    private String memoria;
+
+    private ConfigurableApplicationContext contexto;
+    private AnaliseLancamentoService analiseLancamentoService;
+    private LancamentoService lancamentoService;
+    private TransactionTemplate leitura;
+    private LancamentoDTO[] filtros;
+    private int proximo;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        System.setProperty("financas.analise.instantaneo.memoria", memoria);
+        contexto = BaseDeDados.iniciar("analise" + quantidade);
+        BaseDeDados.popular(contexto, quantidade);
+        analiseLancamentoService = contexto.getBean(AnaliseLancamentoService.class);
+        lancamentoService = contexto.getBean(LancamentoService.class);
+        leitura = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        leitura.setReadOnly(true);
+        filtros = new LancamentoDTO[BaseDeDados.USUARIOS];
+        for (int i = 0; i < filtros.length; i++) {
+            filtros[i] = LancamentoDTO.builder()
+                    .usuario(i + 1L)
+                    .ano(BaseDeDados.ANO_INICIAL + i % BaseDeDados.ANOS)
+                    .tipo("DESPESA")
+                    .build();
+            analiseLancamentoService.analisar(filtros[i], 5);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public AnaliseLancamentosDTO instantaneo() {
+        proximo = (proximo + 1) % filtros.length;
+        return analiseLancamentoService.analisar(filtros[proximo], 5);
+    }
+
+    @Benchmark
+    public List<Map.Entry<String, BigDecimal>> jpa() {
+        proximo = (proximo + 1) % filtros.length;
+        LancamentoDTO filtro = filtros[proximo];
+        return leitura.execute(status -> {
+            Map<String, BigDecimal> porDescricao = new HashMap<>();
+            BigDecimal despesas = BigDecimal.ZERO;
+            for (Lancamento lancamento : lancamentoService.buscar(filtro)) {
+                if (lancamento.getTipo() == TipoLancamento.DESPESA) {
+                    despesas = despesas.add(lancamento.getValor());
+                }
+                porDescricao.merge(lancamento.getDescricao(), lancamento.getValor(), BigDecimal::add);
+            }
+            porDescricao.put("", despesas);
+            return porDescricao.entrySet().stream()
+                    .sorted(Map.Entry.<String, BigDecimal>comparingByValue(Comparator.reverseOrder()))
+                    .limit(6)
+                    .collect(Collectors.toList());
+        });
+    }
+}
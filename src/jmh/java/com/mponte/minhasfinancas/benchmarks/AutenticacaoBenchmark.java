@@ -0,0 +1,54 @@
+package com.mponte.minhasfinancas.benchmarks;
+
+import com.mponte.minhasfinancas.model.entities.Usuario;
+import com.mponte.minhasfinancas.repositories.UsuarioRepository;
+import com.mponte.minhasfinancas.services.interfaces.TokenService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class AutenticacaoBenchmark {
+    private ConfigurableApplicationContext contexto;
+    private UsuarioRepository usuarioRepository;
+    private TokenService tokenService;
+    private String[] tokens;
+    private int proximo;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = BaseDeDados.iniciar("autenticacao");
+        BaseDeDados.popular(contexto, 0);
+        usuarioRepository = contexto.getBean(UsuarioRepository.class);
+        tokenService = contexto.getBean(TokenService.class);
+        tokens = new String[BaseDeDados.USUARIOS];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = tokenService.emitir(Usuario.builder().id((long) i + 1).build()).getToken();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public boolean credenciaisPorRequisicao() {
+        proximo = (proximo + 1) % BaseDeDados.USUARIOS;
+        return usuarioRepository.findByEmail("usuario" + (proximo + 1) + "@email.com")
+                .filter(usuario -> usuario.getSenha().equals("senha"))
+                .isPresent();
+    }
+
+    @Benchmark
+    public Long tokenPorRequisicao() {
+        proximo = (proximo + 1) % BaseDeDados.USUARIOS;
+        return tokenService.verificar(tokens[proximo]);
+    }
+}
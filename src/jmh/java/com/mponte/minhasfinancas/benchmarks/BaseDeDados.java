@@ -0,0 +1,74 @@
+package com.mponte.minhasfinancas.benchmarks;
+
+import com.mponte.minhasfinancas.MinhasfinancasApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class BaseDeDados {
+    static final int USUARIOS = 100;
+    static final int ANO_INICIAL = 2015;
+    static final int ANOS = 10;
+    static final int LOTE_CARGA = 100_000;
+    static final String[] DESCRICOES = {"Aluguel", "Mercado", "Salario", "Energia", "Internet", "Farmacia", "Academia", "Restaurante"};
+
+    private BaseDeDados() {
+    }
+
+    static ConfigurableApplicationContext iniciar(String nome) {
+        return iniciarComUrl("jdbc:h2:mem:" + nome + ";DB_CLOSE_DELAY=-1", WebApplicationType.NONE);
+    }
+
+    static ConfigurableApplicationContext iniciarEmArquivo(String nome) {
+        return iniciarComUrl("jdbc:h2:file:./target/jmh/" + nome, WebApplicationType.NONE);
+    }
+
+    static ConfigurableApplicationContext iniciarServidor(String nome, String... argumentos) {
+        return iniciarComUrl("jdbc:h2:mem:" + nome + ";DB_CLOSE_DELAY=-1", WebApplicationType.SERVLET, argumentos);
+    }
+
+    private static ConfigurableApplicationContext iniciarComUrl(String url, WebApplicationType tipo, String... argumentos) {
+        List<String> parametros = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + url + ";INIT=CREATE SCHEMA IF NOT EXISTS financas",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.h2.console.enabled=false",
+                "--logging.level.root=WARN"));
+        parametros.addAll(List.of(argumentos));
+        return new SpringApplicationBuilder(MinhasfinancasApplication.class)
+                .web(tipo)
+                .profiles("test")
+                .run(parametros.toArray(new String[0]));
+    }
+
+    static void popular(ConfigurableApplicationContext contexto, int quantidade) {
+        popular(contexto, quantidade, USUARIOS);
+    }
+
+    static void popular(ConfigurableApplicationContext contexto, int quantidade, int usuarios) {
+        JdbcTemplate jdbc = contexto.getBean(JdbcTemplate.class);
+        jdbc.update("insert into financas.usuario (id, nome, email, senha) " +
+                "select x, 'usuario ' || x, 'usuario' || x || '@email.com', 'senha' from system_range(1, ?)", usuarios);
+
+        StringBuilder descricao = new StringBuilder("case mod(x / 7, ").append(DESCRICOES.length).append(")");
+        for (int i = 0; i < DESCRICOES.length; i++) {
+            descricao.append(" when ").append(i).append(" then '").append(DESCRICOES[i]).append("'");
+        }
+        descricao.append(" end");
+
+        for (int inicio = 1; inicio <= quantidade; inicio += LOTE_CARGA) {
+            jdbc.update("insert into financas.lancamento " +
+                    "(id, descricao, descricao_normalizada, mes, ano, usuario_id, valor, data_cadastro, tipo, status) " +
+                    "select x, d, lower(d), 1 + mod(x / " + (usuarios * ANOS) + ", 12), " + ANO_INICIAL + " + mod(x / " + usuarios + ", " + ANOS + "), " +
+                    "1 + mod(x, " + usuarios + "), 1 + mod(x, 1000), current_date, " +
+                    "case mod(x / 3, 2) when 0 then 'RECEITA' else 'DESPESA' end, " +
+                    "case mod(x / 5, 3) when 0 then 'PENDENTE' when 1 then 'EFETIVADO' else 'CANCELADO' end " +
+                    "from (select x, " + descricao + " d from system_range(?, ?))", inicio, Math.min(inicio + LOTE_CARGA - 1, quantidade));
+        }
+        jdbc.execute("alter sequence financas.lancamento_seq restart with " + (quantidade + 1));
+        jdbc.execute("analyze");
+    }
+}
@@ -0,0 +1,77 @@
+package com.mponte.minhasfinancas.benchmarks;
+
+import com.mponte.minhasfinancas.model.dtos.LancamentoDTO;
+import com.mponte.minhasfinancas.model.entities.Lancamento;
+import com.mponte.minhasfinancas.services.interfaces.LancamentoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class BuscaLancamentoBenchmark {
+    public enum Filtro {
+        USUARIO,
+        USUARIO_ANO,
+        USUARIO_ANO_MES,
+        USUARIO_DESCRICAO,
+        COMPLETO;
+
+        LancamentoDTO criar(long usuario) {
+            LancamentoDTO dto = LancamentoDTO.builder().usuario(usuario).build();
+            if (this == USUARIO_ANO || this == USUARIO_ANO_MES || this == COMPLETO) {
+                dto.setAno(BaseDeDados.ANO_INICIAL + (int) (usuario % BaseDeDados.ANOS));
+            }
+            if (this == USUARIO_ANO_MES || this == COMPLETO) {
+                dto.setMes(1 + (int) (usuario % 12));
+            }
+            if (this == USUARIO_DESCRICAO || this == COMPLETO) {
+                dto.setDescricao("merc");
+            }
+            if (this == COMPLETO) {
+                dto.setTipo("DESPESA");
+                dto.setStatus("PENDENTE");
+            }
+            return dto;
+        }
+    }
+
+    @Param({"10000", "100000", "1000000"})
+    private int quantidade;
+
+    @Param({"USUARIO", "USUARIO_ANO", "USUARIO_ANO_MES", "USUARIO_DESCRICAO", "COMPLETO"})
+    private Filtro filtro;
+
+    private ConfigurableApplicationContext contexto;
+    private LancamentoService lancamentoService;
+    private LancamentoDTO[] filtros;
+    private int proximo;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = BaseDeDados.iniciar("busca" + quantidade);
+        BaseDeDados.popular(contexto, quantidade);
+        lancamentoService = contexto.getBean(LancamentoService.class);
+        filtros = new LancamentoDTO[BaseDeDados.USUARIOS];
+        for (int i = 0; i < filtros.length; i++) {
+            filtros[i] = filtro.criar(i + 1);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<Lancamento> buscar() {
+        proximo = (proximo + 1) % filtros.length;
+        return lancamentoService.buscar(filtros[proximo]);
+    }
+}
@@ -0,0 +1,125 @@
+package com.mponte.minhasfinancas.benchmarks;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+/*
+ * Processo separado usado pelo EventosUsuarioBenchmark: abre as conexões SSE com um único seletor NIO e escreve
+ * na saída padrão "recebidos encerrados" sempre que um dos totais muda. Um evento é contado a cada linha em branco.
+ * O processo termina quando a entrada padrão é fechada, inclusive se o benchmark cair sem chamar o TearDown.
+ */
+public final class ClientesEventos {
+    private static final int CONEXOES_PENDENTES = 500;
+
+    private ClientesEventos() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        InetSocketAddress endereco = new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(args[0]));
+        int usuarios = Integer.parseInt(args[1]);
+        int clientes = Integer.parseInt(args[2]);
+        ByteBuffer leitura = ByteBuffer.allocateDirect(64 * 1024);
+        int abertos = 0;
+        int pendentes = 0;
+        long recebidos = 0;
+        long encerrados = 0;
+        String informado = "";
+        Thread vigia = new Thread(ClientesEventos::aguardarFimDaEntrada, "fim-da-entrada");
+        vigia.setDaemon(true);
+        vigia.start();
+
+        try (Selector seletor = Selector.open()) {
+            while (true) {
+                while (abertos < clientes && pendentes < CONEXOES_PENDENTES) {
+                    SocketChannel canal = SocketChannel.open();
+                    canal.configureBlocking(false);
+                    canal.connect(endereco);
+                    String requisicao = "GET /usuarios/" + (1 + abertos % usuarios) + "/eventos HTTP/1.0\r\n" +
+                            "Accept: text/event-stream\r\n\r\n";
+                    canal.register(seletor, SelectionKey.OP_CONNECT,
+                            new Conexao(ByteBuffer.wrap(requisicao.getBytes(StandardCharsets.US_ASCII))));
+                    abertos++;
+                    pendentes++;
+                }
+
+                seletor.select(100);
+                Iterator<SelectionKey> chaves = seletor.selectedKeys().iterator();
+                while (chaves.hasNext()) {
+                    SelectionKey chave = chaves.next();
+                    chaves.remove();
+                    SocketChannel canal = (SocketChannel) chave.channel();
+                    Conexao conexao = (Conexao) chave.attachment();
+                    try {
+                        if (chave.isConnectable()) {
+                            canal.finishConnect();
+                            chave.interestOps(SelectionKey.OP_WRITE);
+                        } else if (chave.isWritable()) {
+                            canal.write(conexao.requisicao);
+                            if (!conexao.requisicao.hasRemaining()) {
+                                chave.interestOps(SelectionKey.OP_READ);
+                            }
+                        } else if (chave.isReadable()) {
+                            leitura.clear();
+                            if (canal.read(leitura) < 0) {
+                                throw new IOException("conexão encerrada pelo servidor");
+                            }
+                            for (int i = 0; i < leitura.position(); i++) {
+                                byte atual = leitura.get(i);
+                                if (atual == '\n' && conexao.anterior == '\n') {
+                                    recebidos++;
+                                    if (!conexao.conectada) {
+                                        conexao.conectada = true;
+                                        pendentes--;
+                                    }
+                                }
+                                conexao.anterior = atual;
+                            }
+                        }
+                    } catch (IOException e) {
+                        chave.cancel();
+                        canal.close();
+                        encerrados++;
+                        if (!conexao.conectada) {
+                            pendentes--;
+                        }
+                    }
+                }
+
+                String totais = recebidos + " " + encerrados;
+                if (!totais.equals(informado)) {
+                    System.out.println(totais);
+                    System.out.flush();
+                    informado = totais;
+                }
+            }
+        }
+    }
+
+    private static void aguardarFimDaEntrada() {
+        try {
+            while (System.in.read() >= 0) {
+                continue;
+            }
+        } catch (IOException e) {
+            System.err.println("entrada padrão indisponível: " + e.getMessage());
+        }
+        System.exit(0);
+    }
+
+    private static final class Conexao {
+        private final ByteBuffer requisicao;
+        private byte anterior;
+        private boolean conectada;
+
+        private Conexao(ByteBuffer requisicao) {
+            this.requisicao = requisicao;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.mponte.minhasfinancas.benchmarks;
+
+import com.mponte.minhasfinancas.model.dtos.LancamentoDTO;
+import com.mponte.minhasfinancas.model.entities.Lancamento;
+import com.mponte.minhasfinancas.services.exceptions.RegraNegocioException;
+import com.mponte.minhasfinancas.services.impl.LancamentoServiceImp;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ConversaoLancamentoBenchmark {
+    private ConfigurableApplicationContext contexto;
+    private LancamentoServiceImp lancamentoService;
+    private LancamentoDTO dto;
+    private Lancamento valido;
+    private Lancamento invalido;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = BaseDeDados.iniciar("conversao");
+        BaseDeDados.popular(contexto, 0);
+        lancamentoService = contexto.getBean(LancamentoServiceImp.class);
+        dto = LancamentoDTO.builder()
+                .descricao("Mercado")
+                .mes(3)
+                .ano(2021)
+                .usuario(1L)
+                .valor(BigDecimal.valueOf(150))
+                .tipo("DESPESA")
+                .status("PENDENTE")
+                .build();
+        valido = lancamentoService.converterDTO(dto);
+        invalido = lancamentoService.converterDTO(dto);
+        invalido.setValor(BigDecimal.ZERO);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Lancamento converterDTO() {
+        return lancamentoService.converterDTO(dto);
+    }
+
+    @Benchmark
+    public Lancamento validar() {
+        lancamentoService.validar(valido);
+        return valido;
+    }
+
+    @Benchmark
+    public String validarInvalido() {
+        try {
+            lancamentoService.validar(invalido);
+            return null;
+        } catch (RegraNegocioException e) {
+            return e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.mponte.minhasfinancas.benchmarks;
+
+import com.mponte.minhasfinancas.model.valores.Dinheiro;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DinheiroBenchmark {
+    @Param({"1000000"})
+    private int quantidade;
+
+    private BigDecimal[] valores;
+    private long[] centavos;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        Random aleatorio = new Random(42);
+        valores = new BigDecimal[quantidade];
+        centavos = new long[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            valores[i] = BigDecimal.valueOf(aleatorio.nextInt(10_000_000), 2);
+            centavos[i] = Dinheiro.centavos(valores[i]);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal somarBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal valor : valores) {
+            total = total.add(valor);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal somarCentavos() {
+        long total = 0;
+        for (long valor : centavos) {
+            total = Dinheiro.somar(total, valor);
+        }
+        return Dinheiro.paraBigDecimal(total);
+    }
+
+    @Benchmark
+    public BigDecimal converterESomarCentavos() {
+        long total = 0;
+        for (BigDecimal valor : valores) {
+            total = Dinheiro.somar(total, Dinheiro.centavos(valor));
+        }
+        return Dinheiro.paraBigDecimal(total);
+    }
+}
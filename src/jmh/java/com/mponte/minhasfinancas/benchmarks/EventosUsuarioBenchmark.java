@@ -0,0 +1,108 @@
+package com.mponte.minhasfinancas.benchmarks;
+
+import com.mponte.minhasfinancas.model.dtos.LancamentoDTO;
+import com.mponte.minhasfinancas.services.interfaces.LancamentoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * Teste de carga das notificações: CLIENTES conexões SSE reais, abertas por ClientesEventos em outro processo para
+ * que cliente e servidor não dividam o limite de descritores, distribuídas entre os usuários. Cada operação grava um
+ * lançamento e espera todos os assinantes do usuário receberem as duas notificações (saldo e lançamentos).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EventosUsuarioBenchmark {
+    private static final int CLIENTES = 10_000;
+    private static final long ESPERA_MAXIMA_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    @Param({"1", "100"})
+    private int usuarios;
+
+    private ConfigurableApplicationContext contexto;
+    private LancamentoService lancamentoService;
+    private Process clientes;
+    private volatile long recebidos;
+    private volatile long encerrados;
+    private long esperados;
+    private int operacoes;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws IOException {
+        contexto = BaseDeDados.iniciarServidor("eventos", "--server.port=0", "--server.tomcat.accept-count=1000",
+                "--financas.autenticacao.obrigatoria=false", "--financas.eventos.heartbeat=1h");
+        BaseDeDados.popular(contexto, 0, usuarios);
+        lancamentoService = contexto.getBean(LancamentoService.class);
+
+        int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+        clientes = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"), ClientesEventos.class.getName(),
+                String.valueOf(porta), String.valueOf(usuarios), String.valueOf(CLIENTES))
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        Thread leitor = new Thread(this::acompanhar, "clientes-eventos");
+        leitor.setDaemon(true);
+        leitor.start();
+
+        esperados = CLIENTES;
+        aguardar();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        clientes.destroy();
+        contexto.close();
+    }
+
+    @Benchmark
+    public long notificar() {
+        long usuario = 1 + operacoes++ % usuarios;
+        lancamentoService.salvar(LancamentoDTO.builder().usuario(usuario).descricao("Mercado")
+                .ano(LocalDate.now().getYear()).mes(LocalDate.now().getMonthValue())
+                .valor(BigDecimal.TEN).tipo("DESPESA").build());
+        esperados += 2L * (CLIENTES / usuarios);
+        aguardar();
+        return esperados;
+    }
+
+    private void aguardar() {
+        long limite = System.nanoTime() + ESPERA_MAXIMA_NANOS;
+        while (recebidos < esperados) {
+            if (encerrados > 0 || System.nanoTime() > limite) {
+                throw new IllegalStateException("esperados " + esperados + " eventos, recebidos " + recebidos
+                        + " com " + encerrados + " conexões encerradas");
+            }
+            LockSupport.parkNanos(20_000);
+        }
+    }
+
+    private void acompanhar() {
+        try (BufferedReader saida = new BufferedReader(
+                new InputStreamReader(clientes.getInputStream(), StandardCharsets.US_ASCII))) {
+            String linha;
+            while ((linha = saida.readLine()) != null) {
+                String[] totais = linha.split(" ");
+                encerrados = Long.parseLong(totais[1]);
+                recebidos = Long.parseLong(totais[0]);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.mponte.minhasfinancas.benchmarks;
+
+import com.mponte.minhasfinancas.services.exportacao.Exportacao;
+import com.mponte.minhasfinancas.services.interfaces.ExportacaoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms256m", "-Xmx256m"})
+public class ExportacaoBenchmark {
+    @Param({"1000000"})
+    private int quantidade;
+
+    @Param({"csv", "ofx"})
+    private String formato;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private ConfigurableApplicationContext contexto;
+    private ExportacaoService exportacaoService;
+    private Exportacao exportacao;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = BaseDeDados.iniciarEmArquivo("exportacao");
+        BaseDeDados.popular(contexto, quantidade, 1);
+        exportacaoService = contexto.getBean(ExportacaoService.class);
+        exportacao = exportacaoService.preparar(1L, null, formato);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public long exportar() throws IOException {
+        ContadorBytes contador = new ContadorBytes();
+        if (!gzip) {
+            exportacaoService.escrever(exportacao, contador);
+            return contador.bytes;
+        }
+        GZIPOutputStream compactado = new GZIPOutputStream(contador, 64 * 1024);
+        exportacaoService.escrever(exportacao, compactado);
+        compactado.finish();
+        return contador.bytes;
+    }
+
+    private static final class ContadorBytes extends OutputStream {
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.mponte.minhasfinancas.benchmarks;
+
+import com.mponte.minhasfinancas.model.dtos.ProjecaoSaldoDTO;
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.services.projecao.SaldosMensais;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ProjecaoSaldoBenchmark {
+    private static final int ANO_ATUAL = 2021;
+
+    @Param({"1", "10", "50"})
+    private int anosDeHistorico;
+
+    private SaldosMensais saldos;
+    private long[] recorrentes;
+    private int inicio;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        saldos = new SaldosMensais();
+        for (int ano = ANO_ATUAL - anosDeHistorico; ano <= ANO_ATUAL + 1; ano++) {
+            for (int mes = 1; mes <= 12; mes++) {
+                saldos.somar(ano, mes, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, BigDecimal.valueOf(5000));
+                saldos.somar(ano, mes, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, BigDecimal.valueOf(3200));
+                saldos.somar(ano, mes, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, BigDecimal.valueOf(450));
+            }
+        }
+        inicio = SaldosMensais.indice(ANO_ATUAL, 3);
+        recorrentes = new long[24];
+    }
+
+    @Benchmark
+    public ProjecaoSaldoDTO projetar() {
+        return saldos.projetar(1L, inicio, recorrentes);
+    }
+}
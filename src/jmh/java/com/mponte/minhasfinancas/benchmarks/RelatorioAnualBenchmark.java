@@ -0,0 +1,53 @@
+package com.mponte.minhasfinancas.benchmarks;
+
+import com.mponte.minhasfinancas.model.dtos.RelatorioAnualDTO;
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.services.relatorio.DadosRelatorio;
+import com.mponte.minhasfinancas.services.relatorio.MotorRelatorioAnual;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RelatorioAnualBenchmark {
+    @Param({"1000000"})
+    private int quantidade;
+
+    @Param({"1", "2", "4", "8"})
+    private int paralelismo;
+
+    private DadosRelatorio dados;
+    private MotorRelatorioAnual motor;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        Random aleatorio = new Random(42);
+        dados = new DadosRelatorio();
+        for (int i = 0; i < quantidade; i++) {
+            dados.adicionar(aleatorio.nextInt(12) + 1, "Descricao " + aleatorio.nextInt(2_000),
+                    BigDecimal.valueOf(aleatorio.nextInt(1_000_000), 2),
+                    aleatorio.nextInt(3) == 0 ? TipoLancamento.RECEITA : TipoLancamento.DESPESA,
+                    StatusLancamento.values()[aleatorio.nextInt(StatusLancamento.values().length)]);
+        }
+        motor = new MotorRelatorioAnual(paralelismo);
+        motor.gerar(1L, 2021, dados, 10);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        motor.close();
+    }
+
+    @Benchmark
+    public RelatorioAnualDTO gerar() {
+        return motor.gerar(1L, 2021, dados, 10);
+    }
+}
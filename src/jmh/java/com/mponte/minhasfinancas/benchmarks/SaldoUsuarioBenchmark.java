@@ -0,0 +1,54 @@
+package com.mponte.minhasfinancas.benchmarks;
+
+import com.mponte.minhasfinancas.services.interfaces.LancamentoService;
+import com.mponte.minhasfinancas.services.interfaces.SaldoUsuarioService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class SaldoUsuarioBenchmark {
+    private static final int USUARIOS_CONSOLIDADOS = BaseDeDados.USUARIOS / 2;
+
+    @Param({"10000", "100000", "1000000"})
+    private int quantidade;
+
+    private ConfigurableApplicationContext contexto;
+    private LancamentoService lancamentoService;
+    private int proximo;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = BaseDeDados.iniciar("saldo" + quantidade);
+        BaseDeDados.popular(contexto, quantidade);
+        contexto.getBean(SaldoUsuarioService.class).reconstruir();
+        contexto.getBean(JdbcTemplate.class)
+                .update("delete from financas.saldo_usuario where usuario_id > ?", USUARIOS_CONSOLIDADOS);
+        lancamentoService = contexto.getBean(LancamentoService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public BigDecimal saldoConsolidado() {
+        proximo = (proximo + 1) % USUARIOS_CONSOLIDADOS;
+        return lancamentoService.saldoUsuario((long) proximo + 1);
+    }
+
+    @Benchmark
+    public BigDecimal saldoCalculado() {
+        proximo = (proximo + 1) % USUARIOS_CONSOLIDADOS;
+        return lancamentoService.saldoUsuario((long) USUARIOS_CONSOLIDADOS + proximo + 1);
+    }
+}
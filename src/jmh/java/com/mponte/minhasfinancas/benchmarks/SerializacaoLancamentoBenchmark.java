@@ -0,0 +1,78 @@
+package com.mponte.minhasfinancas.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mponte.minhasfinancas.model.dtos.PaginaDTO;
+import com.mponte.minhasfinancas.model.dtos.PaginaLancamentosDTO;
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.model.projections.LancamentoResumo;
+import com.mponte.minhasfinancas.services.serializacao.ProjecaoLancamentos;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SerializacaoLancamentoBenchmark {
+    @Param({"10000"})
+    private int quantidade;
+
+    private ObjectMapper objectMapper;
+    private PaginaDTO<LancamentoResumo> pagina;
+    private PaginaLancamentosDTO completa;
+    private PaginaLancamentosDTO campos;
+    private PaginaLancamentosDTO colunas;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        objectMapper = new ObjectMapper().findAndRegisterModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        List<LancamentoResumo> itens = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            itens.add(LancamentoResumo.builder()
+                    .id((long) i)
+                    .descricao("Lançamento " + i)
+                    .mes(i % 12 + 1)
+                    .ano(2021)
+                    .usuario(1L)
+                    .valor(BigDecimal.valueOf(i, 2))
+                    .dataCadastro(LocalDate.of(2021, i % 12 + 1, 1))
+                    .tipo(i % 2 == 0 ? TipoLancamento.RECEITA : TipoLancamento.DESPESA)
+                    .status(StatusLancamento.PENDENTE)
+                    .build());
+        }
+        pagina = new PaginaDTO<>(itens, "proximo");
+        completa = new PaginaLancamentosDTO(pagina, ProjecaoLancamentos.de(null, null));
+        campos = new PaginaLancamentosDTO(pagina, ProjecaoLancamentos.de("id,mes,valor,tipo", null));
+        colunas = new PaginaLancamentosDTO(pagina, ProjecaoLancamentos.de("id,mes,valor,tipo", "colunas"));
+    }
+
+    @Benchmark
+    public byte[] jacksonReflexivo() throws IOException {
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public byte[] linhasCompletas() throws IOException {
+        return objectMapper.writeValueAsBytes(completa);
+    }
+
+    @Benchmark
+    public byte[] linhasComCampos() throws IOException {
+        return objectMapper.writeValueAsBytes(campos);
+    }
+
+    @Benchmark
+    public byte[] colunasComCampos() throws IOException {
+        return objectMapper.writeValueAsBytes(colunas);
+    }
+}
@@ -0,0 +1,28 @@
+package com.mponte.minhasfinancas.autenticacao;
+
+import com.mponte.minhasfinancas.services.interfaces.TokenService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Set;
+
+@Configuration
+@ConditionalOnProperty(name = "financas.autenticacao.obrigatoria", havingValue = "true", matchIfMissing = true)
+public class AutenticacaoConfig {
+
+    @Bean
+    public WebMvcConfigurer autenticacaoPorToken(TokenService tokenService,
+                                                 @Value("${financas.autenticacao.administradores:}") Set<Long> administradores) {
+        AutenticacaoInterceptor interceptor = new AutenticacaoInterceptor(tokenService, administradores);
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor).excludePathPatterns("/error");
+            }
+        };
+    }
+}
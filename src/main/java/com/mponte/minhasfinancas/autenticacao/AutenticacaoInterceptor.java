@@ -0,0 +1,93 @@
+package com.mponte.minhasfinancas.autenticacao;
+
+import com.mponte.minhasfinancas.services.exceptions.AcessoNegadoException;
+import com.mponte.minhasfinancas.services.exceptions.TokenInvalidoException;
+import com.mponte.minhasfinancas.services.interfaces.TokenService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.Set;
+
+public class AutenticacaoInterceptor implements HandlerInterceptor {
+    public static final String USUARIO_AUTENTICADO = "com.mponte.minhasfinancas.autenticacao.usuario";
+    private static final String BEARER = "Bearer ";
+    private static final String TOKEN = "token";
+
+    private final TokenService tokenService;
+    private final Set<Long> administradores;
+
+    public AutenticacaoInterceptor(TokenService tokenService, Set<Long> administradores) {
+        this.tokenService = tokenService;
+        this.administradores = administradores;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod) || ((HandlerMethod) handler).hasMethodAnnotation(Publico.class)) {
+            return true;
+        }
+        // O redespacho assíncrono de SSE e streaming chega com a resposta já iniciada; o usuário foi verificado no
+        // primeiro despacho e segue no atributo da requisição, mesmo que o token tenha expirado desde então.
+        if (request.getDispatcherType() == DispatcherType.ASYNC && request.getAttribute(USUARIO_AUTENTICADO) != null) {
+            return true;
+        }
+        HandlerMethod metodo = (HandlerMethod) handler;
+        Long usuario = metodo.hasMethodAnnotation(TokenEventos.class) && request.getHeader(HttpHeaders.AUTHORIZATION) == null
+                ? tokenService.verificarEventos(extrairTokenEventos(request))
+                : tokenService.verificar(extrairToken(request));
+        request.setAttribute(USUARIO_AUTENTICADO, usuario);
+        if (metodo.hasMethodAnnotation(Administrador.class) && !administradores.contains(usuario)) {
+            throw new AcessoNegadoException("Operação restrita a administradores.");
+        }
+        DoUsuario doUsuario = metodo.getMethodAnnotation(DoUsuario.class);
+        if (doUsuario != null) {
+            verificarUsuario(usuario, idUsuario(request, doUsuario.value()));
+        }
+        return true;
+    }
+
+    public static String extrairToken(HttpServletRequest request) {
+        String cabecalho = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (cabecalho == null || !cabecalho.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            throw new TokenInvalidoException("Informe o token de autenticação no cabeçalho Authorization.");
+        }
+        return cabecalho.substring(BEARER.length()).trim();
+    }
+
+    private static String extrairTokenEventos(HttpServletRequest request) {
+        String token = request.getParameter(TOKEN);
+        if (token != null) {
+            return token;
+        }
+        Cookie cookie = WebUtils.getCookie(request, TOKEN);
+        if (cookie == null) {
+            throw new TokenInvalidoException("Informe o token de eventos no parâmetro ou cookie token.");
+        }
+        return cookie.getValue();
+    }
+
+    public static void verificarUsuario(Long usuarioAutenticado, Long usuario) {
+        if (usuarioAutenticado != null && !usuarioAutenticado.equals(usuario)) {
+            throw new AcessoNegadoException("O recurso não pertence ao usuário autenticado.");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Long idUsuario(HttpServletRequest request, String nome) {
+        Map<String, String> variaveis = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String valor = variaveis != null && variaveis.containsKey(nome) ? variaveis.get(nome) : request.getParameter(nome);
+        try {
+            return valor == null ? null : Long.valueOf(valor);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
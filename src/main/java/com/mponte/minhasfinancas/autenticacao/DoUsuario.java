@@ -0,0 +1,16 @@
+package com.mponte.minhasfinancas.autenticacao;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/*
+ * Marca endpoints cujo recurso pertence ao usuário identificado pela variável de caminho ou parâmetro informado;
+ * o usuário do token precisa ser o mesmo.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DoUsuario {
+    String value() default "id";
+}
@@ -0,0 +1,15 @@
+package com.mponte.minhasfinancas.autenticacao;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/*
+ * Marca endpoints abertos pelo EventSource do navegador, que não envia o cabeçalho Authorization: além dele, aceitam
+ * o token curto de eventos no parâmetro ou cookie "token".
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TokenEventos {
+}
@@ -1,63 +1,189 @@
 package com.mponte.minhasfinancas.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mponte.minhasfinancas.autenticacao.DoUsuario;
+import com.mponte.minhasfinancas.model.dtos.AtualizacaoStatusDTO;
 import com.mponte.minhasfinancas.model.dtos.LancamentoDTO;
+import com.mponte.minhasfinancas.model.dtos.PaginaLancamentosDTO;
+import com.mponte.minhasfinancas.model.dtos.ResultadoLoteDTO;
 import com.mponte.minhasfinancas.model.entities.Lancamento;
 import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.services.exceptions.FilaCheiaException;
+import com.mponte.minhasfinancas.services.interfaces.GravacaoAgrupadaService;
 import com.mponte.minhasfinancas.services.interfaces.LancamentoService;
+import com.mponte.minhasfinancas.services.interfaces.VersaoDadosService;
+import com.mponte.minhasfinancas.services.serializacao.ProjecaoLancamentos;
+import com.mponte.minhasfinancas.services.versao.VersaoDados;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import java.math.BigDecimal;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.mponte.minhasfinancas.autenticacao.AutenticacaoInterceptor.USUARIO_AUTENTICADO;
+import static com.mponte.minhasfinancas.autenticacao.AutenticacaoInterceptor.verificarUsuario;
 
 @RestController
 @RequestMapping("/lancamentos")
 public class LancamentoController {
+    private static final String NDJSON = "application/x-ndjson";
+
     private LancamentoService lancamentoService;
+    private ObjectProvider<GravacaoAgrupadaService> gravacaoAgrupada;
+    private ObjectMapper objectMapper;
+    private VersaoDadosService versaoDadosService;
+    private Duration esperaConfirmacao;
 
-    public LancamentoController(LancamentoService lancamentoService) {
+    public LancamentoController(LancamentoService lancamentoService, ObjectProvider<GravacaoAgrupadaService> gravacaoAgrupada,
+                                ObjectMapper objectMapper, VersaoDadosService versaoDadosService,
+                                @Value("${financas.lancamento.gravacao-agrupada.espera-confirmacao:5s}") Duration esperaConfirmacao) {
         this.lancamentoService = lancamentoService;
+        this.gravacaoAgrupada = gravacaoAgrupada;
+        this.objectMapper = objectMapper;
+        this.versaoDadosService = versaoDadosService;
+        this.esperaConfirmacao = esperaConfirmacao;
     }
 
     @PostMapping
-    public ResponseEntity<Lancamento> salvar(@RequestBody LancamentoDTO dto){
-        Lancamento lancamento = lancamentoService.salvar(dto);
+    public ResponseEntity<Lancamento> salvar(@RequestBody LancamentoDTO dto,
+                                             @RequestAttribute(name = USUARIO_AUTENTICADO, required = false) Long usuarioAutenticado){
+        verificarUsuario(usuarioAutenticado, dto.getUsuario());
+        GravacaoAgrupadaService gravacao = gravacaoAgrupada.getIfAvailable();
+        Lancamento lancamento = gravacao == null ? lancamentoService.salvar(dto) : aguardar(gravacao.enfileirar(dto));
         URI uri = ServletUriComponentsBuilder.fromCurrentRequestUri().path("/{id}")
                 .buildAndExpand(lancamento.getId()).toUri();
         return ResponseEntity.created(uri).body(lancamento);
     }
 
+    @PostMapping("/lote")
+    public ResponseEntity<List<ResultadoLoteDTO>> salvarLote(@RequestBody List<LancamentoDTO> dtos,
+                                                             @RequestAttribute(name = USUARIO_AUTENTICADO, required = false) Long usuarioAutenticado){
+        dtos.forEach(dto -> verificarUsuario(usuarioAutenticado, dto.getUsuario()));
+        return ResponseEntity.ok().body(lancamentoService.salvarLote(dtos));
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<Void> atualizar(@PathVariable Long id, @RequestBody LancamentoDTO dto){
+    public ResponseEntity<Void> atualizar(@PathVariable Long id, @RequestBody LancamentoDTO dto,
+                                          @RequestAttribute(name = USUARIO_AUTENTICADO, required = false) Long usuarioAutenticado){
+        verificarUsuario(usuarioAutenticado, dto.getUsuario());
         lancamentoService.atualizar(id, dto);
         return ResponseEntity.noContent().build();
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<String> atualizarStatus(@PathVariable Long id, @RequestParam String status){
+    public ResponseEntity<String> atualizarStatus(@PathVariable Long id, @RequestParam String status,
+                                                  @RequestAttribute(name = USUARIO_AUTENTICADO, required = false) Long usuarioAutenticado){
         try {
-            lancamentoService.atualizarStatus(id, StatusLancamento.valueOf(status));
+            lancamentoService.atualizarStatus(id, StatusLancamento.valueOf(status), usuarioAutenticado);
             return ResponseEntity.noContent().build();
         }catch (IllegalArgumentException e){
             return ResponseEntity.badRequest().body("não foi possível atualizar o status do lançamento, envie um status válido.");
         }
     }
 
+    @PatchMapping("/status")
+    public ResponseEntity<AtualizacaoStatusDTO> atualizarStatus(@RequestBody AtualizacaoStatusDTO dto,
+                                                                @RequestAttribute(name = USUARIO_AUTENTICADO, required = false) Long usuarioAutenticado){
+        if (dto.getUsuario() == null) {
+            dto.setUsuario(usuarioAutenticado);
+        }
+        verificarUsuario(usuarioAutenticado, dto.getUsuario());
+        return ResponseEntity.ok().body(AtualizacaoStatusDTO.builder()
+                .atualizados(lancamentoService.atualizarStatus(dto))
+                .build());
+    }
+
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deletar(@PathVariable Long id){
-        lancamentoService.deletar(id);
+    public ResponseEntity<Void> deletar(@PathVariable Long id,
+                                        @RequestAttribute(name = USUARIO_AUTENTICADO, required = false) Long usuarioAutenticado){
+        lancamentoService.deletar(id, usuarioAutenticado);
         return ResponseEntity.noContent().build();
     }
 
+    @DoUsuario("usuario")
     @GetMapping()
-    public ResponseEntity<List<Lancamento>> buscaFiltro(
+    public ResponseEntity<PaginaLancamentosDTO> buscaFiltro(
             @RequestParam(required = false) String descricao,
             @RequestParam(required = false) Integer mes,
             @RequestParam(required = false) Integer ano,
-            @RequestParam Long usuario){
+            @RequestParam Long usuario,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String formato,
+            WebRequest request){
+        ProjecaoLancamentos projecao = ProjecaoLancamentos.de(fields, formato);
+        VersaoDados versao = versaoDadosService.versao(usuario);
+        if (request.checkNotModified(versao.etag(variante("json", projecao)))) {
+            return null;
+        }
         LancamentoDTO dto = LancamentoDTO.builder().descricao(descricao).mes(mes).ano(ano).usuario(usuario).build();
-        return ResponseEntity.ok().body(lancamentoService.buscar(dto));
+        return ResponseEntity.ok().body(new PaginaLancamentosDTO(lancamentoService.buscarPagina(dto, cursor, limite), projecao));
+    }
+
+    @DoUsuario("usuario")
+    @GetMapping(produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> buscaFiltroStream(
+            @RequestParam(required = false) String descricao,
+            @RequestParam(required = false) Integer mes,
+            @RequestParam(required = false) Integer ano,
+            @RequestParam Long usuario,
+            @RequestParam(required = false) String fields,
+            WebRequest request){
+        ProjecaoLancamentos projecao = ProjecaoLancamentos.de(fields, null);
+        VersaoDados versao = versaoDadosService.versao(usuario);
+        if (request.checkNotModified(versao.etag(variante("ndjson", projecao)))) {
+            return null;
+        }
+        LancamentoDTO dto = LancamentoDTO.builder().descricao(descricao).mes(mes).ano(ano).usuario(usuario).build();
+        StreamingResponseBody body = out -> {
+            JsonGenerator gerador = objectMapper.getFactory().createGenerator(out);
+            gerador.setPrettyPrinter(new MinimalPrettyPrinter(""));
+            lancamentoService.percorrer(dto, lancamento -> {
+                try {
+                    projecao.escreverLinha(gerador, lancamento);
+                    gerador.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            gerador.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    private static String variante(String representacao, ProjecaoLancamentos projecao) {
+        return projecao == ProjecaoLancamentos.COMPLETA ? representacao : representacao + "-" + projecao.getVariante();
+    }
+
+    private Lancamento aguardar(CompletableFuture<Lancamento> gravacao){
+        try {
+            return gravacao.get(esperaConfirmacao.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new FilaCheiaException("A gravação do lançamento não foi confirmada a tempo, consulte os lançamentos antes de reenviar.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FilaCheiaException("A gravação do lançamento foi interrompida, consulte os lançamentos antes de reenviar.");
+        }
     }
 }
@@ -0,0 +1,39 @@
+package com.mponte.minhasfinancas.controllers;
+
+import com.mponte.minhasfinancas.model.dtos.RecorrenciaDTO;
+import com.mponte.minhasfinancas.services.interfaces.RecorrenciaService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+
+import static com.mponte.minhasfinancas.autenticacao.AutenticacaoInterceptor.USUARIO_AUTENTICADO;
+import static com.mponte.minhasfinancas.autenticacao.AutenticacaoInterceptor.verificarUsuario;
+
+@RestController
+@RequestMapping("/recorrencias")
+public class RecorrenciaController {
+    private RecorrenciaService recorrenciaService;
+
+    public RecorrenciaController(RecorrenciaService recorrenciaService) {
+        this.recorrenciaService = recorrenciaService;
+    }
+
+    @PostMapping
+    public ResponseEntity<RecorrenciaDTO> salvar(@RequestBody RecorrenciaDTO dto,
+                                                 @RequestAttribute(name = USUARIO_AUTENTICADO, required = false) Long usuarioAutenticado){
+        verificarUsuario(usuarioAutenticado, dto.getUsuario());
+        RecorrenciaDTO recorrencia = recorrenciaService.salvar(dto);
+        URI uri = ServletUriComponentsBuilder.fromCurrentRequestUri().path("/{id}")
+                .buildAndExpand(recorrencia.getId()).toUri();
+        return ResponseEntity.created(uri).body(recorrencia);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deletar(@PathVariable Long id,
+                                        @RequestAttribute(name = USUARIO_AUTENTICADO, required = false) Long usuarioAutenticado){
+        recorrenciaService.deletar(id, usuarioAutenticado);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.mponte.minhasfinancas.controllers;
+
+import com.mponte.minhasfinancas.autenticacao.Administrador;
+import com.mponte.minhasfinancas.services.interfaces.ResumoMensalService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/resumos")
+public class ResumoMensalController {
+    private ResumoMensalService resumoMensalService;
+
+    public ResumoMensalController(ResumoMensalService resumoMensalService) {
+        this.resumoMensalService = resumoMensalService;
+    }
+
+    @Administrador
+    @PostMapping("/reconstrucao")
+    public ResponseEntity<Integer> reconstruir(){
+        return ResponseEntity.ok().body(resumoMensalService.reconstruir());
+    }
+}
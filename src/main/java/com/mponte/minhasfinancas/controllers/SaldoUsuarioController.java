@@ -0,0 +1,31 @@
+package com.mponte.minhasfinancas.controllers;
+
+import com.mponte.minhasfinancas.autenticacao.Administrador;
+import com.mponte.minhasfinancas.model.dtos.DivergenciaSaldoDTO;
+import com.mponte.minhasfinancas.services.interfaces.SaldoUsuarioService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/saldos")
+public class SaldoUsuarioController {
+    private SaldoUsuarioService saldoUsuarioService;
+
+    public SaldoUsuarioController(SaldoUsuarioService saldoUsuarioService) {
+        this.saldoUsuarioService = saldoUsuarioService;
+    }
+
+    @Administrador
+    @GetMapping("/divergencias")
+    public ResponseEntity<List<DivergenciaSaldoDTO>> verificar(){
+        return ResponseEntity.ok().body(saldoUsuarioService.verificar());
+    }
+
+    @Administrador
+    @PostMapping("/reconstrucao")
+    public ResponseEntity<List<DivergenciaSaldoDTO>> reconstruir(){
+        return ResponseEntity.ok().body(saldoUsuarioService.reconstruir());
+    }
+}
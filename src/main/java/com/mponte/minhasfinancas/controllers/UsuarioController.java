@@ -1,28 +1,94 @@
 package com.mponte.minhasfinancas.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mponte.minhasfinancas.autenticacao.AutenticacaoInterceptor;
+import com.mponte.minhasfinancas.autenticacao.DoUsuario;
+import com.mponte.minhasfinancas.autenticacao.Publico;
+import com.mponte.minhasfinancas.autenticacao.TokenEventos;
+import com.mponte.minhasfinancas.model.dtos.AnaliseLancamentosDTO;
+import com.mponte.minhasfinancas.model.dtos.AutenticacaoDTO;
+import com.mponte.minhasfinancas.model.dtos.LancamentoDTO;
+import com.mponte.minhasfinancas.model.dtos.ProjecaoSaldoDTO;
+import com.mponte.minhasfinancas.model.dtos.RelatorioAnualDTO;
+import com.mponte.minhasfinancas.model.dtos.ResumoAnualDTO;
 import com.mponte.minhasfinancas.model.dtos.UsuarioDTO;
 import com.mponte.minhasfinancas.model.entities.Usuario;
+import com.mponte.minhasfinancas.services.exportacao.Exportacao;
+import com.mponte.minhasfinancas.services.importacao.Importacao;
+import com.mponte.minhasfinancas.services.interfaces.AnaliseLancamentoService;
+import com.mponte.minhasfinancas.services.interfaces.EventosUsuarioService;
+import com.mponte.minhasfinancas.services.interfaces.ExportacaoService;
+import com.mponte.minhasfinancas.services.interfaces.ImportacaoService;
 import com.mponte.minhasfinancas.services.interfaces.LancamentoService;
+import com.mponte.minhasfinancas.services.interfaces.ProjecaoSaldoService;
+import com.mponte.minhasfinancas.services.interfaces.RelatorioAnualService;
+import com.mponte.minhasfinancas.services.interfaces.ResumoMensalService;
+import com.mponte.minhasfinancas.services.interfaces.TokenService;
 import com.mponte.minhasfinancas.services.interfaces.UsuarioService;
+import com.mponte.minhasfinancas.services.interfaces.VersaoDadosService;
+import com.mponte.minhasfinancas.services.versao.VersaoDados;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.net.URI;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/usuarios")
 public class UsuarioController {
+    private static final int TAMANHO_BUFFER_GZIP = 64 * 1024;
+    private static final String NDJSON = "application/x-ndjson";
+
     private UsuarioService usuarioService;
     private LancamentoService lancamentoService;
+    private ResumoMensalService resumoMensalService;
+    private ExportacaoService exportacaoService;
+    private ImportacaoService importacaoService;
+    private ObjectMapper objectMapper;
+    private TokenService tokenService;
+    private VersaoDadosService versaoDadosService;
+    private AnaliseLancamentoService analiseLancamentoService;
+    private RelatorioAnualService relatorioAnualService;
+    private ProjecaoSaldoService projecaoSaldoService;
+    private EventosUsuarioService eventosUsuarioService;
 
-    public UsuarioController(UsuarioService usuarioService, LancamentoService lancamentoService) {
+    public UsuarioController(UsuarioService usuarioService, LancamentoService lancamentoService,
+                             ResumoMensalService resumoMensalService, ExportacaoService exportacaoService,
+                             ImportacaoService importacaoService, ObjectMapper objectMapper,
+                             TokenService tokenService, VersaoDadosService versaoDadosService,
+                             AnaliseLancamentoService analiseLancamentoService,
+                             RelatorioAnualService relatorioAnualService, ProjecaoSaldoService projecaoSaldoService,
+                             EventosUsuarioService eventosUsuarioService) {
         this.usuarioService = usuarioService;
         this.lancamentoService = lancamentoService;
+        this.resumoMensalService = resumoMensalService;
+        this.exportacaoService = exportacaoService;
+        this.importacaoService = importacaoService;
+        this.objectMapper = objectMapper;
+        this.tokenService = tokenService;
+        this.versaoDadosService = versaoDadosService;
+        this.analiseLancamentoService = analiseLancamentoService;
+        this.relatorioAnualService = relatorioAnualService;
+        this.projecaoSaldoService = projecaoSaldoService;
+        this.eventosUsuarioService = eventosUsuarioService;
     }
 
+    @Publico
     @PostMapping()
     @ResponseStatus(HttpStatus.CREATED)
     public ResponseEntity<Usuario> salvarUsuario(@RequestBody UsuarioDTO dto){
@@ -33,15 +99,133 @@ public class UsuarioController {
         return ResponseEntity.created(uri).body(usuario);
     }
 
+    @Publico
     @PostMapping("/autenticar")
-    public ResponseEntity<Usuario> autenticarUsuario(@RequestBody UsuarioDTO dto){
+    public ResponseEntity<AutenticacaoDTO> autenticarUsuario(@RequestBody UsuarioDTO dto){
         Usuario usuarioAutenticado = usuarioService.autenticar(dto.getEmail(),dto.getSenha());
-        return ResponseEntity.ok().body(usuarioAutenticado);
+        return ResponseEntity.ok().body(tokenService.emitir(usuarioAutenticado));
+    }
+
+    @Publico
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(HttpServletRequest request){
+        tokenService.revogar(AutenticacaoInterceptor.extrairToken(request));
+        return ResponseEntity.noContent().build();
     }
 
+    @DoUsuario
     @GetMapping("/saldo/{id}")
-    public ResponseEntity<BigDecimal> saldoUsuario(@PathVariable("id") Long idUsuario){
+    public ResponseEntity<BigDecimal> saldoUsuario(@PathVariable("id") Long idUsuario, WebRequest request){
+        VersaoDados versao = versaoDadosService.versao(idUsuario);
+        if (request.checkNotModified(versao.etag("saldo"))) {
+            return null;
+        }
         return ResponseEntity.ok().body(lancamentoService.saldoUsuario(idUsuario));
     }
-}
 
+    @DoUsuario
+    @PostMapping("/{id}/eventos/token")
+    public ResponseEntity<AutenticacaoDTO> tokenEventos(@PathVariable("id") Long idUsuario){
+        return ResponseEntity.ok().body(tokenService.emitirEventos(idUsuario));
+    }
+
+    @DoUsuario
+    @TokenEventos
+    @GetMapping(value = "/{id}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> eventos(@PathVariable("id") Long idUsuario){
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .body(eventosUsuarioService.assinar(idUsuario));
+    }
+
+    @DoUsuario
+    @GetMapping("/{id}/projecao")
+    public ResponseEntity<ProjecaoSaldoDTO> projecaoSaldo(@PathVariable("id") Long idUsuario,
+                                                          @RequestParam(required = false) Integer meses){
+        return ResponseEntity.ok().body(projecaoSaldoService.projetar(idUsuario, meses));
+    }
+
+    @DoUsuario
+    @GetMapping("/{id}/resumo")
+    public ResponseEntity<ResumoAnualDTO> resumoAnual(@PathVariable("id") Long idUsuario, @RequestParam Integer ano){
+        return ResponseEntity.ok().body(resumoMensalService.resumoAnual(idUsuario, ano));
+    }
+
+    @DoUsuario
+    @GetMapping("/{id}/relatorio")
+    public ResponseEntity<RelatorioAnualDTO> relatorioAnual(@PathVariable("id") Long idUsuario, @RequestParam Integer ano,
+                                                            @RequestParam(required = false) Integer limite){
+        return ResponseEntity.ok().body(relatorioAnualService.gerar(idUsuario, ano, limite));
+    }
+
+    @DoUsuario
+    @GetMapping("/{id}/lancamentos/analise")
+    public ResponseEntity<AnaliseLancamentosDTO> analisarLancamentos(
+            @PathVariable("id") Long idUsuario,
+            @RequestParam(required = false) Integer ano,
+            @RequestParam(required = false) Integer mes,
+            @RequestParam(required = false) String tipo,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String descricao,
+            @RequestParam(required = false) Integer limite){
+        LancamentoDTO filtro = LancamentoDTO.builder().usuario(idUsuario).ano(ano).mes(mes).tipo(tipo).status(status)
+                .descricao(descricao).build();
+        return ResponseEntity.ok().body(analiseLancamentoService.analisar(filtro, limite));
+    }
+
+    @DoUsuario
+    @GetMapping("/{id}/lancamentos/export")
+    public ResponseEntity<StreamingResponseBody> exportarLancamentos(
+            @PathVariable("id") Long idUsuario,
+            @RequestParam(defaultValue = "csv") String formato,
+            @RequestParam(required = false) Integer ano,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String codificacoes){
+        Exportacao exportacao = exportacaoService.preparar(idUsuario, ano, formato);
+        boolean gzip = codificacoes != null && codificacoes.toLowerCase(Locale.ROOT).contains("gzip");
+        StreamingResponseBody body = out -> {
+            if (!gzip) {
+                exportacaoService.escrever(exportacao, out);
+                return;
+            }
+            GZIPOutputStream compactado = new GZIPOutputStream(out, TAMANHO_BUFFER_GZIP);
+            exportacaoService.escrever(exportacao, compactado);
+            compactado.finish();
+        };
+
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportacao.getFormato().getTipoConteudo() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(exportacao.getNomeArquivo()).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return resposta.body(body);
+    }
+
+    @DoUsuario
+    @PostMapping(value = "/{id}/lancamentos/import", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> importarLancamentos(
+            @PathVariable("id") Long idUsuario,
+            @RequestParam(defaultValue = "csv") String formato,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String codificacao,
+            HttpServletRequest request) throws IOException {
+        Importacao importacao = importacaoService.preparar(idUsuario, formato);
+        InputStream entrada = "gzip".equalsIgnoreCase(codificacao)
+                ? new GZIPInputStream(request.getInputStream(), TAMANHO_BUFFER_GZIP)
+                : request.getInputStream();
+        StreamingResponseBody body = out -> importacaoService.importar(importacao, entrada, progresso -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(progresso));
+                out.write('\n');
+                if (!"erro".equals(progresso.getTipo())) {
+                    out.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+}
@@ -1,8 +1,12 @@
 package com.mponte.minhasfinancas.controllers.exceptions;
 
+import com.mponte.minhasfinancas.services.exceptions.AcessoNegadoException;
 import com.mponte.minhasfinancas.services.exceptions.ErroAutenticacao;
+import com.mponte.minhasfinancas.services.exceptions.FilaCheiaException;
 import com.mponte.minhasfinancas.services.exceptions.ObjetoNaoEncontradoException;
 import com.mponte.minhasfinancas.services.exceptions.RegraNegocioException;
+import com.mponte.minhasfinancas.services.exceptions.TokenInvalidoException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MissingServletRequestParameterException;
@@ -39,6 +43,30 @@ public class ResourceExceptionHandler {
         return ResponseEntity.status(status).body(err);
     }
 
+    @ExceptionHandler(TokenInvalidoException.class)
+    public ResponseEntity<StandardError> tokenInvalido(TokenInvalidoException e, HttpServletRequest request){
+        String error = "não autorizado";
+        HttpStatus status = HttpStatus.UNAUTHORIZED;
+        StandardError err = new StandardError(Instant.now(), status.value(), error, e.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(status).header(HttpHeaders.WWW_AUTHENTICATE, "Bearer").body(err);
+    }
+
+    @ExceptionHandler(AcessoNegadoException.class)
+    public ResponseEntity<StandardError> acessoNegado(AcessoNegadoException e, HttpServletRequest request){
+        String error = "acesso negado";
+        HttpStatus status = HttpStatus.FORBIDDEN;
+        StandardError err = new StandardError(Instant.now(), status.value(), error, e.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(status).body(err);
+    }
+
+    @ExceptionHandler(FilaCheiaException.class)
+    public ResponseEntity<StandardError> filaCheia(FilaCheiaException e, HttpServletRequest request){
+        String error = "serviço sobrecarregado";
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        StandardError err = new StandardError(Instant.now(), status.value(), error, e.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(status).header(HttpHeaders.RETRY_AFTER, "1").body(err);
+    }
+
     @ExceptionHandler(MissingServletRequestParameterException.class)
     public ResponseEntity<StandardError> MissingServletRequestParameter(MissingServletRequestParameterException e, HttpServletRequest request){
         String error = "parâmetro obrigatório não informado";
@@ -0,0 +1,26 @@
+package com.mponte.minhasfinancas.jobs;
+
+import com.mponte.minhasfinancas.model.dtos.ArquivamentoDTO;
+import com.mponte.minhasfinancas.services.interfaces.ArquivamentoService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class ArquivamentoJob {
+    private final ArquivamentoService arquivamentoService;
+
+    public ArquivamentoJob(ArquivamentoService arquivamentoService) {
+        this.arquivamentoService = arquivamentoService;
+    }
+
+    @Scheduled(cron = "${financas.arquivamento.cron:-}")
+    public void executar() {
+        for (Integer ano : arquivamentoService.anosParaArquivar()) {
+            ArquivamentoDTO arquivamento = arquivamentoService.arquivar(ano);
+            log.info("ano de {} arquivado: {} lançamentos movidos, {} resumos mensais",
+                    arquivamento.getAno(), arquivamento.getLancamentos(), arquivamento.getResumos());
+        }
+    }
+}
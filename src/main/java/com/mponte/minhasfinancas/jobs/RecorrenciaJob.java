@@ -0,0 +1,73 @@
+package com.mponte.minhasfinancas.jobs;
+
+import com.mponte.minhasfinancas.model.dtos.MaterializacaoDTO;
+import com.mponte.minhasfinancas.services.interfaces.RecorrenciaService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Slf4j
+@Component
+public class RecorrenciaJob {
+    private final RecorrenciaService recorrenciaService;
+    private final int fatias;
+
+    public RecorrenciaJob(RecorrenciaService recorrenciaService,
+                          @Value("${financas.recorrencia.fatias:4}") int fatias) {
+        if (fatias < 1) {
+            throw new IllegalArgumentException("financas.recorrencia.fatias deve ser maior que zero");
+        }
+        this.recorrenciaService = recorrenciaService;
+        this.fatias = fatias;
+    }
+
+    @Scheduled(cron = "${financas.recorrencia.cron:-}")
+    public void executar() throws InterruptedException {
+        materializar(LocalDate.now());
+    }
+
+    public long materializar(LocalDate data) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(fatias);
+        try {
+            List<Future<Long>> resultados = new ArrayList<>(fatias);
+            for (int fatia = 0; fatia < fatias; fatia++) {
+                int atual = fatia;
+                resultados.add(executor.submit(() -> materializarFatia(atual, data)));
+            }
+            long total = 0;
+            for (int fatia = 0; fatia < fatias; fatia++) {
+                try {
+                    total += resultados.get(fatia).get();
+                } catch (ExecutionException e) {
+                    log.error("falha ao materializar a fatia {} de {} das recorrências", fatia, fatias, e.getCause());
+                }
+            }
+            log.info("{} lançamentos recorrentes materializados até {}", total, data);
+            return total;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long materializarFatia(int fatia, LocalDate data) {
+        long total = 0;
+        Long apos = 0L;
+        while (true) {
+            MaterializacaoDTO lote = recorrenciaService.materializarLote(fatia, fatias, apos, data);
+            if (lote.getRecorrencias() == 0) {
+                return total;
+            }
+            total += lote.getLancamentos();
+            apos = lote.getUltimaRecorrencia();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.mponte.minhasfinancas.jobs;
+
+import com.mponte.minhasfinancas.model.dtos.DivergenciaSaldoDTO;
+import com.mponte.minhasfinancas.services.interfaces.SaldoUsuarioService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@Component
+public class VerificacaoSaldoJob {
+    private final SaldoUsuarioService saldoUsuarioService;
+    private final boolean corrigir;
+
+    public VerificacaoSaldoJob(SaldoUsuarioService saldoUsuarioService,
+                               @Value("${financas.saldo.verificacao.corrigir:false}") boolean corrigir) {
+        this.saldoUsuarioService = saldoUsuarioService;
+        this.corrigir = corrigir;
+    }
+
+    @Scheduled(cron = "${financas.saldo.verificacao.cron:-}")
+    public void executar() {
+        List<DivergenciaSaldoDTO> divergencias = corrigir
+                ? saldoUsuarioService.reconstruir()
+                : saldoUsuarioService.verificar();
+        for (DivergenciaSaldoDTO divergencia : divergencias) {
+            log.warn("saldo divergente para o usuário {}: registrado receitas={} despesas={}, calculado receitas={} despesas={}",
+                    divergencia.getUsuario(),
+                    divergencia.getReceitasRegistradas(), divergencia.getDespesasRegistradas(),
+                    divergencia.getReceitasCalculadas(), divergencia.getDespesasCalculadas());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.mponte.minhasfinancas.model.dtos;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnaliseLancamentosDTO {
+    private Long quantidade;
+    private BigDecimal receitas;
+    private BigDecimal despesas;
+    private BigDecimal saldo;
+    private List<TotalDescricaoDTO> descricoes;
+}
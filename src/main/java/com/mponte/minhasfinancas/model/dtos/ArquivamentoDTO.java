@@ -0,0 +1,14 @@
+package com.mponte.minhasfinancas.model.dtos;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArquivamentoDTO {
+    private Integer ano;
+    private Integer lancamentos;
+    private Integer resumos;
+}
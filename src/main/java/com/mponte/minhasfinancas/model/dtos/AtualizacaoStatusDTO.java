@@ -0,0 +1,22 @@
+package com.mponte.minhasfinancas.model.dtos;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AtualizacaoStatusDTO implements Serializable {
+    private static final long serialVersionUID = 2870134576218849953L;
+    private List<Long> ids;
+    private Long usuario;
+    private Integer ano;
+    private Integer mes;
+    private String statusAtual;
+    private String status;
+    private Integer atualizados;
+}
@@ -0,0 +1,20 @@
+package com.mponte.minhasfinancas.model.dtos;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AutenticacaoDTO implements Serializable {
+    private static final long serialVersionUID = -6021958311722345107L;
+    private Long id;
+    private String nome;
+    private String email;
+    private String token;
+    private Instant expiraEm;
+}
@@ -0,0 +1,35 @@
+package com.mponte.minhasfinancas.model.dtos;
+
+import com.mponte.minhasfinancas.model.projections.LancamentoResumo;
+import com.mponte.minhasfinancas.services.exceptions.RegraNegocioException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@Getter
+@AllArgsConstructor
+public class CursorLancamento {
+    private final Integer ano;
+    private final Integer mes;
+    private final Long id;
+
+    public static CursorLancamento de(LancamentoResumo lancamento) {
+        return new CursorLancamento(lancamento.getAno(), lancamento.getMes(), lancamento.getId());
+    }
+
+    public static CursorLancamento decodificar(String token) {
+        try {
+            String[] partes = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":");
+            return new CursorLancamento(Integer.valueOf(partes[0]), Integer.valueOf(partes[1]), Long.valueOf(partes[2]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new RegraNegocioException("Cursor inválido.");
+        }
+    }
+
+    public String codificar() {
+        String valor = ano + ":" + mes + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,20 @@
+package com.mponte.minhasfinancas.model.dtos;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DivergenciaSaldoDTO implements Serializable {
+    private static final long serialVersionUID = 4113508927457721870L;
+    private Long usuario;
+    private BigDecimal receitasRegistradas;
+    private BigDecimal despesasRegistradas;
+    private BigDecimal receitasCalculadas;
+    private BigDecimal despesasCalculadas;
+}
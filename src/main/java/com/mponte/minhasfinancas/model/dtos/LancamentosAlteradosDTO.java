@@ -0,0 +1,18 @@
+package com.mponte.minhasfinancas.model.dtos;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LancamentosAlteradosDTO {
+    private Long usuario;
+    private String acao;
+    private String status;
+    private Integer quantidade;
+    private List<Long> ids;
+}
@@ -0,0 +1,14 @@
+package com.mponte.minhasfinancas.model.dtos;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MaterializacaoDTO {
+    private Integer recorrencias;
+    private Integer lancamentos;
+    private Long ultimaRecorrencia;
+}
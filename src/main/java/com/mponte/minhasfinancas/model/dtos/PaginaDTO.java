@@ -0,0 +1,15 @@
+package com.mponte.minhasfinancas.model.dtos;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaginaDTO<T> {
+    private List<T> itens;
+    private String proximoCursor;
+}
@@ -0,0 +1,27 @@
+package com.mponte.minhasfinancas.model.dtos;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.mponte.minhasfinancas.model.projections.LancamentoResumo;
+import com.mponte.minhasfinancas.services.serializacao.ProjecaoLancamentos;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+
+@Getter
+@AllArgsConstructor
+@JsonSerialize(using = PaginaLancamentosDTO.Serializador.class)
+public class PaginaLancamentosDTO {
+    private final PaginaDTO<LancamentoResumo> pagina;
+    private final ProjecaoLancamentos projecao;
+
+    public static class Serializador extends JsonSerializer<PaginaLancamentosDTO> {
+        @Override
+        public void serialize(PaginaLancamentosDTO dto, JsonGenerator gerador, SerializerProvider provider) throws IOException {
+            dto.getProjecao().escreverPagina(gerador, dto.getPagina());
+        }
+    }
+}
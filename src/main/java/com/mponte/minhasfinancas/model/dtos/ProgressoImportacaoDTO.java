@@ -0,0 +1,22 @@
+package com.mponte.minhasfinancas.model.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.io.Serializable;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProgressoImportacaoDTO implements Serializable {
+    private static final long serialVersionUID = 4418230714466712980L;
+    private String tipo;
+    private Integer linha;
+    private String erro;
+    private Long lidos;
+    private Long importados;
+    private Long rejeitados;
+}
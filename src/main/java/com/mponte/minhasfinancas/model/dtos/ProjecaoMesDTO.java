@@ -0,0 +1,20 @@
+package com.mponte.minhasfinancas.model.dtos;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjecaoMesDTO {
+    private Integer ano;
+    private Integer mes;
+    private BigDecimal realizado;
+    private BigDecimal pendente;
+    private BigDecimal recorrente;
+    private BigDecimal saldoRealizado;
+    private BigDecimal saldoProjetado;
+}
@@ -0,0 +1,18 @@
+package com.mponte.minhasfinancas.model.dtos;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjecaoSaldoDTO {
+    private Long usuario;
+    private BigDecimal saldoRealizado;
+    private BigDecimal pendentesAtrasados;
+    private List<ProjecaoMesDTO> meses;
+}
@@ -0,0 +1,23 @@
+package com.mponte.minhasfinancas.model.dtos;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecorrenciaDTO {
+    private Long id;
+    private String descricao;
+    private Long usuario;
+    private BigDecimal valor;
+    private String tipo;
+    private LocalDate inicio;
+    private Integer intervaloMeses;
+    private LocalDate fim;
+    private LocalDate proximaOcorrencia;
+}
@@ -0,0 +1,27 @@
+package com.mponte.minhasfinancas.model.dtos;
+
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RelatorioAnualDTO {
+    private Long usuario;
+    private Integer ano;
+    private Long quantidade;
+    private BigDecimal receitas;
+    private BigDecimal despesas;
+    private BigDecimal saldo;
+    private BigDecimal ticketMedioReceitas;
+    private BigDecimal ticketMedioDespesas;
+    private Map<StatusLancamento, ResumoStatusDTO> status;
+    private List<RelatorioMesDTO> meses;
+    private List<TotalDescricaoDTO> maioresDespesas;
+}
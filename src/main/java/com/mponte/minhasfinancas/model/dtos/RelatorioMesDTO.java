@@ -0,0 +1,21 @@
+package com.mponte.minhasfinancas.model.dtos;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RelatorioMesDTO {
+    private Integer mes;
+    private Long quantidade;
+    private BigDecimal receitas;
+    private BigDecimal despesas;
+    private BigDecimal saldo;
+    private BigDecimal variacaoReceitas;
+    private BigDecimal variacaoDespesas;
+    private BigDecimal variacaoSaldo;
+}
@@ -0,0 +1,17 @@
+package com.mponte.minhasfinancas.model.dtos;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResultadoLoteDTO implements Serializable {
+    private static final long serialVersionUID = -1532870125094461207L;
+    private Integer indice;
+    private Long id;
+    private String erro;
+}
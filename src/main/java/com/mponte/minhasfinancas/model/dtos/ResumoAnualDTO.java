@@ -0,0 +1,22 @@
+package com.mponte.minhasfinancas.model.dtos;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResumoAnualDTO implements Serializable {
+    private static final long serialVersionUID = 8865146095874419367L;
+    private Long usuario;
+    private Integer ano;
+    private BigDecimal receitas;
+    private BigDecimal despesas;
+    private BigDecimal saldo;
+    private List<ResumoMesDTO> meses;
+}
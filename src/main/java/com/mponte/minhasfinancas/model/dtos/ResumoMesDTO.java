@@ -0,0 +1,22 @@
+package com.mponte.minhasfinancas.model.dtos;
+
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResumoMesDTO implements Serializable {
+    private static final long serialVersionUID = -6029871187300471452L;
+    private Integer mes;
+    private BigDecimal receitas;
+    private BigDecimal despesas;
+    private BigDecimal saldo;
+    private Map<StatusLancamento, ResumoStatusDTO> status;
+}
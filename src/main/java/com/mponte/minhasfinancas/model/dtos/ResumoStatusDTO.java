@@ -0,0 +1,18 @@
+package com.mponte.minhasfinancas.model.dtos;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResumoStatusDTO implements Serializable {
+    private static final long serialVersionUID = 2281730650194392236L;
+    private BigDecimal receitas;
+    private BigDecimal despesas;
+    private Long quantidade;
+}
@@ -0,0 +1,15 @@
+package com.mponte.minhasfinancas.model.dtos;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SaldoAlteradoDTO {
+    private Long usuario;
+    private BigDecimal variacao;
+}
@@ -0,0 +1,16 @@
+package com.mponte.minhasfinancas.model.dtos;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TotalDescricaoDTO {
+    private String descricao;
+    private BigDecimal total;
+    private Long quantidade;
+}
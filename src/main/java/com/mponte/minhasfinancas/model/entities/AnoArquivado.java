@@ -0,0 +1,40 @@
+package com.mponte.minhasfinancas.model.entities;
+
+import lombok.*;
+import org.hibernate.Hibernate;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.Instant;
+import java.util.Objects;
+
+@Entity
+@Table(name = "ano_arquivado", schema = "financas")
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnoArquivado {
+    @Id
+    private Integer ano;
+    @Column(name = "arquivado_em")
+    private Instant arquivadoEm;
+    private Long lancamentos;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
+        AnoArquivado that = (AnoArquivado) o;
+        return ano != null && Objects.equals(ano, that.ano);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -1,5 +1,6 @@
 package com.mponte.minhasfinancas.model.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.mponte.minhasfinancas.model.enums.StatusLancamento;
 import com.mponte.minhasfinancas.model.enums.TipoLancamento;
 import lombok.*;
@@ -9,10 +10,16 @@ import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
 import javax.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Locale;
 import java.util.Objects;
 
 @Entity
-@Table(name = "lancamento", schema = "financas")
+@Table(name = "lancamento", schema = "financas", indexes = {
+        @Index(name = "idx_lancamento_usuario_ano_mes", columnList = "usuario_id, ano, mes, id"),
+        @Index(name = "idx_lancamento_usuario_descricao", columnList = "usuario_id, descricao_normalizada")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_lancamento_recorrencia", columnNames = {"recorrencia_id", "ano", "mes"})
+})
 @Getter
 @Setter
 @ToString
@@ -20,13 +27,20 @@ import java.util.Objects;
 @AllArgsConstructor
 @Builder
 public class Lancamento {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lancamento_seq")
+    @SequenceGenerator(name = "lancamento_seq", schema = "financas", sequenceName = "lancamento_seq", allocationSize = 50)
     private Long id;
     private String descricao;
+    @JsonIgnore
+    @ToString.Exclude
+    @Column(name = "descricao_normalizada")
+    private String descricaoNormalizada;
     private Integer mes;
     private Integer ano;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
     @JoinColumn(name = "usuario_id")
     private Usuario usuario;
 
@@ -40,6 +54,20 @@ public class Lancamento {
     @Enumerated(value = EnumType.STRING)
     private StatusLancamento status;
 
+    @JsonIgnore
+    @Column(name = "recorrencia_id")
+    private Long recorrencia;
+
+    @PrePersist
+    @PreUpdate
+    void normalizarDescricao() {
+        descricaoNormalizada = normalizar(descricao);
+    }
+
+    public static String normalizar(String descricao) {
+        return descricao == null ? null : descricao.trim().toLowerCase(Locale.ROOT);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,55 @@
+package com.mponte.minhasfinancas.model.entities;
+
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import lombok.*;
+import org.hibernate.Hibernate;
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Entity
+@Table(name = "lancamento_arquivado", schema = "financas", indexes = {
+        @Index(name = "idx_lancamento_arquivado_usuario_ano_mes", columnList = "usuario_id, ano, mes, id")
+})
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LancamentoArquivado {
+    @Id
+    private Long id;
+    private String descricao;
+    @Column(name = "descricao_normalizada")
+    private String descricaoNormalizada;
+    private Integer mes;
+    private Integer ano;
+    @Column(name = "usuario_id")
+    private Long usuarioId;
+    private BigDecimal valor;
+    @Column(name = "data_cadastro")
+    @Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
+    private LocalDate dataCadastro;
+    @Enumerated(value = EnumType.STRING)
+    private TipoLancamento tipo;
+    @Enumerated(value = EnumType.STRING)
+    private StatusLancamento status;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
+        LancamentoArquivado that = (LancamentoArquivado) o;
+        return id != null && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
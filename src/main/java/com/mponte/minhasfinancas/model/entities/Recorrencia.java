@@ -0,0 +1,63 @@
+package com.mponte.minhasfinancas.model.entities;
+
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import lombok.*;
+import org.hibernate.Hibernate;
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Entity
+@Table(name = "recorrencia", schema = "financas", indexes = {
+        @Index(name = "idx_recorrencia_proxima_ocorrencia", columnList = "proxima_ocorrencia, id")
+})
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Recorrencia {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recorrencia_seq")
+    @SequenceGenerator(name = "recorrencia_seq", schema = "financas", sequenceName = "recorrencia_seq", allocationSize = 50)
+    private Long id;
+    private String descricao;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @JoinColumn(name = "usuario_id")
+    private Usuario usuario;
+
+    private BigDecimal valor;
+    @Enumerated(value = EnumType.STRING)
+    private TipoLancamento tipo;
+
+    @Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
+    private LocalDate inicio;
+    @Column(name = "intervalo_meses")
+    private Integer intervaloMeses;
+    @Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
+    private LocalDate fim;
+
+    @Column(name = "proxima_ocorrencia")
+    @Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
+    private LocalDate proximaOcorrencia;
+    private Long ocorrencias;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
+        Recorrencia that = (Recorrencia) o;
+        return id != null && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -0,0 +1,56 @@
+package com.mponte.minhasfinancas.model.entities;
+
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.model.projections.TotalMensal;
+import lombok.*;
+import org.hibernate.Hibernate;
+
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+@Entity
+@Table(name = "resumo_mensal", schema = "financas")
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResumoMensal implements TotalMensal {
+    @EmbeddedId
+    private ResumoMensalId id;
+    private BigDecimal total;
+    private Long quantidade;
+
+    @Override
+    public Integer getMes() {
+        return id.getMes();
+    }
+
+    @Override
+    public TipoLancamento getTipo() {
+        return id.getTipo();
+    }
+
+    @Override
+    public StatusLancamento getStatus() {
+        return id.getStatus();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
+        ResumoMensal that = (ResumoMensal) o;
+        return id != null && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -0,0 +1,31 @@
+package com.mponte.minhasfinancas.model.entities;
+
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import lombok.*;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import java.io.Serializable;
+
+@Embeddable
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResumoMensalId implements Serializable {
+    private static final long serialVersionUID = 6530917440253094785L;
+    @Column(name = "usuario_id")
+    private Long usuarioId;
+    private Integer ano;
+    private Integer mes;
+    @Enumerated(value = EnumType.STRING)
+    private TipoLancamento tipo;
+    @Enumerated(value = EnumType.STRING)
+    private StatusLancamento status;
+}
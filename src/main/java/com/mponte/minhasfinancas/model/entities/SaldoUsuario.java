@@ -0,0 +1,47 @@
+package com.mponte.minhasfinancas.model.entities;
+
+import com.mponte.minhasfinancas.model.valores.Dinheiro;
+import lombok.*;
+import org.hibernate.Hibernate;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+@Entity
+@Table(name = "saldo_usuario", schema = "financas")
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SaldoUsuario {
+    @Id
+    @Column(name = "usuario_id")
+    private Long usuarioId;
+    private BigDecimal receitas;
+    private BigDecimal despesas;
+    private long versao;
+
+    public SaldoUsuario(Long usuarioId, BigDecimal receitas, BigDecimal despesas) {
+        this(usuarioId, receitas, despesas, 1L);
+    }
+
+    public BigDecimal getSaldo() {
+        return Dinheiro.de(receitas).subtrair(Dinheiro.de(despesas)).paraBigDecimal();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
+        SaldoUsuario that = (SaldoUsuario) o;
+        return usuarioId != null && Objects.equals(usuarioId, that.usuarioId);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -8,7 +8,9 @@ import javax.persistence.*;
 import java.util.Objects;
 
 @Entity
-@Table(name = "usuario", schema = "financas")
+@Table(name = "usuario", schema = "financas", uniqueConstraints = {
+        @UniqueConstraint(name = Usuario.RESTRICAO_EMAIL, columnNames = "email")
+})
 @Getter
 @Setter
 @ToString
@@ -16,6 +18,8 @@ import java.util.Objects;
 @AllArgsConstructor
 @Builder
 public class Usuario {
+    public static final String RESTRICAO_EMAIL = "uk_usuario_email";
+
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private String nome;
@@ -0,0 +1,26 @@
+package com.mponte.minhasfinancas.model.projections;
+
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LancamentoResumo {
+    private Long id;
+    private String descricao;
+    private Integer mes;
+    private Integer ano;
+    private Long usuario;
+    private BigDecimal valor;
+    private LocalDate dataCadastro;
+    private TipoLancamento tipo;
+    private StatusLancamento status;
+}
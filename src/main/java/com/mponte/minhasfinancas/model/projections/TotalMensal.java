@@ -0,0 +1,14 @@
+package com.mponte.minhasfinancas.model.projections;
+
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+
+import java.math.BigDecimal;
+
+public interface TotalMensal {
+    Integer getMes();
+    TipoLancamento getTipo();
+    StatusLancamento getStatus();
+    BigDecimal getTotal();
+    Long getQuantidade();
+}
@@ -0,0 +1,6 @@
+package com.mponte.minhasfinancas.model.projections;
+
+public interface TotalMensalUsuario extends TotalMensal {
+    Long getUsuarioId();
+    Integer getAno();
+}
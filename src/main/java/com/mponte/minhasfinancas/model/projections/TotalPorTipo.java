@@ -0,0 +1,11 @@
+package com.mponte.minhasfinancas.model.projections;
+
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+
+import java.math.BigDecimal;
+
+public interface TotalPorTipo {
+    Long getUsuarioId();
+    TipoLancamento getTipo();
+    BigDecimal getTotal();
+}
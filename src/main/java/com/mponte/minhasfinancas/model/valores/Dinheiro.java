@@ -0,0 +1,99 @@
+package com.mponte.minhasfinancas.model.valores;
+
+import java.math.BigDecimal;
+
+public final class Dinheiro implements Comparable<Dinheiro> {
+    public static final int ESCALA = 2;
+    public static final Dinheiro ZERO = new Dinheiro(0);
+
+    private final long centavos;
+
+    private Dinheiro(long centavos) {
+        this.centavos = centavos;
+    }
+
+    public static Dinheiro deCentavos(long centavos) {
+        return centavos == 0 ? ZERO : new Dinheiro(centavos);
+    }
+
+    public static Dinheiro de(BigDecimal valor) {
+        return deCentavos(centavos(valor));
+    }
+
+    public static long centavos(BigDecimal valor) {
+        if (valor == null) {
+            return 0;
+        }
+        return valor.scaleByPowerOfTen(ESCALA).longValueExact();
+    }
+
+    public static BigDecimal paraBigDecimal(long centavos) {
+        return BigDecimal.valueOf(centavos, ESCALA);
+    }
+
+    public static long somar(long centavos, long outros) {
+        return Math.addExact(centavos, outros);
+    }
+
+    public static long subtrair(long centavos, long outros) {
+        return Math.subtractExact(centavos, outros);
+    }
+
+    public static long multiplicar(long centavos, long fator) {
+        return Math.multiplyExact(centavos, fator);
+    }
+
+    public static long negar(long centavos) {
+        return Math.negateExact(centavos);
+    }
+
+    public long getCentavos() {
+        return centavos;
+    }
+
+    public Dinheiro somar(Dinheiro outro) {
+        return deCentavos(somar(centavos, outro.centavos));
+    }
+
+    public Dinheiro subtrair(Dinheiro outro) {
+        return deCentavos(subtrair(centavos, outro.centavos));
+    }
+
+    public Dinheiro multiplicar(long fator) {
+        return deCentavos(multiplicar(centavos, fator));
+    }
+
+    public Dinheiro negar() {
+        return deCentavos(negar(centavos));
+    }
+
+    public int signum() {
+        return Long.signum(centavos);
+    }
+
+    public BigDecimal paraBigDecimal() {
+        return paraBigDecimal(centavos);
+    }
+
+    @Override
+    public int compareTo(Dinheiro outro) {
+        return Long.compare(centavos, outro.centavos);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Dinheiro)) return false;
+        return centavos == ((Dinheiro) o).centavos;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(centavos);
+    }
+
+    @Override
+    public String toString() {
+        return paraBigDecimal().toPlainString();
+    }
+}
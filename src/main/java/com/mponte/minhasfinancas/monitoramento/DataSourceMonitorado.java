@@ -0,0 +1,90 @@
+package com.mponte.minhasfinancas.monitoramento;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public class DataSourceMonitorado extends DelegatingDataSource implements Closeable {
+    private final ObjectProvider<MonitoramentoSql> monitoramento;
+
+    public DataSourceMonitorado(DataSource dataSource, ObjectProvider<MonitoramentoSql> monitoramento) {
+        super(dataSource);
+        this.monitoramento = monitoramento;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return monitorar(super.getConnection());
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (getTargetDataSource() instanceof Closeable) {
+            ((Closeable) getTargetDataSource()).close();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return monitorar(super.getConnection(username, password));
+    }
+
+    private Connection monitorar(Connection conexao) {
+        return proxy(Connection.class, conexao, (proxy, metodo, args) -> {
+            Object resultado = invocar(conexao, metodo, args);
+            if (resultado instanceof CallableStatement) {
+                return monitorar(CallableStatement.class, (Statement) resultado, (String) args[0]);
+            }
+            if (resultado instanceof PreparedStatement) {
+                return monitorar(PreparedStatement.class, (Statement) resultado, (String) args[0]);
+            }
+            if (resultado instanceof Statement) {
+                return monitorar(Statement.class, (Statement) resultado, null);
+            }
+            return resultado;
+        });
+    }
+
+    private <T extends Statement> T monitorar(Class<T> tipo, Statement statement, String sqlPreparado) {
+        return proxy(tipo, statement, (proxy, metodo, args) -> {
+            if (!metodo.getName().startsWith("execute")) {
+                return invocar(statement, metodo, args);
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sqlPreparado;
+            long inicio = System.nanoTime();
+            try {
+                return invocar(statement, metodo, args);
+            } finally {
+                MonitoramentoSql monitor = monitoramento.getIfAvailable();
+                if (monitor != null) {
+                    monitor.registrar(sql, System.nanoTime() - inicio);
+                }
+            }
+        });
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> tipo, Object alvo, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(DataSourceMonitorado.class.getClassLoader(), new Class<?>[]{tipo}, handler);
+    }
+}
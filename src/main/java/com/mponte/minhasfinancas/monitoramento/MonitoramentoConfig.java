@@ -0,0 +1,65 @@
+package com.mponte.minhasfinancas.monitoramento;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+
+@Configuration
+public class MonitoramentoConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceMonitoradoPostProcessor(ObjectProvider<MonitoramentoSql> monitoramento) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof DataSourceMonitorado)) {
+                    return new DataSourceMonitorado((DataSource) bean, monitoramento);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public WebMvcConfigurer consultasPorRequisicao(MonitoramentoSql monitoramento, MeterRegistry registry) {
+        AsyncHandlerInterceptor interceptor = new AsyncHandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                monitoramento.iniciarRequisicao();
+                return true;
+            }
+
+            @Override
+            public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                monitoramento.finalizarRequisicao();
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+                Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                DistributionSummary.builder("financas.requisicao.consultas")
+                        .tag("method", request.getMethod())
+                        .tag("uri", uri == null ? "UNKNOWN" : uri.toString())
+                        .register(registry)
+                        .record(monitoramento.finalizarRequisicao());
+            }
+        };
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor);
+            }
+        };
+    }
+}
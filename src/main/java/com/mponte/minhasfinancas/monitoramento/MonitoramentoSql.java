@@ -0,0 +1,77 @@
+package com.mponte.minhasfinancas.monitoramento;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class MonitoramentoSql {
+    private static final String[] OPERACOES = {"select", "insert", "update", "delete"};
+
+    private final MeterRegistry registry;
+    private final long limiteNanos;
+    private final double amostragem;
+    private final Counter consultasLentas;
+    private final ThreadLocal<int[]> consultasDaRequisicao = new ThreadLocal<>();
+
+    public MonitoramentoSql(MeterRegistry registry,
+                            @Value("${financas.sql.lento.limite:500ms}") Duration limite,
+                            @Value("${financas.sql.lento.amostragem:1.0}") double amostragem) {
+        this.registry = registry;
+        this.limiteNanos = limite.toNanos();
+        this.amostragem = amostragem;
+        this.consultasLentas = registry.counter("financas.sql.lentas");
+    }
+
+    public void registrar(String sql, long nanos) {
+        String operacao = operacao(sql);
+        Timer.builder("financas.sql")
+                .tag("operacao", operacao)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+
+        int[] consultas = consultasDaRequisicao.get();
+        if (consultas != null) {
+            consultas[0]++;
+        }
+
+        if (nanos >= limiteNanos) {
+            consultasLentas.increment();
+            if (amostragem >= 1.0 || ThreadLocalRandom.current().nextDouble() < amostragem) {
+                log.warn("consulta lenta ({} ms): {}", TimeUnit.NANOSECONDS.toMillis(nanos), sql);
+            }
+        }
+    }
+
+    public void iniciarRequisicao() {
+        consultasDaRequisicao.set(new int[1]);
+    }
+
+    public int finalizarRequisicao() {
+        int[] consultas = consultasDaRequisicao.get();
+        consultasDaRequisicao.remove();
+        return consultas == null ? 0 : consultas[0];
+    }
+
+    private static String operacao(String sql) {
+        if (sql == null) {
+            return "lote";
+        }
+        String inicio = sql.stripLeading().toLowerCase(Locale.ROOT);
+        for (String operacao : OPERACOES) {
+            if (inicio.startsWith(operacao)) {
+                return operacao;
+            }
+        }
+        return "outra";
+    }
+}
@@ -0,0 +1,37 @@
+package com.mponte.minhasfinancas.monitoramento;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+public class ServicoMetricasAspect {
+    private final MeterRegistry registry;
+
+    public ServicoMetricasAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(* com.mponte.minhasfinancas.services.interfaces.LancamentoService.*(..)) || " +
+            "execution(* com.mponte.minhasfinancas.services.interfaces.UsuarioService.*(..))")
+    public Object medir(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample amostra = Timer.start(registry);
+        String excecao = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            excecao = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            amostra.stop(Timer.builder("financas.servico")
+                    .tag("servico", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("metodo", joinPoint.getSignature().getName())
+                    .tag("exception", excecao)
+                    .register(registry));
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.mponte.minhasfinancas.repositories;
+
+import com.mponte.minhasfinancas.model.entities.AnoArquivado;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AnoArquivadoRepository extends JpaRepository<AnoArquivado, Integer> {
+    @Query(value = "select a.ano from AnoArquivado a")
+    List<Integer> listarAnos();
+}
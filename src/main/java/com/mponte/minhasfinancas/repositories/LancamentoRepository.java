@@ -2,18 +2,108 @@ package com.mponte.minhasfinancas.repositories;
 
 import com.mponte.minhasfinancas.model.entities.Lancamento;
 import com.mponte.minhasfinancas.model.entities.Usuario;
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
 import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.model.projections.TotalMensal;
+import com.mponte.minhasfinancas.model.projections.TotalMensalUsuario;
+import com.mponte.minhasfinancas.model.projections.TotalPorTipo;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
-public interface LancamentoRepository extends JpaRepository<Lancamento, Long> {
+public interface LancamentoRepository extends JpaRepository<Lancamento, Long>, LancamentoRepositoryCustom {
     @Query(value = "select sum(l.valor) as saldo  from Lancamento l " +
             "where l.usuario = :usuario " +
             "AND l.tipo = :tipoLancamento")
     BigDecimal buscarSaldoPorTipoLancamento(@Param("usuario") Usuario usuario, @Param("tipoLancamento") TipoLancamento tipoLancamento);
+
+    @Query(value = "select l.usuario.id as usuarioId, l.tipo as tipo, sum(l.valor) as total from Lancamento l " +
+            "where l.usuario.id = :usuarioId " +
+            "group by l.usuario.id, l.tipo")
+    List<TotalPorTipo> totalizarPorTipo(@Param("usuarioId") Long usuarioId);
+
+    @Query(value = "select l.usuario.id as usuarioId, l.tipo as tipo, sum(l.valor) as total from Lancamento l " +
+            "group by l.usuario.id, l.tipo")
+    List<TotalPorTipo> totalizarPorUsuarioETipo();
+
+    @Query(value = "select l.mes as mes, l.tipo as tipo, l.status as status, sum(l.valor) as total, count(l) as quantidade " +
+            "from Lancamento l " +
+            "where l.usuario.id = :usuarioId and l.ano = :ano " +
+            "group by l.mes, l.tipo, l.status")
+    List<TotalMensal> totalizarPorMes(@Param("usuarioId") Long usuarioId, @Param("ano") Integer ano);
+
+    @Query(value = "select exists(select 1 from financas.lancamento)", nativeQuery = true)
+    boolean existeAlgum();
+
+    @Query(value = "select l.mes as mes, l.tipo as tipo, l.status as status, sum(l.valor) as total, count(l) as quantidade " +
+            "from Lancamento l " +
+            "where l.usuario.id = :usuarioId and l.ano = :ano and l.mes = :mes " +
+            "and l.tipo = :tipo and l.status = :status " +
+            "group by l.mes, l.tipo, l.status")
+    List<TotalMensal> totalizarMes(@Param("usuarioId") Long usuarioId, @Param("ano") Integer ano, @Param("mes") Integer mes,
+                                   @Param("tipo") TipoLancamento tipo, @Param("status") StatusLancamento status);
+
+    @Query(value = "select l.usuario.id as usuarioId, l.ano as ano, l.mes as mes, l.tipo as tipo, l.status as status, " +
+            "sum(l.valor) as total, count(l) as quantidade " +
+            "from Lancamento l " +
+            "where l.id in :ids and l.usuario.id = :usuarioId " +
+            "and (:statusAtual is null or l.status = :statusAtual) and l.status <> :status " +
+            "and l.ano is not null and l.mes is not null and l.tipo is not null and l.valor is not null " +
+            "group by l.usuario.id, l.ano, l.mes, l.tipo, l.status")
+    List<TotalMensalUsuario> totalizarParaStatus(@Param("ids") Collection<Long> ids, @Param("usuarioId") Long usuarioId,
+                                                 @Param("statusAtual") StatusLancamento statusAtual,
+                                                 @Param("status") StatusLancamento status);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "update Lancamento l set l.status = :status " +
+            "where l.id in :ids and l.usuario.id = :usuarioId " +
+            "and (:statusAtual is null or l.status = :statusAtual) and l.status <> :status")
+    int atualizarStatus(@Param("ids") Collection<Long> ids, @Param("usuarioId") Long usuarioId,
+                        @Param("statusAtual") StatusLancamento statusAtual, @Param("status") StatusLancamento status);
+
+    // trava as linhas antes de totalizar: os totais publicados e o UPDATE precisam enxergar as mesmas linhas
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(value = "select l.id from Lancamento l " +
+            "where l.id in :ids and l.usuario.id = :usuarioId " +
+            "and (:statusAtual is null or l.status = :statusAtual) and l.status <> :status order by l.id")
+    List<Long> travarParaStatus(@Param("ids") Collection<Long> ids, @Param("usuarioId") Long usuarioId,
+                                @Param("statusAtual") StatusLancamento statusAtual, @Param("status") StatusLancamento status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(value = "select l.id from Lancamento l " +
+            "where l.usuario.id = :usuarioId and (:ano is null or l.ano = :ano) and (:mes is null or l.mes = :mes) " +
+            "and (:statusAtual is null or l.status = :statusAtual) and l.status <> :status order by l.id")
+    List<Long> travarParaStatus(@Param("usuarioId") Long usuarioId, @Param("ano") Integer ano, @Param("mes") Integer mes,
+                                @Param("statusAtual") StatusLancamento statusAtual, @Param("status") StatusLancamento status);
+
+    long countByIdInAndUsuarioIdNot(Collection<Long> ids, Long usuarioId);
+
+    @Query(value = "select distinct l.ano from Lancamento l where l.ano <= :ano order by l.ano")
+    List<Integer> listarAnosAte(@Param("ano") Integer ano);
+
+    @Query(value = "select distinct l.ano from Lancamento l where l.usuario.id = :usuarioId")
+    List<Integer> listarAnos(@Param("usuarioId") Long usuarioId);
+
+    @Query(value = "select distinct l.ano from Lancamento l where l.id in :ids and l.usuario.id = :usuarioId")
+    List<Integer> listarAnos(@Param("ids") Collection<Long> ids, @Param("usuarioId") Long usuarioId);
+
+    @Modifying
+    @Query(value = "insert into financas.lancamento_arquivado " +
+            "(id, descricao, descricao_normalizada, mes, ano, usuario_id, valor, data_cadastro, tipo, status) " +
+            "select id, descricao, descricao_normalizada, mes, ano, usuario_id, valor, data_cadastro, tipo, status " +
+            "from financas.lancamento where ano = :ano", nativeQuery = true)
+    int copiarParaArquivo(@Param("ano") Integer ano);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "delete from financas.lancamento where ano = :ano", nativeQuery = true)
+    int apagarAno(@Param("ano") Integer ano);
 }
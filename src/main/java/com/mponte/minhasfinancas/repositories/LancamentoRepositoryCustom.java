@@ -0,0 +1,19 @@
+package com.mponte.minhasfinancas.repositories;
+
+import com.mponte.minhasfinancas.model.dtos.CursorLancamento;
+import com.mponte.minhasfinancas.model.dtos.LancamentoDTO;
+import com.mponte.minhasfinancas.model.entities.Lancamento;
+import com.mponte.minhasfinancas.model.projections.LancamentoResumo;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface LancamentoRepositoryCustom {
+    List<Lancamento> buscar(LancamentoDTO filtro);
+
+    List<LancamentoResumo> buscarPagina(LancamentoDTO filtro, CursorLancamento apos, int limite);
+
+    void salvarEmLote(List<Lancamento> lancamentos);
+
+    void percorrer(LancamentoDTO filtro, Consumer<LancamentoResumo> consumidor);
+}
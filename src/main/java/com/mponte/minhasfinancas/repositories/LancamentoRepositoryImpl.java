@@ -0,0 +1,226 @@
+package com.mponte.minhasfinancas.repositories;
+
+import com.mponte.minhasfinancas.model.dtos.CursorLancamento;
+import com.mponte.minhasfinancas.model.dtos.LancamentoDTO;
+import com.mponte.minhasfinancas.model.entities.Lancamento;
+import com.mponte.minhasfinancas.model.entities.LancamentoArquivado;
+import com.mponte.minhasfinancas.model.entities.Usuario;
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.model.projections.LancamentoResumo;
+import org.hibernate.jpa.QueryHints;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.LocalDateType;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.beans.factory.annotation.Value;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/*
+ * Os anos arquivados ficam em lancamento_arquivado, então as consultas de leitura cobrem as duas tabelas. As
+ * paginadas e percorridas usam um único union all, que lê ambas no mesmo instante: um arquivamento concorrente move
+ * as linhas de uma tabela para a outra na mesma transação e não as duplica nem as esconde da consulta.
+ */
+public class LancamentoRepositoryImpl implements LancamentoRepositoryCustom {
+    private static final String COLUNAS = "id, descricao, mes, ano, usuario_id, valor, data_cadastro, tipo, status";
+    private static final Comparator<Lancamento> ORDEM = Comparator.comparing(Lancamento::getAno)
+            .thenComparing(Lancamento::getMes).thenComparing(Lancamento::getId);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${financas.lancamento.lote.tamanho:50}")
+    private int tamanhoBatch;
+
+    @Value("${financas.lancamento.fetch-size:500}")
+    private int tamanhoFetch;
+
+    @Override
+    public List<Lancamento> buscar(LancamentoDTO filtro) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Lancamento> query = cb.createQuery(Lancamento.class);
+        Root<Lancamento> root = query.from(Lancamento.class);
+        query.where(filtrar(cb, root, filtro).toArray(new Predicate[0])).orderBy(ordenacao(cb, root));
+        List<Lancamento> lancamentos = new ArrayList<>(entityManager.createQuery(query).getResultList());
+
+        CriteriaQuery<LancamentoArquivado> arquivados = cb.createQuery(LancamentoArquivado.class);
+        Root<LancamentoArquivado> arquivado = arquivados.from(LancamentoArquivado.class);
+        arquivados.where(filtrarArquivados(cb, arquivado, filtro).toArray(new Predicate[0]));
+        List<LancamentoArquivado> antigos = entityManager.createQuery(arquivados).getResultList();
+        if (antigos.isEmpty()) {
+            return lancamentos;
+        }
+        antigos.forEach(antigo -> lancamentos.add(converter(antigo)));
+        return lancamentos.stream().sorted(ORDEM).collect(Collectors.toList());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<LancamentoResumo> buscarPagina(LancamentoDTO filtro, CursorLancamento apos, int limite) {
+        List<Object[]> linhas = resumos(filtro, apos).setMaxResults(limite).getResultList();
+        return linhas.stream().map(LancamentoRepositoryImpl::resumo).collect(Collectors.toList());
+    }
+
+    @Override
+    public void salvarEmLote(List<Lancamento> lancamentos) {
+        for (int i = 0; i < lancamentos.size(); i++) {
+            entityManager.persist(lancamentos.get(i));
+            if ((i + 1) % tamanhoBatch == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void percorrer(LancamentoDTO filtro, Consumer<LancamentoResumo> consumidor) {
+        try (Stream<Object[]> linhas = resumos(filtro, null)
+                .setHint(QueryHints.HINT_FETCH_SIZE, tamanhoFetch)
+                .getResultStream()) {
+            linhas.map(LancamentoRepositoryImpl::resumo).forEach(consumidor);
+        }
+    }
+
+    private Query resumos(LancamentoDTO filtro, CursorLancamento apos) {
+        StringBuilder condicoes = new StringBuilder(" where usuario_id = :usuario");
+        if (filtro.getAno() != null) {
+            condicoes.append(" and ano = :ano");
+        }
+        if (filtro.getMes() != null) {
+            condicoes.append(" and mes = :mes");
+        }
+        if (filtro.getDescricao() != null && !filtro.getDescricao().isBlank()) {
+            condicoes.append(" and descricao_normalizada like :descricao escape '\\'");
+        }
+        if (filtro.getTipo() != null) {
+            condicoes.append(" and tipo = :tipo");
+        }
+        if (filtro.getStatus() != null) {
+            condicoes.append(" and status = :status");
+        }
+        if (apos != null) {
+            condicoes.append(" and (ano > :aposAno or (ano = :aposAno and mes > :aposMes)" +
+                    " or (ano = :aposAno and mes = :aposMes and id > :aposId))");
+        }
+        String sql = "select " + COLUNAS + " from financas.lancamento" + condicoes +
+                " union all select " + COLUNAS + " from financas.lancamento_arquivado" + condicoes +
+                " order by ano, mes, id";
+
+        Query query = entityManager.createNativeQuery(sql);
+        query.setParameter("usuario", filtro.getUsuario());
+        if (filtro.getAno() != null) {
+            query.setParameter("ano", filtro.getAno());
+        }
+        if (filtro.getMes() != null) {
+            query.setParameter("mes", filtro.getMes());
+        }
+        if (filtro.getDescricao() != null && !filtro.getDescricao().isBlank()) {
+            query.setParameter("descricao", prefixo(filtro.getDescricao()));
+        }
+        if (filtro.getTipo() != null) {
+            query.setParameter("tipo", TipoLancamento.valueOf(filtro.getTipo()).name());
+        }
+        if (filtro.getStatus() != null) {
+            query.setParameter("status", StatusLancamento.valueOf(filtro.getStatus()).name());
+        }
+        if (apos != null) {
+            query.setParameter("aposAno", apos.getAno());
+            query.setParameter("aposMes", apos.getMes());
+            query.setParameter("aposId", apos.getId());
+        }
+        query.unwrap(NativeQuery.class)
+                .addScalar("id", StandardBasicTypes.LONG)
+                .addScalar("descricao", StandardBasicTypes.STRING)
+                .addScalar("mes", StandardBasicTypes.INTEGER)
+                .addScalar("ano", StandardBasicTypes.INTEGER)
+                .addScalar("usuario_id", StandardBasicTypes.LONG)
+                .addScalar("valor", StandardBasicTypes.BIG_DECIMAL)
+                .addScalar("data_cadastro", LocalDateType.INSTANCE)
+                .addScalar("tipo", StandardBasicTypes.STRING)
+                .addScalar("status", StandardBasicTypes.STRING);
+        return query;
+    }
+
+    private static LancamentoResumo resumo(Object[] colunas) {
+        return new LancamentoResumo((Long) colunas[0], (String) colunas[1], (Integer) colunas[2], (Integer) colunas[3],
+                (Long) colunas[4], (BigDecimal) colunas[5], (LocalDate) colunas[6],
+                colunas[7] == null ? null : TipoLancamento.valueOf((String) colunas[7]),
+                colunas[8] == null ? null : StatusLancamento.valueOf((String) colunas[8]));
+    }
+
+    private Lancamento converter(LancamentoArquivado arquivado) {
+        return Lancamento.builder()
+                .id(arquivado.getId())
+                .descricao(arquivado.getDescricao())
+                .descricaoNormalizada(arquivado.getDescricaoNormalizada())
+                .mes(arquivado.getMes())
+                .ano(arquivado.getAno())
+                .usuario(entityManager.getReference(Usuario.class, arquivado.getUsuarioId()))
+                .valor(arquivado.getValor())
+                .dataCadastro(arquivado.getDataCadastro())
+                .tipo(arquivado.getTipo())
+                .status(arquivado.getStatus())
+                .build();
+    }
+
+    private List<Predicate> filtrarArquivados(CriteriaBuilder cb, Root<LancamentoArquivado> root, LancamentoDTO filtro) {
+        List<Predicate> predicados = new ArrayList<>();
+        predicados.add(cb.equal(root.get("usuarioId"), filtro.getUsuario()));
+        adicionarFiltros(cb, root, filtro, predicados);
+        return predicados;
+    }
+
+    private List<Predicate> filtrar(CriteriaBuilder cb, Root<Lancamento> root, LancamentoDTO filtro) {
+        List<Predicate> predicados = new ArrayList<>();
+        predicados.add(cb.equal(root.get("usuario").get("id"), filtro.getUsuario()));
+        adicionarFiltros(cb, root, filtro, predicados);
+        return predicados;
+    }
+
+    private void adicionarFiltros(CriteriaBuilder cb, Root<?> root, LancamentoDTO filtro, List<Predicate> predicados) {
+        if (filtro.getAno() != null) {
+            predicados.add(cb.equal(root.get("ano"), filtro.getAno()));
+        }
+        if (filtro.getMes() != null) {
+            predicados.add(cb.equal(root.get("mes"), filtro.getMes()));
+        }
+        if (filtro.getDescricao() != null && !filtro.getDescricao().isBlank()) {
+            predicados.add(cb.like(root.get("descricaoNormalizada"), prefixo(filtro.getDescricao()), '\\'));
+        }
+        if (filtro.getTipo() != null) {
+            predicados.add(cb.equal(root.get("tipo"), TipoLancamento.valueOf(filtro.getTipo())));
+        }
+        if (filtro.getStatus() != null) {
+            predicados.add(cb.equal(root.get("status"), StatusLancamento.valueOf(filtro.getStatus())));
+        }
+    }
+
+    private String prefixo(String descricao) {
+        return Lancamento.normalizar(descricao)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+
+    private List<Order> ordenacao(CriteriaBuilder cb, Root<Lancamento> root) {
+        return List.of(cb.asc(root.get("ano")), cb.asc(root.get("mes")), cb.asc(root.get("id")));
+    }
+}
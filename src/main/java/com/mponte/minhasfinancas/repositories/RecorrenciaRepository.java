@@ -0,0 +1,28 @@
+package com.mponte.minhasfinancas.repositories;
+
+import com.mponte.minhasfinancas.model.entities.Recorrencia;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface RecorrenciaRepository extends JpaRepository<Recorrencia, Long> {
+    List<Recorrencia> findByUsuarioId(Long usuarioId);
+
+    // Trava as recorrências do lote e pula as já travadas: execuções sobrepostas do job dividem as vencidas em vez de
+    // materializar a mesma ocorrência duas vezes. Timeout -2 é o SKIP LOCKED do Hibernate.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query("select r from Recorrencia r where r.proximaOcorrencia <= :data " +
+            "and (r.fim is null or r.proximaOcorrencia <= r.fim) " +
+            "and mod(r.usuario.id, :fatias) = :fatia and r.id > :apos order by r.id")
+    List<Recorrencia> buscarVencidas(@Param("data") LocalDate data, @Param("fatia") int fatia,
+                                     @Param("fatias") int fatias, @Param("apos") Long apos, Pageable pagina);
+}
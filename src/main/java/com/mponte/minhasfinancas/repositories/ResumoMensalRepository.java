@@ -0,0 +1,66 @@
+package com.mponte.minhasfinancas.repositories;
+
+import com.mponte.minhasfinancas.model.entities.ResumoMensal;
+import com.mponte.minhasfinancas.model.entities.ResumoMensalId;
+import com.mponte.minhasfinancas.model.projections.TotalPorTipo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface ResumoMensalRepository extends JpaRepository<ResumoMensal, ResumoMensalId>, ResumoMensalRepositoryCustom {
+    List<ResumoMensal> findByIdUsuarioIdAndIdAno(Long usuarioId, Integer ano);
+
+    List<ResumoMensal> findByIdUsuarioId(Long usuarioId);
+
+    @Modifying
+    @Query(value = "update ResumoMensal r " +
+            "set r.total = r.total + :total, r.quantidade = r.quantidade + :quantidade " +
+            "where r.id = :id")
+    int somar(@Param("id") ResumoMensalId id, @Param("total") BigDecimal total, @Param("quantidade") Long quantidade);
+
+    @Modifying
+    @Query(value = "delete from financas.resumo_mensal " +
+            "where ano not in (select a.ano from financas.ano_arquivado a)", nativeQuery = true)
+    void apagarNaoArquivados();
+
+    @Query(value = "select exists(select 1 from financas.resumo_mensal " +
+            "where ano not in (select a.ano from financas.ano_arquivado a))", nativeQuery = true)
+    boolean existeNaoArquivado();
+
+    @Modifying
+    @Query(value = "delete from financas.resumo_mensal where ano = :ano", nativeQuery = true)
+    void apagarAno(@Param("ano") Integer ano);
+
+    @Modifying
+    @Query(value = "insert into financas.resumo_mensal (usuario_id, ano, mes, tipo, status, total, quantidade) " +
+            "select usuario_id, ano, mes, tipo, status, sum(valor), count(*) from financas.lancamento " +
+            "where usuario_id is not null and ano is not null and mes is not null " +
+            "and tipo is not null and status is not null and valor is not null " +
+            "and ano not in (select a.ano from financas.ano_arquivado a) " +
+            "group by usuario_id, ano, mes, tipo, status", nativeQuery = true)
+    int consolidarLancamentos();
+
+    @Modifying
+    @Query(value = "insert into financas.resumo_mensal (usuario_id, ano, mes, tipo, status, total, quantidade) " +
+            "select usuario_id, ano, mes, tipo, status, sum(valor), count(*) from financas.lancamento " +
+            "where ano = :ano and usuario_id is not null and mes is not null " +
+            "and tipo is not null and status is not null and valor is not null " +
+            "group by usuario_id, ano, mes, tipo, status", nativeQuery = true)
+    int consolidarAno(@Param("ano") Integer ano);
+
+    @Query(value = "select r.id.usuarioId as usuarioId, r.id.tipo as tipo, sum(r.total) as total from ResumoMensal r " +
+            "where r.id.usuarioId = :usuarioId and r.id.ano in (select a.ano from AnoArquivado a) " +
+            "group by r.id.usuarioId, r.id.tipo")
+    List<TotalPorTipo> totalizarArquivadosPorTipo(@Param("usuarioId") Long usuarioId);
+
+    @Query(value = "select r.id.usuarioId as usuarioId, r.id.tipo as tipo, sum(r.total) as total from ResumoMensal r " +
+            "where r.id.ano in (select a.ano from AnoArquivado a) " +
+            "group by r.id.usuarioId, r.id.tipo")
+    List<TotalPorTipo> totalizarArquivadosPorUsuarioETipo();
+}
@@ -0,0 +1,5 @@
+package com.mponte.minhasfinancas.repositories;
+
+public interface ResumoMensalRepositoryCustom {
+    void travarParaConsolidar();
+}
@@ -0,0 +1,32 @@
+package com.mponte.minhasfinancas.repositories;
+
+import org.hibernate.Session;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.Statement;
+
+/*
+ * A reconstrução apaga e recarrega o consolidado a partir de lancamento; os mesmos locks de resumo-mensal-carga.sql
+ * impedem que um delta confirmado no meio dela se perca ou seja contado duas vezes. O lock em resumo_mensal conflita
+ * consigo mesmo e serializa reconstruções de instâncias diferentes. O H2 dos testes não tem lock table.
+ */
+public class ResumoMensalRepositoryImpl implements ResumoMensalRepositoryCustom {
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void travarParaConsolidar() {
+        entityManager.unwrap(Session.class).doWork(conexao -> {
+            if (!POSTGRESQL.equals(conexao.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+            try (Statement comando = conexao.createStatement()) {
+                comando.execute("lock table financas.lancamento in share mode");
+                comando.execute("lock table financas.resumo_mensal in share row exclusive mode");
+            }
+        });
+    }
+}
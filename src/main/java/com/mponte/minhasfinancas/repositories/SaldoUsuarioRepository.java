@@ -0,0 +1,27 @@
+package com.mponte.minhasfinancas.repositories;
+
+import com.mponte.minhasfinancas.model.entities.SaldoUsuario;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+@Repository
+public interface SaldoUsuarioRepository extends JpaRepository<SaldoUsuario, Long> {
+    @Modifying
+    @Query(value = "update SaldoUsuario s " +
+            "set s.receitas = s.receitas + :receitas, s.despesas = s.despesas + :despesas, s.versao = s.versao + 1 " +
+            "where s.usuarioId = :usuarioId")
+    int somar(@Param("usuarioId") Long usuarioId, @Param("receitas") BigDecimal receitas, @Param("despesas") BigDecimal despesas);
+
+    @Modifying
+    @Query(value = "update SaldoUsuario s set s.versao = s.versao + 1")
+    int incrementarVersoes();
+
+    @Query(value = "select s.versao from SaldoUsuario s where s.usuarioId = :usuarioId")
+    Optional<Long> buscarVersao(@Param("usuarioId") Long usuarioId);
+}
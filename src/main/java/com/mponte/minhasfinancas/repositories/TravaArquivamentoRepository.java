@@ -0,0 +1,22 @@
+package com.mponte.minhasfinancas.repositories;
+
+import com.mponte.minhasfinancas.model.entities.TravaArquivamento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+
+@Repository
+public interface TravaArquivamentoRepository extends JpaRepository<TravaArquivamento, Integer> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(value = "select t from TravaArquivamento t where t.id = :id")
+    Optional<TravaArquivamento> travarExclusiva(@Param("id") Integer id);
+
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query(value = "select t from TravaArquivamento t where t.id = :id")
+    Optional<TravaArquivamento> travarCompartilhada(@Param("id") Integer id);
+}
@@ -0,0 +1,28 @@
+package com.mponte.minhasfinancas.roteamento;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+public class DataSourceRoteado extends LazyConnectionDataSourceProxy implements Closeable {
+    private final List<? extends Closeable> pools;
+
+    public DataSourceRoteado(RoteamentoDataSource roteamento, List<? extends Closeable> pools) {
+        super(roteamento);
+        this.pools = pools;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Closeable pool : pools) {
+            pool.close();
+        }
+    }
+
+    public DataSource getRoteamento() {
+        return getTargetDataSource();
+    }
+}
@@ -0,0 +1,42 @@
+package com.mponte.minhasfinancas.roteamento;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mponte.minhasfinancas.autenticacao.AutenticacaoInterceptor;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+
+public class PoliticaLeitura {
+    private final Cache<Long, Boolean> escritasRecentes;
+
+    public PoliticaLeitura(Duration leituraPropria) {
+        this.escritasRecentes = leituraPropria.isZero() ? null : Caffeine.newBuilder()
+                .expireAfterWrite(leituraPropria)
+                .build();
+    }
+
+    public void registrarEscrita(Long usuario) {
+        if (escritasRecentes != null && usuario != null) {
+            escritasRecentes.put(usuario, Boolean.TRUE);
+        }
+    }
+
+    public boolean podeLerDaReplica() {
+        if (escritasRecentes == null) {
+            return true;
+        }
+        Long usuario = usuarioAtual();
+        return usuario == null || escritasRecentes.getIfPresent(usuario) == null;
+    }
+
+    static Long usuarioAtual() {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        if (atributos == null) {
+            return null;
+        }
+        Object usuario = atributos.getAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO, RequestAttributes.SCOPE_REQUEST);
+        return usuario instanceof Long ? (Long) usuario : null;
+    }
+}
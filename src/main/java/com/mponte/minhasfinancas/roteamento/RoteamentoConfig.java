@@ -0,0 +1,101 @@
+package com.mponte.minhasfinancas.roteamento;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Configuration
+@ConditionalOnProperty(name = "financas.datasource.replicas[0].url")
+public class RoteamentoConfig {
+    private static final String REPLICAS = "financas.datasource.replicas";
+    private static final Set<String> LEITURAS = Set.of("GET", "HEAD", "OPTIONS");
+
+    @Bean
+    public PoliticaLeitura politicaLeitura(@Value("${financas.datasource.leitura-propria:5s}") Duration leituraPropria) {
+        return new PoliticaLeitura(leituraPropria);
+    }
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties propriedades, Environment ambiente, PoliticaLeitura politica,
+                                 ObjectProvider<MeterRegistry> metricas) {
+        Binder binder = Binder.get(ambiente);
+        MeterRegistry registro = metricas.getIfAvailable();
+        HikariDataSource primario = criarPool(binder, propriedades, "spring.datasource.hikari", "primario", registro);
+
+        List<DataSourceProperties> configuracoes = binder.bind(REPLICAS, Bindable.listOf(DataSourceProperties.class))
+                .orElse(List.of());
+        List<DataSource> replicas = new ArrayList<>();
+        List<HikariDataSource> pools = new ArrayList<>(List.of(primario));
+        for (int i = 0; i < configuracoes.size(); i++) {
+            HikariDataSource replica = criarPool(binder, configuracoes.get(i), REPLICAS + "[" + i + "].hikari",
+                    "replica-" + i, registro);
+            replicas.add(replica);
+            pools.add(replica);
+        }
+        return new DataSourceRoteado(new RoteamentoDataSource(primario, replicas, politica), pools);
+    }
+
+    @Bean
+    public WebMvcConfigurer leituraPropria(PoliticaLeitura politica) {
+        HandlerInterceptor interceptor = new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                registrar(request);
+                return true;
+            }
+
+            // a janela de leitura própria precisa contar a partir do commit, não do início de uma escrita demorada
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+                registrar(request);
+            }
+
+            private void registrar(HttpServletRequest request) {
+                if (!LEITURAS.contains(request.getMethod())) {
+                    politica.registrarEscrita(PoliticaLeitura.usuarioAtual());
+                }
+            }
+        };
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor).order(Ordered.LOWEST_PRECEDENCE);
+            }
+        };
+    }
+
+    // os pools não são beans, então a auto-configuração do Spring Boot não publicaria as métricas das réplicas
+    private static HikariDataSource criarPool(Binder binder, DataSourceProperties propriedades, String prefixoHikari,
+                                              String nome, MeterRegistry registro) {
+        HikariDataSource pool = propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind(prefixoHikari, Bindable.ofInstance(pool));
+        if (pool.getPoolName() == null) {
+            pool.setPoolName(nome);
+        }
+        if (registro != null) {
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registro));
+        }
+        return pool;
+    }
+}
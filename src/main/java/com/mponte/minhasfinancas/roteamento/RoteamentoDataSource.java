@@ -0,0 +1,42 @@
+package com.mponte.minhasfinancas.roteamento;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+    static final String PRIMARIO = "primario";
+    static final String REPLICA = "replica-";
+
+    private final int replicas;
+    private final PoliticaLeitura politica;
+    private final AtomicInteger proxima = new AtomicInteger();
+
+    public RoteamentoDataSource(DataSource primario, List<DataSource> replicas, PoliticaLeitura politica) {
+        this.replicas = replicas.size();
+        this.politica = politica;
+        Map<Object, Object> destinos = new HashMap<>();
+        destinos.put(PRIMARIO, primario);
+        for (int i = 0; i < replicas.size(); i++) {
+            destinos.put(REPLICA + i, replicas.get(i));
+        }
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(primario);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicas == 0 || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || !politica.podeLerDaReplica()) {
+            return PRIMARIO;
+        }
+        return REPLICA + Math.floorMod(proxima.getAndIncrement(), replicas);
+    }
+}
@@ -0,0 +1,269 @@
+package com.mponte.minhasfinancas.services.analise;
+
+import com.mponte.minhasfinancas.model.dtos.AnaliseLancamentosDTO;
+import com.mponte.minhasfinancas.model.dtos.TotalDescricaoDTO;
+import com.mponte.minhasfinancas.model.entities.Lancamento;
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.model.valores.Dinheiro;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class InstantaneoLancamentos {
+    private static final int CAPACIDADE_INICIAL = 64;
+    private static final int BYTES_POR_LINHA = Long.BYTES * 2 + Short.BYTES + Byte.BYTES * 3 + Integer.BYTES
+            + 2 * (Long.BYTES + Integer.BYTES);
+    private static final int BYTES_POR_DESCRICAO = 96;
+    private static final byte NENHUM = -1;
+
+    private long[] ids = new long[CAPACIDADE_INICIAL];
+    private long[] centavos = new long[CAPACIDADE_INICIAL];
+    private short[] anos = new short[CAPACIDADE_INICIAL];
+    private byte[] meses = new byte[CAPACIDADE_INICIAL];
+    private byte[] tipos = new byte[CAPACIDADE_INICIAL];
+    private byte[] status = new byte[CAPACIDADE_INICIAL];
+    private int[] descricoes = new int[CAPACIDADE_INICIAL];
+    private int tamanho;
+    private final IndiceIds indice = new IndiceIds(CAPACIDADE_INICIAL);
+
+    private final List<String> dicionario = new ArrayList<>();
+    private final Map<String, Integer> codigos = new HashMap<>();
+    private long bytesDicionario;
+
+    public synchronized void atualizar(Long id, String descricao, Integer ano, Integer mes, BigDecimal valor,
+                                       TipoLancamento tipo, StatusLancamento situacao) {
+        if (id == null) {
+            return;
+        }
+        int posicao = indice.buscar(id);
+        if (posicao < 0) {
+            garantirCapacidade();
+            posicao = tamanho++;
+            ids[posicao] = id;
+            indice.definir(id, posicao);
+        }
+        centavos[posicao] = Dinheiro.centavos(valor);
+        anos[posicao] = ano == null ? 0 : ano.shortValue();
+        meses[posicao] = mes == null ? 0 : mes.byteValue();
+        tipos[posicao] = tipo == null ? NENHUM : (byte) tipo.ordinal();
+        status[posicao] = situacao == null ? NENHUM : (byte) situacao.ordinal();
+        descricoes[posicao] = codificar(descricao);
+    }
+
+    public synchronized boolean remover(Long id) {
+        int posicao = id == null ? -1 : indice.buscar(id);
+        if (posicao < 0) {
+            return false;
+        }
+        indice.remover(id);
+        int ultima = --tamanho;
+        if (posicao != ultima) {
+            indice.definir(ids[ultima], posicao);
+        }
+        ids[posicao] = ids[ultima];
+        centavos[posicao] = centavos[ultima];
+        anos[posicao] = anos[ultima];
+        meses[posicao] = meses[ultima];
+        tipos[posicao] = tipos[ultima];
+        status[posicao] = status[ultima];
+        descricoes[posicao] = descricoes[ultima];
+        return true;
+    }
+
+    public synchronized int getTamanho() {
+        return tamanho;
+    }
+
+    public synchronized long getBytesEstimados() {
+        return (long) ids.length * BYTES_POR_LINHA + bytesDicionario;
+    }
+
+    public synchronized AnaliseLancamentosDTO analisar(Integer ano, Integer mes, TipoLancamento tipo,
+                                                       StatusLancamento situacao, String descricao, int limite) {
+        int filtroAno = ano == null ? -1 : ano;
+        int filtroMes = mes == null ? -1 : mes;
+        int filtroTipo = tipo == null ? -1 : tipo.ordinal();
+        int filtroStatus = situacao == null ? -1 : situacao.ordinal();
+        boolean[] descricoesAceitas = descricoesAceitas(descricao);
+        int receita = TipoLancamento.RECEITA.ordinal();
+        int despesa = TipoLancamento.DESPESA.ordinal();
+
+        long[] totalPorDescricao = new long[dicionario.size()];
+        long[] quantidadePorDescricao = new long[dicionario.size()];
+        long receitas = 0;
+        long despesas = 0;
+        long quantidade = 0;
+        for (int i = 0; i < tamanho; i++) {
+            if ((filtroAno >= 0 && anos[i] != filtroAno)
+                    || (filtroMes >= 0 && meses[i] != filtroMes)
+                    || (filtroTipo >= 0 && tipos[i] != filtroTipo)
+                    || (filtroStatus >= 0 && status[i] != filtroStatus)
+                    || (descricoesAceitas != null && !descricoesAceitas[descricoes[i]])) {
+                continue;
+            }
+            long valor = centavos[i];
+            if (tipos[i] == receita) {
+                receitas = Dinheiro.somar(receitas, valor);
+            } else if (tipos[i] == despesa) {
+                despesas = Dinheiro.somar(despesas, valor);
+            }
+            totalPorDescricao[descricoes[i]] = Dinheiro.somar(totalPorDescricao[descricoes[i]], valor);
+            quantidadePorDescricao[descricoes[i]]++;
+            quantidade++;
+        }
+
+        return AnaliseLancamentosDTO.builder()
+                .quantidade(quantidade)
+                .receitas(Dinheiro.paraBigDecimal(receitas))
+                .despesas(Dinheiro.paraBigDecimal(despesas))
+                .saldo(Dinheiro.paraBigDecimal(Dinheiro.subtrair(receitas, despesas)))
+                .descricoes(maiores(totalPorDescricao, quantidadePorDescricao, limite))
+                .build();
+    }
+
+    private List<TotalDescricaoDTO> maiores(long[] totais, long[] quantidades, int limite) {
+        int[] melhores = new int[Math.min(limite, totais.length)];
+        int encontrados = 0;
+        for (int codigo = 0; codigo < totais.length; codigo++) {
+            if (quantidades[codigo] == 0) {
+                continue;
+            }
+            int posicao = encontrados;
+            while (posicao > 0 && totais[melhores[posicao - 1]] < totais[codigo]) {
+                if (posicao < melhores.length) {
+                    melhores[posicao] = melhores[posicao - 1];
+                }
+                posicao--;
+            }
+            if (posicao < melhores.length) {
+                melhores[posicao] = codigo;
+                encontrados = Math.min(encontrados + 1, melhores.length);
+            }
+        }
+        List<TotalDescricaoDTO> resultado = new ArrayList<>(encontrados);
+        for (int i = 0; i < encontrados; i++) {
+            int codigo = melhores[i];
+            resultado.add(new TotalDescricaoDTO(dicionario.get(codigo), Dinheiro.paraBigDecimal(totais[codigo]), quantidades[codigo]));
+        }
+        return resultado;
+    }
+
+    private boolean[] descricoesAceitas(String descricao) {
+        if (descricao == null || descricao.isBlank()) {
+            return null;
+        }
+        String prefixo = Lancamento.normalizar(descricao);
+        boolean[] aceitas = new boolean[dicionario.size()];
+        for (int codigo = 0; codigo < aceitas.length; codigo++) {
+            String valor = dicionario.get(codigo);
+            aceitas[codigo] = valor != null && Lancamento.normalizar(valor).startsWith(prefixo);
+        }
+        return aceitas;
+    }
+
+    private int codificar(String descricao) {
+        Integer codigo = codigos.get(descricao);
+        if (codigo == null) {
+            codigo = dicionario.size();
+            dicionario.add(descricao);
+            codigos.put(descricao, codigo);
+            bytesDicionario += BYTES_POR_DESCRICAO + (descricao == null ? 0 : 2L * descricao.length());
+        }
+        return codigo;
+    }
+
+    private void garantirCapacidade() {
+        if (tamanho < ids.length) {
+            return;
+        }
+        int capacidade = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacidade);
+        centavos = Arrays.copyOf(centavos, capacidade);
+        anos = Arrays.copyOf(anos, capacidade);
+        meses = Arrays.copyOf(meses, capacidade);
+        tipos = Arrays.copyOf(tipos, capacidade);
+        status = Arrays.copyOf(status, capacidade);
+        descricoes = Arrays.copyOf(descricoes, capacidade);
+    }
+
+    private static final class IndiceIds {
+        private long[] chaves;
+        private int[] posicoes;
+        private int quantidade;
+
+        IndiceIds(int capacidade) {
+            chaves = new long[Integer.highestOneBit(capacidade * 2 - 1) << 1];
+            posicoes = new int[chaves.length];
+        }
+
+        int buscar(long id) {
+            int mascara = chaves.length - 1;
+            for (int i = espalhar(id) & mascara; chaves[i] != 0; i = (i + 1) & mascara) {
+                if (chaves[i] == id) {
+                    return posicoes[i];
+                }
+            }
+            return -1;
+        }
+
+        void definir(long id, int posicao) {
+            if ((quantidade + 1) * 2 > chaves.length) {
+                redimensionar();
+            }
+            int mascara = chaves.length - 1;
+            int i = espalhar(id) & mascara;
+            while (chaves[i] != 0 && chaves[i] != id) {
+                i = (i + 1) & mascara;
+            }
+            if (chaves[i] == 0) {
+                chaves[i] = id;
+                quantidade++;
+            }
+            posicoes[i] = posicao;
+        }
+
+        void remover(long id) {
+            int mascara = chaves.length - 1;
+            int vazio = espalhar(id) & mascara;
+            while (chaves[vazio] != id) {
+                if (chaves[vazio] == 0) {
+                    return;
+                }
+                vazio = (vazio + 1) & mascara;
+            }
+            for (int j = (vazio + 1) & mascara; chaves[j] != 0; j = (j + 1) & mascara) {
+                int ideal = espalhar(chaves[j]) & mascara;
+                boolean podeMover = vazio <= j ? (ideal <= vazio || ideal > j) : (ideal <= vazio && ideal > j);
+                if (podeMover) {
+                    chaves[vazio] = chaves[j];
+                    posicoes[vazio] = posicoes[j];
+                    vazio = j;
+                }
+            }
+            chaves[vazio] = 0;
+            quantidade--;
+        }
+
+        private void redimensionar() {
+            long[] chavesAntigas = chaves;
+            int[] posicoesAntigas = posicoes;
+            chaves = new long[chavesAntigas.length * 2];
+            posicoes = new int[chaves.length];
+            quantidade = 0;
+            for (int i = 0; i < chavesAntigas.length; i++) {
+                if (chavesAntigas[i] != 0) {
+                    definir(chavesAntigas[i], posicoesAntigas[i]);
+                }
+            }
+        }
+
+        private static int espalhar(long id) {
+            return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.mponte.minhasfinancas.services.events;
+
+import lombok.Getter;
+
+@Getter
+public class AnoArquivadoEvent {
+    private final Integer ano;
+
+    public AnoArquivadoEvent(Integer ano) {
+        this.ano = ano;
+    }
+}
@@ -0,0 +1,29 @@
+package com.mponte.minhasfinancas.services.events;
+
+import com.mponte.minhasfinancas.model.entities.Lancamento;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class LancamentosAlteradosEvent {
+    private final List<Lancamento> anteriores;
+    private final List<Lancamento> atuais;
+
+    public LancamentosAlteradosEvent(List<Lancamento> anteriores, List<Lancamento> atuais) {
+        this.anteriores = anteriores;
+        this.atuais = atuais;
+    }
+
+    public static LancamentosAlteradosEvent inclusao(List<Lancamento> lancamentos) {
+        return new LancamentosAlteradosEvent(List.of(), lancamentos);
+    }
+
+    public static LancamentosAlteradosEvent alteracao(Lancamento anterior, Lancamento atual) {
+        return new LancamentosAlteradosEvent(List.of(anterior), List.of(atual));
+    }
+
+    public static LancamentosAlteradosEvent exclusao(Lancamento lancamento) {
+        return new LancamentosAlteradosEvent(List.of(lancamento), List.of());
+    }
+}
@@ -0,0 +1,18 @@
+package com.mponte.minhasfinancas.services.events;
+
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.projections.TotalMensalUsuario;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class StatusLancamentosAlteradosEvent {
+    private final List<TotalMensalUsuario> anteriores;
+    private final StatusLancamento status;
+
+    public StatusLancamentosAlteradosEvent(List<TotalMensalUsuario> anteriores, StatusLancamento status) {
+        this.anteriores = anteriores;
+        this.status = status;
+    }
+}
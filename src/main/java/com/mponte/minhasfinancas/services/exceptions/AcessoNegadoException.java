@@ -0,0 +1,8 @@
+package com.mponte.minhasfinancas.services.exceptions;
+
+public class AcessoNegadoException extends RuntimeException {
+
+    public AcessoNegadoException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,8 @@
+package com.mponte.minhasfinancas.services.exceptions;
+
+public class FilaCheiaException extends RuntimeException {
+
+    public FilaCheiaException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,8 @@
+package com.mponte.minhasfinancas.services.exceptions;
+
+public class TokenInvalidoException extends RuntimeException {
+
+    public TokenInvalidoException(String msg) {
+        super(msg);
+    }
+}
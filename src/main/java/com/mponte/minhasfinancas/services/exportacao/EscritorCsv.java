@@ -0,0 +1,69 @@
+package com.mponte.minhasfinancas.services.exportacao;
+
+import com.mponte.minhasfinancas.model.projections.LancamentoResumo;
+
+import java.io.IOException;
+import java.io.Writer;
+
+class EscritorCsv implements EscritorLancamentos {
+    private final Writer saida;
+
+    EscritorCsv(Writer saida) {
+        this.saida = saida;
+    }
+
+    @Override
+    public void iniciar() throws IOException {
+        saida.write("id,descricao,mes,ano,valor,tipo,status,data_cadastro\r\n");
+    }
+
+    @Override
+    public void escrever(LancamentoResumo lancamento) throws IOException {
+        saida.write(String.valueOf(lancamento.getId()));
+        saida.write(',');
+        escreverTexto(lancamento.getDescricao());
+        saida.write(',');
+        escreverValor(lancamento.getMes());
+        saida.write(',');
+        escreverValor(lancamento.getAno());
+        saida.write(',');
+        if (lancamento.getValor() != null) {
+            saida.write(lancamento.getValor().toPlainString());
+        }
+        saida.write(',');
+        escreverValor(lancamento.getTipo());
+        saida.write(',');
+        escreverValor(lancamento.getStatus());
+        saida.write(',');
+        escreverValor(lancamento.getDataCadastro());
+        saida.write("\r\n");
+    }
+
+    @Override
+    public void finalizar() {
+    }
+
+    private void escreverValor(Object valor) throws IOException {
+        if (valor != null) {
+            saida.write(valor.toString());
+        }
+    }
+
+    private void escreverTexto(String texto) throws IOException {
+        if (texto == null) {
+            return;
+        }
+        boolean aspas = false;
+        for (int i = 0; i < texto.length() && !aspas; i++) {
+            char c = texto.charAt(i);
+            aspas = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!aspas) {
+            saida.write(texto);
+            return;
+        }
+        saida.write('"');
+        saida.write(texto.replace("\"", "\"\""));
+        saida.write('"');
+    }
+}
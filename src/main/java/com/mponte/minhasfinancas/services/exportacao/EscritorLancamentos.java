@@ -0,0 +1,13 @@
+package com.mponte.minhasfinancas.services.exportacao;
+
+import com.mponte.minhasfinancas.model.projections.LancamentoResumo;
+
+import java.io.IOException;
+
+public interface EscritorLancamentos {
+    void iniciar() throws IOException;
+
+    void escrever(LancamentoResumo lancamento) throws IOException;
+
+    void finalizar() throws IOException;
+}
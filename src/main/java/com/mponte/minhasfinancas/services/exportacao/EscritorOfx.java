@@ -0,0 +1,93 @@
+package com.mponte.minhasfinancas.services.exportacao;
+
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.model.projections.LancamentoResumo;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+class EscritorOfx implements EscritorLancamentos {
+    private static final DateTimeFormatter DATA = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final int TAMANHO_NOME = 32;
+
+    private final Writer saida;
+    private final Exportacao exportacao;
+    private BigDecimal saldo = BigDecimal.ZERO;
+
+    EscritorOfx(Writer saida, Exportacao exportacao) {
+        this.saida = saida;
+        this.exportacao = exportacao;
+    }
+
+    @Override
+    public void iniciar() throws IOException {
+        saida.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n");
+        saida.write("<?OFX OFXHEADER=\"200\" VERSION=\"220\" SECURITY=\"NONE\" OLDFILEUID=\"NONE\" NEWFILEUID=\"NONE\"?>\n");
+        saida.write("<OFX><BANKMSGSRSV1><STMTTRNRS><TRNUID>0</TRNUID>");
+        saida.write("<STATUS><CODE>0</CODE><SEVERITY>INFO</SEVERITY></STATUS>");
+        saida.write("<STMTRS><CURDEF>BRL</CURDEF>");
+        saida.write("<BANKACCTFROM><BANKID>0</BANKID><ACCTID>" + exportacao.getUsuario() + "</ACCTID><ACCTTYPE>CHECKING</ACCTTYPE></BANKACCTFROM>\n");
+        saida.write("<BANKTRANLIST>");
+        if (exportacao.getAno() != null) {
+            saida.write("<DTSTART>" + exportacao.getAno() + "0101</DTSTART><DTEND>" + exportacao.getAno() + "1231</DTEND>");
+        }
+        saida.write('\n');
+    }
+
+    @Override
+    public void escrever(LancamentoResumo lancamento) throws IOException {
+        if (lancamento.getStatus() == StatusLancamento.CANCELADO || lancamento.getValor() == null) {
+            return;
+        }
+        boolean receita = lancamento.getTipo() == TipoLancamento.RECEITA;
+        BigDecimal valor = receita ? lancamento.getValor() : lancamento.getValor().negate();
+        saldo = saldo.add(valor);
+
+        saida.write("<STMTTRN><TRNTYPE>");
+        saida.write(receita ? "CREDIT" : "DEBIT");
+        saida.write("</TRNTYPE><DTPOSTED>");
+        saida.write(LocalDate.of(lancamento.getAno(), lancamento.getMes(), 1).format(DATA));
+        saida.write("</DTPOSTED><TRNAMT>");
+        saida.write(valor.toPlainString());
+        saida.write("</TRNAMT><FITID>");
+        saida.write(String.valueOf(lancamento.getId()));
+        saida.write("</FITID><NAME>");
+        String descricao = lancamento.getDescricao() == null ? "" : lancamento.getDescricao();
+        escreverTexto(descricao.length() > TAMANHO_NOME ? descricao.substring(0, TAMANHO_NOME) : descricao);
+        saida.write("</NAME><MEMO>");
+        escreverTexto(descricao);
+        saida.write("</MEMO></STMTTRN>\n");
+    }
+
+    @Override
+    public void finalizar() throws IOException {
+        saida.write("</BANKTRANLIST><LEDGERBAL><BALAMT>");
+        saida.write(saldo.toPlainString());
+        saida.write("</BALAMT><DTASOF>");
+        saida.write(LocalDate.now().format(DATA));
+        saida.write("</DTASOF></LEDGERBAL></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>\n");
+    }
+
+    private void escreverTexto(String texto) throws IOException {
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '&':
+                    saida.write("&amp;");
+                    break;
+                case '<':
+                    saida.write("&lt;");
+                    break;
+                case '>':
+                    saida.write("&gt;");
+                    break;
+                default:
+                    saida.write(c);
+            }
+        }
+    }
+}
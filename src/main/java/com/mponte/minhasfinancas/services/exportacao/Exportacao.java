@@ -0,0 +1,16 @@
+package com.mponte.minhasfinancas.services.exportacao;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class Exportacao {
+    private final Long usuario;
+    private final Integer ano;
+    private final FormatoExportacao formato;
+
+    public String getNomeArquivo() {
+        return "lancamentos-" + usuario + (ano == null ? "" : "-" + ano) + "." + formato.getExtensao();
+    }
+}
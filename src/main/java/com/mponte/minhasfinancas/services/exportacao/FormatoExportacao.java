@@ -0,0 +1,39 @@
+package com.mponte.minhasfinancas.services.exportacao;
+
+import com.mponte.minhasfinancas.services.exceptions.RegraNegocioException;
+
+import java.io.Writer;
+
+public enum FormatoExportacao {
+    CSV("text/csv", "csv"),
+    OFX("application/x-ofx", "ofx");
+
+    private final String tipoConteudo;
+    private final String extensao;
+
+    FormatoExportacao(String tipoConteudo, String extensao) {
+        this.tipoConteudo = tipoConteudo;
+        this.extensao = extensao;
+    }
+
+    public String getTipoConteudo() {
+        return tipoConteudo;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+
+    public static FormatoExportacao de(String formato) {
+        for (FormatoExportacao valor : values()) {
+            if (valor.extensao.equalsIgnoreCase(formato)) {
+                return valor;
+            }
+        }
+        throw new RegraNegocioException("Informe um formato de exportação válido: csv ou ofx.");
+    }
+
+    public EscritorLancamentos criarEscritor(Writer saida, Exportacao exportacao) {
+        return this == CSV ? new EscritorCsv(saida) : new EscritorOfx(saida, exportacao);
+    }
+}
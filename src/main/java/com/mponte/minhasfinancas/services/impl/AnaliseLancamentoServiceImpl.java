@@ -0,0 +1,155 @@
+package com.mponte.minhasfinancas.services.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.mponte.minhasfinancas.model.dtos.AnaliseLancamentosDTO;
+import com.mponte.minhasfinancas.model.dtos.LancamentoDTO;
+import com.mponte.minhasfinancas.model.entities.Lancamento;
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.model.projections.TotalMensalUsuario;
+import com.mponte.minhasfinancas.repositories.LancamentoRepository;
+import com.mponte.minhasfinancas.services.analise.InstantaneoLancamentos;
+import com.mponte.minhasfinancas.services.events.AnoArquivadoEvent;
+import com.mponte.minhasfinancas.services.events.LancamentosAlteradosEvent;
+import com.mponte.minhasfinancas.services.events.StatusLancamentosAlteradosEvent;
+import com.mponte.minhasfinancas.services.exceptions.RegraNegocioException;
+import com.mponte.minhasfinancas.services.interfaces.AnaliseLancamentoService;
+import com.mponte.minhasfinancas.services.interfaces.UsuarioService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class AnaliseLancamentoServiceImpl implements AnaliseLancamentoService {
+    private static final int LIMITE_PADRAO = 10;
+    private static final int LIMITE_MAXIMO = 100;
+
+    private final LancamentoRepository lancamentoRepository;
+    private final UsuarioService usuarioService;
+    private final boolean habilitada;
+    private final Cache<Long, InstantaneoLancamentos> instantaneos;
+
+    public AnaliseLancamentoServiceImpl(LancamentoRepository lancamentoRepository, UsuarioService usuarioService,
+                                        @Value("${financas.analise.instantaneo.habilitado:true}") boolean habilitada,
+                                        @Value("${financas.analise.instantaneo.memoria:64MB}") DataSize memoria,
+                                        @Value("${financas.analise.instantaneo.expiracao:10m}") Duration expiracao) {
+        this.lancamentoRepository = lancamentoRepository;
+        this.usuarioService = usuarioService;
+        this.habilitada = habilitada;
+        this.instantaneos = Caffeine.newBuilder()
+                .maximumWeight(memoria.toBytes())
+                .weigher((Long usuario, InstantaneoLancamentos instantaneo) ->
+                        (int) Math.min(Integer.MAX_VALUE, instantaneo.getBytesEstimados()))
+                .expireAfter(expirarAposCarga(expiracao))
+                .executor(Runnable::run)
+                .build();
+    }
+
+    // o instantâneo só recebe as alterações feitas nesta instância; é carregado do primário e expira após a carga,
+    // mesmo que continue recebendo alterações, para não ficar indefinidamente atrás das gravações das demais
+    @Override
+    @Transactional
+    public AnaliseLancamentosDTO analisar(LancamentoDTO filtro, Integer limite) {
+        if (limite != null && (limite < 1 || limite > LIMITE_MAXIMO)) {
+            throw new RegraNegocioException("Informe um limite entre 1 e " + LIMITE_MAXIMO + ".");
+        }
+        TipoLancamento tipo = converter(TipoLancamento.class, filtro.getTipo(), "Informe um tipo de lançamento válido.");
+        StatusLancamento status = converter(StatusLancamento.class, filtro.getStatus(), "Informe um status de lançamento válido.");
+        usuarioService.findById(filtro.getUsuario());
+
+        InstantaneoLancamentos instantaneo = habilitada
+                ? instantaneos.get(filtro.getUsuario(), this::carregar)
+                : carregar(filtro.getUsuario());
+        return instantaneo.analisar(filtro.getAno(), filtro.getMes(), tipo, status, filtro.getDescricao(),
+                limite == null ? LIMITE_PADRAO : limite);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aplicar(LancamentosAlteradosEvent evento) {
+        Map<Long, List<Lancamento>> removidos = agrupar(evento.getAnteriores());
+        Map<Long, List<Lancamento>> atuais = agrupar(evento.getAtuais());
+        Set<Long> usuarios = new LinkedHashSet<>(removidos.keySet());
+        usuarios.addAll(atuais.keySet());
+        for (Long usuario : usuarios) {
+            instantaneos.asMap().computeIfPresent(usuario, (chave, instantaneo) -> {
+                removidos.getOrDefault(usuario, List.of()).forEach(lancamento -> instantaneo.remover(lancamento.getId()));
+                atuais.getOrDefault(usuario, List.of()).forEach(lancamento -> instantaneo.atualizar(lancamento.getId(),
+                        lancamento.getDescricao(), lancamento.getAno(), lancamento.getMes(), lancamento.getValor(),
+                        lancamento.getTipo(), lancamento.getStatus()));
+                return instantaneo;
+            });
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aplicar(StatusLancamentosAlteradosEvent evento) {
+        for (TotalMensalUsuario anterior : evento.getAnteriores()) {
+            instantaneos.invalidate(anterior.getUsuarioId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aplicar(AnoArquivadoEvent evento) {
+        instantaneos.invalidateAll();
+    }
+
+    private InstantaneoLancamentos carregar(Long usuario) {
+        InstantaneoLancamentos instantaneo = new InstantaneoLancamentos();
+        lancamentoRepository.percorrer(LancamentoDTO.builder().usuario(usuario).build(), lancamento ->
+                instantaneo.atualizar(lancamento.getId(), lancamento.getDescricao(), lancamento.getAno(),
+                        lancamento.getMes(), lancamento.getValor(), lancamento.getTipo(), lancamento.getStatus()));
+        return instantaneo;
+    }
+
+    private static Expiry<Long, InstantaneoLancamentos> expirarAposCarga(Duration expiracao) {
+        return new Expiry<Long, InstantaneoLancamentos>() {
+            @Override
+            public long expireAfterCreate(Long usuario, InstantaneoLancamentos instantaneo, long agora) {
+                return expiracao.toNanos();
+            }
+
+            @Override
+            public long expireAfterUpdate(Long usuario, InstantaneoLancamentos instantaneo, long agora, long restante) {
+                return restante;
+            }
+
+            @Override
+            public long expireAfterRead(Long usuario, InstantaneoLancamentos instantaneo, long agora, long restante) {
+                return restante;
+            }
+        };
+    }
+
+    private Map<Long, List<Lancamento>> agrupar(List<Lancamento> lancamentos) {
+        Map<Long, List<Lancamento>> porUsuario = new LinkedHashMap<>();
+        for (Lancamento lancamento : lancamentos) {
+            if (lancamento.getUsuario() != null && lancamento.getUsuario().getId() != null) {
+                porUsuario.computeIfAbsent(lancamento.getUsuario().getId(), usuario -> new ArrayList<>()).add(lancamento);
+            }
+        }
+        return porUsuario;
+    }
+
+    private static <E extends Enum<E>> E converter(Class<E> tipo, String valor, String mensagem) {
+        if (valor == null || valor.isBlank()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(tipo, valor);
+        } catch (IllegalArgumentException e) {
+            throw new RegraNegocioException(mensagem);
+        }
+    }
+}
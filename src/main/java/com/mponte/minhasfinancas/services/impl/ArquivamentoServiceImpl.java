@@ -0,0 +1,160 @@
+package com.mponte.minhasfinancas.services.impl;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.mponte.minhasfinancas.model.dtos.ArquivamentoDTO;
+import com.mponte.minhasfinancas.model.entities.AnoArquivado;
+import com.mponte.minhasfinancas.model.entities.TravaArquivamento;
+import com.mponte.minhasfinancas.repositories.AnoArquivadoRepository;
+import com.mponte.minhasfinancas.repositories.LancamentoRepository;
+import com.mponte.minhasfinancas.repositories.ResumoMensalRepository;
+import com.mponte.minhasfinancas.repositories.TravaArquivamentoRepository;
+import com.mponte.minhasfinancas.services.events.AnoArquivadoEvent;
+import com.mponte.minhasfinancas.services.exceptions.RegraNegocioException;
+import com.mponte.minhasfinancas.services.interfaces.ArquivamentoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Year;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/*
+ * O cache de anos arquivados serve apenas às leituras. Quem grava em um ano fechado toma a trava compartilhada e
+ * confere ano_arquivado no banco, enquanto o arquivamento toma a trava exclusiva: assim nenhum lançamento é gravado
+ * em um ano depois que o arquivamento o copiou, mesmo em instâncias cujo cache ainda não o vê arquivado.
+ */
+@Service
+public class ArquivamentoServiceImpl implements ArquivamentoService {
+    private static final String ANOS = "anos";
+
+    private final AnoArquivadoRepository anoArquivadoRepository;
+    private final LancamentoRepository lancamentoRepository;
+    private final ResumoMensalRepository resumoMensalRepository;
+    private final TravaArquivamentoRepository travaArquivamentoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int anosAbertos;
+    private final Clock relogio;
+    private final LoadingCache<String, Set<Integer>> anosArquivados;
+
+    @Autowired
+    public ArquivamentoServiceImpl(AnoArquivadoRepository anoArquivadoRepository, LancamentoRepository lancamentoRepository,
+                                   ResumoMensalRepository resumoMensalRepository,
+                                   TravaArquivamentoRepository travaArquivamentoRepository,
+                                   ApplicationEventPublisher eventPublisher,
+                                   @Value("${financas.arquivamento.anos-abertos:2}") int anosAbertos,
+                                   @Value("${financas.arquivamento.atualizacao:1m}") Duration atualizacao) {
+        this(anoArquivadoRepository, lancamentoRepository, resumoMensalRepository, travaArquivamentoRepository,
+                eventPublisher, anosAbertos, atualizacao, Clock.systemDefaultZone());
+    }
+
+    ArquivamentoServiceImpl(AnoArquivadoRepository anoArquivadoRepository, LancamentoRepository lancamentoRepository,
+                            ResumoMensalRepository resumoMensalRepository,
+                            TravaArquivamentoRepository travaArquivamentoRepository, ApplicationEventPublisher eventPublisher,
+                            int anosAbertos, Duration atualizacao, Clock relogio) {
+        if (anosAbertos < 1) {
+            throw new IllegalArgumentException("financas.arquivamento.anos-abertos deve manter ao menos o ano corrente aberto");
+        }
+        this.anoArquivadoRepository = anoArquivadoRepository;
+        this.lancamentoRepository = lancamentoRepository;
+        this.resumoMensalRepository = resumoMensalRepository;
+        this.travaArquivamentoRepository = travaArquivamentoRepository;
+        this.eventPublisher = eventPublisher;
+        this.anosAbertos = anosAbertos;
+        this.relogio = relogio;
+        this.anosArquivados = Caffeine.newBuilder()
+                .expireAfterWrite(atualizacao)
+                .build(chave -> new HashSet<>(anoArquivadoRepository.listarAnos()));
+    }
+
+    @Override
+    public boolean arquivado(Integer ano) {
+        return ano != null && anosArquivados.get(ANOS).contains(ano);
+    }
+
+    @Override
+    @Transactional
+    public ArquivamentoDTO arquivar(Integer ano) {
+        if (ano == null || String.valueOf(ano).length() != 4) {
+            throw new RegraNegocioException("Informe um Ano válido.");
+        }
+        if (ano > ultimoAnoFechado()) {
+            throw new RegraNegocioException("Somente anos fechados podem ser arquivados.");
+        }
+        travar(true);
+        if (anoArquivadoRepository.existsById(ano)) {
+            throw new RegraNegocioException("O ano de " + ano + " já está arquivado.");
+        }
+
+        resumoMensalRepository.apagarAno(ano);
+        int resumos = resumoMensalRepository.consolidarAno(ano);
+        int lancamentos = lancamentoRepository.copiarParaArquivo(ano);
+        lancamentoRepository.apagarAno(ano);
+        anoArquivadoRepository.save(new AnoArquivado(ano, relogio.instant(), (long) lancamentos));
+
+        eventPublisher.publishEvent(new AnoArquivadoEvent(ano));
+        invalidarAoConfirmar();
+        return new ArquivamentoDTO(ano, lancamentos, resumos);
+    }
+
+    @Override
+    @Transactional
+    public void garantirAnosAbertos(Collection<Integer> anos) {
+        Set<Integer> fechados = new TreeSet<>();
+        for (Integer ano : anos) {
+            if (ano != null && ano <= ultimoAnoFechado()) {
+                fechados.add(ano);
+            }
+        }
+        if (fechados.isEmpty()) {
+            return;
+        }
+        travar(false);
+        for (Integer ano : fechados) {
+            if (anoArquivadoRepository.existsById(ano)) {
+                throw new RegraNegocioException("O ano de " + ano + " está arquivado e não aceita lançamentos.");
+            }
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Integer> anosParaArquivar() {
+        return lancamentoRepository.listarAnosAte(ultimoAnoFechado());
+    }
+
+    private int ultimoAnoFechado() {
+        return Year.now(relogio).getValue() - anosAbertos;
+    }
+
+    private void travar(boolean exclusiva) {
+        if ((exclusiva ? travaArquivamentoRepository.travarExclusiva(TravaArquivamento.UNICA)
+                : travaArquivamentoRepository.travarCompartilhada(TravaArquivamento.UNICA)).isEmpty()) {
+            travaArquivamentoRepository.saveAndFlush(new TravaArquivamento(TravaArquivamento.UNICA));
+            travar(exclusiva);
+        }
+    }
+
+    private void invalidarAoConfirmar() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            anosArquivados.invalidateAll();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                anosArquivados.invalidateAll();
+            }
+        });
+    }
+}
@@ -0,0 +1,305 @@
+package com.mponte.minhasfinancas.services.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mponte.minhasfinancas.model.dtos.LancamentosAlteradosDTO;
+import com.mponte.minhasfinancas.model.dtos.SaldoAlteradoDTO;
+import com.mponte.minhasfinancas.model.entities.Lancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.model.projections.TotalMensalUsuario;
+import com.mponte.minhasfinancas.model.valores.Dinheiro;
+import com.mponte.minhasfinancas.services.events.LancamentosAlteradosEvent;
+import com.mponte.minhasfinancas.services.events.StatusLancamentosAlteradosEvent;
+import com.mponte.minhasfinancas.services.interfaces.EventosUsuarioService;
+import com.mponte.minhasfinancas.services.interfaces.UsuarioService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/*
+ * Cada conexão SSE é assíncrona no container e não ocupa thread enquanto ociosa. As notificações são publicadas
+ * depois do commit em uma fila limitada por assinatura e escritas por poucos despachantes; quem publica nunca
+ * escreve no socket. Uma assinatura cuja fila enche (cliente lento) é encerrada e o cliente deve reconectar e
+ * recarregar saldo e lançamentos, pois não há reenvio de notificações perdidas. Cada quadro SSE é codificado uma
+ * única vez e os mesmos bytes vão para todas as assinaturas do usuário, sem passar pelo SseEmitter, que converteria
+ * o evento de novo para cada conexão. A escrita no socket bloqueia quando o cliente para de ler, então cada envio
+ * roda em uma thread de escrita e o despachante espera no máximo financas.eventos.timeout-escrita: passado o prazo,
+ * só aquela assinatura é encerrada e o despachante segue para as demais.
+ */
+@Slf4j
+@Service
+public class EventosUsuarioServiceImpl implements EventosUsuarioService {
+    static final String SALDO = "saldo";
+    static final String LANCAMENTOS = "lancamentos";
+    static final int MAXIMO_IDS = 100;
+    private static final byte[] CONECTADO = ":conectado\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PING = ":ping\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final UsuarioService usuarioService;
+    private final ObjectWriter escritor;
+    private final Supplier<ResponseBodyEmitter> emissores;
+    private final int capacidadeFila;
+    private final ScheduledExecutorService despachante;
+    private final ExecutorService escritores;
+    private final Duration timeoutEscrita;
+    private final Duration heartbeat;
+    private final ConcurrentMap<Long, Set<Assinatura>> assinaturas = new ConcurrentHashMap<>();
+    private final Counter descartadas;
+
+    @Autowired
+    public EventosUsuarioServiceImpl(UsuarioService usuarioService, ObjectMapper objectMapper, MeterRegistry registry,
+                                     @Value("${financas.eventos.timeout:30m}") Duration timeout,
+                                     @Value("${financas.eventos.fila:32}") int capacidadeFila,
+                                     @Value("${financas.eventos.despachantes:2}") int despachantes,
+                                     @Value("${financas.eventos.timeout-escrita:5s}") Duration timeoutEscrita,
+                                     @Value("${financas.eventos.heartbeat:30s}") Duration heartbeat) {
+        this(usuarioService, objectMapper, registry, () -> new ResponseBodyEmitter(timeout.toMillis()), capacidadeFila,
+                Executors.newScheduledThreadPool(despachantes, tarefa -> {
+                    Thread thread = new Thread(tarefa, "eventos-usuario");
+                    thread.setDaemon(true);
+                    return thread;
+                }), Executors.newCachedThreadPool(tarefa -> {
+                    Thread thread = new Thread(tarefa, "eventos-usuario-escrita");
+                    thread.setDaemon(true);
+                    return thread;
+                }), timeoutEscrita, heartbeat);
+    }
+
+    EventosUsuarioServiceImpl(UsuarioService usuarioService, ObjectMapper objectMapper, MeterRegistry registry,
+                              Supplier<ResponseBodyEmitter> emissores, int capacidadeFila, ScheduledExecutorService despachante,
+                              ExecutorService escritores, Duration timeoutEscrita, Duration heartbeat) {
+        this.usuarioService = usuarioService;
+        this.escritor = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        this.emissores = emissores;
+        this.capacidadeFila = capacidadeFila;
+        this.despachante = despachante;
+        this.escritores = escritores;
+        this.timeoutEscrita = timeoutEscrita;
+        this.heartbeat = heartbeat;
+        this.descartadas = registry.counter("financas.eventos.descartadas");
+        registry.gauge("financas.eventos.assinaturas", this, EventosUsuarioServiceImpl::contarAssinaturas);
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        despachante.scheduleWithFixedDelay(this::manterConexoes, heartbeat.toMillis(), heartbeat.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        assinaturas.values().forEach(doUsuario -> doUsuario.forEach(this::descartar));
+        despachante.shutdown();
+        despachante.awaitTermination(5, TimeUnit.SECONDS);
+        escritores.shutdownNow();
+    }
+
+    @Override
+    public ResponseBodyEmitter assinar(Long idUsuario) {
+        usuarioService.findById(idUsuario);
+        ResponseBodyEmitter emissor = emissores.get();
+        Assinatura assinatura = new Assinatura(idUsuario, emissor, capacidadeFila);
+        emissor.onCompletion(() -> remover(assinatura));
+        emissor.onTimeout(() -> remover(assinatura));
+        emissor.onError(erro -> remover(assinatura));
+        assinaturas.compute(idUsuario, (id, doUsuario) -> {
+            Set<Assinatura> atualizadas = doUsuario == null ? ConcurrentHashMap.newKeySet() : doUsuario;
+            atualizadas.add(assinatura);
+            return atualizadas;
+        });
+        enfileirar(assinatura, CONECTADO);
+        return emissor;
+    }
+
+    @Override
+    public int contarAssinaturas() {
+        return assinaturas.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void notificar(LancamentosAlteradosEvent evento) {
+        if (assinaturas.isEmpty()) {
+            return;
+        }
+        String acao = evento.getAnteriores().isEmpty() ? "inclusao" : evento.getAtuais().isEmpty() ? "exclusao" : "alteracao";
+        Map<Long, Alteracao> alteracoes = new HashMap<>();
+        evento.getAnteriores().forEach(lancamento -> acumular(alteracoes, lancamento, -1));
+        evento.getAtuais().forEach(lancamento -> acumular(alteracoes, lancamento, 1));
+        alteracoes.forEach((usuario, alteracao) -> {
+            if (alteracao.variacao != 0) {
+                publicar(usuario, SALDO, new SaldoAlteradoDTO(usuario, Dinheiro.paraBigDecimal(alteracao.variacao)));
+            }
+            List<Long> ids = alteracao.ids.size() > MAXIMO_IDS ? null : new ArrayList<>(alteracao.ids);
+            publicar(usuario, LANCAMENTOS, new LancamentosAlteradosDTO(usuario, acao, null, alteracao.ids.size(), ids));
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void notificar(StatusLancamentosAlteradosEvent evento) {
+        Set<Long> usuarios = new LinkedHashSet<>();
+        for (TotalMensalUsuario anterior : evento.getAnteriores()) {
+            usuarios.add(anterior.getUsuarioId());
+        }
+        for (Long usuario : usuarios) {
+            publicar(usuario, LANCAMENTOS, new LancamentosAlteradosDTO(usuario, "status", evento.getStatus().name(), null, null));
+        }
+    }
+
+    void manterConexoes() {
+        assinaturas.values().forEach(doUsuario -> doUsuario.forEach(assinatura ->
+                enfileirar(assinatura, PING)));
+    }
+
+    private void acumular(Map<Long, Alteracao> alteracoes, Lancamento lancamento, int sinal) {
+        if (lancamento.getUsuario() == null || !assinaturas.containsKey(lancamento.getUsuario().getId())) {
+            return;
+        }
+        Alteracao alteracao = alteracoes.computeIfAbsent(lancamento.getUsuario().getId(), usuario -> new Alteracao());
+        if (lancamento.getId() != null) {
+            alteracao.ids.add(lancamento.getId());
+        }
+        if (lancamento.getTipo() != null && lancamento.getValor() != null) {
+            long centavos = Dinheiro.centavos(lancamento.getValor());
+            long liquido = lancamento.getTipo() == TipoLancamento.RECEITA ? centavos : Dinheiro.negar(centavos);
+            alteracao.variacao = Dinheiro.somar(alteracao.variacao, Dinheiro.multiplicar(liquido, sinal));
+        }
+    }
+
+    private void publicar(Long usuario, String nome, Object dados) {
+        Set<Assinatura> doUsuario = assinaturas.get(usuario);
+        if (doUsuario == null) {
+            return;
+        }
+        byte[] quadro;
+        try {
+            quadro = ("event:" + nome + "\ndata:" + escritor.writeValueAsString(dados) + "\n\n").getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        doUsuario.forEach(assinatura -> enfileirar(assinatura, quadro));
+    }
+
+    private void enfileirar(Assinatura assinatura, byte[] quadro) {
+        if (!assinatura.fila.offer(quadro)) {
+            log.debug("assinatura de eventos do usuário {} descartada: fila cheia", assinatura.usuario);
+            descartadas.increment();
+            descartar(assinatura);
+            return;
+        }
+        agendar(assinatura);
+    }
+
+    private void descartar(Assinatura assinatura) {
+        remover(assinatura);
+        agendar(assinatura);
+    }
+
+    private void remover(Assinatura assinatura) {
+        assinatura.encerrada = true;
+        assinaturas.computeIfPresent(assinatura.usuario, (id, doUsuario) -> {
+            doUsuario.remove(assinatura);
+            return doUsuario.isEmpty() ? null : doUsuario;
+        });
+    }
+
+    private void agendar(Assinatura assinatura) {
+        if (assinatura.agendada.compareAndSet(false, true)) {
+            despachante.execute(() -> drenar(assinatura));
+        }
+    }
+
+    private void drenar(Assinatura assinatura) {
+        do {
+            byte[] quadro;
+            while (!assinatura.encerrada && (quadro = assinatura.fila.poll()) != null) {
+                if (!enviar(assinatura, quadro)) {
+                    remover(assinatura);
+                }
+            }
+            if (assinatura.encerrada) {
+                assinatura.fila.clear();
+                if (assinatura.travada) {
+                    escritores.execute(assinatura.emissor::complete);
+                } else {
+                    assinatura.emissor.complete();
+                }
+                return;
+            }
+            assinatura.agendada.set(false);
+        } while (!assinatura.fila.isEmpty() && assinatura.agendada.compareAndSet(false, true));
+    }
+
+    private boolean enviar(Assinatura assinatura, byte[] quadro) {
+        Future<?> envio = escritores.submit(() -> {
+            assinatura.emissor.send(quadro, MediaType.TEXT_EVENT_STREAM);
+            return null;
+        });
+        try {
+            envio.get(timeoutEscrita.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (ExecutionException e) {
+            return false;
+        } catch (TimeoutException e) {
+            log.debug("assinatura de eventos do usuário {} descartada: escrita travada", assinatura.usuario);
+            descartadas.increment();
+            assinatura.travada = true;
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static class Assinatura {
+        private final Long usuario;
+        private final ResponseBodyEmitter emissor;
+        private final BlockingQueue<byte[]> fila;
+        private final AtomicBoolean agendada = new AtomicBoolean();
+        private volatile boolean encerrada;
+        private volatile boolean travada;
+
+        private Assinatura(Long usuario, ResponseBodyEmitter emissor, int capacidadeFila) {
+            this.usuario = usuario;
+            this.emissor = emissor;
+            this.fila = new ArrayBlockingQueue<>(capacidadeFila);
+        }
+    }
+
+    private static class Alteracao {
+        private final Set<Long> ids = new LinkedHashSet<>();
+        private long variacao;
+    }
+}
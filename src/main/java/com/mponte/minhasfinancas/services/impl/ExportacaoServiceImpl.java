@@ -0,0 +1,59 @@
+package com.mponte.minhasfinancas.services.impl;
+
+import com.mponte.minhasfinancas.model.dtos.LancamentoDTO;
+import com.mponte.minhasfinancas.services.exceptions.RegraNegocioException;
+import com.mponte.minhasfinancas.services.exportacao.EscritorLancamentos;
+import com.mponte.minhasfinancas.services.exportacao.Exportacao;
+import com.mponte.minhasfinancas.services.exportacao.FormatoExportacao;
+import com.mponte.minhasfinancas.services.interfaces.ExportacaoService;
+import com.mponte.minhasfinancas.services.interfaces.LancamentoService;
+import com.mponte.minhasfinancas.services.interfaces.UsuarioService;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+@Service
+public class ExportacaoServiceImpl implements ExportacaoService {
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private final LancamentoService lancamentoService;
+    private final UsuarioService usuarioService;
+
+    public ExportacaoServiceImpl(LancamentoService lancamentoService, UsuarioService usuarioService) {
+        this.lancamentoService = lancamentoService;
+        this.usuarioService = usuarioService;
+    }
+
+    @Override
+    public Exportacao preparar(Long idUsuario, Integer ano, String formato) {
+        FormatoExportacao formatoExportacao = FormatoExportacao.de(formato);
+        if (ano != null && String.valueOf(ano).length() != 4) {
+            throw new RegraNegocioException("Informe um Ano válido.");
+        }
+        usuarioService.findById(idUsuario);
+        return new Exportacao(idUsuario, ano, formatoExportacao);
+    }
+
+    @Override
+    public void escrever(Exportacao exportacao, OutputStream saida) throws IOException {
+        Writer texto = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+        EscritorLancamentos escritor = exportacao.getFormato().criarEscritor(texto, exportacao);
+        LancamentoDTO filtro = LancamentoDTO.builder().usuario(exportacao.getUsuario()).ano(exportacao.getAno()).build();
+
+        escritor.iniciar();
+        try {
+            lancamentoService.percorrer(filtro, lancamento -> {
+                try {
+                    escritor.escrever(lancamento);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        escritor.finalizar();
+        texto.flush();
+    }
+}
@@ -0,0 +1,158 @@
+package com.mponte.minhasfinancas.services.impl;
+
+import com.mponte.minhasfinancas.model.dtos.LancamentoDTO;
+import com.mponte.minhasfinancas.model.entities.Lancamento;
+import com.mponte.minhasfinancas.services.exceptions.FilaCheiaException;
+import com.mponte.minhasfinancas.services.interfaces.GravacaoAgrupadaService;
+import com.mponte.minhasfinancas.services.interfaces.LancamentoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Um lançamento só é confirmado ao chamador (futuro completado) depois do commit do lote que o contém.
+ * Itens ainda na fila quando o processo cai são perdidos, mas nenhum deles foi confirmado; no desligamento
+ * normal a fila é esvaziada antes de encerrar. Se o lote falha, cada lançamento é regravado sozinho para que um
+ * item inválido não derrube os demais.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "financas.lancamento.gravacao-agrupada.habilitada", havingValue = "true")
+public class GravacaoAgrupadaServiceImpl implements GravacaoAgrupadaService {
+    private static final long ESPERA_OCIOSA_MS = 100;
+
+    private final LancamentoService lancamentoService;
+    private final BlockingQueue<Pendente> fila;
+    private final int tamanhoLote;
+    private final long intervaloNanos;
+    private final long esperaFilaNanos;
+    private final Thread gravador;
+    private volatile boolean executando = true;
+
+    public GravacaoAgrupadaServiceImpl(LancamentoService lancamentoService, MeterRegistry registry,
+                                       @Value("${financas.lancamento.gravacao-agrupada.capacidade:10000}") int capacidade,
+                                       @Value("${financas.lancamento.gravacao-agrupada.tamanho:${financas.lancamento.lote.tamanho:50}}") int tamanhoLote,
+                                       @Value("${financas.lancamento.gravacao-agrupada.intervalo:10ms}") Duration intervalo,
+                                       @Value("${financas.lancamento.gravacao-agrupada.espera-fila:100ms}") Duration esperaFila) {
+        this.lancamentoService = lancamentoService;
+        this.fila = new ArrayBlockingQueue<>(capacidade);
+        this.tamanhoLote = tamanhoLote;
+        this.intervaloNanos = intervalo.toNanos();
+        this.esperaFilaNanos = esperaFila.toNanos();
+        this.gravador = new Thread(this::executar, "gravacao-agrupada-lancamentos");
+        registry.gauge("financas.gravacao.fila", fila, BlockingQueue::size);
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        gravador.start();
+    }
+
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        executando = false;
+        gravador.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    @Override
+    public CompletableFuture<Lancamento> enfileirar(LancamentoDTO dto) {
+        Pendente pendente = new Pendente(lancamentoService.preparar(dto));
+        if (!executando) {
+            throw new FilaCheiaException("A gravação de lançamentos está sendo encerrada, tente novamente.");
+        }
+        try {
+            if (!fila.offer(pendente, esperaFilaNanos, TimeUnit.NANOSECONDS)) {
+                throw new FilaCheiaException("A fila de gravação de lançamentos está cheia, tente novamente.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FilaCheiaException("A fila de gravação de lançamentos está cheia, tente novamente.");
+        }
+        if (!executando && fila.remove(pendente)) {
+            throw new FilaCheiaException("A gravação de lançamentos está sendo encerrada, tente novamente.");
+        }
+        return pendente.resultado;
+    }
+
+    private void executar() {
+        List<Pendente> lote = new ArrayList<>(tamanhoLote);
+        while (executando || !fila.isEmpty()) {
+            try {
+                coletar(lote);
+            } catch (InterruptedException e) {
+                executando = false;
+            }
+            gravar(lote);
+            lote.clear();
+        }
+    }
+
+    private void coletar(List<Pendente> lote) throws InterruptedException {
+        Pendente primeiro = fila.poll(ESPERA_OCIOSA_MS, TimeUnit.MILLISECONDS);
+        if (primeiro == null) {
+            return;
+        }
+        lote.add(primeiro);
+        long limite = System.nanoTime() + intervaloNanos;
+        while (lote.size() < tamanhoLote) {
+            long restante = limite - System.nanoTime();
+            Pendente proximo = restante > 0 ? fila.poll(restante, TimeUnit.NANOSECONDS) : fila.poll();
+            if (proximo == null) {
+                return;
+            }
+            lote.add(proximo);
+        }
+    }
+
+    private void gravar(List<Pendente> lote) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        List<Lancamento> lancamentos = new ArrayList<>(lote.size());
+        for (Pendente pendente : lote) {
+            lancamentos.add(pendente.lancamento);
+        }
+        try {
+            lancamentoService.salvarPreparados(lancamentos);
+            for (Pendente pendente : lote) {
+                pendente.resultado.complete(pendente.lancamento);
+            }
+        } catch (Throwable e) {
+            log.error("falha ao gravar um lote de {} lançamentos, regravando um a um", lote.size(), e);
+            for (Pendente pendente : lote) {
+                gravarSozinho(pendente);
+            }
+        }
+    }
+
+    private void gravarSozinho(Pendente pendente) {
+        pendente.lancamento.setId(null);
+        try {
+            lancamentoService.salvarPreparados(List.of(pendente.lancamento));
+            pendente.resultado.complete(pendente.lancamento);
+        } catch (Throwable e) {
+            pendente.resultado.completeExceptionally(e);
+        }
+    }
+
+    private static final class Pendente {
+        private final Lancamento lancamento;
+        private final CompletableFuture<Lancamento> resultado = new CompletableFuture<>();
+
+        private Pendente(Lancamento lancamento) {
+            this.lancamento = lancamento;
+        }
+    }
+}
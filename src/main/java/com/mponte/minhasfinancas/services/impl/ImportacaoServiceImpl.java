@@ -0,0 +1,139 @@
+package com.mponte.minhasfinancas.services.impl;
+
+import com.mponte.minhasfinancas.model.dtos.LancamentoDTO;
+import com.mponte.minhasfinancas.model.dtos.ProgressoImportacaoDTO;
+import com.mponte.minhasfinancas.model.entities.Lancamento;
+import com.mponte.minhasfinancas.services.exceptions.ObjetoNaoEncontradoException;
+import com.mponte.minhasfinancas.services.exceptions.RegraNegocioException;
+import com.mponte.minhasfinancas.services.importacao.FormatoImportacao;
+import com.mponte.minhasfinancas.services.importacao.Importacao;
+import com.mponte.minhasfinancas.services.importacao.LeitorLancamentos;
+import com.mponte.minhasfinancas.services.importacao.RegistroImportado;
+import com.mponte.minhasfinancas.services.interfaces.ImportacaoService;
+import com.mponte.minhasfinancas.services.interfaces.LancamentoService;
+import com.mponte.minhasfinancas.services.interfaces.UsuarioService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Slf4j
+@Service
+public class ImportacaoServiceImpl implements ImportacaoService {
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private final LancamentoService lancamentoService;
+    private final UsuarioService usuarioService;
+    private final int tamanhoLote;
+
+    public ImportacaoServiceImpl(LancamentoService lancamentoService, UsuarioService usuarioService,
+                                 @Value("${financas.lancamento.importacao.tamanho:500}") int tamanhoLote) {
+        this.lancamentoService = lancamentoService;
+        this.usuarioService = usuarioService;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    @Override
+    public Importacao preparar(Long idUsuario, String formato) {
+        FormatoImportacao formatoImportacao = FormatoImportacao.de(formato);
+        usuarioService.findById(idUsuario);
+        return new Importacao(idUsuario, formatoImportacao);
+    }
+
+    @Override
+    public ProgressoImportacaoDTO importar(Importacao importacao, InputStream entrada,
+                                           Consumer<ProgressoImportacaoDTO> progresso) throws IOException {
+        LeitorLancamentos leitor = importacao.getFormato()
+                .criarLeitor(new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8), TAMANHO_BUFFER));
+        List<Lancamento> lote = new ArrayList<>(tamanhoLote);
+        List<Integer> linhas = new ArrayList<>(tamanhoLote);
+        Contagem contagem = new Contagem();
+
+        try {
+            RegistroImportado registro;
+            while ((registro = leitor.proximo()) != null) {
+                contagem.lidos++;
+                String erro = registro.getErro();
+                if (erro == null) {
+                    erro = preparar(importacao, registro.getLancamento(), lote);
+                }
+                if (erro != null) {
+                    contagem.rejeitados++;
+                    progresso.accept(erro(registro.getLinha(), erro));
+                    continue;
+                }
+                linhas.add(registro.getLinha());
+                if (lote.size() == tamanhoLote) {
+                    gravar(lote, linhas, contagem, progresso);
+                }
+            }
+        } catch (RegraNegocioException e) {
+            progresso.accept(erro(leitor.getLinha(), e.getMessage()));
+        }
+        gravar(lote, linhas, contagem, progresso);
+
+        ProgressoImportacaoDTO resumo = contagem.progresso("resumo", null);
+        progresso.accept(resumo);
+        return resumo;
+    }
+
+    private String preparar(Importacao importacao, LancamentoDTO dto, List<Lancamento> lote) {
+        dto.setUsuario(importacao.getUsuario());
+        try {
+            lote.add(lancamentoService.preparar(dto));
+            return null;
+        } catch (RegraNegocioException | ObjetoNaoEncontradoException e) {
+            return e.getMessage();
+        } catch (IllegalArgumentException e) {
+            return "Informe um tipo de lançamento válido.";
+        }
+    }
+
+    private void gravar(List<Lancamento> lote, List<Integer> linhas, Contagem contagem,
+                        Consumer<ProgressoImportacaoDTO> progresso) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        try {
+            lancamentoService.salvarPreparados(lote);
+            contagem.importados += lote.size();
+        } catch (RuntimeException e) {
+            log.error("falha ao gravar um lote de {} lançamentos importados", lote.size(), e);
+            contagem.rejeitados += lote.size();
+            for (Integer linha : linhas) {
+                progresso.accept(erro(linha, "Não foi possível gravar o lote deste lançamento."));
+            }
+        }
+        progresso.accept(contagem.progresso("progresso", linhas.get(linhas.size() - 1)));
+        lote.clear();
+        linhas.clear();
+    }
+
+    private static ProgressoImportacaoDTO erro(int linha, String erro) {
+        return ProgressoImportacaoDTO.builder().tipo("erro").linha(linha).erro(erro).build();
+    }
+
+    private static final class Contagem {
+        private long lidos;
+        private long importados;
+        private long rejeitados;
+
+        private ProgressoImportacaoDTO progresso(String tipo, Integer linha) {
+            return ProgressoImportacaoDTO.builder()
+                    .tipo(tipo)
+                    .linha(linha)
+                    .lidos(lidos)
+                    .importados(importados)
+                    .rejeitados(rejeitados)
+                    .build();
+        }
+    }
+}
@@ -1,80 +1,225 @@
 package com.mponte.minhasfinancas.services.impl;
 
+import com.mponte.minhasfinancas.model.dtos.AtualizacaoStatusDTO;
+import com.mponte.minhasfinancas.model.dtos.CursorLancamento;
 import com.mponte.minhasfinancas.model.dtos.LancamentoDTO;
+import com.mponte.minhasfinancas.model.dtos.PaginaDTO;
+import com.mponte.minhasfinancas.model.dtos.ResultadoLoteDTO;
 import com.mponte.minhasfinancas.model.entities.Lancamento;
 import com.mponte.minhasfinancas.model.entities.Usuario;
 import com.mponte.minhasfinancas.model.enums.StatusLancamento;
 import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.model.projections.LancamentoResumo;
+import com.mponte.minhasfinancas.model.projections.TotalMensalUsuario;
+import com.mponte.minhasfinancas.model.valores.Dinheiro;
 import com.mponte.minhasfinancas.repositories.LancamentoRepository;
+import com.mponte.minhasfinancas.services.events.LancamentosAlteradosEvent;
+import com.mponte.minhasfinancas.services.events.StatusLancamentosAlteradosEvent;
+import com.mponte.minhasfinancas.services.exceptions.AcessoNegadoException;
 import com.mponte.minhasfinancas.services.exceptions.ObjetoNaoEncontradoException;
 import com.mponte.minhasfinancas.services.exceptions.RegraNegocioException;
+import com.mponte.minhasfinancas.services.interfaces.ArquivamentoService;
 import com.mponte.minhasfinancas.services.interfaces.LancamentoService;
+import com.mponte.minhasfinancas.services.interfaces.SaldoUsuarioService;
 import com.mponte.minhasfinancas.services.interfaces.UsuarioService;
-import org.springframework.data.domain.Example;
-import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Service
 public class LancamentoServiceImp implements LancamentoService {
+    private static final int LIMITE_PADRAO = 100;
+    private static final int LIMITE_MAXIMO = 1000;
 
     private LancamentoRepository lancamentoRepository;
     private UsuarioService usuarioService;
+    private SaldoUsuarioService saldoUsuarioService;
+    private ApplicationEventPublisher eventPublisher;
+    private ArquivamentoService arquivamentoService;
 
-    public LancamentoServiceImp(LancamentoRepository lancamentoRepository, UsuarioService usuarioService) {
+    public LancamentoServiceImp(LancamentoRepository lancamentoRepository, UsuarioService usuarioService,
+                                SaldoUsuarioService saldoUsuarioService, ApplicationEventPublisher eventPublisher,
+                                ArquivamentoService arquivamentoService) {
         this.lancamentoRepository = lancamentoRepository;
         this.usuarioService = usuarioService;
+        this.saldoUsuarioService = saldoUsuarioService;
+        this.eventPublisher = eventPublisher;
+        this.arquivamentoService = arquivamentoService;
     }
 
     @Override
     @Transactional
     public Lancamento salvar(LancamentoDTO dto) {
+        Lancamento lancamento = preparar(dto);
+        arquivamentoService.garantirAnosAbertos(Collections.singleton(lancamento.getAno()));
+        Lancamento lancamentoSalvo = lancamentoRepository.save(lancamento);
+        eventPublisher.publishEvent(LancamentosAlteradosEvent.inclusao(List.of(lancamentoSalvo)));
+        return lancamentoSalvo;
+    }
+
+    @Override
+    public Lancamento preparar(LancamentoDTO dto) {
         Lancamento lancamento = converterDTO(dto);
         validar(lancamento);
         lancamento.setStatus(StatusLancamento.PENDENTE);
         lancamento.setDataCadastro(LocalDate.now());
-        return lancamentoRepository.save(lancamento);
+        return lancamento;
+    }
+
+    @Override
+    @Transactional
+    public void salvarPreparados(List<Lancamento> lancamentos) {
+        arquivamentoService.garantirAnosAbertos(lancamentos.stream().map(Lancamento::getAno).collect(Collectors.toSet()));
+        lancamentoRepository.salvarEmLote(lancamentos);
+        eventPublisher.publishEvent(LancamentosAlteradosEvent.inclusao(lancamentos));
+    }
+
+    @Override
+    @Transactional
+    public List<ResultadoLoteDTO> salvarLote(List<LancamentoDTO> dtos) {
+        Map<Long, Usuario> usuarios = new HashMap<>();
+        List<ResultadoLoteDTO> resultados = new ArrayList<>(dtos.size());
+        List<Lancamento> lancamentos = new ArrayList<>(dtos.size());
+        List<ResultadoLoteDTO> resultadosSalvos = new ArrayList<>(dtos.size());
+        LocalDate hoje = LocalDate.now();
+
+        for (int i = 0; i < dtos.size(); i++) {
+            ResultadoLoteDTO resultado = ResultadoLoteDTO.builder().indice(i).build();
+            resultados.add(resultado);
+            try {
+                LancamentoDTO dto = dtos.get(i);
+                Lancamento lancamento = converterDTO(dto, resolverUsuario(dto.getUsuario(), usuarios));
+                validar(lancamento);
+                lancamento.setStatus(StatusLancamento.PENDENTE);
+                lancamento.setDataCadastro(hoje);
+                lancamentos.add(lancamento);
+                resultadosSalvos.add(resultado);
+            } catch (RegraNegocioException | ObjetoNaoEncontradoException e) {
+                resultado.setErro(e.getMessage());
+            } catch (IllegalArgumentException e) {
+                resultado.setErro("Informe um tipo e um status de lançamento válidos.");
+            }
+        }
+
+        salvarPreparados(lancamentos);
+        for (int i = 0; i < lancamentos.size(); i++) {
+            resultadosSalvos.get(i).setId(lancamentos.get(i).getId());
+        }
+        return resultados;
     }
 
     @Override
     @Transactional
     public Lancamento atualizar(Long id, LancamentoDTO dto) {
         Lancamento lancamento = obterLancamentoPorId(id);
+        verificarUsuario(lancamento, dto.getUsuario());
         Lancamento lancamentoAtualizacao = converterDTO(dto);
         lancamentoAtualizacao.setId(id);
         validar(lancamentoAtualizacao);
+        arquivamentoService.garantirAnosAbertos(Arrays.asList(lancamento.getAno(), lancamentoAtualizacao.getAno()));
+        Lancamento anterior = copiar(lancamento);
         atualizaLancamento(lancamento, lancamentoAtualizacao);
-        return lancamentoRepository.save(lancamento);
+        Lancamento lancamentoSalvo = lancamentoRepository.save(lancamento);
+        eventPublisher.publishEvent(LancamentosAlteradosEvent.alteracao(anterior, lancamentoSalvo));
+        return lancamentoSalvo;
     }
 
     @Override
     @Transactional
-    public void deletar(Long id) {
+    public void deletar(Long id, Long usuario) {
         Lancamento lancamento = obterLancamentoPorId(id);
+        verificarUsuario(lancamento, usuario);
+        arquivamentoService.garantirAnosAbertos(Collections.singleton(lancamento.getAno()));
         lancamentoRepository.delete(lancamento);
+        eventPublisher.publishEvent(LancamentosAlteradosEvent.exclusao(lancamento));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Lancamento> buscar(LancamentoDTO dto) {
-        Lancamento lancamentoFiltro = converterDTO(dto);
-        ExampleMatcher matcher = ExampleMatcher
-                .matching()
-                .withIgnoreCase()
-                .withStringMatcher(ExampleMatcher.StringMatcher.CONTAINING);
+        return lancamentoRepository.buscar(dto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaDTO<LancamentoResumo> buscarPagina(LancamentoDTO dto, String cursor, Integer limite) {
+        int tamanho = limite == null ? LIMITE_PADRAO : limite;
+        if(tamanho < 1 || tamanho > LIMITE_MAXIMO){
+            throw new RegraNegocioException("Informe um limite entre 1 e " + LIMITE_MAXIMO + ".");
+        }
+        CursorLancamento apos = cursor == null ? null : CursorLancamento.decodificar(cursor);
 
-        Example<Lancamento> example = Example.of(lancamentoFiltro, matcher);
-        return lancamentoRepository.findAll(example);
+        List<LancamentoResumo> lancamentos = lancamentoRepository.buscarPagina(dto, apos, tamanho + 1);
+        if(lancamentos.size() <= tamanho){
+            return new PaginaDTO<>(lancamentos, null);
+        }
+        lancamentos = lancamentos.subList(0, tamanho);
+        return new PaginaDTO<>(lancamentos, CursorLancamento.de(lancamentos.get(tamanho - 1)).codificar());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void percorrer(LancamentoDTO dto, Consumer<LancamentoResumo> consumidor) {
+        lancamentoRepository.percorrer(dto, consumidor);
     }
 
     @Override
-    public void atualizarStatus(Long id, StatusLancamento status) {
+    @Transactional
+    public void atualizarStatus(Long id, StatusLancamento status, Long usuario) {
         Lancamento lancamento = obterLancamentoPorId(id);
+        verificarUsuario(lancamento, usuario);
+        arquivamentoService.garantirAnosAbertos(Collections.singleton(lancamento.getAno()));
+        Lancamento anterior = copiar(lancamento);
         lancamento.setStatus(status);
         lancamentoRepository.save(lancamento);
+        eventPublisher.publishEvent(LancamentosAlteradosEvent.alteracao(anterior, lancamento));
+    }
+
+    @Override
+    @Transactional
+    public int atualizarStatus(AtualizacaoStatusDTO dto) {
+        StatusLancamento status = converterStatus(dto.getStatus());
+        StatusLancamento statusAtual = dto.getStatusAtual() == null ? null : converterStatus(dto.getStatusAtual());
+        boolean porIds = dto.getIds() != null && !dto.getIds().isEmpty();
+        if (dto.getUsuario() == null) {
+            throw new RegraNegocioException("Informe o usuário dos lançamentos.");
+        }
+        if (porIds && dto.getIds().size() > LIMITE_MAXIMO) {
+            throw new RegraNegocioException("Informe no máximo " + LIMITE_MAXIMO + " ids por requisição.");
+        }
+
+        if (porIds && lancamentoRepository.countByIdInAndUsuarioIdNot(dto.getIds(), dto.getUsuario()) > 0) {
+            throw new AcessoNegadoException("Há lançamentos que não pertencem ao usuário informado.");
+        }
+        arquivamentoService.garantirAnosAbertos(dto.getAno() != null ? Collections.singleton(dto.getAno())
+                : porIds ? lancamentoRepository.listarAnos(dto.getIds(), dto.getUsuario())
+                : lancamentoRepository.listarAnos(dto.getUsuario()));
+
+        List<Long> travados = porIds
+                ? lancamentoRepository.travarParaStatus(dto.getIds(), dto.getUsuario(), statusAtual, status)
+                : lancamentoRepository.travarParaStatus(dto.getUsuario(), dto.getAno(), dto.getMes(), statusAtual, status);
+        List<TotalMensalUsuario> anteriores = new ArrayList<>();
+        int atualizados = 0;
+        for (int inicio = 0; inicio < travados.size(); inicio += LIMITE_MAXIMO) {
+            List<Long> ids = travados.subList(inicio, Math.min(inicio + LIMITE_MAXIMO, travados.size()));
+            anteriores.addAll(lancamentoRepository.totalizarParaStatus(ids, dto.getUsuario(), statusAtual, status));
+            atualizados += lancamentoRepository.atualizarStatus(ids, dto.getUsuario(), statusAtual, status);
+        }
+        if (!anteriores.isEmpty()) {
+            eventPublisher.publishEvent(new StatusLancamentosAlteradosEvent(anteriores, status));
+        }
+        return atualizados;
     }
 
     @Override
@@ -91,6 +236,10 @@ public class LancamentoServiceImp implements LancamentoService {
             throw new RegraNegocioException("Informe um Ano válido.");
         }
 
+        if(arquivamentoService.arquivado(lancamento.getAno())){
+            throw new RegraNegocioException("O ano de " + lancamento.getAno() + " está arquivado e não aceita lançamentos.");
+        }
+
         if(lancamento.getUsuario() == null || lancamento.getUsuario().getId() == null){
             throw new RegraNegocioException("Informe um Usuário.");
         }
@@ -99,24 +248,26 @@ public class LancamentoServiceImp implements LancamentoService {
             throw new RegraNegocioException("Informe um Valor maior que 0.");
         }
 
+        if(lancamento.getValor().stripTrailingZeros().scale() > Dinheiro.ESCALA){
+            throw new RegraNegocioException("Informe um Valor com no máximo " + Dinheiro.ESCALA + " casas decimais.");
+        }
+
         if(lancamento.getTipo() == null){
             throw new RegraNegocioException("Informe um tipo de lançamento.");
         }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public BigDecimal saldoUsuario(Long idUsuario) {
-        Usuario usuario = usuarioService.findById(idUsuario);
-        BigDecimal receitas = lancamentoRepository.buscarSaldoPorTipoLancamento(usuario, TipoLancamento.RECEITA);
-        BigDecimal despesas = lancamentoRepository.buscarSaldoPorTipoLancamento(usuario, TipoLancamento.DESPESA);
+        return saldoUsuarioService.saldo(idUsuario).orElseGet(() -> calcularSaldo(idUsuario));
+    }
 
-        if(receitas == null){
-            receitas = BigDecimal.ZERO;
-        }
-        if(despesas == null){
-            despesas = BigDecimal.ZERO;
-        }
-        return receitas.subtract(despesas);
+    private BigDecimal calcularSaldo(Long idUsuario) {
+        Usuario usuario = usuarioService.findById(idUsuario);
+        Dinheiro receitas = Dinheiro.de(lancamentoRepository.buscarSaldoPorTipoLancamento(usuario, TipoLancamento.RECEITA));
+        Dinheiro despesas = Dinheiro.de(lancamentoRepository.buscarSaldoPorTipoLancamento(usuario, TipoLancamento.DESPESA));
+        return receitas.subtrair(despesas).somar(Dinheiro.de(saldoUsuarioService.saldoArquivado(idUsuario))).paraBigDecimal();
     }
 
     public void atualizaLancamento(Lancamento lancamento, Lancamento lancamentoAtualizacao) {
@@ -126,11 +277,44 @@ public class LancamentoServiceImp implements LancamentoService {
         lancamento.setUsuario(lancamentoAtualizacao.getUsuario());
         lancamento.setValor(lancamentoAtualizacao.getValor());
         lancamento.setTipo(lancamentoAtualizacao.getTipo());
-        lancamento.setStatus(lancamentoAtualizacao.getStatus());
+        if(lancamentoAtualizacao.getStatus() != null){
+            lancamento.setStatus(lancamentoAtualizacao.getStatus());
+        }
+    }
+
+    private void verificarUsuario(Lancamento lancamento, Long usuario) {
+        if (usuario != null && !usuario.equals(lancamento.getUsuario().getId())) {
+            throw new AcessoNegadoException("O lançamento não pertence ao usuário autenticado.");
+        }
+    }
+
+    private StatusLancamento converterStatus(String status) {
+        try {
+            return StatusLancamento.valueOf(status);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new RegraNegocioException("Informe um status de lançamento válido.");
+        }
+    }
+
+    private Lancamento copiar(Lancamento lancamento) {
+        return Lancamento.builder()
+                .id(lancamento.getId())
+                .descricao(lancamento.getDescricao())
+                .mes(lancamento.getMes())
+                .ano(lancamento.getAno())
+                .usuario(lancamento.getUsuario())
+                .valor(lancamento.getValor())
+                .dataCadastro(lancamento.getDataCadastro())
+                .tipo(lancamento.getTipo())
+                .status(lancamento.getStatus())
+                .build();
     }
 
     public Lancamento converterDTO(LancamentoDTO dto){
-        Usuario usuario = usuarioService.findById(dto.getUsuario());
+        return converterDTO(dto, usuarioService.findById(dto.getUsuario()));
+    }
+
+    private Lancamento converterDTO(LancamentoDTO dto, Usuario usuario){
         Lancamento lancamento = new Lancamento();
         lancamento.setDescricao(dto.getDescricao());
         lancamento.setMes(dto.getMes());
@@ -147,6 +331,24 @@ public class LancamentoServiceImp implements LancamentoService {
         return lancamento;
     }
 
+    private Usuario resolverUsuario(Long id, Map<Long, Usuario> usuarios){
+        if(id == null){
+            return null;
+        }
+        if(!usuarios.containsKey(id)){
+            try {
+                usuarios.put(id, usuarioService.findById(id));
+            }catch (ObjetoNaoEncontradoException e){
+                usuarios.put(id, null);
+            }
+        }
+        Usuario usuario = usuarios.get(id);
+        if(usuario == null){
+            throw new ObjetoNaoEncontradoException("usuário não encontrado com o id: "+id);
+        }
+        return usuario;
+    }
+
     public Lancamento obterLancamentoPorId(Long id){
         return lancamentoRepository.findById(id)
                 .orElseThrow(() -> new ObjetoNaoEncontradoException("não foi encontrado um lançamento com o id: "+id));
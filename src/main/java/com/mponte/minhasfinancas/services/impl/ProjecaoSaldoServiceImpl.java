@@ -0,0 +1,215 @@
+package com.mponte.minhasfinancas.services.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.mponte.minhasfinancas.model.dtos.ProjecaoSaldoDTO;
+import com.mponte.minhasfinancas.model.entities.Lancamento;
+import com.mponte.minhasfinancas.model.entities.Recorrencia;
+import com.mponte.minhasfinancas.model.entities.ResumoMensal;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.model.projections.TotalMensalUsuario;
+import com.mponte.minhasfinancas.model.valores.Dinheiro;
+import com.mponte.minhasfinancas.repositories.RecorrenciaRepository;
+import com.mponte.minhasfinancas.repositories.ResumoMensalRepository;
+import com.mponte.minhasfinancas.services.events.LancamentosAlteradosEvent;
+import com.mponte.minhasfinancas.services.events.StatusLancamentosAlteradosEvent;
+import com.mponte.minhasfinancas.services.exceptions.RegraNegocioException;
+import com.mponte.minhasfinancas.services.interfaces.ProjecaoSaldoService;
+import com.mponte.minhasfinancas.services.interfaces.UsuarioService;
+import com.mponte.minhasfinancas.services.projecao.SaldosMensais;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/*
+ * Os baldes de cada usuário são carregados do resumo mensal e mantidos pelos eventos de lançamento. Cada faixa de
+ * usuários tem um contador de alterações em andamento (incrementado ao publicar o evento, dentro da transação) e uma
+ * geração (incrementada ao concluir a transação): uma carga só entra no cache se nenhuma alteração da faixa estava em
+ * andamento nem foi concluída enquanto ela lia o banco, senão os baldes poderiam perder ou contar duas vezes a
+ * alteração. A expiração limita a divergência causada por alterações feitas em outras instâncias.
+ */
+@Service
+public class ProjecaoSaldoServiceImpl implements ProjecaoSaldoService {
+    private static final int MESES_PADRAO = 12;
+    private static final int MESES_MAXIMO = 60;
+    private static final int FAIXAS = 256;
+
+    private final ResumoMensalRepository resumoMensalRepository;
+    private final RecorrenciaRepository recorrenciaRepository;
+    private final UsuarioService usuarioService;
+    private final Cache<Long, SaldosMensais> saldos;
+    private final AtomicLongArray emAndamento = new AtomicLongArray(FAIXAS);
+    private final AtomicLongArray geracoes = new AtomicLongArray(FAIXAS);
+    private final Clock relogio;
+
+    @Autowired
+    public ProjecaoSaldoServiceImpl(ResumoMensalRepository resumoMensalRepository, RecorrenciaRepository recorrenciaRepository,
+                                    UsuarioService usuarioService,
+                                    @Value("${financas.projecao.capacidade:10000}") long capacidade,
+                                    @Value("${financas.projecao.expiracao:10m}") Duration expiracao) {
+        this(resumoMensalRepository, recorrenciaRepository, usuarioService, capacidade, expiracao, Clock.systemDefaultZone());
+    }
+
+    ProjecaoSaldoServiceImpl(ResumoMensalRepository resumoMensalRepository, RecorrenciaRepository recorrenciaRepository,
+                             UsuarioService usuarioService, long capacidade, Duration expiracao, Clock relogio) {
+        this.resumoMensalRepository = resumoMensalRepository;
+        this.recorrenciaRepository = recorrenciaRepository;
+        this.usuarioService = usuarioService;
+        this.relogio = relogio;
+        this.saldos = Caffeine.newBuilder()
+                .maximumSize(capacidade)
+                .expireAfter(expirarAposCarga(expiracao))
+                .executor(Runnable::run)
+                .build();
+    }
+
+    // a carga precisa ver as próprias escritas recentes e as de outros usuários, por isso não usa a réplica
+    @Override
+    @Transactional
+    public ProjecaoSaldoDTO projetar(Long idUsuario, Integer meses) {
+        if (meses != null && (meses < 1 || meses > MESES_MAXIMO)) {
+            throw new RegraNegocioException("Informe uma quantidade de meses entre 1 e " + MESES_MAXIMO + ".");
+        }
+        usuarioService.findById(idUsuario);
+        YearMonth atual = YearMonth.now(relogio);
+        int inicio = SaldosMensais.indice(atual.getYear(), atual.getMonthValue());
+        long[] recorrentes = recorrentes(idUsuario, inicio, meses == null ? MESES_PADRAO : meses);
+        return saldos(idUsuario).projetar(idUsuario, inicio, recorrentes);
+    }
+
+    @EventListener
+    public void aplicar(LancamentosAlteradosEvent evento) {
+        for (Lancamento anterior : evento.getAnteriores()) {
+            alterar(usuario(anterior), saldo ->
+                    saldo.subtrair(anterior.getAno(), anterior.getMes(), anterior.getTipo(), anterior.getStatus(), anterior.getValor()));
+        }
+        for (Lancamento atual : evento.getAtuais()) {
+            alterar(usuario(atual), saldo ->
+                    saldo.somar(atual.getAno(), atual.getMes(), atual.getTipo(), atual.getStatus(), atual.getValor()));
+        }
+    }
+
+    @EventListener
+    public void aplicar(StatusLancamentosAlteradosEvent evento) {
+        for (TotalMensalUsuario anterior : evento.getAnteriores()) {
+            alterar(anterior.getUsuarioId(), saldo -> {
+                saldo.subtrair(anterior.getAno(), anterior.getMes(), anterior.getTipo(), anterior.getStatus(), anterior.getTotal());
+                saldo.somar(anterior.getAno(), anterior.getMes(), anterior.getTipo(), evento.getStatus(), anterior.getTotal());
+            });
+        }
+    }
+
+    private SaldosMensais saldos(Long usuario) {
+        SaldosMensais saldo = saldos.getIfPresent(usuario);
+        if (saldo != null) {
+            return saldo;
+        }
+        int faixa = faixa(usuario);
+        long geracao = geracoes.get(faixa);
+        boolean livre = emAndamento.get(faixa) == 0;
+        SaldosMensais carregado = carregar(usuario);
+        if (!livre) {
+            return carregado;
+        }
+        SaldosMensais atual = saldos.asMap().compute(usuario, (id, existente) -> existente != null ? existente
+                : emAndamento.get(faixa) == 0 && geracoes.get(faixa) == geracao ? carregado : null);
+        return atual != null ? atual : carregado;
+    }
+
+    private void alterar(Long usuario, Consumer<SaldosMensais> alteracao) {
+        if (usuario == null) {
+            return;
+        }
+        int faixa = faixa(usuario);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            aplicar(usuario, alteracao);
+            geracoes.incrementAndGet(faixa);
+            return;
+        }
+        emAndamento.incrementAndGet(faixa);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    aplicar(usuario, alteracao);
+                }
+                geracoes.incrementAndGet(faixa);
+                emAndamento.decrementAndGet(faixa);
+            }
+        });
+    }
+
+    private void aplicar(Long usuario, Consumer<SaldosMensais> alteracao) {
+        saldos.asMap().computeIfPresent(usuario, (id, saldo) -> {
+            alteracao.accept(saldo);
+            return saldo;
+        });
+    }
+
+    private SaldosMensais carregar(Long usuario) {
+        SaldosMensais saldo = new SaldosMensais();
+        for (ResumoMensal resumo : resumoMensalRepository.findByIdUsuarioId(usuario)) {
+            saldo.somar(resumo.getId().getAno(), resumo.getMes(), resumo.getTipo(), resumo.getStatus(), resumo.getTotal());
+        }
+        return saldo;
+    }
+
+    private static Long usuario(Lancamento lancamento) {
+        return lancamento.getUsuario() == null ? null : lancamento.getUsuario().getId();
+    }
+
+    private static int faixa(Long usuario) {
+        return Math.floorMod(usuario.hashCode(), FAIXAS);
+    }
+
+    // as alterações incrementais não renovam a expiração, que conta a partir da carga
+    private static Expiry<Long, SaldosMensais> expirarAposCarga(Duration expiracao) {
+        return new Expiry<Long, SaldosMensais>() {
+            @Override
+            public long expireAfterCreate(Long usuario, SaldosMensais saldo, long agora) {
+                return expiracao.toNanos();
+            }
+
+            @Override
+            public long expireAfterUpdate(Long usuario, SaldosMensais saldo, long agora, long restante) {
+                return restante;
+            }
+
+            @Override
+            public long expireAfterRead(Long usuario, SaldosMensais saldo, long agora, long restante) {
+                return restante;
+            }
+        };
+    }
+
+    private long[] recorrentes(Long usuario, int inicio, int quantidade) {
+        long[] valores = new long[quantidade];
+        int ultimo = inicio + quantidade - 1;
+        for (Recorrencia recorrencia : recorrenciaRepository.findByUsuarioId(usuario)) {
+            long centavos = Dinheiro.centavos(recorrencia.getValor());
+            long liquido = recorrencia.getTipo() == TipoLancamento.RECEITA ? centavos : Dinheiro.negar(centavos);
+            long ocorrencias = recorrencia.getOcorrencias();
+            LocalDate data = recorrencia.getProximaOcorrencia();
+            while (SaldosMensais.indice(data.getYear(), data.getMonthValue()) <= ultimo
+                    && (recorrencia.getFim() == null || !data.isAfter(recorrencia.getFim()))) {
+                int deslocamento = Math.max(SaldosMensais.indice(data.getYear(), data.getMonthValue()) - inicio, 0);
+                valores[deslocamento] = Dinheiro.somar(valores[deslocamento], liquido);
+                ocorrencias++;
+                data = recorrencia.getInicio().plusMonths(ocorrencias * recorrencia.getIntervaloMeses());
+            }
+        }
+        return valores;
+    }
+}
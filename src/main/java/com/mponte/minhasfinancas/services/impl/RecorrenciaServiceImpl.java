@@ -0,0 +1,159 @@
+package com.mponte.minhasfinancas.services.impl;
+
+import com.mponte.minhasfinancas.model.dtos.MaterializacaoDTO;
+import com.mponte.minhasfinancas.model.dtos.RecorrenciaDTO;
+import com.mponte.minhasfinancas.model.entities.Lancamento;
+import com.mponte.minhasfinancas.model.entities.Recorrencia;
+import com.mponte.minhasfinancas.model.entities.Usuario;
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.repositories.RecorrenciaRepository;
+import com.mponte.minhasfinancas.services.exceptions.AcessoNegadoException;
+import com.mponte.minhasfinancas.services.exceptions.ObjetoNaoEncontradoException;
+import com.mponte.minhasfinancas.services.exceptions.RegraNegocioException;
+import com.mponte.minhasfinancas.services.interfaces.ArquivamentoService;
+import com.mponte.minhasfinancas.services.interfaces.LancamentoService;
+import com.mponte.minhasfinancas.services.interfaces.RecorrenciaService;
+import com.mponte.minhasfinancas.services.interfaces.UsuarioService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class RecorrenciaServiceImpl implements RecorrenciaService {
+    private static final int INTERVALO_MAXIMO = 120;
+
+    private final RecorrenciaRepository recorrenciaRepository;
+    private final UsuarioService usuarioService;
+    private final LancamentoService lancamentoService;
+    private final ArquivamentoService arquivamentoService;
+    private final int tamanhoLote;
+
+    public RecorrenciaServiceImpl(RecorrenciaRepository recorrenciaRepository, UsuarioService usuarioService,
+                                  LancamentoService lancamentoService, ArquivamentoService arquivamentoService,
+                                  @Value("${financas.recorrencia.lote.tamanho:1000}") int tamanhoLote) {
+        this.recorrenciaRepository = recorrenciaRepository;
+        this.usuarioService = usuarioService;
+        this.lancamentoService = lancamentoService;
+        this.arquivamentoService = arquivamentoService;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    @Override
+    @Transactional
+    public RecorrenciaDTO salvar(RecorrenciaDTO dto) {
+        int intervalo = dto.getIntervaloMeses() == null ? 1 : dto.getIntervaloMeses();
+        if (intervalo < 1 || intervalo > INTERVALO_MAXIMO) {
+            throw new RegraNegocioException("Informe um intervalo entre 1 e " + INTERVALO_MAXIMO + " meses.");
+        }
+        if (dto.getInicio() == null) {
+            throw new RegraNegocioException("Informe a data da primeira ocorrência.");
+        }
+        if (dto.getFim() != null && dto.getFim().isBefore(dto.getInicio())) {
+            throw new RegraNegocioException("A data final deve ser posterior à primeira ocorrência.");
+        }
+        Usuario usuario = dto.getUsuario() == null ? null : usuarioService.findById(dto.getUsuario());
+        Recorrencia recorrencia = Recorrencia.builder()
+                .descricao(dto.getDescricao())
+                .usuario(usuario)
+                .valor(dto.getValor())
+                .tipo(converterTipo(dto.getTipo()))
+                .inicio(dto.getInicio())
+                .intervaloMeses(intervalo)
+                .fim(dto.getFim())
+                .proximaOcorrencia(dto.getInicio())
+                .ocorrencias(0L)
+                .build();
+        lancamentoService.validar(ocorrencia(recorrencia, dto.getInicio()));
+        return converter(recorrenciaRepository.save(recorrencia));
+    }
+
+    @Override
+    @Transactional
+    public void deletar(Long id, Long usuario) {
+        Recorrencia recorrencia = recorrenciaRepository.findById(id)
+                .orElseThrow(() -> new ObjetoNaoEncontradoException("não foi encontrada uma recorrência com o id: " + id));
+        if (usuario != null && !usuario.equals(recorrencia.getUsuario().getId())) {
+            throw new AcessoNegadoException("A recorrência não pertence ao usuário autenticado.");
+        }
+        recorrenciaRepository.delete(recorrencia);
+    }
+
+    @Override
+    @Transactional
+    public MaterializacaoDTO materializarLote(int fatia, int fatias, Long apos, LocalDate data) {
+        List<Recorrencia> vencidas = recorrenciaRepository.buscarVencidas(data, fatia, fatias,
+                apos == null ? 0L : apos, PageRequest.of(0, tamanhoLote));
+        List<Lancamento> lancamentos = new ArrayList<>();
+        for (Recorrencia recorrencia : vencidas) {
+            materializar(recorrencia, data, lancamentos);
+        }
+        if (!lancamentos.isEmpty()) {
+            lancamentoService.salvarPreparados(lancamentos);
+        }
+        return MaterializacaoDTO.builder()
+                .recorrencias(vencidas.size())
+                .lancamentos(lancamentos.size())
+                .ultimaRecorrencia(vencidas.isEmpty() ? apos : vencidas.get(vencidas.size() - 1).getId())
+                .build();
+    }
+
+    private void materializar(Recorrencia recorrencia, LocalDate data, List<Lancamento> lancamentos) {
+        LocalDate proxima = recorrencia.getProximaOcorrencia();
+        long ocorrencias = recorrencia.getOcorrencias();
+        while (!proxima.isAfter(data) && (recorrencia.getFim() == null || !proxima.isAfter(recorrencia.getFim()))) {
+            if (!arquivamentoService.arquivado(proxima.getYear())) {
+                Lancamento lancamento = ocorrencia(recorrencia, proxima);
+                lancamento.setDataCadastro(data);
+                lancamentos.add(lancamento);
+            }
+            ocorrencias++;
+            proxima = recorrencia.getInicio().plusMonths(ocorrencias * recorrencia.getIntervaloMeses());
+        }
+        recorrencia.setOcorrencias(ocorrencias);
+        recorrencia.setProximaOcorrencia(proxima);
+    }
+
+    private Lancamento ocorrencia(Recorrencia recorrencia, LocalDate data) {
+        return Lancamento.builder()
+                .descricao(recorrencia.getDescricao())
+                .mes(data.getMonthValue())
+                .ano(data.getYear())
+                .usuario(recorrencia.getUsuario())
+                .valor(recorrencia.getValor())
+                .tipo(recorrencia.getTipo())
+                .status(StatusLancamento.PENDENTE)
+                .recorrencia(recorrencia.getId())
+                .build();
+    }
+
+    private RecorrenciaDTO converter(Recorrencia recorrencia) {
+        return RecorrenciaDTO.builder()
+                .id(recorrencia.getId())
+                .descricao(recorrencia.getDescricao())
+                .usuario(recorrencia.getUsuario().getId())
+                .valor(recorrencia.getValor())
+                .tipo(recorrencia.getTipo().name())
+                .inicio(recorrencia.getInicio())
+                .intervaloMeses(recorrencia.getIntervaloMeses())
+                .fim(recorrencia.getFim())
+                .proximaOcorrencia(recorrencia.getProximaOcorrencia())
+                .build();
+    }
+
+    private static TipoLancamento converterTipo(String tipo) {
+        if (tipo == null || tipo.isBlank()) {
+            return null;
+        }
+        try {
+            return TipoLancamento.valueOf(tipo);
+        } catch (IllegalArgumentException e) {
+            throw new RegraNegocioException("Informe um tipo de lançamento válido.");
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.mponte.minhasfinancas.services.impl;
+
+import com.mponte.minhasfinancas.model.dtos.LancamentoDTO;
+import com.mponte.minhasfinancas.model.dtos.RelatorioAnualDTO;
+import com.mponte.minhasfinancas.repositories.LancamentoRepository;
+import com.mponte.minhasfinancas.services.exceptions.RegraNegocioException;
+import com.mponte.minhasfinancas.services.interfaces.RelatorioAnualService;
+import com.mponte.minhasfinancas.services.interfaces.UsuarioService;
+import com.mponte.minhasfinancas.services.relatorio.DadosRelatorio;
+import com.mponte.minhasfinancas.services.relatorio.MotorRelatorioAnual;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PreDestroy;
+
+@Service
+public class RelatorioAnualServiceImpl implements RelatorioAnualService {
+    private static final int LIMITE_PADRAO = 10;
+    private static final int LIMITE_MAXIMO = 100;
+
+    private final LancamentoRepository lancamentoRepository;
+    private final UsuarioService usuarioService;
+    private final MotorRelatorioAnual motor;
+
+    public RelatorioAnualServiceImpl(LancamentoRepository lancamentoRepository, UsuarioService usuarioService,
+                                     @Value("${financas.relatorio.paralelismo:0}") int paralelismo) {
+        this.lancamentoRepository = lancamentoRepository;
+        this.usuarioService = usuarioService;
+        this.motor = new MotorRelatorioAnual(paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RelatorioAnualDTO gerar(Long idUsuario, Integer ano, Integer limite) {
+        if (ano == null) {
+            throw new RegraNegocioException("Informe o ano do relatório.");
+        }
+        if (limite != null && (limite < 1 || limite > LIMITE_MAXIMO)) {
+            throw new RegraNegocioException("Informe um limite entre 1 e " + LIMITE_MAXIMO + ".");
+        }
+        usuarioService.findById(idUsuario);
+
+        DadosRelatorio dados = new DadosRelatorio();
+        lancamentoRepository.percorrer(LancamentoDTO.builder().usuario(idUsuario).ano(ano).build(), lancamento ->
+                dados.adicionar(lancamento.getMes(), lancamento.getDescricao(), lancamento.getValor(),
+                        lancamento.getTipo(), lancamento.getStatus()));
+        return motor.gerar(idUsuario, ano, dados, limite == null ? LIMITE_PADRAO : limite);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        motor.close();
+    }
+}
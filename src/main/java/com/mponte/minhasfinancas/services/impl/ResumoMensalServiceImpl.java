@@ -0,0 +1,194 @@
+package com.mponte.minhasfinancas.services.impl;
+
+import com.mponte.minhasfinancas.model.dtos.ResumoAnualDTO;
+import com.mponte.minhasfinancas.model.dtos.ResumoMesDTO;
+import com.mponte.minhasfinancas.model.dtos.ResumoStatusDTO;
+import com.mponte.minhasfinancas.model.entities.Lancamento;
+import com.mponte.minhasfinancas.model.entities.ResumoMensal;
+import com.mponte.minhasfinancas.model.entities.ResumoMensalId;
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.model.projections.TotalMensal;
+import com.mponte.minhasfinancas.model.projections.TotalMensalUsuario;
+import com.mponte.minhasfinancas.model.valores.Dinheiro;
+import com.mponte.minhasfinancas.repositories.LancamentoRepository;
+import com.mponte.minhasfinancas.repositories.ResumoMensalRepository;
+import com.mponte.minhasfinancas.services.events.LancamentosAlteradosEvent;
+import com.mponte.minhasfinancas.services.events.StatusLancamentosAlteradosEvent;
+import com.mponte.minhasfinancas.services.exceptions.RegraNegocioException;
+import com.mponte.minhasfinancas.services.interfaces.ArquivamentoService;
+import com.mponte.minhasfinancas.services.interfaces.ResumoMensalService;
+import com.mponte.minhasfinancas.services.interfaces.UsuarioService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+@Slf4j
+@Service
+public class ResumoMensalServiceImpl implements ResumoMensalService {
+    private final ResumoMensalRepository resumoMensalRepository;
+    private final LancamentoRepository lancamentoRepository;
+    private final UsuarioService usuarioService;
+    private final ArquivamentoService arquivamentoService;
+    private final TransactionTemplate transacaoSeparada;
+    private final boolean usarConsolidado;
+
+    public ResumoMensalServiceImpl(ResumoMensalRepository resumoMensalRepository, LancamentoRepository lancamentoRepository,
+                                   UsuarioService usuarioService, ArquivamentoService arquivamentoService,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${financas.resumo.consolidado:true}") boolean usarConsolidado) {
+        this.resumoMensalRepository = resumoMensalRepository;
+        this.lancamentoRepository = lancamentoRepository;
+        this.usuarioService = usuarioService;
+        this.arquivamentoService = arquivamentoService;
+        this.transacaoSeparada = new TransactionTemplate(transactionManager);
+        this.transacaoSeparada.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.usarConsolidado = usarConsolidado;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResumoAnualDTO resumoAnual(Long idUsuario, Integer ano) {
+        if (ano == null || String.valueOf(ano).length() != 4) {
+            throw new RegraNegocioException("Informe um Ano válido.");
+        }
+        usuarioService.findById(idUsuario);
+        List<? extends TotalMensal> totais = usarConsolidado || arquivamentoService.arquivado(ano)
+                ? resumoMensalRepository.findByIdUsuarioIdAndIdAno(idUsuario, ano)
+                : lancamentoRepository.totalizarPorMes(idUsuario, ano);
+        return montar(idUsuario, ano, totais);
+    }
+
+    @Override
+    @Transactional
+    @EventListener
+    public void aplicar(LancamentosAlteradosEvent evento) {
+        Map<ResumoMensalId, long[]> deltas = new LinkedHashMap<>();
+        evento.getAnteriores().forEach(lancamento -> acumular(deltas, lancamento, -1));
+        evento.getAtuais().forEach(lancamento -> acumular(deltas, lancamento, 1));
+        deltas.forEach((id, delta) -> aplicar(new ResumoMensal(id, Dinheiro.paraBigDecimal(delta[0]), delta[1])));
+    }
+
+    @Override
+    @Transactional
+    @EventListener
+    public void aplicar(StatusLancamentosAlteradosEvent evento) {
+        for (TotalMensalUsuario anterior : evento.getAnteriores()) {
+            aplicar(new ResumoMensal(new ResumoMensalId(anterior.getUsuarioId(), anterior.getAno(), anterior.getMes(),
+                    anterior.getTipo(), anterior.getStatus()), anterior.getTotal().negate(), -anterior.getQuantidade()));
+            aplicar(new ResumoMensal(new ResumoMensalId(anterior.getUsuarioId(), anterior.getAno(), anterior.getMes(),
+                    anterior.getTipo(), evento.getStatus()), anterior.getTotal(), anterior.getQuantidade()));
+        }
+    }
+
+    // o consolidado só é mantido por deltas; sem carga inicial (db/postgresql/resumo-mensal-carga.sql) ele começaria
+    // vazio e o resumo anual omitiria os lançamentos anteriores à sua ativação. Todas as instâncias sobem com este
+    // listener: a verificação se repete depois do lock e só a primeira a obtê-lo carrega
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void semear() {
+        if (!usarConsolidado || resumoMensalRepository.existeNaoArquivado() || !lancamentoRepository.existeAlgum()) {
+            return;
+        }
+        resumoMensalRepository.travarParaConsolidar();
+        if (!resumoMensalRepository.existeNaoArquivado()) {
+            log.info("resumo mensal consolidado vazio; carregando a partir dos lançamentos: {} linhas", consolidar());
+        }
+    }
+
+    @Override
+    @Transactional
+    public int reconstruir() {
+        resumoMensalRepository.travarParaConsolidar();
+        return consolidar();
+    }
+
+    private int consolidar() {
+        resumoMensalRepository.apagarNaoArquivados();
+        return resumoMensalRepository.consolidarLancamentos();
+    }
+
+    private void acumular(Map<ResumoMensalId, long[]> deltas, Lancamento lancamento, int sinal) {
+        if (lancamento.getUsuario() == null || lancamento.getUsuario().getId() == null || lancamento.getAno() == null
+                || lancamento.getMes() == null || lancamento.getTipo() == null || lancamento.getStatus() == null
+                || lancamento.getValor() == null) {
+            return;
+        }
+        ResumoMensalId id = new ResumoMensalId(lancamento.getUsuario().getId(), lancamento.getAno(),
+                lancamento.getMes(), lancamento.getTipo(), lancamento.getStatus());
+        long[] delta = deltas.computeIfAbsent(id, chave -> new long[2]);
+        delta[0] = Dinheiro.somar(delta[0], Dinheiro.multiplicar(Dinheiro.centavos(lancamento.getValor()), sinal));
+        delta[1] += sinal;
+    }
+
+    private void aplicar(ResumoMensal delta) {
+        if (delta.getTotal().signum() == 0 && delta.getQuantidade() == 0) {
+            return;
+        }
+        if (resumoMensalRepository.somar(delta.getId(), delta.getTotal(), delta.getQuantidade()) == 0) {
+            criar(delta.getId());
+            resumoMensalRepository.somar(delta.getId(), delta.getTotal(), delta.getQuantidade());
+        }
+    }
+
+    // a linha nasce numa transação própria com o que já está confirmado; o delta desta transação entra pelo somar
+    private void criar(ResumoMensalId id) {
+        try {
+            transacaoSeparada.executeWithoutResult(status -> {
+                ResumoMensal resumo = lancamentoRepository
+                        .totalizarMes(id.getUsuarioId(), id.getAno(), id.getMes(), id.getTipo(), id.getStatus()).stream()
+                        .findFirst()
+                        .map(total -> new ResumoMensal(id, total.getTotal(), total.getQuantidade()))
+                        .orElseGet(() -> new ResumoMensal(id, BigDecimal.ZERO, 0L));
+                resumoMensalRepository.saveAndFlush(resumo);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // criada por outra transação
+        }
+    }
+
+    private ResumoAnualDTO montar(Long idUsuario, Integer ano, List<? extends TotalMensal> totais) {
+        StatusLancamento[] situacoes = StatusLancamento.values();
+        long[][][] centavos = new long[12][situacoes.length][2];
+        long[][] quantidades = new long[12][situacoes.length];
+        for (TotalMensal total : totais) {
+            int mes = total.getMes() - 1;
+            int status = total.getStatus().ordinal();
+            int tipo = total.getTipo() == TipoLancamento.RECEITA ? 0 : 1;
+            centavos[mes][status][tipo] = Dinheiro.somar(centavos[mes][status][tipo], Dinheiro.centavos(total.getTotal()));
+            quantidades[mes][status] += total.getQuantidade();
+        }
+
+        List<ResumoMesDTO> meses = new ArrayList<>(12);
+        long receitas = 0;
+        long despesas = 0;
+        for (int mes = 0; mes < 12; mes++) {
+            Map<StatusLancamento, ResumoStatusDTO> porStatus = new EnumMap<>(StatusLancamento.class);
+            long receitasMes = 0;
+            long despesasMes = 0;
+            for (StatusLancamento status : situacoes) {
+                long[] porTipo = centavos[mes][status.ordinal()];
+                porStatus.put(status, new ResumoStatusDTO(Dinheiro.paraBigDecimal(porTipo[0]),
+                        Dinheiro.paraBigDecimal(porTipo[1]), quantidades[mes][status.ordinal()]));
+                receitasMes = Dinheiro.somar(receitasMes, porTipo[0]);
+                despesasMes = Dinheiro.somar(despesasMes, porTipo[1]);
+            }
+            meses.add(new ResumoMesDTO(mes + 1, Dinheiro.paraBigDecimal(receitasMes), Dinheiro.paraBigDecimal(despesasMes),
+                    Dinheiro.paraBigDecimal(Dinheiro.subtrair(receitasMes, despesasMes)), porStatus));
+            receitas = Dinheiro.somar(receitas, receitasMes);
+            despesas = Dinheiro.somar(despesas, despesasMes);
+        }
+        return new ResumoAnualDTO(idUsuario, ano, Dinheiro.paraBigDecimal(receitas), Dinheiro.paraBigDecimal(despesas),
+                Dinheiro.paraBigDecimal(Dinheiro.subtrair(receitas, despesas)), meses);
+    }
+}
@@ -0,0 +1,201 @@
+package com.mponte.minhasfinancas.services.impl;
+
+import com.mponte.minhasfinancas.model.dtos.DivergenciaSaldoDTO;
+import com.mponte.minhasfinancas.model.entities.Lancamento;
+import com.mponte.minhasfinancas.model.entities.SaldoUsuario;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.model.projections.TotalMensalUsuario;
+import com.mponte.minhasfinancas.model.projections.TotalPorTipo;
+import com.mponte.minhasfinancas.model.valores.Dinheiro;
+import com.mponte.minhasfinancas.repositories.LancamentoRepository;
+import com.mponte.minhasfinancas.repositories.ResumoMensalRepository;
+import com.mponte.minhasfinancas.repositories.SaldoUsuarioRepository;
+import com.mponte.minhasfinancas.services.events.AnoArquivadoEvent;
+import com.mponte.minhasfinancas.services.events.LancamentosAlteradosEvent;
+import com.mponte.minhasfinancas.services.events.StatusLancamentosAlteradosEvent;
+import com.mponte.minhasfinancas.services.interfaces.SaldoUsuarioService;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/*
+ * A coluna versao de saldo_usuario é a versão dos dados do usuário usada nos ETags: ela sobe no mesmo UPDATE que
+ * altera o saldo, e também em alterações que não o mudam (status, descrição), então todas as instâncias a enxergam.
+ */
+@Service
+public class SaldoUsuarioServiceImpl implements SaldoUsuarioService {
+    private static final int RECEITAS = 0;
+    private static final int DESPESAS = 1;
+
+    private final SaldoUsuarioRepository saldoUsuarioRepository;
+    private final LancamentoRepository lancamentoRepository;
+    private final ResumoMensalRepository resumoMensalRepository;
+    private final TransactionTemplate transacaoSeparada;
+
+    public SaldoUsuarioServiceImpl(SaldoUsuarioRepository saldoUsuarioRepository, LancamentoRepository lancamentoRepository,
+                                   ResumoMensalRepository resumoMensalRepository, PlatformTransactionManager transactionManager) {
+        this.saldoUsuarioRepository = saldoUsuarioRepository;
+        this.lancamentoRepository = lancamentoRepository;
+        this.resumoMensalRepository = resumoMensalRepository;
+        this.transacaoSeparada = new TransactionTemplate(transactionManager);
+        this.transacaoSeparada.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public Optional<BigDecimal> saldo(Long idUsuario) {
+        return saldoUsuarioRepository.findById(idUsuario).map(SaldoUsuario::getSaldo);
+    }
+
+    @Override
+    public BigDecimal saldoArquivado(Long idUsuario) {
+        return agrupar(resumoMensalRepository.totalizarArquivadosPorTipo(idUsuario))
+                .getOrDefault(idUsuario, zerado(idUsuario)).getSaldo();
+    }
+
+    @Override
+    @Transactional
+    @EventListener
+    public void aplicar(LancamentosAlteradosEvent evento) {
+        Map<Long, long[]> deltas = new HashMap<>();
+        evento.getAnteriores().forEach(lancamento -> acumular(deltas, lancamento, -1));
+        evento.getAtuais().forEach(lancamento -> acumular(deltas, lancamento, 1));
+        deltas.forEach((usuarioId, delta) -> aplicar(usuarioId, delta[RECEITAS], delta[DESPESAS]));
+    }
+
+    @Override
+    @Transactional
+    @EventListener
+    public void aplicar(StatusLancamentosAlteradosEvent evento) {
+        Set<Long> usuarios = new TreeSet<>();
+        for (TotalMensalUsuario anterior : evento.getAnteriores()) {
+            usuarios.add(anterior.getUsuarioId());
+        }
+        usuarios.forEach(usuarioId -> aplicar(usuarioId, 0, 0));
+    }
+
+    @Override
+    @Transactional
+    @EventListener
+    public void aplicar(AnoArquivadoEvent evento) {
+        saldoUsuarioRepository.incrementarVersoes();
+    }
+
+    @Override
+    public List<DivergenciaSaldoDTO> verificar() {
+        List<TotalPorTipo> totais = new ArrayList<>(lancamentoRepository.totalizarPorUsuarioETipo());
+        totais.addAll(resumoMensalRepository.totalizarArquivadosPorUsuarioETipo());
+        Map<Long, SaldoUsuario> calculados = agrupar(totais);
+        Map<Long, SaldoUsuario> registrados = new HashMap<>();
+        saldoUsuarioRepository.findAll().forEach(saldo -> registrados.put(saldo.getUsuarioId(), saldo));
+
+        Set<Long> usuarios = new TreeSet<>(calculados.keySet());
+        usuarios.addAll(registrados.keySet());
+
+        List<DivergenciaSaldoDTO> divergencias = new ArrayList<>();
+        for (Long usuario : usuarios) {
+            SaldoUsuario calculado = calculados.getOrDefault(usuario, zerado(usuario));
+            SaldoUsuario registrado = registrados.get(usuario);
+            if (registrado == null
+                    || registrado.getReceitas().compareTo(calculado.getReceitas()) != 0
+                    || registrado.getDespesas().compareTo(calculado.getDespesas()) != 0) {
+                divergencias.add(DivergenciaSaldoDTO.builder()
+                        .usuario(usuario)
+                        .receitasRegistradas(registrado == null ? null : registrado.getReceitas())
+                        .despesasRegistradas(registrado == null ? null : registrado.getDespesas())
+                        .receitasCalculadas(calculado.getReceitas())
+                        .despesasCalculadas(calculado.getDespesas())
+                        .build());
+            }
+        }
+        return divergencias;
+    }
+
+    @Override
+    @Transactional
+    public List<DivergenciaSaldoDTO> reconstruir() {
+        List<DivergenciaSaldoDTO> divergencias = verificar();
+        for (DivergenciaSaldoDTO divergencia : divergencias) {
+            SaldoUsuario saldo = saldoUsuarioRepository.findById(divergencia.getUsuario())
+                    .orElseGet(() -> zerado(divergencia.getUsuario()));
+            saldo.setReceitas(divergencia.getReceitasCalculadas());
+            saldo.setDespesas(divergencia.getDespesasCalculadas());
+            saldo.setVersao(saldo.getVersao() + 1);
+            saldoUsuarioRepository.save(saldo);
+        }
+        return divergencias;
+    }
+
+    private void acumular(Map<Long, long[]> deltas, Lancamento lancamento, int sinal) {
+        Long usuarioId = usuarioId(lancamento);
+        if (usuarioId == null) {
+            return;
+        }
+        long[] delta = deltas.computeIfAbsent(usuarioId, id -> new long[2]);
+        if (lancamento.getTipo() == null || lancamento.getValor() == null) {
+            return;
+        }
+        int posicao = lancamento.getTipo() == TipoLancamento.RECEITA ? RECEITAS : DESPESAS;
+        long centavos = Dinheiro.multiplicar(Dinheiro.centavos(lancamento.getValor()), sinal);
+        delta[posicao] = Dinheiro.somar(delta[posicao], centavos);
+    }
+
+    private void aplicar(Long usuarioId, long receitas, long despesas) {
+        BigDecimal deltaReceitas = Dinheiro.paraBigDecimal(receitas);
+        BigDecimal deltaDespesas = Dinheiro.paraBigDecimal(despesas);
+        if (saldoUsuarioRepository.somar(usuarioId, deltaReceitas, deltaDespesas) == 0) {
+            criar(usuarioId);
+            saldoUsuarioRepository.somar(usuarioId, deltaReceitas, deltaDespesas);
+        }
+    }
+
+    /*
+     * O registro é criado em transação separada, com os totais já confirmados, e o delta desta transação é somado
+     * depois como em qualquer outra. Se outra transação criar o registro ao mesmo tempo, a inserção desta falha sem
+     * afetar a transação corrente, que apenas soma sobre o registro da outra.
+     */
+    private void criar(Long usuarioId) {
+        try {
+            transacaoSeparada.executeWithoutResult(status -> {
+                SaldoUsuario saldo = calcular(usuarioId);
+                saldo.setVersao(1L);
+                saldoUsuarioRepository.saveAndFlush(saldo);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // criado por outra transação
+        }
+    }
+
+    private SaldoUsuario calcular(Long usuarioId) {
+        List<TotalPorTipo> totais = new ArrayList<>(lancamentoRepository.totalizarPorTipo(usuarioId));
+        totais.addAll(resumoMensalRepository.totalizarArquivadosPorTipo(usuarioId));
+        return agrupar(totais).getOrDefault(usuarioId, zerado(usuarioId));
+    }
+
+    private Map<Long, SaldoUsuario> agrupar(List<TotalPorTipo> totais) {
+        Map<Long, SaldoUsuario> saldos = new HashMap<>();
+        for (TotalPorTipo total : totais) {
+            SaldoUsuario saldo = saldos.computeIfAbsent(total.getUsuarioId(), this::zerado);
+            if (total.getTipo() == TipoLancamento.RECEITA) {
+                saldo.setReceitas(saldo.getReceitas().add(total.getTotal()));
+            } else if (total.getTipo() == TipoLancamento.DESPESA) {
+                saldo.setDespesas(saldo.getDespesas().add(total.getTotal()));
+            }
+        }
+        return saldos;
+    }
+
+    private SaldoUsuario zerado(Long usuarioId) {
+        return new SaldoUsuario(usuarioId, BigDecimal.ZERO, BigDecimal.ZERO, 0L);
+    }
+
+    private Long usuarioId(Lancamento lancamento) {
+        return lancamento.getUsuario() == null ? null : lancamento.getUsuario().getId();
+    }
+}
@@ -0,0 +1,172 @@
+package com.mponte.minhasfinancas.services.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mponte.minhasfinancas.model.dtos.AutenticacaoDTO;
+import com.mponte.minhasfinancas.model.entities.Usuario;
+import com.mponte.minhasfinancas.services.exceptions.TokenInvalidoException;
+import com.mponte.minhasfinancas.services.interfaces.TokenService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+@Slf4j
+@Service
+public class TokenServiceImpl implements TokenService {
+    private static final String ALGORITMO = "HmacSHA256";
+    private static final String TOKEN_INVALIDO = "Token de autenticação inválido ou expirado.";
+    private static final String EVENTOS = "eventos";
+    private static final Base64.Encoder CODIFICADOR = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODIFICADOR = Base64.getUrlDecoder();
+
+    private final SecretKeySpec chave;
+    private final ThreadLocal<Mac> macs;
+    private final Duration validade;
+    private final Duration validadeEventos;
+    private final Clock relogio;
+    private final SecureRandom aleatorio = new SecureRandom();
+    private final Cache<String, Boolean> revogados;
+
+    @Autowired
+    public TokenServiceImpl(@Value("${financas.autenticacao.token.chave:}") String chave,
+                            @Value("${financas.autenticacao.token.validade:2h}") Duration validade,
+                            @Value("${financas.autenticacao.token.eventos.validade:1m}") Duration validadeEventos,
+                            @Value("${financas.autenticacao.revogacao.capacidade:100000}") long capacidadeRevogacao) {
+        this(chave, validade, validadeEventos, capacidadeRevogacao, Clock.systemUTC());
+    }
+
+    TokenServiceImpl(String chave, Duration validade, Duration validadeEventos, long capacidadeRevogacao, Clock relogio) {
+        this.chave = new SecretKeySpec(lerChave(chave), ALGORITMO);
+        this.validade = validade;
+        this.validadeEventos = validadeEventos;
+        this.relogio = relogio;
+        this.revogados = Caffeine.newBuilder()
+                .maximumSize(capacidadeRevogacao)
+                .expireAfterWrite(validade)
+                .build();
+        this.macs = ThreadLocal.withInitial(this::criarMac);
+    }
+
+    @Override
+    public AutenticacaoDTO emitir(Usuario usuario) {
+        Instant expiraEm = relogio.instant().plus(validade);
+        return AutenticacaoDTO.builder()
+                .id(usuario.getId())
+                .nome(usuario.getNome())
+                .email(usuario.getEmail())
+                .token(gerar(usuario.getId(), expiraEm, ""))
+                .expiraEm(expiraEm)
+                .build();
+    }
+
+    @Override
+    public Long verificar(String token) {
+        return verificar(token, false);
+    }
+
+    /*
+     * O token de eventos viaja na URL do EventSource e pode acabar em logs de acesso; por isso expira em pouco tempo
+     * e só é aceito nos endpoints de eventos, nunca como token de autenticação comum.
+     */
+    @Override
+    public AutenticacaoDTO emitirEventos(Long usuario) {
+        Instant expiraEm = relogio.instant().plus(validadeEventos);
+        return AutenticacaoDTO.builder()
+                .id(usuario)
+                .token(gerar(usuario, expiraEm, "." + EVENTOS))
+                .expiraEm(expiraEm)
+                .build();
+    }
+
+    @Override
+    public Long verificarEventos(String token) {
+        return verificar(token, true);
+    }
+
+    private String gerar(Long usuario, Instant expiraEm, String escopo) {
+        byte[] identificador = new byte[12];
+        aleatorio.nextBytes(identificador);
+        String conteudo = CODIFICADOR.encodeToString((usuario + "." + expiraEm.getEpochSecond() + "."
+                + CODIFICADOR.encodeToString(identificador) + escopo).getBytes(StandardCharsets.US_ASCII));
+        return conteudo + "." + CODIFICADOR.encodeToString(assinar(conteudo));
+    }
+
+    private Long verificar(String token, boolean eventos) {
+        String[] campos = abrir(token);
+        if (eventos != (campos.length == 4)
+                || relogio.instant().getEpochSecond() >= Long.parseLong(campos[1])
+                || revogados.getIfPresent(campos[2]) != null) {
+            throw new TokenInvalidoException(TOKEN_INVALIDO);
+        }
+        return Long.valueOf(campos[0]);
+    }
+
+    @Override
+    public void revogar(String token) {
+        verificar(token);
+        revogados.put(abrir(token)[2], Boolean.TRUE);
+    }
+
+    private String[] abrir(String token) {
+        int separador = token == null ? -1 : token.lastIndexOf('.');
+        if (separador <= 0) {
+            throw new TokenInvalidoException(TOKEN_INVALIDO);
+        }
+        String conteudo = token.substring(0, separador);
+        try {
+            byte[] assinatura = DECODIFICADOR.decode(token.substring(separador + 1));
+            if (!MessageDigest.isEqual(assinar(conteudo), assinatura)) {
+                throw new TokenInvalidoException(TOKEN_INVALIDO);
+            }
+            String[] campos = new String(DECODIFICADOR.decode(conteudo), StandardCharsets.US_ASCII).split("\\.");
+            if (campos.length != 3 && (campos.length != 4 || !EVENTOS.equals(campos[3]))) {
+                throw new TokenInvalidoException(TOKEN_INVALIDO);
+            }
+            Long.parseLong(campos[0]);
+            Long.parseLong(campos[1]);
+            return campos;
+        } catch (IllegalArgumentException e) {
+            throw new TokenInvalidoException(TOKEN_INVALIDO);
+        }
+    }
+
+    private byte[] assinar(String conteudo) {
+        return macs.get().doFinal(conteudo.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac criarMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITMO);
+            mac.init(chave);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] lerChave(String chave) {
+        if (chave == null || chave.isBlank()) {
+            log.warn("financas.autenticacao.token.chave não configurada; usando uma chave aleatória, os tokens não sobrevivem a um reinício");
+            byte[] aleatoria = new byte[32];
+            new SecureRandom().nextBytes(aleatoria);
+            return aleatoria;
+        }
+        byte[] bytes = chave.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < 32) {
+            throw new IllegalStateException("financas.autenticacao.token.chave precisa ter ao menos 32 bytes");
+        }
+        return bytes;
+    }
+}
@@ -6,45 +6,96 @@ import com.mponte.minhasfinancas.services.exceptions.ErroAutenticacao;
 import com.mponte.minhasfinancas.services.exceptions.ObjetoNaoEncontradoException;
 import com.mponte.minhasfinancas.services.exceptions.RegraNegocioException;
 import com.mponte.minhasfinancas.services.interfaces.UsuarioService;
+import com.mponte.minhasfinancas.services.usuario.CodificadorSenha;
+import com.mponte.minhasfinancas.services.usuario.FiltroEmails;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class UsuarioServiceImpl implements UsuarioService {
+    public static final String CACHE_USUARIOS = "usuarios";
+
+    private static final String EMAIL_CADASTRADO = "Já existe um usuário cadastrado com este e-mail.";
+
     private final UsuarioRepository usuarioRepository;
+    private final FiltroEmails filtroEmails;
+    private final CodificadorSenha codificadorSenha;
 
-    public UsuarioServiceImpl(UsuarioRepository usuarioRepository) {
+    public UsuarioServiceImpl(UsuarioRepository usuarioRepository, FiltroEmails filtroEmails,
+                              CodificadorSenha codificadorSenha) {
         this.usuarioRepository = usuarioRepository;
+        this.filtroEmails = filtroEmails;
+        this.codificadorSenha = codificadorSenha;
     }
 
     @Override
+    @Transactional
     public Usuario autenticar(String email, String senha) {
+        // o filtro é local à instância e não vê os cadastros feitos nas outras, então o login sempre consulta o banco
         Usuario usuario = usuarioRepository.findByEmail(email)
                 .orElseThrow(() -> new ObjetoNaoEncontradoException("Usuario não encontrado com esse email."));
-        if(!usuario.getSenha().equals(senha)){
+        if (!filtroEmails.podeExistir(email)) {
+            filtroEmails.adicionar(email);
+        }
+        if(!codificadorSenha.confere(senha, usuario.getSenha())){
             throw new ErroAutenticacao("Senha incorreta.");
         }
+        if (codificadorSenha.precisaAtualizar(usuario.getSenha())) {
+            usuario.setSenha(codificadorSenha.codificar(senha));
+            usuario = usuarioRepository.save(usuario);
+        }
         return usuario;
     }
 
     @Override
     @Transactional
     public Usuario salvarUsuario(Usuario usuario) {
+        // o filtro é local à instância: um e-mail cadastrado em outra passa por ele e é barrado pelo índice único
         validarEmail(usuario.getEmail());
-        return usuarioRepository.save(usuario);
+        usuario.setSenha(codificadorSenha.codificar(usuario.getSenha()));
+        Usuario salvo;
+        try {
+            salvo = usuarioRepository.save(usuario);
+        } catch (DataIntegrityViolationException e) {
+            if (violouRestricaoEmail(e)) {
+                throw new RegraNegocioException(EMAIL_CADASTRADO);
+            }
+            throw e;
+        }
+        filtroEmails.adicionar(salvo.getEmail());
+        return salvo;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public void validarEmail(String email) {
-        boolean existe = usuarioRepository.existsByEmail(email);
-        if (existe){
-            throw new RegraNegocioException("Já existe um usuário cadastrado com este e-mail.");
+        if (filtroEmails.podeExistir(email) && usuarioRepository.existsByEmail(email)){
+            throw new RegraNegocioException(EMAIL_CADASTRADO);
         }
     }
 
+    private static boolean violouRestricaoEmail(DataIntegrityViolationException e) {
+        if (e.getCause() instanceof ConstraintViolationException) {
+            String restricao = ((ConstraintViolationException) e.getCause()).getConstraintName();
+            return restricao != null && restricao.toLowerCase().contains(Usuario.RESTRICAO_EMAIL);
+        }
+        return false;
+    }
+
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CACHE_USUARIOS, key = "#id")
     public Usuario findById(Long id) {
         return usuarioRepository.findById(id)
+                .map(UsuarioServiceImpl::semSenha)
                 .orElseThrow(() -> new ObjetoNaoEncontradoException("usuário não encontrado com o id: "+id));
     }
+
+    // a instância fica no cache e é compartilhada entre requisições e lançamentos, então não carrega o hash da senha
+    private static Usuario semSenha(Usuario usuario) {
+        return Usuario.builder().id(usuario.getId()).nome(usuario.getNome()).email(usuario.getEmail()).build();
+    }
 }
@@ -0,0 +1,30 @@
+package com.mponte.minhasfinancas.services.impl;
+
+import com.mponte.minhasfinancas.repositories.SaldoUsuarioRepository;
+import com.mponte.minhasfinancas.services.interfaces.VersaoDadosService;
+import com.mponte.minhasfinancas.services.versao.VersaoDados;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/*
+ * A versão vem de saldo_usuario.versao, incrementada na mesma transação que altera os lançamentos do usuário; por
+ * isso é igual em todas as instâncias e sobrevive a reinícios. A consulta é uma leitura por chave primária e vai para
+ * a réplica como as demais leituras, já que o polling condicional é o tráfego dominante. O preço é o atraso da
+ * réplica: por essa janela um cliente pode receber 304 sobre dados já alterados, e recebe a mudança na consulta
+ * seguinte. O próprio autor da gravação lê do primário pela janela de leitura própria (PoliticaLeitura). A versão é
+ * lida antes dos lançamentos, então o ETag nunca é mais novo que o corpo enviado com ele.
+ */
+@Service
+public class VersaoDadosServiceImpl implements VersaoDadosService {
+    private final SaldoUsuarioRepository saldoUsuarioRepository;
+
+    public VersaoDadosServiceImpl(SaldoUsuarioRepository saldoUsuarioRepository) {
+        this.saldoUsuarioRepository = saldoUsuarioRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public VersaoDados versao(Long usuario) {
+        return new VersaoDados(saldoUsuarioRepository.buscarVersao(usuario).orElse(0L));
+    }
+}
@@ -0,0 +1,23 @@
+package com.mponte.minhasfinancas.services.importacao;
+
+import com.mponte.minhasfinancas.services.exceptions.RegraNegocioException;
+
+import java.io.Reader;
+
+public enum FormatoImportacao {
+    CSV,
+    OFX;
+
+    public static FormatoImportacao de(String formato) {
+        for (FormatoImportacao valor : values()) {
+            if (valor.name().equalsIgnoreCase(formato)) {
+                return valor;
+            }
+        }
+        throw new RegraNegocioException("Informe um formato de importação válido: csv ou ofx.");
+    }
+
+    public LeitorLancamentos criarLeitor(Reader entrada) {
+        return this == CSV ? new LeitorCsv(entrada) : new LeitorOfx(entrada);
+    }
+}
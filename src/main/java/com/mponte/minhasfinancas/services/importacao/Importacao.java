@@ -0,0 +1,11 @@
+package com.mponte.minhasfinancas.services.importacao;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class Importacao {
+    private final Long usuario;
+    private final FormatoImportacao formato;
+}
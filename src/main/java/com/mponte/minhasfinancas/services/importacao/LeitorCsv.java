@@ -0,0 +1,176 @@
+package com.mponte.minhasfinancas.services.importacao;
+
+import com.mponte.minhasfinancas.model.dtos.LancamentoDTO;
+import com.mponte.minhasfinancas.services.exceptions.RegraNegocioException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+class LeitorCsv implements LeitorLancamentos {
+    private static final String[] COLUNAS = {"descricao", "mes", "ano", "valor", "tipo"};
+
+    private final Reader entrada;
+    private final List<String> campos = new ArrayList<>();
+    private final StringBuilder campo = new StringBuilder();
+    private Map<String, Integer> colunas;
+    private int linha = 1;
+    private int proximoCaractere = -2;
+    private boolean campoExcedido;
+
+    LeitorCsv(Reader entrada) {
+        this.entrada = entrada;
+    }
+
+    @Override
+    public int getLinha() {
+        return linha;
+    }
+
+    @Override
+    public RegistroImportado proximo() throws IOException {
+        if (colunas == null) {
+            lerCabecalho();
+        }
+        while (true) {
+            int linhaRegistro = linha;
+            if (!lerRegistro()) {
+                return null;
+            }
+            if (campos.size() == 1 && campos.get(0).isBlank()) {
+                continue;
+            }
+            if (campoExcedido) {
+                return new RegistroImportado(linhaRegistro, null, "Campo excede o tamanho máximo de " + LIMITE_CAMPO + " caracteres.");
+            }
+            return converter(linhaRegistro);
+        }
+    }
+
+    private void lerCabecalho() throws IOException {
+        if (!lerRegistro()) {
+            throw new RegraNegocioException("O arquivo está vazio.");
+        }
+        colunas = new HashMap<>();
+        for (int i = 0; i < campos.size(); i++) {
+            colunas.put(campos.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String coluna : COLUNAS) {
+            if (!colunas.containsKey(coluna)) {
+                throw new RegraNegocioException("O cabeçalho do arquivo não possui a coluna " + coluna + ".");
+            }
+        }
+    }
+
+    private RegistroImportado converter(int linhaRegistro) {
+        try {
+            LancamentoDTO dto = LancamentoDTO.builder()
+                    .descricao(valor("descricao"))
+                    .mes(inteiro(valor("mes")))
+                    .ano(inteiro(valor("ano")))
+                    .valor(decimal(valor("valor")))
+                    .tipo(valor("tipo") == null ? null : valor("tipo").trim().toUpperCase(Locale.ROOT))
+                    .build();
+            return new RegistroImportado(linhaRegistro, dto, null);
+        } catch (NumberFormatException e) {
+            return new RegistroImportado(linhaRegistro, null, "Informe valores numéricos válidos para mês, ano e valor.");
+        }
+    }
+
+    private String valor(String coluna) {
+        int indice = colunas.get(coluna);
+        if (indice >= campos.size() || campos.get(indice).isBlank()) {
+            return null;
+        }
+        return campos.get(indice);
+    }
+
+    private static Integer inteiro(String valor) {
+        return valor == null ? null : Integer.valueOf(valor.trim());
+    }
+
+    private static BigDecimal decimal(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        String numero = valor.trim();
+        return new BigDecimal(numero.indexOf('.') < 0 ? numero.replace(',', '.') : numero);
+    }
+
+    private boolean lerRegistro() throws IOException {
+        campos.clear();
+        campo.setLength(0);
+        campoExcedido = false;
+        boolean aspas = false;
+        int c = ler();
+        if (c == -1) {
+            return false;
+        }
+        while (c != -1) {
+            if (aspas) {
+                if (c == '"') {
+                    if (espiar() == '"') {
+                        ler();
+                        acrescentar('"');
+                    } else {
+                        aspas = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        linha++;
+                    }
+                    acrescentar((char) c);
+                }
+            } else if (c == '"') {
+                aspas = true;
+            } else if (c == ',') {
+                fecharCampo();
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r' && espiar() == '\n') {
+                    ler();
+                }
+                linha++;
+                break;
+            } else {
+                acrescentar((char) c);
+            }
+            c = ler();
+        }
+        fecharCampo();
+        return true;
+    }
+
+    private void acrescentar(char c) {
+        if (campo.length() < LIMITE_CAMPO) {
+            campo.append(c);
+        } else {
+            campoExcedido = true;
+        }
+    }
+
+    private void fecharCampo() {
+        campos.add(campo.toString());
+        campo.setLength(0);
+    }
+
+    private int ler() throws IOException {
+        if (proximoCaractere != -2) {
+            int c = proximoCaractere;
+            proximoCaractere = -2;
+            return c;
+        }
+        return entrada.read();
+    }
+
+    private int espiar() throws IOException {
+        if (proximoCaractere == -2) {
+            proximoCaractere = entrada.read();
+        }
+        return proximoCaractere;
+    }
+}
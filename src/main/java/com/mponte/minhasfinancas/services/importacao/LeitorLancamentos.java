@@ -0,0 +1,11 @@
+package com.mponte.minhasfinancas.services.importacao;
+
+import java.io.IOException;
+
+public interface LeitorLancamentos {
+    int LIMITE_CAMPO = 1000;
+
+    RegistroImportado proximo() throws IOException;
+
+    int getLinha();
+}
@@ -0,0 +1,140 @@
+package com.mponte.minhasfinancas.services.importacao;
+
+import com.mponte.minhasfinancas.model.dtos.LancamentoDTO;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.Locale;
+
+class LeitorOfx implements LeitorLancamentos {
+    private final Reader entrada;
+    private final StringBuilder texto = new StringBuilder();
+    private int linha = 1;
+    private int linhaTransacao;
+    private String tagAtual;
+    private boolean emTransacao;
+    private boolean campoExcedido;
+    private String dataPostagem;
+    private String valor;
+    private String nome;
+    private String memo;
+
+    LeitorOfx(Reader entrada) {
+        this.entrada = entrada;
+    }
+
+    @Override
+    public int getLinha() {
+        return linha;
+    }
+
+    @Override
+    public RegistroImportado proximo() throws IOException {
+        int c;
+        while ((c = entrada.read()) != -1) {
+            if (c != '<') {
+                if (c == '\n') {
+                    linha++;
+                }
+                if (tagAtual != null) {
+                    if (texto.length() < LIMITE_CAMPO) {
+                        texto.append((char) c);
+                    } else {
+                        campoExcedido = true;
+                    }
+                }
+                continue;
+            }
+            atribuir();
+            String tag = lerTag();
+            if (tag.equals("STMTTRN")) {
+                iniciarTransacao();
+            } else if (tag.equals("/STMTTRN") && emTransacao) {
+                emTransacao = false;
+                return converter();
+            } else if (!tag.startsWith("/") && !tag.startsWith("?") && !tag.startsWith("!")) {
+                tagAtual = tag;
+            }
+        }
+        return null;
+    }
+
+    private String lerTag() throws IOException {
+        StringBuilder tag = new StringBuilder();
+        int c;
+        while ((c = entrada.read()) != -1 && c != '>') {
+            if (c == '\n') {
+                linha++;
+            }
+            if (tag.length() < LIMITE_CAMPO) {
+                tag.append((char) c);
+            }
+        }
+        return tag.toString().trim().toUpperCase(Locale.ROOT);
+    }
+
+    private void iniciarTransacao() {
+        emTransacao = true;
+        linhaTransacao = linha;
+        campoExcedido = false;
+        dataPostagem = null;
+        valor = null;
+        nome = null;
+        memo = null;
+    }
+
+    private void atribuir() {
+        if (tagAtual != null && emTransacao) {
+            String conteudo = decodificar(texto.toString().trim());
+            switch (tagAtual) {
+                case "DTPOSTED":
+                    dataPostagem = conteudo;
+                    break;
+                case "TRNAMT":
+                    valor = conteudo;
+                    break;
+                case "NAME":
+                    nome = conteudo;
+                    break;
+                case "MEMO":
+                    memo = conteudo;
+                    break;
+                default:
+            }
+        }
+        tagAtual = null;
+        texto.setLength(0);
+    }
+
+    private RegistroImportado converter() {
+        if (campoExcedido) {
+            return new RegistroImportado(linhaTransacao, null, "Campo excede o tamanho máximo de " + LIMITE_CAMPO + " caracteres.");
+        }
+        if (dataPostagem == null || dataPostagem.length() < 8 || valor == null || valor.isEmpty()) {
+            return new RegistroImportado(linhaTransacao, null, "Informe a data (DTPOSTED) e o valor (TRNAMT) da transação.");
+        }
+        try {
+            BigDecimal quantia = new BigDecimal(valor.indexOf('.') < 0 ? valor.replace(',', '.') : valor);
+            LancamentoDTO dto = LancamentoDTO.builder()
+                    .descricao(memo == null || memo.isEmpty() ? nome : memo)
+                    .ano(Integer.valueOf(dataPostagem.substring(0, 4)))
+                    .mes(Integer.valueOf(dataPostagem.substring(4, 6)))
+                    .valor(quantia.abs())
+                    .tipo((quantia.signum() < 0 ? TipoLancamento.DESPESA : TipoLancamento.RECEITA).name())
+                    .build();
+            return new RegistroImportado(linhaTransacao, dto, null);
+        } catch (NumberFormatException e) {
+            return new RegistroImportado(linhaTransacao, null, "Informe a data (DTPOSTED) e o valor (TRNAMT) da transação.");
+        }
+    }
+
+    private static String decodificar(String conteudo) {
+        if (conteudo.indexOf('&') < 0) {
+            return conteudo;
+        }
+        return conteudo.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+                .replace("&apos;", "'").replace("&amp;", "&");
+    }
+}
@@ -0,0 +1,13 @@
+package com.mponte.minhasfinancas.services.importacao;
+
+import com.mponte.minhasfinancas.model.dtos.LancamentoDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class RegistroImportado {
+    private final int linha;
+    private final LancamentoDTO lancamento;
+    private final String erro;
+}
@@ -0,0 +1,8 @@
+package com.mponte.minhasfinancas.services.interfaces;
+
+import com.mponte.minhasfinancas.model.dtos.AnaliseLancamentosDTO;
+import com.mponte.minhasfinancas.model.dtos.LancamentoDTO;
+
+public interface AnaliseLancamentoService {
+    AnaliseLancamentosDTO analisar(LancamentoDTO filtro, Integer limite);
+}
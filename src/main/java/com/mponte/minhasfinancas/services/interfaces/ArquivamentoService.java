@@ -0,0 +1,16 @@
+package com.mponte.minhasfinancas.services.interfaces;
+
+import com.mponte.minhasfinancas.model.dtos.ArquivamentoDTO;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ArquivamentoService {
+    boolean arquivado(Integer ano);
+
+    ArquivamentoDTO arquivar(Integer ano);
+
+    void garantirAnosAbertos(Collection<Integer> anos);
+
+    List<Integer> anosParaArquivar();
+}
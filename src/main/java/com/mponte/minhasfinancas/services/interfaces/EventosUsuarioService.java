@@ -0,0 +1,9 @@
+package com.mponte.minhasfinancas.services.interfaces;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+public interface EventosUsuarioService {
+    ResponseBodyEmitter assinar(Long idUsuario);
+
+    int contarAssinaturas();
+}
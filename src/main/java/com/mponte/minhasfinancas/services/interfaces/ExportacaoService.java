@@ -0,0 +1,12 @@
+package com.mponte.minhasfinancas.services.interfaces;
+
+import com.mponte.minhasfinancas.services.exportacao.Exportacao;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportacaoService {
+    Exportacao preparar(Long idUsuario, Integer ano, String formato);
+
+    void escrever(Exportacao exportacao, OutputStream saida) throws IOException;
+}
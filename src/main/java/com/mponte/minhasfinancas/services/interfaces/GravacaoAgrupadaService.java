@@ -0,0 +1,10 @@
+package com.mponte.minhasfinancas.services.interfaces;
+
+import com.mponte.minhasfinancas.model.dtos.LancamentoDTO;
+import com.mponte.minhasfinancas.model.entities.Lancamento;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface GravacaoAgrupadaService {
+    CompletableFuture<Lancamento> enfileirar(LancamentoDTO dto);
+}
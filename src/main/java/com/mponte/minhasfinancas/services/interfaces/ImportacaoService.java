@@ -0,0 +1,14 @@
+package com.mponte.minhasfinancas.services.interfaces;
+
+import com.mponte.minhasfinancas.model.dtos.ProgressoImportacaoDTO;
+import com.mponte.minhasfinancas.services.importacao.Importacao;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+public interface ImportacaoService {
+    Importacao preparar(Long idUsuario, String formato);
+
+    ProgressoImportacaoDTO importar(Importacao importacao, InputStream entrada, Consumer<ProgressoImportacaoDTO> progresso) throws IOException;
+}
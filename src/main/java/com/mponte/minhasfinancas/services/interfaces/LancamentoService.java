@@ -1,22 +1,39 @@
 package com.mponte.minhasfinancas.services.interfaces;
 
+import com.mponte.minhasfinancas.model.dtos.AtualizacaoStatusDTO;
 import com.mponte.minhasfinancas.model.dtos.LancamentoDTO;
+import com.mponte.minhasfinancas.model.dtos.PaginaDTO;
+import com.mponte.minhasfinancas.model.dtos.ResultadoLoteDTO;
 import com.mponte.minhasfinancas.model.entities.Lancamento;
 import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.projections.LancamentoResumo;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface LancamentoService {
     Lancamento salvar(LancamentoDTO dto);
 
+    Lancamento preparar(LancamentoDTO dto);
+
+    void salvarPreparados(List<Lancamento> lancamentos);
+
+    List<ResultadoLoteDTO> salvarLote(List<LancamentoDTO> dtos);
+
     Lancamento atualizar(Long id, LancamentoDTO dto);
 
-    void deletar(Long id);
+    void deletar(Long id, Long usuario);
 
     List<Lancamento> buscar(LancamentoDTO lancamentoFiltro);
 
-    void atualizarStatus(Long id, StatusLancamento status);
+    PaginaDTO<LancamentoResumo> buscarPagina(LancamentoDTO lancamentoFiltro, String cursor, Integer limite);
+
+    void percorrer(LancamentoDTO lancamentoFiltro, Consumer<LancamentoResumo> consumidor);
+
+    void atualizarStatus(Long id, StatusLancamento status, Long usuario);
+
+    int atualizarStatus(AtualizacaoStatusDTO dto);
 
     void validar(Lancamento lancamento);
 
@@ -0,0 +1,7 @@
+package com.mponte.minhasfinancas.services.interfaces;
+
+import com.mponte.minhasfinancas.model.dtos.ProjecaoSaldoDTO;
+
+public interface ProjecaoSaldoService {
+    ProjecaoSaldoDTO projetar(Long idUsuario, Integer meses);
+}
@@ -0,0 +1,14 @@
+package com.mponte.minhasfinancas.services.interfaces;
+
+import com.mponte.minhasfinancas.model.dtos.MaterializacaoDTO;
+import com.mponte.minhasfinancas.model.dtos.RecorrenciaDTO;
+
+import java.time.LocalDate;
+
+public interface RecorrenciaService {
+    RecorrenciaDTO salvar(RecorrenciaDTO dto);
+
+    void deletar(Long id, Long usuario);
+
+    MaterializacaoDTO materializarLote(int fatia, int fatias, Long apos, LocalDate data);
+}
@@ -0,0 +1,7 @@
+package com.mponte.minhasfinancas.services.interfaces;
+
+import com.mponte.minhasfinancas.model.dtos.RelatorioAnualDTO;
+
+public interface RelatorioAnualService {
+    RelatorioAnualDTO gerar(Long idUsuario, Integer ano, Integer limite);
+}
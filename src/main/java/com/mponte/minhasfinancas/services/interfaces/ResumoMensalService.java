@@ -0,0 +1,15 @@
+package com.mponte.minhasfinancas.services.interfaces;
+
+import com.mponte.minhasfinancas.model.dtos.ResumoAnualDTO;
+import com.mponte.minhasfinancas.services.events.LancamentosAlteradosEvent;
+import com.mponte.minhasfinancas.services.events.StatusLancamentosAlteradosEvent;
+
+public interface ResumoMensalService {
+    ResumoAnualDTO resumoAnual(Long idUsuario, Integer ano);
+
+    void aplicar(LancamentosAlteradosEvent evento);
+
+    void aplicar(StatusLancamentosAlteradosEvent evento);
+
+    int reconstruir();
+}
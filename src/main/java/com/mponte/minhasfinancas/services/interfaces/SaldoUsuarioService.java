@@ -0,0 +1,26 @@
+package com.mponte.minhasfinancas.services.interfaces;
+
+import com.mponte.minhasfinancas.model.dtos.DivergenciaSaldoDTO;
+import com.mponte.minhasfinancas.services.events.AnoArquivadoEvent;
+import com.mponte.minhasfinancas.services.events.LancamentosAlteradosEvent;
+import com.mponte.minhasfinancas.services.events.StatusLancamentosAlteradosEvent;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+public interface SaldoUsuarioService {
+    Optional<BigDecimal> saldo(Long idUsuario);
+
+    BigDecimal saldoArquivado(Long idUsuario);
+
+    void aplicar(LancamentosAlteradosEvent evento);
+
+    void aplicar(StatusLancamentosAlteradosEvent evento);
+
+    void aplicar(AnoArquivadoEvent evento);
+
+    List<DivergenciaSaldoDTO> verificar();
+
+    List<DivergenciaSaldoDTO> reconstruir();
+}
@@ -0,0 +1,16 @@
+package com.mponte.minhasfinancas.services.interfaces;
+
+import com.mponte.minhasfinancas.model.dtos.AutenticacaoDTO;
+import com.mponte.minhasfinancas.model.entities.Usuario;
+
+public interface TokenService {
+    AutenticacaoDTO emitir(Usuario usuario);
+
+    Long verificar(String token);
+
+    AutenticacaoDTO emitirEventos(Long usuario);
+
+    Long verificarEventos(String token);
+
+    void revogar(String token);
+}
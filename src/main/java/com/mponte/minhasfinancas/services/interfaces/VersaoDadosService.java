@@ -0,0 +1,7 @@
+package com.mponte.minhasfinancas.services.interfaces;
+
+import com.mponte.minhasfinancas.services.versao.VersaoDados;
+
+public interface VersaoDadosService {
+    VersaoDados versao(Long usuario);
+}
@@ -0,0 +1,92 @@
+package com.mponte.minhasfinancas.services.projecao;
+
+import com.mponte.minhasfinancas.model.dtos.ProjecaoMesDTO;
+import com.mponte.minhasfinancas.model.dtos.ProjecaoSaldoDTO;
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.model.valores.Dinheiro;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class SaldosMensais {
+    private static final int REALIZADO = 0;
+    private static final int PENDENTE = 1;
+
+    private final TreeMap<Integer, long[]> meses = new TreeMap<>();
+    private final long[] totais = new long[2];
+
+    public static int indice(int ano, int mes) {
+        return ano * 12 + mes - 1;
+    }
+
+    public synchronized void somar(Integer ano, Integer mes, TipoLancamento tipo, StatusLancamento status, BigDecimal valor) {
+        if (ano == null || mes == null || tipo == null || status == null || valor == null
+                || status == StatusLancamento.CANCELADO) {
+            return;
+        }
+        int posicao = status == StatusLancamento.EFETIVADO ? REALIZADO : PENDENTE;
+        long centavos = Dinheiro.centavos(valor);
+        long liquido = tipo == TipoLancamento.RECEITA ? centavos : Dinheiro.negar(centavos);
+        long[] mesAtual = meses.computeIfAbsent(indice(ano, mes), chave -> new long[2]);
+        mesAtual[posicao] = Dinheiro.somar(mesAtual[posicao], liquido);
+        totais[posicao] = Dinheiro.somar(totais[posicao], liquido);
+        if (mesAtual[REALIZADO] == 0 && mesAtual[PENDENTE] == 0) {
+            meses.remove(indice(ano, mes));
+        }
+    }
+
+    public synchronized void subtrair(Integer ano, Integer mes, TipoLancamento tipo, StatusLancamento status, BigDecimal valor) {
+        somar(ano, mes, tipo, status, valor == null ? null : valor.negate());
+    }
+
+    public ProjecaoSaldoDTO projetar(Long usuario, int inicio, long[] recorrentes) {
+        long[] antes;
+        long[][] janela = new long[recorrentes.length][2];
+        synchronized (this) {
+            antes = totais.clone();
+            for (Map.Entry<Integer, long[]> mes : meses.tailMap(inicio).entrySet()) {
+                long[] valores = mes.getValue();
+                antes[REALIZADO] = Dinheiro.subtrair(antes[REALIZADO], valores[REALIZADO]);
+                antes[PENDENTE] = Dinheiro.subtrair(antes[PENDENTE], valores[PENDENTE]);
+                int deslocamento = mes.getKey() - inicio;
+                if (deslocamento < janela.length) {
+                    janela[deslocamento] = valores.clone();
+                }
+            }
+        }
+
+        List<ProjecaoMesDTO> projecao = new ArrayList<>(janela.length);
+        long saldoRealizado = antes[REALIZADO];
+        long saldoProjetado = Dinheiro.somar(antes[REALIZADO], antes[PENDENTE]);
+        for (int deslocamento = 0; deslocamento < janela.length; deslocamento++) {
+            long[] valores = janela[deslocamento];
+            saldoRealizado = Dinheiro.somar(saldoRealizado, valores[REALIZADO]);
+            saldoProjetado = Dinheiro.somar(saldoProjetado,
+                    Dinheiro.somar(Dinheiro.somar(valores[REALIZADO], valores[PENDENTE]), recorrentes[deslocamento]));
+            int indice = inicio + deslocamento;
+            projecao.add(ProjecaoMesDTO.builder()
+                    .ano(indice / 12)
+                    .mes(indice % 12 + 1)
+                    .realizado(Dinheiro.paraBigDecimal(valores[REALIZADO]))
+                    .pendente(Dinheiro.paraBigDecimal(valores[PENDENTE]))
+                    .recorrente(Dinheiro.paraBigDecimal(recorrentes[deslocamento]))
+                    .saldoRealizado(Dinheiro.paraBigDecimal(saldoRealizado))
+                    .saldoProjetado(Dinheiro.paraBigDecimal(saldoProjetado))
+                    .build());
+        }
+        return ProjecaoSaldoDTO.builder()
+                .usuario(usuario)
+                .saldoRealizado(Dinheiro.paraBigDecimal(antes[REALIZADO]))
+                .pendentesAtrasados(Dinheiro.paraBigDecimal(antes[PENDENTE]))
+                .meses(projecao)
+                .build();
+    }
+
+    public synchronized int getMeses() {
+        return meses.size();
+    }
+}
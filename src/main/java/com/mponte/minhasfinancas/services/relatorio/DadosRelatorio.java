@@ -0,0 +1,122 @@
+package com.mponte.minhasfinancas.services.relatorio;
+
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.model.valores.Dinheiro;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DadosRelatorio {
+    static final int MESES = 12;
+    static final byte NENHUM = -1;
+    private static final int CAPACIDADE_INICIAL = 1024;
+
+    private long[] centavos = new long[CAPACIDADE_INICIAL];
+    private byte[] meses = new byte[CAPACIDADE_INICIAL];
+    private byte[] tipos = new byte[CAPACIDADE_INICIAL];
+    private byte[] status = new byte[CAPACIDADE_INICIAL];
+    private int[] descricoes = new int[CAPACIDADE_INICIAL];
+    private int tamanho;
+    private int[] inicioMes;
+
+    private final List<String> dicionario = new ArrayList<>();
+    private final Map<String, Integer> codigos = new HashMap<>();
+
+    public void adicionar(Integer mes, String descricao, BigDecimal valor, TipoLancamento tipo, StatusLancamento situacao) {
+        if (mes == null || mes < 1 || mes > MESES || tipo == null) {
+            return;
+        }
+        if (tamanho == centavos.length) {
+            int capacidade = tamanho * 2;
+            centavos = Arrays.copyOf(centavos, capacidade);
+            meses = Arrays.copyOf(meses, capacidade);
+            tipos = Arrays.copyOf(tipos, capacidade);
+            status = Arrays.copyOf(status, capacidade);
+            descricoes = Arrays.copyOf(descricoes, capacidade);
+        }
+        centavos[tamanho] = Dinheiro.centavos(valor);
+        meses[tamanho] = (byte) (mes - 1);
+        tipos[tamanho] = (byte) tipo.ordinal();
+        status[tamanho] = situacao == null ? NENHUM : (byte) situacao.ordinal();
+        descricoes[tamanho] = codigos.computeIfAbsent(descricao == null ? "" : descricao, chave -> {
+            dicionario.add(chave);
+            return dicionario.size() - 1;
+        });
+        tamanho++;
+        inicioMes = null;
+    }
+
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    synchronized void organizar() {
+        if (inicioMes != null) {
+            return;
+        }
+        int[] inicio = new int[MESES + 1];
+        for (int i = 0; i < tamanho; i++) {
+            inicio[meses[i] + 1]++;
+        }
+        for (int mes = 0; mes < MESES; mes++) {
+            inicio[mes + 1] += inicio[mes];
+        }
+        int[] proxima = Arrays.copyOf(inicio, MESES);
+        long[] novosCentavos = new long[tamanho];
+        byte[] novosMeses = new byte[tamanho];
+        byte[] novosTipos = new byte[tamanho];
+        byte[] novosStatus = new byte[tamanho];
+        int[] novasDescricoes = new int[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            int destino = proxima[meses[i]]++;
+            novosCentavos[destino] = centavos[i];
+            novosMeses[destino] = meses[i];
+            novosTipos[destino] = tipos[i];
+            novosStatus[destino] = status[i];
+            novasDescricoes[destino] = descricoes[i];
+        }
+        centavos = novosCentavos;
+        meses = novosMeses;
+        tipos = novosTipos;
+        status = novosStatus;
+        descricoes = novasDescricoes;
+        inicioMes = inicio;
+    }
+
+    int inicioMes(int mes) {
+        return inicioMes[mes];
+    }
+
+    int mesDaLinha(int linha) {
+        return meses[linha];
+    }
+
+    long centavos(int linha) {
+        return centavos[linha];
+    }
+
+    byte tipo(int linha) {
+        return tipos[linha];
+    }
+
+    byte status(int linha) {
+        return status[linha];
+    }
+
+    int descricao(int linha) {
+        return descricoes[linha];
+    }
+
+    int getQuantidadeDescricoes() {
+        return dicionario.size();
+    }
+
+    String descricaoDoCodigo(int codigo) {
+        return dicionario.get(codigo);
+    }
+}
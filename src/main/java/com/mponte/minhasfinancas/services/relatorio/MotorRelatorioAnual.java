@@ -0,0 +1,202 @@
+package com.mponte.minhasfinancas.services.relatorio;
+
+import com.mponte.minhasfinancas.model.dtos.RelatorioAnualDTO;
+import com.mponte.minhasfinancas.model.dtos.RelatorioMesDTO;
+import com.mponte.minhasfinancas.model.dtos.ResumoStatusDTO;
+import com.mponte.minhasfinancas.model.dtos.TotalDescricaoDTO;
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.model.valores.Dinheiro;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class MotorRelatorioAnual implements AutoCloseable {
+    private static final int LIMIAR_PADRAO = 16_384;
+    private static final int RECEITA = TipoLancamento.RECEITA.ordinal();
+    private static final int DESPESA = TipoLancamento.DESPESA.ordinal();
+
+    private final ForkJoinPool pool;
+    private final int limiar;
+
+    public MotorRelatorioAnual(int paralelismo) {
+        this(paralelismo, LIMIAR_PADRAO);
+    }
+
+    MotorRelatorioAnual(int paralelismo, int limiar) {
+        this.pool = new ForkJoinPool(paralelismo);
+        this.limiar = limiar;
+    }
+
+    public int getParalelismo() {
+        return pool.getParallelism();
+    }
+
+    public RelatorioAnualDTO gerar(Long usuario, Integer ano, DadosRelatorio dados, int limite) {
+        return montar(usuario, ano, dados, calcular(dados), limite);
+    }
+
+    ParcialRelatorio calcular(DadosRelatorio dados) {
+        dados.organizar();
+        return pool.invoke(new Tarefa(dados, 0, dados.getTamanho(), limiar));
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private RelatorioAnualDTO montar(Long usuario, Integer ano, DadosRelatorio dados, ParcialRelatorio parcial, int limite) {
+        List<RelatorioMesDTO> meses = new ArrayList<>(DadosRelatorio.MESES);
+        long receitas = 0;
+        long despesas = 0;
+        long quantidadeReceitas = 0;
+        long quantidadeDespesas = 0;
+        RelatorioMesDTO anterior = null;
+        for (int mes = 0; mes < DadosRelatorio.MESES; mes++) {
+            int base = mes * ParcialRelatorio.TIPOS;
+            long receitasMes = parcial.centavosMes[base + RECEITA];
+            long despesasMes = parcial.centavosMes[base + DESPESA];
+            RelatorioMesDTO atual = RelatorioMesDTO.builder()
+                    .mes(mes + 1)
+                    .quantidade(parcial.quantidadeMes[base + RECEITA] + parcial.quantidadeMes[base + DESPESA])
+                    .receitas(Dinheiro.paraBigDecimal(receitasMes))
+                    .despesas(Dinheiro.paraBigDecimal(despesasMes))
+                    .saldo(Dinheiro.paraBigDecimal(Dinheiro.subtrair(receitasMes, despesasMes)))
+                    .build();
+            if (anterior != null) {
+                atual.setVariacaoReceitas(atual.getReceitas().subtract(anterior.getReceitas()));
+                atual.setVariacaoDespesas(atual.getDespesas().subtract(anterior.getDespesas()));
+                atual.setVariacaoSaldo(atual.getSaldo().subtract(anterior.getSaldo()));
+            }
+            meses.add(atual);
+            anterior = atual;
+            receitas = Dinheiro.somar(receitas, receitasMes);
+            despesas = Dinheiro.somar(despesas, despesasMes);
+            quantidadeReceitas += parcial.quantidadeMes[base + RECEITA];
+            quantidadeDespesas += parcial.quantidadeMes[base + DESPESA];
+        }
+
+        Map<StatusLancamento, ResumoStatusDTO> porStatus = new EnumMap<>(StatusLancamento.class);
+        for (StatusLancamento status : StatusLancamento.values()) {
+            int base = status.ordinal() * ParcialRelatorio.TIPOS;
+            porStatus.put(status, new ResumoStatusDTO(Dinheiro.paraBigDecimal(parcial.centavosStatus[base + RECEITA]),
+                    Dinheiro.paraBigDecimal(parcial.centavosStatus[base + DESPESA]), parcial.quantidadeStatus[status.ordinal()]));
+        }
+
+        return RelatorioAnualDTO.builder()
+                .usuario(usuario)
+                .ano(ano)
+                .quantidade(quantidadeReceitas + quantidadeDespesas)
+                .receitas(Dinheiro.paraBigDecimal(receitas))
+                .despesas(Dinheiro.paraBigDecimal(despesas))
+                .saldo(Dinheiro.paraBigDecimal(Dinheiro.subtrair(receitas, despesas)))
+                .ticketMedioReceitas(media(receitas, quantidadeReceitas))
+                .ticketMedioDespesas(media(despesas, quantidadeDespesas))
+                .status(porStatus)
+                .meses(meses)
+                .maioresDespesas(maioresDespesas(dados, limite))
+                .build();
+    }
+
+    // agregado numa única passada no fim: vetores por descrição em cada folha custariam O(descrições) por folha e por junção
+    private List<TotalDescricaoDTO> maioresDespesas(DadosRelatorio dados, int limite) {
+        long[] despesaDescricao = new long[dados.getQuantidadeDescricoes()];
+        long[] quantidadeDescricao = new long[dados.getQuantidadeDescricoes()];
+        for (int linha = 0; linha < dados.getTamanho(); linha++) {
+            if (dados.tipo(linha) == DESPESA) {
+                int descricao = dados.descricao(linha);
+                despesaDescricao[descricao] = Dinheiro.somar(despesaDescricao[descricao], dados.centavos(linha));
+                quantidadeDescricao[descricao]++;
+            }
+        }
+        int[] melhores = new int[limite];
+        int encontrados = 0;
+        for (int codigo = 0; codigo < despesaDescricao.length; codigo++) {
+            if (quantidadeDescricao[codigo] == 0) {
+                continue;
+            }
+            int posicao = encontrados;
+            while (posicao > 0 && despesaDescricao[melhores[posicao - 1]] < despesaDescricao[codigo]) {
+                if (posicao < limite) {
+                    melhores[posicao] = melhores[posicao - 1];
+                }
+                posicao--;
+            }
+            if (posicao < limite) {
+                melhores[posicao] = codigo;
+                encontrados = Math.min(encontrados + 1, limite);
+            }
+        }
+        List<TotalDescricaoDTO> resultado = new ArrayList<>(encontrados);
+        for (int i = 0; i < encontrados; i++) {
+            int codigo = melhores[i];
+            resultado.add(new TotalDescricaoDTO(dados.descricaoDoCodigo(codigo),
+                    Dinheiro.paraBigDecimal(despesaDescricao[codigo]), quantidadeDescricao[codigo]));
+        }
+        return resultado;
+    }
+
+    private static BigDecimal media(long centavos, long quantidade) {
+        if (quantidade == 0) {
+            return Dinheiro.paraBigDecimal(0);
+        }
+        return Dinheiro.paraBigDecimal(centavos).divide(BigDecimal.valueOf(quantidade), Dinheiro.ESCALA, RoundingMode.HALF_EVEN);
+    }
+
+    private static final class Tarefa extends RecursiveTask<ParcialRelatorio> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient DadosRelatorio dados;
+        private final int inicio;
+        private final int fim;
+        private final int limiar;
+
+        private Tarefa(DadosRelatorio dados, int inicio, int fim, int limiar) {
+            this.dados = dados;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.limiar = limiar;
+        }
+
+        @Override
+        protected ParcialRelatorio compute() {
+            int divisao = divisao();
+            if (divisao < 0) {
+                return ParcialRelatorio.calcular(dados, inicio, fim);
+            }
+            Tarefa esquerda = new Tarefa(dados, inicio, divisao, limiar);
+            Tarefa direita = new Tarefa(dados, divisao, fim, limiar);
+            esquerda.fork();
+            ParcialRelatorio parcial = direita.compute();
+            return esquerda.join().combinar(parcial);
+        }
+
+        private int divisao() {
+            if (fim - inicio <= limiar) {
+                return -1;
+            }
+            int primeiroMes = dados.mesDaLinha(inicio);
+            int ultimoMes = dados.mesDaLinha(fim - 1);
+            if (primeiroMes == ultimoMes) {
+                return inicio + (fim - inicio) / 2;
+            }
+            int meio = inicio + (fim - inicio) / 2;
+            int melhor = -1;
+            for (int mes = primeiroMes + 1; mes <= ultimoMes; mes++) {
+                int fronteira = dados.inicioMes(mes);
+                if (fronteira > inicio && fronteira < fim
+                        && (melhor < 0 || Math.abs(fronteira - meio) < Math.abs(melhor - meio))) {
+                    melhor = fronteira;
+                }
+            }
+            return melhor < 0 ? meio : melhor;
+        }
+    }
+}
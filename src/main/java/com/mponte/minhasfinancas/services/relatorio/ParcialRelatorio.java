@@ -0,0 +1,47 @@
+package com.mponte.minhasfinancas.services.relatorio;
+
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.model.valores.Dinheiro;
+
+class ParcialRelatorio {
+    static final int TIPOS = TipoLancamento.values().length;
+    static final int SITUACOES = StatusLancamento.values().length;
+
+    final long[] centavosMes = new long[DadosRelatorio.MESES * TIPOS];
+    final long[] quantidadeMes = new long[DadosRelatorio.MESES * TIPOS];
+    final long[] centavosStatus = new long[SITUACOES * TIPOS];
+    final long[] quantidadeStatus = new long[SITUACOES];
+
+    static ParcialRelatorio calcular(DadosRelatorio dados, int inicio, int fim) {
+        ParcialRelatorio parcial = new ParcialRelatorio();
+        for (int linha = inicio; linha < fim; linha++) {
+            long valor = dados.centavos(linha);
+            int tipo = dados.tipo(linha);
+            int mes = dados.mesDaLinha(linha) * TIPOS + tipo;
+            parcial.centavosMes[mes] = Dinheiro.somar(parcial.centavosMes[mes], valor);
+            parcial.quantidadeMes[mes]++;
+            int situacao = dados.status(linha);
+            if (situacao != DadosRelatorio.NENHUM) {
+                int posicao = situacao * TIPOS + tipo;
+                parcial.centavosStatus[posicao] = Dinheiro.somar(parcial.centavosStatus[posicao], valor);
+                parcial.quantidadeStatus[situacao]++;
+            }
+        }
+        return parcial;
+    }
+
+    ParcialRelatorio combinar(ParcialRelatorio outra) {
+        somar(centavosMes, outra.centavosMes);
+        somar(quantidadeMes, outra.quantidadeMes);
+        somar(centavosStatus, outra.centavosStatus);
+        somar(quantidadeStatus, outra.quantidadeStatus);
+        return this;
+    }
+
+    private static void somar(long[] destino, long[] origem) {
+        for (int i = 0; i < destino.length; i++) {
+            destino[i] = Dinheiro.somar(destino[i], origem[i]);
+        }
+    }
+}
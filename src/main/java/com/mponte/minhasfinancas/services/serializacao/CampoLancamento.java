@@ -0,0 +1,97 @@
+package com.mponte.minhasfinancas.services.serializacao;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.mponte.minhasfinancas.model.projections.LancamentoResumo;
+
+import java.io.IOException;
+
+public enum CampoLancamento {
+    ID("id") {
+        void escreverValor(JsonGenerator gerador, LancamentoResumo lancamento) throws IOException {
+            escreverNumero(gerador, lancamento.getId());
+        }
+    },
+    DESCRICAO("descricao") {
+        void escreverValor(JsonGenerator gerador, LancamentoResumo lancamento) throws IOException {
+            gerador.writeString(lancamento.getDescricao());
+        }
+    },
+    MES("mes") {
+        void escreverValor(JsonGenerator gerador, LancamentoResumo lancamento) throws IOException {
+            escreverNumero(gerador, lancamento.getMes());
+        }
+    },
+    ANO("ano") {
+        void escreverValor(JsonGenerator gerador, LancamentoResumo lancamento) throws IOException {
+            escreverNumero(gerador, lancamento.getAno());
+        }
+    },
+    USUARIO("usuario") {
+        void escreverValor(JsonGenerator gerador, LancamentoResumo lancamento) throws IOException {
+            escreverNumero(gerador, lancamento.getUsuario());
+        }
+    },
+    VALOR("valor") {
+        void escreverValor(JsonGenerator gerador, LancamentoResumo lancamento) throws IOException {
+            gerador.writeNumber(lancamento.getValor());
+        }
+    },
+    DATA_CADASTRO("dataCadastro") {
+        void escreverValor(JsonGenerator gerador, LancamentoResumo lancamento) throws IOException {
+            gerador.writeString(lancamento.getDataCadastro() == null ? null : lancamento.getDataCadastro().toString());
+        }
+    },
+    TIPO("tipo") {
+        void escreverValor(JsonGenerator gerador, LancamentoResumo lancamento) throws IOException {
+            gerador.writeString(lancamento.getTipo() == null ? null : lancamento.getTipo().name());
+        }
+    },
+    STATUS("status") {
+        void escreverValor(JsonGenerator gerador, LancamentoResumo lancamento) throws IOException {
+            gerador.writeString(lancamento.getStatus() == null ? null : lancamento.getStatus().name());
+        }
+    };
+
+    private final SerializableString nome;
+
+    CampoLancamento(String nome) {
+        this.nome = new SerializedString(nome);
+    }
+
+    public String getNome() {
+        return nome.getValue();
+    }
+
+    SerializableString getNomeSerializado() {
+        return nome;
+    }
+
+    abstract void escreverValor(JsonGenerator gerador, LancamentoResumo lancamento) throws IOException;
+
+    public static CampoLancamento de(String nome) {
+        for (CampoLancamento campo : values()) {
+            if (campo.getNome().equals(nome)) {
+                return campo;
+            }
+        }
+        return null;
+    }
+
+    private static void escreverNumero(JsonGenerator gerador, Long valor) throws IOException {
+        if (valor == null) {
+            gerador.writeNull();
+        } else {
+            gerador.writeNumber(valor);
+        }
+    }
+
+    private static void escreverNumero(JsonGenerator gerador, Integer valor) throws IOException {
+        if (valor == null) {
+            gerador.writeNull();
+        } else {
+            gerador.writeNumber(valor);
+        }
+    }
+}
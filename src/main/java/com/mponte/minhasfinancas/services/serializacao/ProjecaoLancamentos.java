@@ -0,0 +1,100 @@
+package com.mponte.minhasfinancas.services.serializacao;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.mponte.minhasfinancas.model.dtos.PaginaDTO;
+import com.mponte.minhasfinancas.model.projections.LancamentoResumo;
+import com.mponte.minhasfinancas.services.exceptions.RegraNegocioException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class ProjecaoLancamentos {
+    public static final ProjecaoLancamentos COMPLETA = new ProjecaoLancamentos(List.of(CampoLancamento.values()), false);
+
+    private final CampoLancamento[] campos;
+    private final boolean colunar;
+
+    private ProjecaoLancamentos(List<CampoLancamento> campos, boolean colunar) {
+        this.campos = campos.toArray(new CampoLancamento[0]);
+        this.colunar = colunar;
+    }
+
+    public static ProjecaoLancamentos de(String fields, String formato) {
+        boolean colunar = formatoColunar(formato);
+        if (fields == null || fields.isBlank()) {
+            return colunar ? new ProjecaoLancamentos(List.of(CampoLancamento.values()), true) : COMPLETA;
+        }
+        Set<CampoLancamento> selecionados = new LinkedHashSet<>();
+        for (String nome : fields.split(",")) {
+            CampoLancamento campo = CampoLancamento.de(nome.trim());
+            if (campo == null) {
+                throw new RegraNegocioException("Informe campos válidos: " + Arrays.stream(CampoLancamento.values())
+                        .map(CampoLancamento::getNome).collect(Collectors.joining(",")) + ".");
+            }
+            selecionados.add(campo);
+        }
+        return new ProjecaoLancamentos(new ArrayList<>(selecionados), colunar);
+    }
+
+    public boolean isColunar() {
+        return colunar;
+    }
+
+    public String getVariante() {
+        StringBuilder variante = new StringBuilder(colunar ? "colunas" : "linhas");
+        for (CampoLancamento campo : campos) {
+            variante.append('.').append(campo.getNome());
+        }
+        return variante.toString();
+    }
+
+    public void escreverPagina(JsonGenerator gerador, PaginaDTO<LancamentoResumo> pagina) throws IOException {
+        List<LancamentoResumo> itens = pagina.getItens();
+        gerador.writeStartObject();
+        if (colunar) {
+            gerador.writeNumberField("quantidade", itens.size());
+            gerador.writeObjectFieldStart("colunas");
+            for (CampoLancamento campo : campos) {
+                gerador.writeFieldName(campo.getNomeSerializado());
+                gerador.writeStartArray();
+                for (LancamentoResumo lancamento : itens) {
+                    campo.escreverValor(gerador, lancamento);
+                }
+                gerador.writeEndArray();
+            }
+            gerador.writeEndObject();
+        } else {
+            gerador.writeArrayFieldStart("itens");
+            for (LancamentoResumo lancamento : itens) {
+                escreverLinha(gerador, lancamento);
+            }
+            gerador.writeEndArray();
+        }
+        gerador.writeStringField("proximoCursor", pagina.getProximoCursor());
+        gerador.writeEndObject();
+    }
+
+    public void escreverLinha(JsonGenerator gerador, LancamentoResumo lancamento) throws IOException {
+        gerador.writeStartObject();
+        for (CampoLancamento campo : campos) {
+            gerador.writeFieldName(campo.getNomeSerializado());
+            campo.escreverValor(gerador, lancamento);
+        }
+        gerador.writeEndObject();
+    }
+
+    private static boolean formatoColunar(String formato) {
+        if (formato == null || formato.isBlank() || "linhas".equalsIgnoreCase(formato)) {
+            return false;
+        }
+        if ("colunas".equalsIgnoreCase(formato)) {
+            return true;
+        }
+        throw new RegraNegocioException("Informe um formato de listagem válido: linhas ou colunas.");
+    }
+}
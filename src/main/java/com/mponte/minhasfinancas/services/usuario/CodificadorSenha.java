@@ -0,0 +1,68 @@
+package com.mponte.minhasfinancas.services.usuario;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+@Component
+public class CodificadorSenha {
+    private static final String PREFIXO = "pbkdf2-sha256$";
+    private static final String ALGORITMO = "PBKDF2WithHmacSHA256";
+    private static final int TAMANHO_SAL = 16;
+    private static final int TAMANHO_HASH = 256;
+
+    private final int iteracoes;
+    private final SecureRandom aleatorio = new SecureRandom();
+
+    public CodificadorSenha(@Value("${financas.usuario.senha.iteracoes:120000}") int iteracoes) {
+        this.iteracoes = iteracoes;
+    }
+
+    public String codificar(String senha) {
+        if (senha == null) {
+            return null;
+        }
+        byte[] sal = new byte[TAMANHO_SAL];
+        aleatorio.nextBytes(sal);
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return PREFIXO + iteracoes + "$" + base64.encodeToString(sal) + "$" + base64.encodeToString(derivar(senha, sal, iteracoes));
+    }
+
+    public boolean confere(String senha, String armazenada) {
+        if (senha == null || armazenada == null) {
+            return false;
+        }
+        if (!armazenada.startsWith(PREFIXO)) {
+            return MessageDigest.isEqual(senha.getBytes(StandardCharsets.UTF_8), armazenada.getBytes(StandardCharsets.UTF_8));
+        }
+        String[] partes = armazenada.substring(PREFIXO.length()).split("\\$");
+        if (partes.length != 3) {
+            return false;
+        }
+        Base64.Decoder base64 = Base64.getDecoder();
+        byte[] esperado = base64.decode(partes[2]);
+        return MessageDigest.isEqual(esperado, derivar(senha, base64.decode(partes[1]), Integer.parseInt(partes[0])));
+    }
+
+    public boolean precisaAtualizar(String armazenada) {
+        return armazenada != null && !armazenada.startsWith(PREFIXO + iteracoes + "$");
+    }
+
+    private static byte[] derivar(String senha, byte[] sal, int iteracoes) {
+        PBEKeySpec especificacao = new PBEKeySpec(senha.toCharArray(), sal, iteracoes, TAMANHO_HASH);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITMO).generateSecret(especificacao).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            especificacao.clearPassword();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.mponte.minhasfinancas.services.usuario;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class FiltroBloom {
+    private final AtomicLongArray bits;
+    private final long tamanho;
+    private final int funcoes;
+
+    public FiltroBloom(long capacidade, double taxaFalsoPositivo) {
+        if (capacidade <= 0 || taxaFalsoPositivo <= 0 || taxaFalsoPositivo >= 1) {
+            throw new IllegalArgumentException("capacidade e taxa de falso positivo inválidas");
+        }
+        long m = (long) Math.ceil(-capacidade * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray((int) Math.min(Integer.MAX_VALUE - 8, (m + 63) / 64));
+        this.tamanho = bits.length() * 64L;
+        this.funcoes = Math.max(1, (int) Math.round((double) tamanho / capacidade * Math.log(2)));
+    }
+
+    public void adicionar(String valor) {
+        long hash = hash(valor);
+        long h1 = hash, h2 = misturar(hash);
+        for (int i = 0; i < funcoes; i++) {
+            long indice = Math.floorMod(h1 + i * h2, tamanho);
+            int palavra = (int) (indice >>> 6);
+            long mascara = 1L << indice;
+            long atual;
+            while (((atual = bits.get(palavra)) & mascara) == 0
+                    && !bits.compareAndSet(palavra, atual, atual | mascara)) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    public boolean podeConter(String valor) {
+        long hash = hash(valor);
+        long h1 = hash, h2 = misturar(hash);
+        for (int i = 0; i < funcoes; i++) {
+            long indice = Math.floorMod(h1 + i * h2, tamanho);
+            if ((bits.get((int) (indice >>> 6)) & (1L << indice)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getTamanho() {
+        return tamanho;
+    }
+
+    public int getFuncoes() {
+        return funcoes;
+    }
+
+    private static long hash(String valor) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : valor.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return misturar(hash);
+    }
+
+    private static long misturar(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return (z ^ (z >>> 31)) | 1;
+    }
+}
@@ -0,0 +1,58 @@
+package com.mponte.minhasfinancas.services.usuario;
+
+import com.mponte.minhasfinancas.repositories.UsuarioRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class FiltroEmails {
+    private final UsuarioRepository usuarioRepository;
+    private final FiltroBloom filtro;
+    private final boolean habilitado;
+    private volatile boolean aquecido;
+
+    public FiltroEmails(UsuarioRepository usuarioRepository,
+                        @Value("${financas.usuario.filtro-email.habilitado:true}") boolean habilitado,
+                        @Value("${financas.usuario.filtro-email.capacidade:1000000}") long capacidade,
+                        @Value("${financas.usuario.filtro-email.falso-positivo:0.01}") double taxaFalsoPositivo) {
+        this.usuarioRepository = usuarioRepository;
+        this.habilitado = habilitado;
+        this.filtro = new FiltroBloom(capacidade, taxaFalsoPositivo);
+    }
+
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void aquecer() {
+        if (!habilitado) {
+            return;
+        }
+        AtomicLong total = new AtomicLong();
+        try (Stream<String> emails = usuarioRepository.streamEmails()) {
+            emails.forEach(email -> {
+                filtro.adicionar(email);
+                total.incrementAndGet();
+            });
+        }
+        aquecido = true;
+        log.info("filtro de e-mails aquecido com {} usuários ({} bits, {} funções)",
+                total.get(), filtro.getTamanho(), filtro.getFuncoes());
+    }
+
+    public void adicionar(String email) {
+        if (email != null) {
+            filtro.adicionar(email);
+        }
+    }
+
+    public boolean podeExistir(String email) {
+        return !aquecido || email == null || filtro.podeConter(email);
+    }
+}
@@ -0,0 +1,14 @@
+package com.mponte.minhasfinancas.services.versao;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class VersaoDados {
+    private final long versao;
+
+    public String etag(String representacao) {
+        return "W/\"" + Long.toString(versao, 36) + "-" + representacao + "\"";
+    }
+}
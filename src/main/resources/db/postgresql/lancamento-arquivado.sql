@@ -0,0 +1,26 @@
+-- obrigatório, com ou sem o particionamento: as consultas de leitura unem lancamento e lancamento_arquivado
+-- os anos arquivados ficam fora da tabela quente; em espaço de tabela mais barato, se houver
+create table if not exists financas.lancamento_arquivado (
+    id bigint not null,
+    descricao varchar(255),
+    descricao_normalizada varchar(255),
+    mes integer,
+    ano integer not null,
+    usuario_id bigint,
+    valor numeric(19, 2),
+    data_cadastro date,
+    tipo varchar(255),
+    status varchar(255),
+    primary key (id, ano)
+) partition by range (ano);
+
+create table if not exists financas.lancamento_arquivado_padrao partition of financas.lancamento_arquivado default;
+
+create index if not exists idx_lancamento_arquivado_usuario_ano_mes
+    on financas.lancamento_arquivado (usuario_id, ano, mes, id);
+
+create table if not exists financas.ano_arquivado (
+    ano integer primary key,
+    arquivado_em timestamp,
+    lancamentos bigint
+);
@@ -0,0 +1,9 @@
+alter table financas.lancamento add column if not exists descricao_normalizada varchar(255);
+update financas.lancamento set descricao_normalizada = lower(trim(descricao)) where descricao_normalizada is null;
+
+create index if not exists idx_lancamento_usuario_ano_mes
+    on financas.lancamento (usuario_id, ano, mes, id);
+
+-- varchar_pattern_ops permite que "like 'prefixo%'" use o índice independente da collation do banco
+create index if not exists idx_lancamento_usuario_descricao
+    on financas.lancamento (usuario_id, descricao_normalizada varchar_pattern_ops);
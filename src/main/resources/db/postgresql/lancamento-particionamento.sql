@@ -0,0 +1,60 @@
+-- particiona financas.lancamento por faixa de ano (PostgreSQL 12+)
+-- opcional; executar em janela de manutenção, depois de lancamento-indices.sql, lancamento-sequencia.sql e recorrencia.sql
+begin;
+
+do $$
+begin
+    if exists (select 1 from financas.lancamento where ano is null) then
+        raise exception 'corrija os lançamentos sem ano antes de particionar a tabela';
+    end if;
+end;
+$$;
+
+alter table financas.lancamento rename to lancamento_legado;
+alter index financas.idx_lancamento_usuario_ano_mes rename to idx_lancamento_legado_usuario_ano_mes;
+alter index financas.idx_lancamento_usuario_descricao rename to idx_lancamento_legado_usuario_descricao;
+alter index financas.uk_lancamento_recorrencia rename to uk_lancamento_legado_recorrencia;
+
+-- a chave de partição precisa fazer parte da chave primária
+create table financas.lancamento (
+    id bigint not null,
+    descricao varchar(255),
+    descricao_normalizada varchar(255),
+    mes integer,
+    ano integer not null,
+    usuario_id bigint references financas.usuario (id),
+    valor numeric(19, 2),
+    data_cadastro date,
+    tipo varchar(255),
+    status varchar(255),
+    recorrencia_id bigint,
+    primary key (id, ano)
+) partition by range (ano);
+
+create index idx_lancamento_usuario_ano_mes on financas.lancamento (usuario_id, ano, mes, id);
+create index idx_lancamento_usuario_descricao
+    on financas.lancamento (usuario_id, descricao_normalizada varchar_pattern_ops);
+create unique index uk_lancamento_recorrencia on financas.lancamento (recorrencia_id, ano, mes);
+
+create or replace function financas.criar_particao_lancamento(p_ano integer) returns void as $$
+begin
+    execute format('create table if not exists financas.lancamento_%s partition of financas.lancamento '
+                   'for values from (%s) to (%s)', p_ano, p_ano, p_ano + 1);
+end;
+$$ language plpgsql;
+
+select financas.criar_particao_lancamento(ano)
+from (select distinct ano from financas.lancamento_legado
+      union select extract(year from current_date)::integer
+      union select extract(year from current_date)::integer + 1) anos;
+
+create table financas.lancamento_padrao partition of financas.lancamento default;
+
+insert into financas.lancamento
+select id, descricao, descricao_normalizada, mes, ano, usuario_id, valor, data_cadastro, tipo, status, recorrencia_id
+from financas.lancamento_legado;
+
+commit;
+
+-- após conferir as contagens: drop table financas.lancamento_legado;
+-- agendar a criação da partição do ano seguinte: select financas.criar_particao_lancamento(2027);
@@ -0,0 +1,3 @@
+create sequence if not exists financas.lancamento_seq increment by 50;
+-- o otimizador pooled do Hibernate usa nextval como limite superior do bloco (nextval - 49 .. nextval)
+select setval('financas.lancamento_seq', coalesce((select max(id) from financas.lancamento), 0) + 50, false);
@@ -0,0 +1,24 @@
+-- executar antes de lancamento-particionamento.sql; em tabelas já particionadas também funciona
+create sequence if not exists financas.recorrencia_seq increment by 50;
+
+create table if not exists financas.recorrencia (
+    id bigint primary key,
+    descricao varchar(255),
+    usuario_id bigint references financas.usuario (id),
+    valor numeric(19, 2),
+    tipo varchar(255),
+    inicio date,
+    intervalo_meses integer,
+    fim date,
+    proxima_ocorrencia date,
+    ocorrencias bigint
+);
+
+create index if not exists idx_recorrencia_proxima_ocorrencia
+    on financas.recorrencia (proxima_ocorrencia, id);
+
+alter table financas.lancamento add column if not exists recorrencia_id bigint;
+
+-- impede que reexecuções do job dupliquem uma ocorrência; inclui ano, a chave de partição
+create unique index if not exists uk_lancamento_recorrencia
+    on financas.lancamento (recorrencia_id, ano, mes);
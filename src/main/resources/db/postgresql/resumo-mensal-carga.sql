@@ -0,0 +1,14 @@
+-- carga inicial do resumo mensal consolidado (financas.resumo.consolidado=true); executar uma vez, depois de
+-- resumo-mensal.sql e lancamento-arquivado.sql e antes de ativá-lo.
+-- o lock impede que gravações concorrentes apliquem deltas sobre linhas ainda não carregadas
+begin;
+lock table financas.lancamento in share mode;
+lock table financas.resumo_mensal in share row exclusive mode;
+delete from financas.resumo_mensal where ano not in (select a.ano from financas.ano_arquivado a);
+insert into financas.resumo_mensal (usuario_id, ano, mes, tipo, status, total, quantidade)
+select usuario_id, ano, mes, tipo, status, sum(valor), count(*) from financas.lancamento
+where usuario_id is not null and ano is not null and mes is not null
+  and tipo is not null and status is not null and valor is not null
+  and ano not in (select a.ano from financas.ano_arquivado a)
+group by usuario_id, ano, mes, tipo, status;
+commit;
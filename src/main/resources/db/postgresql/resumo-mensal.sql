@@ -0,0 +1,11 @@
+-- resumo mensal consolidado; executar antes de resumo-mensal-carga.sql
+create table if not exists financas.resumo_mensal (
+    usuario_id bigint not null,
+    ano integer not null,
+    mes integer not null,
+    tipo varchar(255) not null,
+    status varchar(255) not null,
+    total numeric(19, 2),
+    quantidade bigint,
+    primary key (usuario_id, ano, mes, tipo, status)
+);
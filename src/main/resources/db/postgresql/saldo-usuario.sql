@@ -0,0 +1,7 @@
+-- livro de saldos por usuário; as linhas são criadas na primeira gravação de cada usuário
+create table if not exists financas.saldo_usuario (
+    usuario_id bigint primary key references financas.usuario (id),
+    receitas numeric(19, 2) not null default 0,
+    despesas numeric(19, 2) not null default 0,
+    versao bigint not null default 1
+);
@@ -0,0 +1,3 @@
+-- para bancos criados antes da versão; saldo-usuario.sql já cria a coluna
+-- versão dos dados do usuário usada nos ETags; começa em 1 para não coincidir com a de usuários sem saldo (0)
+alter table financas.saldo_usuario add column if not exists versao bigint not null default 1;
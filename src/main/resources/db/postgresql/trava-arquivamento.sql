@@ -0,0 +1,2 @@
+create table if not exists financas.trava_arquivamento (id integer primary key);
+insert into financas.trava_arquivamento (id) values (1) on conflict do nothing;
@@ -0,0 +1,2 @@
+-- e-mails duplicados precisam ser resolvidos antes da criação do índice
+create unique index if not exists uk_usuario_email on financas.usuario (email);
@@ -0,0 +1,64 @@
+package com.mponte.minhasfinancas.autenticacao;
+
+import com.mponte.minhasfinancas.services.exceptions.TokenInvalidoException;
+import com.mponte.minhasfinancas.services.interfaces.TokenService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.servlet.DispatcherType;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class AutenticacaoInterceptorTest {
+
+    @Test
+    public void naoDeveReverificarOTokenNoRedespachoAssincrono() throws Exception {
+        //cenario
+        TokenService tokenService = mock(TokenService.class);
+        when(tokenService.verificar("token")).thenReturn(1L);
+        AutenticacaoInterceptor interceptor = new AutenticacaoInterceptor(tokenService, Collections.emptySet());
+        HandlerMethod handler = new HandlerMethod(new Recurso(), Recurso.class.getMethod("eventos"));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+        interceptor.preHandle(request, new MockHttpServletResponse(), handler);
+        when(tokenService.verificar("token")).thenThrow(new TokenInvalidoException("Token expirado."));
+
+        //acao
+        request.setDispatcherType(DispatcherType.ASYNC);
+        boolean continuar = interceptor.preHandle(request, new MockHttpServletResponse(), handler);
+
+        //verificacao
+        assertTrue(continuar);
+        assertEquals(1L, request.getAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO));
+        verify(tokenService, times(1)).verificar("token");
+    }
+
+    @Test
+    public void deveVerificarOTokenNoRedespachoAssincronoSemUsuarioAutenticado() throws Exception {
+        //cenario
+        TokenService tokenService = mock(TokenService.class);
+        AutenticacaoInterceptor interceptor = new AutenticacaoInterceptor(tokenService, Collections.emptySet());
+        HandlerMethod handler = new HandlerMethod(new Recurso(), Recurso.class.getMethod("eventos"));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setDispatcherType(DispatcherType.ASYNC);
+
+        //acao e verificacao
+        assertThrows(TokenInvalidoException.class,
+                () -> interceptor.preHandle(request, new MockHttpServletResponse(), handler));
+    }
+
+    static class Recurso {
+        public void eventos() {
+        }
+    }
+}
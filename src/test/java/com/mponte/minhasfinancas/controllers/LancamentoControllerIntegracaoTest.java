@@ -0,0 +1,224 @@
+package com.mponte.minhasfinancas.controllers;
+
+import com.mponte.minhasfinancas.model.entities.Lancamento;
+import com.mponte.minhasfinancas.model.entities.Usuario;
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.model.projections.TotalMensal;
+import com.mponte.minhasfinancas.repositories.LancamentoRepository;
+import com.mponte.minhasfinancas.repositories.ResumoMensalRepository;
+import com.mponte.minhasfinancas.repositories.UsuarioRepository;
+import com.mponte.minhasfinancas.services.interfaces.ResumoMensalService;
+import com.mponte.minhasfinancas.services.interfaces.TokenService;
+import com.jayway.jsonpath.JsonPath;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+public class LancamentoControllerIntegracaoTest {
+    static final String API = "/lancamentos";
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    UsuarioRepository usuarioRepository;
+
+    @Autowired
+    LancamentoRepository lancamentoRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    TokenService tokenService;
+
+    @Autowired
+    ResumoMensalService resumoMensalService;
+
+    @Autowired
+    ResumoMensalRepository resumoMensalRepository;
+
+    Usuario usuario;
+
+    String token;
+
+    @BeforeEach
+    public void setUp(){
+        lancamentoRepository.deleteAll();
+        usuarioRepository.deleteAll();
+        usuario = usuarioRepository.save(Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+        List<Lancamento> lancamentos = new ArrayList<>();
+        for (int mes = 1; mes <= 12; mes++) {
+            lancamentos.add(Lancamento.builder()
+                    .descricao("descricao")
+                    .mes(mes)
+                    .ano(2000)
+                    .usuario(usuario)
+                    .valor(BigDecimal.valueOf(10))
+                    .dataCadastro(LocalDate.now())
+                    .tipo(TipoLancamento.RECEITA)
+                    .status(StatusLancamento.PENDENTE)
+                    .build());
+        }
+        lancamentoRepository.saveAll(lancamentos);
+        token = "Bearer " + tokenService.emitir(usuario).getToken();
+    }
+
+    @Test
+    public void deveBuscarLancamentosComUmUnicoComandoSqlAlemDaVersao() throws Exception {
+        //cenário
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        //execução
+        mvc
+                .perform(MockMvcRequestBuilders.get(API)
+                        .param("usuario", String.valueOf(usuario.getId()))
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("itens.length()").value(12))
+                .andExpect(MockMvcResultMatchers.jsonPath("itens[0].usuario").value(usuario.getId()));
+
+        //verificação
+        assertEquals(2, estatisticas.getPrepareStatementCount());
+        assertEquals(0, estatisticas.getEntityLoadCount());
+    }
+
+    @Test
+    public void deveAtualizarOStatusEmMassaMantendoOResumoMensalConsistente() throws Exception {
+        //cenário
+        resumoMensalService.reconstruir();
+
+        //execução
+        mvc
+                .perform(MockMvcRequestBuilders.patch(API.concat("/status"))
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"usuario\":" + usuario.getId() + ",\"ano\":2000,\"statusAtual\":\"PENDENTE\",\"status\":\"EFETIVADO\"}"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("atualizados").value(12));
+
+        //verificação
+        Map<String, Long> consolidado = resumoMensalRepository.findByIdUsuarioIdAndIdAno(usuario.getId(), 2000).stream()
+                .filter(total -> total.getQuantidade() > 0)
+                .collect(Collectors.toMap(total -> total.getMes() + "-" + total.getStatus(), TotalMensal::getQuantidade));
+        Map<String, Long> calculado = lancamentoRepository.totalizarPorMes(usuario.getId(), 2000).stream()
+                .collect(Collectors.toMap(total -> total.getMes() + "-" + total.getStatus(), TotalMensal::getQuantidade));
+        assertEquals(calculado, consolidado);
+        assertTrue(calculado.keySet().stream().allMatch(chave -> chave.endsWith("EFETIVADO")));
+    }
+
+    @Test
+    public void deveRecusarRequisicoesSemTokenOuComTokenRevogado() throws Exception {
+        //cenário
+        tokenService.revogar(token.substring("Bearer ".length()));
+
+        //execução e verificação
+        mvc
+                .perform(MockMvcRequestBuilders.get(API).param("usuario", String.valueOf(usuario.getId())))
+                .andExpect(MockMvcResultMatchers.status().isUnauthorized())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.WWW_AUTHENTICATE, "Bearer"));
+        mvc
+                .perform(MockMvcRequestBuilders.get(API)
+                        .param("usuario", String.valueOf(usuario.getId()))
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(MockMvcResultMatchers.status().isUnauthorized());
+    }
+
+    @Test
+    public void deveAceitarOTokenDeEventosNaUrlSomenteNoEndpointDeEventos() throws Exception {
+        //cenário
+        String eventos = "/usuarios/" + usuario.getId() + "/eventos";
+        String resposta = mvc
+                .perform(MockMvcRequestBuilders.post(eventos + "/token").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String tokenEventos = JsonPath.read(resposta, "$.token");
+
+        //execução e verificação
+        mvc
+                .perform(MockMvcRequestBuilders.get(eventos).param("token", tokenEventos).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted());
+        mvc
+                .perform(MockMvcRequestBuilders.get(eventos))
+                .andExpect(MockMvcResultMatchers.status().isUnauthorized());
+        mvc
+                .perform(MockMvcRequestBuilders.get(API)
+                        .param("usuario", String.valueOf(usuario.getId()))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenEventos))
+                .andExpect(MockMvcResultMatchers.status().isUnauthorized());
+    }
+
+    @Test
+    public void deveNegarAcessoAosLancamentosDeOutroUsuario() throws Exception {
+        //cenário
+        Usuario outro = usuarioRepository.save(Usuario.builder().nome("outro").email("outro@email.com").senha("senha").build());
+        String tokenOutro = "Bearer " + tokenService.emitir(outro).getToken();
+        Long idLancamento = lancamentoRepository.findAll().get(0).getId();
+
+        //execução e verificação
+        mvc
+                .perform(MockMvcRequestBuilders.get(API)
+                        .param("usuario", String.valueOf(usuario.getId()))
+                        .header(HttpHeaders.AUTHORIZATION, tokenOutro))
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+        mvc
+                .perform(MockMvcRequestBuilders.get("/usuarios/{id}/resumo", usuario.getId())
+                        .param("ano", "2000")
+                        .header(HttpHeaders.AUTHORIZATION, tokenOutro))
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+        mvc
+                .perform(MockMvcRequestBuilders.delete(API.concat("/{id}"), idLancamento)
+                        .header(HttpHeaders.AUTHORIZATION, tokenOutro))
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+        mvc
+                .perform(MockMvcRequestBuilders.patch(API.concat("/status"))
+                        .header(HttpHeaders.AUTHORIZATION, tokenOutro)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + idLancamento + "],\"status\":\"EFETIVADO\"}"))
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+        assertTrue(lancamentoRepository.findById(idLancamento).isPresent());
+        assertEquals(StatusLancamento.PENDENTE, lancamentoRepository.findById(idLancamento).get().getStatus());
+    }
+
+    @Test
+    public void deveRestringirAReconstrucaoAosAdministradores() throws Exception {
+        mvc
+                .perform(MockMvcRequestBuilders.post("/saldos/reconstrucao").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+        mvc
+                .perform(MockMvcRequestBuilders.post("/resumos/reconstrucao").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+        mvc
+                .perform(MockMvcRequestBuilders.get("/saldos/divergencias").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+    }
+}
@@ -0,0 +1,254 @@
+package com.mponte.minhasfinancas.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mponte.minhasfinancas.model.dtos.LancamentoDTO;
+import com.mponte.minhasfinancas.model.dtos.PaginaDTO;
+import com.mponte.minhasfinancas.model.dtos.ResultadoLoteDTO;
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.model.projections.LancamentoResumo;
+import com.mponte.minhasfinancas.services.exceptions.FilaCheiaException;
+import com.mponte.minhasfinancas.services.interfaces.GravacaoAgrupadaService;
+import com.mponte.minhasfinancas.services.interfaces.LancamentoService;
+import com.mponte.minhasfinancas.services.interfaces.VersaoDadosService;
+import com.mponte.minhasfinancas.services.versao.VersaoDados;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@WebMvcTest(controllers = LancamentoController.class,
+        properties = "financas.lancamento.gravacao-agrupada.espera-confirmacao=100ms")
+@AutoConfigureMockMvc
+public class LancamentoControllerTest {
+    static final String API = "/lancamentos";
+
+    @Autowired
+    MockMvc mvc;
+
+    @MockBean
+    LancamentoService lancamentoService;
+
+    @MockBean
+    GravacaoAgrupadaService gravacaoAgrupadaService;
+
+    @MockBean
+    VersaoDadosService versaoDadosService;
+
+    @BeforeEach
+    public void setUp() {
+        Mockito.when(versaoDadosService.versao(any())).thenReturn(new VersaoDados(3L));
+    }
+
+    @Test
+    public void deveRetornarServiceUnavailableQuandoAFilaDeGravacaoEstiverCheia() throws Exception {
+        //cenário
+        Mockito.when(gravacaoAgrupadaService.enfileirar(any(LancamentoDTO.class)))
+                .thenThrow(new FilaCheiaException("A fila de gravação de lançamentos está cheia, tente novamente."));
+        String json = new ObjectMapper().writeValueAsString(new LancamentoDTO());
+
+        //execução e verificação
+        mvc
+                .perform(MockMvcRequestBuilders.post(API)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+                .andExpect(MockMvcResultMatchers.header().string("Retry-After", "1"));
+        Mockito.verify(lancamentoService, Mockito.never()).salvar(any(LancamentoDTO.class));
+    }
+
+    @Test
+    public void deveRetornarServiceUnavailableQuandoAGravacaoNaoForConfirmadaATempo() throws Exception {
+        //cenário
+        Mockito.when(gravacaoAgrupadaService.enfileirar(any(LancamentoDTO.class))).thenReturn(new CompletableFuture<>());
+        String json = new ObjectMapper().writeValueAsString(new LancamentoDTO());
+
+        //execução e verificação
+        mvc
+                .perform(MockMvcRequestBuilders.post(API)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(MockMvcResultMatchers.status().isServiceUnavailable());
+    }
+
+    @Test
+    public void deveSalvarUmLoteDeLancamentos() throws Exception {
+        //cenário
+        List<ResultadoLoteDTO> resultados = List.of(
+                ResultadoLoteDTO.builder().indice(0).id(10L).build(),
+                ResultadoLoteDTO.builder().indice(1).erro("Informe um Mês válido.").build());
+        Mockito.when(lancamentoService.salvarLote(Mockito.anyList())).thenReturn(resultados);
+        String json = new ObjectMapper().writeValueAsString(List.of(new LancamentoDTO(), new LancamentoDTO()));
+
+        //execução e verificação
+        mvc
+                .perform(MockMvcRequestBuilders.post(API.concat("/lote"))
+                        .accept(MediaType.APPLICATION_JSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("[0].id").value(10))
+                .andExpect(MockMvcResultMatchers.jsonPath("[1].erro").value("Informe um Mês válido."));
+    }
+
+    @Test
+    public void deveBuscarUmaPaginaDeLancamentos() throws Exception {
+        //cenário
+        PaginaDTO<LancamentoResumo> pagina = new PaginaDTO<>(List.of(criarLancamento(1L)), "proximo");
+        Mockito.when(lancamentoService.buscarPagina(any(LancamentoDTO.class), eq("atual"), eq(1))).thenReturn(pagina);
+
+        //execução e verificação
+        mvc
+                .perform(MockMvcRequestBuilders.get(API)
+                        .param("usuario", "1")
+                        .param("cursor", "atual")
+                        .param("limite", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("itens[0].id").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("itens[0].usuario").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("proximoCursor").value("proximo"));
+    }
+
+    @Test
+    public void deveBuscarSomenteOsCamposPedidosEmColunas() throws Exception {
+        //cenário
+        PaginaDTO<LancamentoResumo> pagina = new PaginaDTO<>(List.of(criarLancamento(1L), criarLancamento(2L)), null);
+        Mockito.when(lancamentoService.buscarPagina(any(LancamentoDTO.class), any(), any())).thenReturn(pagina);
+
+        //execução e verificação
+        mvc
+                .perform(MockMvcRequestBuilders.get(API)
+                        .param("usuario", "1")
+                        .param("fields", "id,valor")
+                        .param("formato", "colunas"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "W/\"3-json-colunas.id.valor\""))
+                .andExpect(MockMvcResultMatchers.jsonPath("quantidade").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("colunas.id[1]").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("colunas.valor").isArray())
+                .andExpect(MockMvcResultMatchers.jsonPath("colunas.descricao").doesNotExist());
+    }
+
+    @Test
+    public void deveRecusarCamposDesconhecidos() throws Exception {
+        //execução e verificação
+        mvc
+                .perform(MockMvcRequestBuilders.get(API).param("usuario", "1").param("fields", "id,email"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        Mockito.verifyNoInteractions(lancamentoService);
+    }
+
+    @Test
+    public void deveResponderJsonQuandoOClienteNaoPedirStreaming() throws Exception {
+        //cenário
+        Mockito.when(lancamentoService.buscarPagina(any(LancamentoDTO.class), any(), any()))
+                .thenReturn(new PaginaDTO<>(List.of(), null));
+
+        //execução e verificação
+        mvc
+                .perform(MockMvcRequestBuilders.get(API).param("usuario", "1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    public void deveResponderNotModifiedQuandoAVersaoDosDadosNaoMudou() throws Exception {
+        //cenário
+        Mockito.when(lancamentoService.buscarPagina(any(LancamentoDTO.class), any(), any()))
+                .thenReturn(new PaginaDTO<>(List.of(), null));
+        String etag = mvc
+                .perform(MockMvcRequestBuilders.get(API).param("usuario", "1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Mockito.clearInvocations(lancamentoService);
+
+        //execução e verificação
+        mvc
+                .perform(MockMvcRequestBuilders.get(API)
+                        .param("usuario", "1")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, etag))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+        Mockito.verifyNoInteractions(lancamentoService);
+    }
+
+    @Test
+    public void deveDiferenciarOEtagDaRepresentacaoEmNdjson() throws Exception {
+        //execução e verificação
+        mvc
+                .perform(MockMvcRequestBuilders.get(API)
+                        .param("usuario", "1")
+                        .accept("application/x-ndjson")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"3-json\""))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "W/\"3-ndjson\""));
+    }
+
+    @Test
+    public void deveTransmitirOsLancamentosEmNdjson() throws Exception {
+        //cenário
+        doAnswer(invocation -> {
+            Consumer<LancamentoResumo> consumidor = invocation.getArgument(1);
+            consumidor.accept(criarLancamento(1L));
+            consumidor.accept(criarLancamento(2L));
+            return null;
+        }).when(lancamentoService).percorrer(any(LancamentoDTO.class), any());
+
+        //execução
+        MvcResult resultado = mvc
+                .perform(MockMvcRequestBuilders.get(API)
+                        .param("usuario", "1")
+                        .accept("application/x-ndjson"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        //verificação
+        mvc
+                .perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/x-ndjson"))
+                .andExpect(MockMvcResultMatchers.content().string(
+                        Matchers.matchesPattern("(?s)\\{\"id\":1,.*\\}\n\\{\"id\":2,.*\\}\n")));
+    }
+
+    private LancamentoResumo criarLancamento(Long id) {
+        return LancamentoResumo.builder()
+                .id(id)
+                .usuario(1L)
+                .descricao("descricao")
+                .mes(1)
+                .ano(2000)
+                .valor(BigDecimal.valueOf(10))
+                .tipo(TipoLancamento.RECEITA)
+                .status(StatusLancamento.PENDENTE)
+                .build();
+    }
+}
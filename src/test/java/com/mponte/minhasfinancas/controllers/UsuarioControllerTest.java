@@ -2,13 +2,36 @@ package com.mponte.minhasfinancas.controllers;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mponte.minhasfinancas.model.dtos.AnaliseLancamentosDTO;
+import com.mponte.minhasfinancas.model.dtos.AutenticacaoDTO;
+import com.mponte.minhasfinancas.model.dtos.ProgressoImportacaoDTO;
+import com.mponte.minhasfinancas.model.dtos.ResumoAnualDTO;
+import com.mponte.minhasfinancas.model.dtos.ResumoMesDTO;
+import com.mponte.minhasfinancas.model.dtos.ProjecaoMesDTO;
+import com.mponte.minhasfinancas.model.dtos.ProjecaoSaldoDTO;
+import com.mponte.minhasfinancas.model.dtos.RelatorioAnualDTO;
+import com.mponte.minhasfinancas.model.dtos.TotalDescricaoDTO;
 import com.mponte.minhasfinancas.model.dtos.UsuarioDTO;
 import com.mponte.minhasfinancas.model.entities.Usuario;
 import com.mponte.minhasfinancas.services.exceptions.ErroAutenticacao;
 import com.mponte.minhasfinancas.services.exceptions.ObjetoNaoEncontradoException;
 import com.mponte.minhasfinancas.services.exceptions.RegraNegocioException;
+import com.mponte.minhasfinancas.services.exportacao.Exportacao;
+import com.mponte.minhasfinancas.services.exportacao.FormatoExportacao;
+import com.mponte.minhasfinancas.services.importacao.FormatoImportacao;
+import com.mponte.minhasfinancas.services.importacao.Importacao;
+import com.mponte.minhasfinancas.services.interfaces.AnaliseLancamentoService;
+import com.mponte.minhasfinancas.services.interfaces.EventosUsuarioService;
+import com.mponte.minhasfinancas.services.interfaces.ExportacaoService;
+import com.mponte.minhasfinancas.services.interfaces.ImportacaoService;
 import com.mponte.minhasfinancas.services.interfaces.LancamentoService;
+import com.mponte.minhasfinancas.services.interfaces.ProjecaoSaldoService;
+import com.mponte.minhasfinancas.services.interfaces.RelatorioAnualService;
+import com.mponte.minhasfinancas.services.interfaces.ResumoMensalService;
+import com.mponte.minhasfinancas.services.interfaces.TokenService;
 import com.mponte.minhasfinancas.services.interfaces.UsuarioService;
+import com.mponte.minhasfinancas.services.interfaces.VersaoDadosService;
+import com.mponte.minhasfinancas.services.versao.VersaoDados;
 import org.hibernate.ObjectNotFoundException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,13 +42,26 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @ExtendWith(SpringExtension.class)
 @ActiveProfiles("test")
@@ -44,6 +80,221 @@ public class UsuarioControllerTest {
     @MockBean
     LancamentoService lancamentoService;
 
+    @MockBean
+    ResumoMensalService resumoMensalService;
+
+    @MockBean
+    ExportacaoService exportacaoService;
+
+    @MockBean
+    ImportacaoService importacaoService;
+
+    @MockBean
+    TokenService tokenService;
+
+    @MockBean
+    VersaoDadosService versaoDadosService;
+
+    @MockBean
+    AnaliseLancamentoService analiseLancamentoService;
+
+    @MockBean
+    RelatorioAnualService relatorioAnualService;
+
+    @MockBean
+    ProjecaoSaldoService projecaoSaldoService;
+
+    @MockBean
+    EventosUsuarioService eventosUsuarioService;
+
+    @Test
+    public void deveAnalisarOsLancamentosComOsFiltrosInformados() throws Exception {
+        //cenario
+        AnaliseLancamentosDTO analise = AnaliseLancamentosDTO.builder()
+                .quantidade(2L)
+                .saldo(BigDecimal.valueOf(40))
+                .descricoes(List.of(new TotalDescricaoDTO("Mercado", BigDecimal.valueOf(60), 2L)))
+                .build();
+        Mockito.when(analiseLancamentoService.analisar(Mockito.argThat(filtro -> filtro.getUsuario() == 1L
+                && filtro.getAno() == 2021 && "DESPESA".equals(filtro.getTipo())), Mockito.eq(5))).thenReturn(analise);
+
+        //acao e verificacao
+        mvc
+                .perform(MockMvcRequestBuilders.get(API.concat("/1/lancamentos/analise"))
+                        .param("ano", "2021")
+                        .param("tipo", "DESPESA")
+                        .param("limite", "5"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("quantidade").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("descricoes[0].descricao").value("Mercado"));
+    }
+
+    @Test
+    public void deveGerarORelatorioAnualDoUsuario() throws Exception {
+        //cenario
+        RelatorioAnualDTO relatorio = RelatorioAnualDTO.builder()
+                .usuario(1L)
+                .ano(2021)
+                .quantidade(3L)
+                .maioresDespesas(List.of(new TotalDescricaoDTO("Aluguel", BigDecimal.valueOf(800), 1L)))
+                .build();
+        Mockito.when(relatorioAnualService.gerar(1L, 2021, 5)).thenReturn(relatorio);
+
+        //acao e verificacao
+        mvc
+                .perform(MockMvcRequestBuilders.get(API.concat("/1/relatorio"))
+                        .param("ano", "2021")
+                        .param("limite", "5"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("quantidade").value(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("maioresDespesas[0].descricao").value("Aluguel"));
+    }
+
+    @Test
+    public void deveProjetarOSaldoDoUsuario() throws Exception {
+        //cenario
+        ProjecaoSaldoDTO projecao = ProjecaoSaldoDTO.builder()
+                .usuario(1L)
+                .saldoRealizado(BigDecimal.valueOf(800))
+                .meses(List.of(ProjecaoMesDTO.builder().ano(2021).mes(3).saldoProjetado(BigDecimal.valueOf(1750)).build()))
+                .build();
+        Mockito.when(projecaoSaldoService.projetar(1L, 24)).thenReturn(projecao);
+
+        //acao e verificacao
+        mvc
+                .perform(MockMvcRequestBuilders.get(API.concat("/1/projecao"))
+                        .param("meses", "24"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("saldoRealizado").value(800))
+                .andExpect(MockMvcResultMatchers.jsonPath("meses[0].saldoProjetado").value(1750));
+    }
+
+    @Test
+    public void deveEnviarOsEventosDoUsuarioPorServerSentEvents() throws Exception {
+        //cenario
+        ResponseBodyEmitter emissor = new ResponseBodyEmitter();
+        Mockito.when(eventosUsuarioService.assinar(1L)).thenReturn(emissor);
+
+        //acao
+        MvcResult resultado = mvc
+                .perform(MockMvcRequestBuilders.get(API.concat("/1/eventos"))
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        emissor.send("event:saldo\ndata:{\"variacao\":10.00}\n\n".getBytes(StandardCharsets.UTF_8), MediaType.TEXT_EVENT_STREAM);
+        emissor.complete();
+
+        //verificacao
+        mvc
+                .perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(MockMvcResultMatchers.content().string("event:saldo\ndata:{\"variacao\":10.00}\n\n"));
+    }
+
+    @Test
+    public void deveResponderNotModifiedParaOSaldoQuandoAVersaoNaoMudou() throws Exception {
+        //cenario
+        Mockito.when(versaoDadosService.versao(1L)).thenReturn(new VersaoDados(5L));
+
+        //acao e verificacao
+        mvc
+                .perform(MockMvcRequestBuilders.get(API.concat("/saldo/1"))
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"5-saldo\""))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(HttpHeaders.LAST_MODIFIED));
+        Mockito.verify(lancamentoService, Mockito.never()).saldoUsuario(Mockito.anyLong());
+    }
+
+    @Test
+    public void deveRetornarOSaldoComEtagQuandoAVersaoMudou() throws Exception {
+        //cenario
+        Mockito.when(versaoDadosService.versao(1L)).thenReturn(new VersaoDados(6L));
+        Mockito.when(lancamentoService.saldoUsuario(1L)).thenReturn(BigDecimal.TEN);
+
+        //acao e verificacao
+        mvc
+                .perform(MockMvcRequestBuilders.get(API.concat("/saldo/1"))
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"5-saldo\""))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "W/\"6-saldo\""))
+                .andExpect(MockMvcResultMatchers.content().string("10"));
+    }
+
+    @Test
+    public void deveImportarOsLancamentosRetornandoOProgressoEmNdjson() throws Exception {
+        //cenário
+        Importacao importacao = new Importacao(1L, FormatoImportacao.CSV);
+        Mockito.when(importacaoService.preparar(1L, "csv")).thenReturn(importacao);
+        Mockito.when(importacaoService.importar(Mockito.eq(importacao), Mockito.any(), Mockito.any())).thenAnswer(invocation -> {
+            Consumer<ProgressoImportacaoDTO> progresso = invocation.getArgument(2);
+            progresso.accept(ProgressoImportacaoDTO.builder().tipo("erro").linha(2).erro("Informe um valor válido.").build());
+            ProgressoImportacaoDTO resumo = ProgressoImportacaoDTO.builder().tipo("resumo").lidos(1L).importados(0L).rejeitados(1L).build();
+            progresso.accept(resumo);
+            return resumo;
+        });
+
+        //execução e verificação
+        MvcResult resultado = mvc
+                .perform(MockMvcRequestBuilders.post(API.concat("/1/lancamentos/import"))
+                        .contentType("text/csv")
+                        .content("descricao,mes,ano,valor,tipo\r\nMercado,3,2021,,DESPESA\r\n"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        String corpo = mvc
+                .perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertEquals("{\"tipo\":\"erro\",\"linha\":2,\"erro\":\"Informe um valor válido.\"}\n" +
+                "{\"tipo\":\"resumo\",\"lidos\":1,\"importados\":0,\"rejeitados\":1}\n", corpo);
+    }
+
+    @Test
+    public void deveExportarOsLancamentosCompactados() throws Exception {
+        //cenário
+        Exportacao exportacao = new Exportacao(1L, 2021, FormatoExportacao.CSV);
+        Mockito.when(exportacaoService.preparar(1L, 2021, "csv")).thenReturn(exportacao);
+        Mockito.doAnswer(invocation -> {
+            OutputStream saida = invocation.getArgument(1);
+            saida.write("id\r\n1\r\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportacaoService).escrever(Mockito.eq(exportacao), Mockito.any(OutputStream.class));
+
+        //execução e verificação
+        MvcResult resultado = mvc
+                .perform(MockMvcRequestBuilders.get(API.concat("/1/lancamentos/export"))
+                        .param("formato", "csv")
+                        .param("ano", "2021")
+                        .header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        byte[] corpo = mvc
+                .perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("Content-Encoding", "gzip"))
+                .andExpect(MockMvcResultMatchers.header().string("Content-Disposition",
+                        "attachment; filename=\"lancamentos-1-2021.csv\""))
+                .andReturn().getResponse().getContentAsByteArray();
+        String texto = new String(new GZIPInputStream(new ByteArrayInputStream(corpo)).readAllBytes(), StandardCharsets.UTF_8);
+        assertEquals("id\r\n1\r\n", texto);
+    }
+
+    @Test
+    public void deveRetornarBadRequestAoExportarEmFormatoInvalido() throws Exception {
+        //cenário
+        Mockito.when(exportacaoService.preparar(1L, null, "pdf"))
+                .thenThrow(new RegraNegocioException("Informe um formato de exportação válido: csv ou ofx."));
+
+        //execução e verificação
+        mvc
+                .perform(MockMvcRequestBuilders.get(API.concat("/1/lancamentos/export")).param("formato", "pdf"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
     @Test
     public void deveAutenticarUmUsuario() throws Exception {
         //cenário
@@ -54,6 +305,8 @@ public class UsuarioControllerTest {
         Usuario usuarioAutenticado = Usuario.builder().id(1L).email(email).senha(senha).build();
 
         Mockito.when(usuarioService.autenticar(email, senha)).thenReturn(usuarioAutenticado);
+        Mockito.when(tokenService.emitir(usuarioAutenticado)).thenReturn(AutenticacaoDTO.builder()
+                .id(1L).email(email).token("token").build());
 
         String json = new ObjectMapper().writeValueAsString(usuarioDTO);
 
@@ -69,7 +322,18 @@ public class UsuarioControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.jsonPath("id").value(usuarioAutenticado.getId()))
                 .andExpect(MockMvcResultMatchers.jsonPath("email").value(usuarioAutenticado.getEmail()))
-                .andExpect(MockMvcResultMatchers.jsonPath("nome").value(usuarioAutenticado.getNome()));
+                .andExpect(MockMvcResultMatchers.jsonPath("nome").value(usuarioAutenticado.getNome()))
+                .andExpect(MockMvcResultMatchers.jsonPath("token").value("token"));
+    }
+
+    @Test
+    public void deveRevogarOTokenAoFazerLogout() throws Exception {
+        //execução e verificação
+        mvc
+                .perform(MockMvcRequestBuilders.post(API.concat("/logout")).header(HttpHeaders.AUTHORIZATION, "Bearer token"))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+
+        Mockito.verify(tokenService).revogar("token");
     }
 
     @Test
@@ -147,6 +411,32 @@ public class UsuarioControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("nome").value(usuarioSalvo.getNome()));
     }
 
+    @Test
+    public void deveObterOResumoAnualDoUsuario() throws Exception {
+        //cenário
+        ResumoAnualDTO resumo = ResumoAnualDTO.builder()
+                .usuario(1L)
+                .ano(2021)
+                .receitas(BigDecimal.TEN)
+                .despesas(BigDecimal.ONE)
+                .saldo(BigDecimal.valueOf(9))
+                .meses(List.of(ResumoMesDTO.builder().mes(1).saldo(BigDecimal.valueOf(9)).build()))
+                .build();
+        Mockito.when(resumoMensalService.resumoAnual(1L, 2021)).thenReturn(resumo);
+
+        //execução e verificação
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .get(API.concat("/1/resumo"))
+                .param("ano", "2021")
+                .accept(JSON);
+
+        mvc
+                .perform(request)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("saldo").value(9))
+                .andExpect(MockMvcResultMatchers.jsonPath("meses[0].mes").value(1));
+    }
+
     @Test
     public void deveRetornarBadRequestAoTentarSalvarUmUsuarioJaCadastrado() throws Exception {
         //cenário
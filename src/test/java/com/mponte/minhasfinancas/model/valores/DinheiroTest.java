@@ -0,0 +1,82 @@
+package com.mponte.minhasfinancas.model.valores;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class DinheiroTest {
+
+    @Test
+    public void deveSomarExatamenteComoBigDecimal() {
+        //cenario
+        Random aleatorio = new Random(42);
+        BigDecimal esperado = BigDecimal.ZERO;
+        long centavos = 0;
+
+        //acao
+        for (int i = 0; i < 100_000; i++) {
+            BigDecimal valor = BigDecimal.valueOf(aleatorio.nextInt(10_000_000) - 5_000_000L, 2);
+            esperado = i % 3 == 0 ? esperado.subtract(valor) : esperado.add(valor);
+            centavos = i % 3 == 0
+                    ? Dinheiro.subtrair(centavos, Dinheiro.centavos(valor))
+                    : Dinheiro.somar(centavos, Dinheiro.centavos(valor));
+        }
+
+        //verificacao
+        assertEquals(esperado.setScale(Dinheiro.ESCALA), Dinheiro.paraBigDecimal(centavos));
+    }
+
+    @Test
+    public void deveConverterValoresComMenosCasasDecimais() {
+        //acao / verificacao
+        assertEquals(1000L, Dinheiro.centavos(new BigDecimal("10")));
+        assertEquals(1050L, Dinheiro.centavos(new BigDecimal("10.5")));
+        assertEquals(-1L, Dinheiro.centavos(new BigDecimal("-0.01")));
+        assertEquals(1234L, Dinheiro.centavos(new BigDecimal("12.3400")));
+        assertEquals(0L, Dinheiro.centavos(null));
+        assertEquals(new BigDecimal("10.50"), Dinheiro.de(new BigDecimal("10.5")).paraBigDecimal());
+    }
+
+    @Test
+    public void deveRecusarValoresComMaisDeDuasCasasDecimais() {
+        //acao / verificacao
+        assertThrows(ArithmeticException.class, () -> Dinheiro.centavos(new BigDecimal("10.005")));
+    }
+
+    @Test
+    public void deveRecusarValoresForaDoIntervaloDeLong() {
+        //acao / verificacao
+        assertThrows(ArithmeticException.class, () -> Dinheiro.centavos(new BigDecimal("92233720368547758.08")));
+    }
+
+    @Test
+    public void deveLancarErroQuandoAOperacaoTransbordar() {
+        //acao / verificacao
+        assertThrows(ArithmeticException.class, () -> Dinheiro.somar(Long.MAX_VALUE, 1));
+        assertThrows(ArithmeticException.class, () -> Dinheiro.subtrair(Long.MIN_VALUE, 1));
+        assertThrows(ArithmeticException.class, () -> Dinheiro.multiplicar(Long.MAX_VALUE / 2 + 1, 2));
+        assertThrows(ArithmeticException.class, () -> Dinheiro.deCentavos(Long.MIN_VALUE).negar());
+    }
+
+    @Test
+    public void deveCompararPeloValorEmCentavos() {
+        //cenario
+        Dinheiro dez = Dinheiro.de(new BigDecimal("10"));
+        Dinheiro dezComCentavos = Dinheiro.de(new BigDecimal("10.00"));
+
+        //acao / verificacao
+        assertEquals(dez, dezComCentavos);
+        assertEquals(dez.hashCode(), dezComCentavos.hashCode());
+        assertTrue(dez.compareTo(Dinheiro.deCentavos(1001)) < 0);
+        assertEquals(Dinheiro.deCentavos(-250), Dinheiro.deCentavos(1000).subtrair(Dinheiro.deCentavos(1250)));
+        assertEquals("-2.50", Dinheiro.deCentavos(-250).toString());
+    }
+}
@@ -0,0 +1,64 @@
+package com.mponte.minhasfinancas.monitoramento;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class DataSourceMonitoradoTest {
+
+    private JdbcTemplate criarJdbc(MonitoramentoSql monitoramento) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("monitoramentoSql", monitoramento);
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:monitoramento;DB_CLOSE_DELAY=-1", "sa", "");
+        return new JdbcTemplate(new DataSourceMonitorado(dataSource, beanFactory.getBeanProvider(MonitoramentoSql.class)));
+    }
+
+    @Test
+    public void deveRegistrarOTempoDasConsultasPorOperacao(){
+        //cenario
+        MeterRegistry registry = new SimpleMeterRegistry();
+        MonitoramentoSql monitoramento = new MonitoramentoSql(registry, Duration.ofMinutes(1), 1.0);
+        JdbcTemplate jdbc = criarJdbc(monitoramento);
+
+        //acao
+        jdbc.execute("create table if not exists teste (id int)");
+        jdbc.update("insert into teste (id) values (?)", 1);
+        jdbc.queryForObject("select count(*) from teste", Integer.class);
+
+        //verificacao
+        assertEquals(1, registry.get("financas.sql").tag("operacao", "insert").timer().count());
+        assertEquals(1, registry.get("financas.sql").tag("operacao", "select").timer().count());
+        assertEquals(0, registry.get("financas.sql.lentas").counter().count());
+    }
+
+    @Test
+    public void deveContarConsultasLentasEConsultasDaRequisicao(){
+        //cenario
+        MeterRegistry registry = new SimpleMeterRegistry();
+        MonitoramentoSql monitoramento = new MonitoramentoSql(registry, Duration.ZERO, 0.0);
+        JdbcTemplate jdbc = criarJdbc(monitoramento);
+
+        //acao
+        monitoramento.iniciarRequisicao();
+        jdbc.queryForObject("select 1", Integer.class);
+        jdbc.queryForObject("select 2", Integer.class);
+        int consultas = monitoramento.finalizarRequisicao();
+
+        //verificacao
+        assertEquals(2, consultas);
+        assertEquals(2, registry.get("financas.sql.lentas").counter().count());
+        assertEquals(0, monitoramento.finalizarRequisicao());
+    }
+}
@@ -1,9 +1,14 @@
 package com.mponte.minhasfinancas.repositories;
 
+import com.mponte.minhasfinancas.model.dtos.CursorLancamento;
+import com.mponte.minhasfinancas.model.dtos.LancamentoDTO;
 import com.mponte.minhasfinancas.model.entities.Lancamento;
+import com.mponte.minhasfinancas.model.entities.LancamentoArquivado;
 import com.mponte.minhasfinancas.model.entities.Usuario;
 import com.mponte.minhasfinancas.model.enums.StatusLancamento;
 import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.model.projections.LancamentoResumo;
+import com.mponte.minhasfinancas.model.projections.TotalMensalUsuario;
 import org.junit.Assert;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -17,7 +22,10 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -42,6 +50,7 @@ public class LancamentoRepositoryTest {
 
         //Assert/verificação
         assertNotNull(lancamentoSalvo.getId());
+        assertTrue(lancamentoRepository.existeAlgum());
     }
 
     @Test
@@ -90,6 +99,210 @@ public class LancamentoRepositoryTest {
         assertTrue(lancamentoBuscadoPorId.isPresent());
     }
 
+    @Test
+    public void deveBuscarLancamentosPaginadosPorAnoMesEId(){
+        //Arrange/cenário
+        Usuario usuario = entityManager.persist(Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+        Lancamento fevereiro = persistirLancamento(usuario, 2021, 2);
+        Lancamento janeiro = persistirLancamento(usuario, 2021, 1);
+        Lancamento dezembro = persistirLancamento(usuario, 2020, 12);
+        Lancamento outroJaneiro = persistirLancamento(usuario, 2021, 1);
+        LancamentoDTO filtro = LancamentoDTO.builder().usuario(usuario.getId()).build();
+
+        //Act/ação
+        List<LancamentoResumo> primeiraPagina = lancamentoRepository.buscarPagina(filtro, null, 2);
+        List<LancamentoResumo> segundaPagina = lancamentoRepository.buscarPagina(filtro, CursorLancamento.de(primeiraPagina.get(1)), 2);
+
+        //Assert/verificação
+        assertEquals(List.of(dezembro.getId(), janeiro.getId()), ids(primeiraPagina));
+        assertEquals(List.of(outroJaneiro.getId(), fevereiro.getId()), ids(segundaPagina));
+        assertEquals(usuario.getId(), primeiraPagina.get(0).getUsuario());
+    }
+
+    @Test
+    public void devePercorrerOsLancamentosFiltrados(){
+        //Arrange/cenário
+        Usuario usuario = entityManager.persist(Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+        persistirLancamento(usuario, 2021, 2);
+        persistirLancamento(usuario, 2021, 1);
+        persistirLancamento(usuario, 2020, 12);
+        LancamentoDTO filtro = LancamentoDTO.builder().usuario(usuario.getId()).ano(2021).build();
+        List<Integer> meses = new ArrayList<>();
+
+        //Act/ação
+        lancamentoRepository.percorrer(filtro, lancamento -> meses.add(lancamento.getMes()));
+
+        //Assert/verificação
+        assertEquals(List.of(1, 2), meses);
+    }
+
+    @Test
+    public void deveBuscarLancamentosPeloPrefixoDaDescricaoSemDiferenciarMaiusculas(){
+        //Arrange/cenário
+        Usuario usuario = entityManager.persist(Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+        Lancamento aluguel = persistirLancamento(usuario, 2021, 1);
+        aluguel.setDescricao("Aluguel Janeiro");
+        Lancamento mercado = persistirLancamento(usuario, 2021, 1);
+        mercado.setDescricao("Mercado 100%");
+        entityManager.flush();
+
+        //Act/ação
+        List<Lancamento> porPrefixo = lancamentoRepository.buscar(LancamentoDTO.builder().usuario(usuario.getId()).descricao("aluGUEL").build());
+        List<Lancamento> porMeio = lancamentoRepository.buscar(LancamentoDTO.builder().usuario(usuario.getId()).descricao("janeiro").build());
+        List<Lancamento> comCuringa = lancamentoRepository.buscar(LancamentoDTO.builder().usuario(usuario.getId()).descricao("%").build());
+
+        //Assert/verificação
+        assertEquals(List.of(aluguel), porPrefixo);
+        assertTrue(porMeio.isEmpty());
+        assertTrue(comCuringa.isEmpty());
+    }
+
+    @Test
+    public void deveSalvarLancamentosEmLote(){
+        //Arrange/cenário
+        Usuario usuario = entityManager.persist(Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+        List<Lancamento> lancamentos = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            Lancamento lancamento = criarLancamento();
+            lancamento.setUsuario(usuario);
+            lancamentos.add(lancamento);
+        }
+
+        //Act/ação
+        lancamentoRepository.salvarEmLote(lancamentos);
+
+        //Assert/verificação
+        assertTrue(lancamentos.stream().allMatch(lancamento -> lancamento.getId() != null));
+        assertEquals(120, lancamentoRepository.buscar(LancamentoDTO.builder().usuario(usuario.getId()).build()).size());
+    }
+
+    @Test
+    public void deveTravarEAtualizarOStatusDosLancamentosFiltrados(){
+        //Arrange/cenário
+        Usuario usuario = entityManager.persist(Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+        Lancamento janeiro = persistirLancamento(usuario, 2021, 1);
+        Lancamento outroJaneiro = persistirLancamento(usuario, 2021, 1);
+        Lancamento fevereiro = persistirLancamento(usuario, 2021, 2);
+        Lancamento cancelado = persistirLancamento(usuario, 2021, 1);
+        cancelado.setStatus(StatusLancamento.CANCELADO);
+        entityManager.flush();
+
+        //Act/ação
+        List<Long> travados = lancamentoRepository.travarParaStatus(usuario.getId(), 2021, 1,
+                StatusLancamento.PENDENTE, StatusLancamento.EFETIVADO);
+        List<TotalMensalUsuario> anteriores = lancamentoRepository.totalizarParaStatus(travados, usuario.getId(),
+                StatusLancamento.PENDENTE, StatusLancamento.EFETIVADO);
+        int atualizados = lancamentoRepository.atualizarStatus(travados, usuario.getId(),
+                StatusLancamento.PENDENTE, StatusLancamento.EFETIVADO);
+
+        //Assert/verificação
+        assertEquals(List.of(janeiro.getId(), outroJaneiro.getId()), travados);
+        assertEquals(2, atualizados);
+        assertEquals(1, anteriores.size());
+        assertEquals(2L, anteriores.get(0).getQuantidade());
+        assertEquals(0, BigDecimal.valueOf(20).compareTo(anteriores.get(0).getTotal()));
+        assertEquals(StatusLancamento.PENDENTE, anteriores.get(0).getStatus());
+        assertEquals(StatusLancamento.EFETIVADO, entityManager.find(Lancamento.class, janeiro.getId()).getStatus());
+        assertEquals(StatusLancamento.EFETIVADO, entityManager.find(Lancamento.class, outroJaneiro.getId()).getStatus());
+        assertEquals(StatusLancamento.PENDENTE, entityManager.find(Lancamento.class, fevereiro.getId()).getStatus());
+        assertEquals(StatusLancamento.CANCELADO, entityManager.find(Lancamento.class, cancelado.getId()).getStatus());
+    }
+
+    @Test
+    public void deveAtualizarOStatusDosLancamentosInformadosIgnorandoOsQueJaEstaoNoStatus(){
+        //Arrange/cenário
+        Usuario usuario = entityManager.persist(Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+        Lancamento pendente = persistirLancamento(usuario, 2021, 1);
+        Lancamento efetivado = persistirLancamento(usuario, 2021, 2);
+        efetivado.setStatus(StatusLancamento.EFETIVADO);
+        Lancamento naoInformado = persistirLancamento(usuario, 2021, 1);
+        Usuario outro = entityManager.persist(Usuario.builder().nome("outro").email("outro@email.com").senha("senha").build());
+        Lancamento deOutroUsuario = persistirLancamento(outro, 2021, 1);
+        entityManager.flush();
+        List<Long> ids = List.of(pendente.getId(), efetivado.getId(), deOutroUsuario.getId());
+
+        //Act/ação
+        List<TotalMensalUsuario> anteriores = lancamentoRepository.totalizarParaStatus(ids, usuario.getId(), null, StatusLancamento.EFETIVADO);
+        int atualizados = lancamentoRepository.atualizarStatus(ids, usuario.getId(), null, StatusLancamento.EFETIVADO);
+
+        //Assert/verificação
+        assertEquals(1, atualizados);
+        assertEquals(1, anteriores.size());
+        assertEquals(1, anteriores.get(0).getMes());
+        assertEquals(StatusLancamento.EFETIVADO, entityManager.find(Lancamento.class, pendente.getId()).getStatus());
+        assertEquals(StatusLancamento.PENDENTE, entityManager.find(Lancamento.class, naoInformado.getId()).getStatus());
+        assertEquals(StatusLancamento.PENDENTE, entityManager.find(Lancamento.class, deOutroUsuario.getId()).getStatus());
+    }
+
+    @Test
+    public void deveMoverOsLancamentosDeUmAnoParaOArquivo(){
+        //Arrange/cenário
+        Usuario usuario = entityManager.persist(Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+        Lancamento antigo = persistirLancamento(usuario, 2019, 5);
+        persistirLancamento(usuario, 2019, 6);
+        Lancamento atual = persistirLancamento(usuario, 2021, 1);
+        entityManager.flush();
+
+        //Act/ação
+        List<Integer> anos = lancamentoRepository.listarAnosAte(2020);
+        int copiados = lancamentoRepository.copiarParaArquivo(2019);
+        int apagados = lancamentoRepository.apagarAno(2019);
+
+        //Assert/verificação
+        assertEquals(List.of(2019), anos);
+        assertEquals(2, copiados);
+        assertEquals(2, apagados);
+        assertNull(entityManager.find(Lancamento.class, antigo.getId()));
+        assertNotNull(entityManager.find(Lancamento.class, atual.getId()));
+        LancamentoArquivado arquivado = entityManager.find(LancamentoArquivado.class, antigo.getId());
+        assertEquals(usuario.getId(), arquivado.getUsuarioId());
+        assertEquals(5, arquivado.getMes());
+        assertEquals(0, antigo.getValor().compareTo(arquivado.getValor()));
+    }
+
+    @Test
+    public void deveLerOsLancamentosArquivadosJuntoComOsAtuais(){
+        //Arrange/cenário
+        Usuario usuario = entityManager.persist(Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+        Lancamento atual = persistirLancamento(usuario, 2021, 1);
+        Lancamento antigo = persistirLancamento(usuario, 2019, 5);
+        Lancamento maisAntigo = persistirLancamento(usuario, 2019, 2);
+        entityManager.flush();
+        lancamentoRepository.copiarParaArquivo(2019);
+        lancamentoRepository.apagarAno(2019);
+        entityManager.clear();
+        LancamentoDTO filtro = LancamentoDTO.builder().usuario(usuario.getId()).build();
+        List<Long> percorridos = new ArrayList<>();
+
+        //Act/ação
+        List<LancamentoResumo> primeiraPagina = lancamentoRepository.buscarPagina(filtro, null, 2);
+        List<LancamentoResumo> segundaPagina = lancamentoRepository.buscarPagina(filtro, CursorLancamento.de(primeiraPagina.get(1)), 2);
+        lancamentoRepository.percorrer(LancamentoDTO.builder().usuario(usuario.getId()).ano(2019).build(),
+                lancamento -> percorridos.add(lancamento.getId()));
+        List<Lancamento> buscados = lancamentoRepository.buscar(filtro);
+
+        //Assert/verificação
+        assertEquals(List.of(maisAntigo.getId(), antigo.getId()), ids(primeiraPagina));
+        assertEquals(List.of(atual.getId()), ids(segundaPagina));
+        assertEquals(usuario.getId(), primeiraPagina.get(0).getUsuario());
+        assertEquals(0, antigo.getValor().compareTo(primeiraPagina.get(1).getValor()));
+        assertEquals(List.of(maisAntigo.getId(), antigo.getId()), percorridos);
+        assertEquals(List.of(maisAntigo.getId(), antigo.getId(), atual.getId()),
+                buscados.stream().map(Lancamento::getId).collect(Collectors.toList()));
+    }
+
+    private List<Long> ids(List<LancamentoResumo> lancamentos) {
+        return lancamentos.stream().map(LancamentoResumo::getId).collect(Collectors.toList());
+    }
+
+    private Lancamento persistirLancamento(Usuario usuario, int ano, int mes) {
+        Lancamento lancamento = criarLancamento();
+        lancamento.setUsuario(usuario);
+        lancamento.setAno(ano);
+        lancamento.setMes(mes);
+        return entityManager.persist(lancamento);
+    }
+
     private Lancamento criarEPersistirUmLancamento() {
         Lancamento lancamento = criarLancamento();
         entityManager.persist(lancamento);
@@ -0,0 +1,111 @@
+package com.mponte.minhasfinancas.repositories;
+
+import com.mponte.minhasfinancas.model.entities.Lancamento;
+import com.mponte.minhasfinancas.model.entities.Recorrencia;
+import com.mponte.minhasfinancas.model.entities.Usuario;
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.PersistenceException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class RecorrenciaRepositoryTest {
+    private static final LocalDate HOJE = LocalDate.of(2021, 3, 10);
+
+    @Autowired
+    private RecorrenciaRepository recorrenciaRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    public void deveBuscarAsRecorrenciasVencidasDaFatiaEmOrdemDeId(){
+        //cenario
+        Usuario usuario = persistirUsuario("usuario@email.com");
+        Recorrencia vencida = persistirRecorrencia(usuario, LocalDate.of(2021, 3, 1), null);
+        Recorrencia futura = persistirRecorrencia(usuario, LocalDate.of(2021, 4, 1), null);
+        Recorrencia encerrada = persistirRecorrencia(usuario, LocalDate.of(2021, 3, 1), LocalDate.of(2021, 2, 28));
+        Recorrencia outraVencida = persistirRecorrencia(usuario, LocalDate.of(2021, 1, 1), null);
+        int fatia = (int) (usuario.getId() % 2);
+
+        //acao
+        List<Long> daFatia = ids(recorrenciaRepository.buscarVencidas(HOJE, fatia, 2, 0L, PageRequest.of(0, 10)));
+        List<Long> outraFatia = ids(recorrenciaRepository.buscarVencidas(HOJE, 1 - fatia, 2, 0L, PageRequest.of(0, 10)));
+        List<Long> aposAPrimeira = ids(recorrenciaRepository.buscarVencidas(HOJE, fatia, 2, vencida.getId(), PageRequest.of(0, 10)));
+
+        //verificacao
+        assertEquals(List.of(vencida.getId(), outraVencida.getId()), daFatia);
+        assertTrue(outraFatia.isEmpty());
+        assertEquals(List.of(outraVencida.getId()), aposAPrimeira);
+        assertFalse(daFatia.contains(futura.getId()));
+        assertFalse(daFatia.contains(encerrada.getId()));
+    }
+
+    @Test
+    public void naoDevePermitirDuasOcorrenciasDaMesmaRecorrenciaNoMesmoMes(){
+        //cenario
+        Usuario usuario = persistirUsuario("usuario@email.com");
+        Recorrencia recorrencia = persistirRecorrencia(usuario, LocalDate.of(2021, 3, 1), null);
+        entityManager.persist(ocorrencia(usuario, recorrencia));
+        entityManager.flush();
+
+        //acao / verificacao
+        assertThrows(PersistenceException.class, () -> {
+            entityManager.persist(ocorrencia(usuario, recorrencia));
+            entityManager.flush();
+        });
+    }
+
+    private Usuario persistirUsuario(String email) {
+        return entityManager.persist(Usuario.builder().nome("usuario").email(email).senha("senha").build());
+    }
+
+    private Recorrencia persistirRecorrencia(Usuario usuario, LocalDate proxima, LocalDate fim) {
+        return entityManager.persist(Recorrencia.builder()
+                .descricao("Aluguel")
+                .usuario(usuario)
+                .valor(BigDecimal.valueOf(800))
+                .tipo(TipoLancamento.DESPESA)
+                .inicio(LocalDate.of(2021, 1, 1))
+                .intervaloMeses(1)
+                .fim(fim)
+                .proximaOcorrencia(proxima)
+                .ocorrencias(0L)
+                .build());
+    }
+
+    private Lancamento ocorrencia(Usuario usuario, Recorrencia recorrencia) {
+        return Lancamento.builder()
+                .descricao("Aluguel")
+                .mes(3)
+                .ano(2021)
+                .usuario(usuario)
+                .valor(BigDecimal.valueOf(800))
+                .tipo(TipoLancamento.DESPESA)
+                .status(StatusLancamento.PENDENTE)
+                .recorrencia(recorrencia.getId())
+                .build();
+    }
+
+    private static List<Long> ids(List<Recorrencia> recorrencias) {
+        return recorrencias.stream().map(Recorrencia::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,132 @@
+package com.mponte.minhasfinancas.repositories;
+
+import com.mponte.minhasfinancas.model.entities.AnoArquivado;
+import com.mponte.minhasfinancas.model.entities.Lancamento;
+import com.mponte.minhasfinancas.model.entities.ResumoMensal;
+import com.mponte.minhasfinancas.model.entities.ResumoMensalId;
+import com.mponte.minhasfinancas.model.entities.Usuario;
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.model.projections.TotalPorTipo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class ResumoMensalRepositoryTest {
+    @Autowired
+    private ResumoMensalRepository resumoMensalRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    public void deveSomarValoresAoConsolidadoExistente(){
+        //cenário
+        ResumoMensalId id = new ResumoMensalId(1L, 2021, 1, TipoLancamento.RECEITA, StatusLancamento.PENDENTE);
+        entityManager.persistAndFlush(new ResumoMensal(id, BigDecimal.valueOf(10), 1L));
+
+        //ação
+        int atualizados = resumoMensalRepository.somar(id, BigDecimal.valueOf(5), 1L);
+        entityManager.clear();
+        ResumoMensal resumo = entityManager.find(ResumoMensal.class, id);
+
+        //verificação
+        assertEquals(1, atualizados);
+        assertEquals(0, BigDecimal.valueOf(15).compareTo(resumo.getTotal()));
+        assertEquals(2L, resumo.getQuantidade());
+    }
+
+    @Test
+    public void deveReconstruirOConsolidadoAPartirDosLancamentos(){
+        //cenário
+        Usuario usuario = entityManager.persist(Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+        persistirLancamento(usuario, 3, TipoLancamento.DESPESA, 10);
+        persistirLancamento(usuario, 3, TipoLancamento.DESPESA, 15);
+        persistirLancamento(usuario, 4, TipoLancamento.RECEITA, 100);
+        entityManager.flush();
+
+        //ação
+        resumoMensalRepository.apagarNaoArquivados();
+        int linhas = resumoMensalRepository.consolidarLancamentos();
+        List<ResumoMensal> resumos = resumoMensalRepository.findByIdUsuarioIdAndIdAno(usuario.getId(), 2021);
+
+        //verificação
+        assertEquals(2, linhas);
+        ResumoMensal marco = resumos.stream().filter(resumo -> resumo.getMes() == 3).findFirst().orElseThrow();
+        assertEquals(0, BigDecimal.valueOf(25).compareTo(marco.getTotal()));
+        assertEquals(2L, marco.getQuantidade());
+        assertEquals(TipoLancamento.DESPESA, marco.getTipo());
+    }
+
+    @Test
+    public void deveManterOsResumosDosAnosArquivadosAoReconstruir(){
+        //cenário
+        ResumoMensalId arquivado = new ResumoMensalId(1L, 2019, 1, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
+        ResumoMensalId aberto = new ResumoMensalId(1L, 2021, 1, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO);
+        entityManager.persist(new ResumoMensal(arquivado, BigDecimal.valueOf(100), 3L));
+        entityManager.persist(new ResumoMensal(aberto, BigDecimal.valueOf(10), 1L));
+        entityManager.persist(new AnoArquivado(2019, Instant.now(), 3L));
+        entityManager.flush();
+
+        //ação
+        resumoMensalRepository.apagarNaoArquivados();
+        List<TotalPorTipo> totais = resumoMensalRepository.totalizarArquivadosPorTipo(1L);
+
+        //verificação
+        assertTrue(resumoMensalRepository.existsById(arquivado));
+        assertFalse(resumoMensalRepository.existsById(aberto));
+        assertFalse(resumoMensalRepository.existeNaoArquivado());
+        assertEquals(1, totais.size());
+        assertEquals(TipoLancamento.RECEITA, totais.get(0).getTipo());
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(totais.get(0).getTotal()));
+    }
+
+    @Test
+    public void naoDeveConsolidarLancamentosDeAnosArquivados(){
+        //cenário
+        Usuario usuario = entityManager.persist(Usuario.builder().nome("usuario").email("usuario@email.com").senha("senha").build());
+        ResumoMensalId arquivado = new ResumoMensalId(usuario.getId(), 2021, 3, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO);
+        entityManager.persist(new ResumoMensal(arquivado, BigDecimal.valueOf(40), 2L));
+        entityManager.persist(new AnoArquivado(2021, Instant.now(), 2L));
+        persistirLancamento(usuario, 3, TipoLancamento.DESPESA, 10);
+        entityManager.flush();
+
+        //ação
+        resumoMensalRepository.apagarNaoArquivados();
+        int linhas = resumoMensalRepository.consolidarLancamentos();
+        entityManager.clear();
+
+        //verificação
+        assertEquals(0, linhas);
+        assertEquals(0, BigDecimal.valueOf(40).compareTo(entityManager.find(ResumoMensal.class, arquivado).getTotal()));
+    }
+
+    private void persistirLancamento(Usuario usuario, int mes, TipoLancamento tipo, long valor) {
+        entityManager.persist(Lancamento.builder()
+                .descricao("descricao")
+                .mes(mes)
+                .ano(2021)
+                .usuario(usuario)
+                .valor(BigDecimal.valueOf(valor))
+                .dataCadastro(LocalDate.now())
+                .tipo(tipo)
+                .status(StatusLancamento.EFETIVADO)
+                .build());
+    }
+}
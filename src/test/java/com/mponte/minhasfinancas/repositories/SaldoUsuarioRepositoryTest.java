@@ -0,0 +1,54 @@
+package com.mponte.minhasfinancas.repositories;
+
+import com.mponte.minhasfinancas.model.entities.SaldoUsuario;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class SaldoUsuarioRepositoryTest {
+    @Autowired
+    private SaldoUsuarioRepository saldoUsuarioRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    public void deveSomarValoresAoSaldoExistente(){
+        //cenário
+        entityManager.persistAndFlush(new SaldoUsuario(1L, BigDecimal.valueOf(10), BigDecimal.valueOf(3)));
+
+        //ação
+        int atualizados = saldoUsuarioRepository.somar(1L, BigDecimal.valueOf(5), BigDecimal.valueOf(-1));
+        entityManager.clear();
+        SaldoUsuario saldo = entityManager.find(SaldoUsuario.class, 1L);
+
+        //verificação
+        assertEquals(1, atualizados);
+        assertEquals(0, BigDecimal.valueOf(15).compareTo(saldo.getReceitas()));
+        assertEquals(0, BigDecimal.valueOf(2).compareTo(saldo.getDespesas()));
+        assertEquals(2L, saldo.getVersao());
+        assertEquals(2L, saldoUsuarioRepository.buscarVersao(1L).orElseThrow());
+    }
+
+    @Test
+    public void naoDeveAtualizarNadaQuandoNaoExistirSaldoDoUsuario(){
+        //ação
+        int atualizados = saldoUsuarioRepository.somar(99L, BigDecimal.ONE, BigDecimal.ZERO);
+
+        //verificação
+        assertEquals(0, atualizados);
+    }
+}
@@ -1,16 +1,21 @@
 package com.mponte.minhasfinancas.repositories;
 
 import com.mponte.minhasfinancas.model.entities.Usuario;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.*;
@@ -87,6 +92,36 @@ public class UsuarioRepositoryTest {
         assertThat(result.isPresent()).isFalse();
     }
 
+    @Test
+    public void deveRecusarUmSegundoUsuarioComOMesmoEmail(){
+        //cenario
+        entityManager.persist(criarUsuario());
+
+        //ação e verificação
+        assertThatThrownBy(() -> repository.save(criarUsuario()))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .getCause()
+                .isInstanceOf(ConstraintViolationException.class)
+                .extracting(e -> ((ConstraintViolationException) e).getConstraintName().toLowerCase())
+                .asString()
+                .contains(Usuario.RESTRICAO_EMAIL);
+    }
+
+    @Test
+    public void deveListarOsEmailsCadastrados(){
+        //cenario
+        entityManager.persist(criarUsuario());
+
+        //ação
+        List<String> emails;
+        try (Stream<String> stream = repository.streamEmails()) {
+            emails = stream.collect(Collectors.toList());
+        }
+
+        //verificação
+        assertThat(emails).containsExactly("usuario@email.com");
+    }
+
     private Usuario criarUsuario(){
         return Usuario.builder()
                 .nome("usuario")
@@ -0,0 +1,89 @@
+package com.mponte.minhasfinancas.roteamento;
+
+import com.mponte.minhasfinancas.autenticacao.AutenticacaoInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primario;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS financas",
+        "financas.datasource.replicas[0].url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS financas",
+        "financas.datasource.replicas[0].username=sa",
+        "financas.datasource.leitura-propria=1m",
+        "financas.usuario.filtro-email.habilitado=false"
+})
+public class RoteamentoDataSourceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PoliticaLeitura politicaLeitura;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    public void limparRequisicao(){
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void deveEnviarTransacoesSomenteLeituraParaAReplica(){
+        assertEquals("REPLICA", banco(true));
+        assertEquals("PRIMARIO", banco(false));
+    }
+
+    @Test
+    public void devePublicarAsMetricasDeTodosOsPools(){
+        //acao
+        banco(true);
+        banco(false);
+
+        //verificacao
+        assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", "primario").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", "replica-0").gauge());
+    }
+
+    @Test
+    public void deveLerDoPrimarioLogoAposUmaEscritaDoMesmoUsuario(){
+        //cenario
+        politicaLeitura.registrarEscrita(7L);
+
+        //acao e verificacao
+        autenticar(7L);
+        assertEquals("PRIMARIO", banco(true));
+        autenticar(8L);
+        assertEquals("REPLICA", banco(true));
+    }
+
+    private void autenticar(Long usuario) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(AutenticacaoInterceptor.USUARIO_AUTENTICADO, usuario);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private String banco(boolean somenteLeitura) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(somenteLeitura);
+        return transacao.execute(status -> jdbcTemplate.queryForObject("select database()", String.class));
+    }
+}
@@ -0,0 +1,84 @@
+package com.mponte.minhasfinancas.services.analise;
+
+import com.mponte.minhasfinancas.model.dtos.AnaliseLancamentosDTO;
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class InstantaneoLancamentosTest {
+
+    @Test
+    public void deveSomarEFiltrarAsColunas(){
+        //cenario
+        InstantaneoLancamentos instantaneo = new InstantaneoLancamentos();
+        instantaneo.atualizar(1L, "Salario", 2021, 1, new BigDecimal("1000.00"), TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
+        instantaneo.atualizar(2L, "Mercado", 2021, 1, new BigDecimal("150.25"), TipoLancamento.DESPESA, StatusLancamento.EFETIVADO);
+        instantaneo.atualizar(3L, "Mercado", 2021, 2, new BigDecimal("99.75"), TipoLancamento.DESPESA, StatusLancamento.PENDENTE);
+        instantaneo.atualizar(4L, "Aluguel", 2020, 12, new BigDecimal("800"), TipoLancamento.DESPESA, StatusLancamento.EFETIVADO);
+
+        //acao
+        AnaliseLancamentosDTO ano = instantaneo.analisar(2021, null, null, null, null, 10);
+        AnaliseLancamentosDTO janeiro = instantaneo.analisar(2021, 1, TipoLancamento.DESPESA, null, null, 10);
+        AnaliseLancamentosDTO mercado = instantaneo.analisar(null, null, null, null, "merc", 10);
+
+        //verificacao
+        assertEquals(3L, ano.getQuantidade());
+        assertEquals(new BigDecimal("1000.00"), ano.getReceitas());
+        assertEquals(new BigDecimal("250.00"), ano.getDespesas());
+        assertEquals(new BigDecimal("750.00"), ano.getSaldo());
+        assertEquals(new BigDecimal("150.25"), janeiro.getDespesas());
+        assertEquals(1L, janeiro.getQuantidade());
+        assertEquals(1, mercado.getDescricoes().size());
+        assertEquals(2L, mercado.getDescricoes().get(0).getQuantidade());
+    }
+
+    @Test
+    public void deveOrdenarAsMaioresDescricoesRespeitandoOLimite(){
+        //cenario
+        InstantaneoLancamentos instantaneo = new InstantaneoLancamentos();
+        instantaneo.atualizar(1L, "Energia", 2021, 1, BigDecimal.valueOf(90), TipoLancamento.DESPESA, StatusLancamento.PENDENTE);
+        instantaneo.atualizar(2L, "Aluguel", 2021, 1, BigDecimal.valueOf(800), TipoLancamento.DESPESA, StatusLancamento.PENDENTE);
+        instantaneo.atualizar(3L, "Mercado", 2021, 1, BigDecimal.valueOf(300), TipoLancamento.DESPESA, StatusLancamento.PENDENTE);
+        instantaneo.atualizar(4L, "Mercado", 2021, 2, BigDecimal.valueOf(250), TipoLancamento.DESPESA, StatusLancamento.PENDENTE);
+
+        //acao
+        AnaliseLancamentosDTO analise = instantaneo.analisar(null, null, TipoLancamento.DESPESA, null, null, 2);
+
+        //verificacao
+        assertEquals(2, analise.getDescricoes().size());
+        assertEquals("Aluguel", analise.getDescricoes().get(0).getDescricao());
+        assertEquals("Mercado", analise.getDescricoes().get(1).getDescricao());
+        assertEquals(new BigDecimal("550.00"), analise.getDescricoes().get(1).getTotal());
+    }
+
+    @Test
+    public void deveAtualizarERemoverPeloIdSemDuplicar(){
+        //cenario
+        InstantaneoLancamentos instantaneo = new InstantaneoLancamentos();
+        for (long id = 1; id <= 1000; id++) {
+            instantaneo.atualizar(id, "Item " + (id % 10), 2021, 1, BigDecimal.ONE, TipoLancamento.DESPESA, StatusLancamento.PENDENTE);
+        }
+
+        //acao
+        instantaneo.atualizar(500L, "Item 0", 2021, 1, BigDecimal.TEN, TipoLancamento.DESPESA, StatusLancamento.PENDENTE);
+        for (long id = 1; id <= 1000; id += 2) {
+            assertTrue(instantaneo.remover(id));
+        }
+        boolean removidoDeNovo = instantaneo.remover(1L);
+        instantaneo.atualizar(2L, "Item 2", 2021, 1, BigDecimal.ONE, TipoLancamento.DESPESA, StatusLancamento.PENDENTE);
+
+        //verificacao
+        assertFalse(removidoDeNovo);
+        assertEquals(500, instantaneo.getTamanho());
+        assertEquals(new BigDecimal("509.00"), instantaneo.analisar(null, null, null, null, null, 1).getDespesas());
+    }
+}
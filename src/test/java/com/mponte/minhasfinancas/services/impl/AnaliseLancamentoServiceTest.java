@@ -0,0 +1,141 @@
+package com.mponte.minhasfinancas.services.impl;
+
+import com.mponte.minhasfinancas.model.dtos.AnaliseLancamentosDTO;
+import com.mponte.minhasfinancas.model.dtos.LancamentoDTO;
+import com.mponte.minhasfinancas.model.entities.Lancamento;
+import com.mponte.minhasfinancas.model.entities.Usuario;
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.model.projections.LancamentoResumo;
+import com.mponte.minhasfinancas.repositories.LancamentoRepository;
+import com.mponte.minhasfinancas.services.events.LancamentosAlteradosEvent;
+import com.mponte.minhasfinancas.services.exceptions.RegraNegocioException;
+import com.mponte.minhasfinancas.services.interfaces.UsuarioService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class AnaliseLancamentoServiceTest {
+
+    private AnaliseLancamentoServiceImpl analiseLancamentoService;
+
+    @Mock
+    private LancamentoRepository lancamentoRepository;
+
+    @Mock
+    private UsuarioService usuarioService;
+
+    @BeforeEach
+    public void setUp(){
+        analiseLancamentoService = new AnaliseLancamentoServiceImpl(lancamentoRepository, usuarioService, true, DataSize.ofMegabytes(1), Duration.ofMinutes(10));
+        doAnswer(invocation -> {
+            Consumer<LancamentoResumo> consumidor = invocation.getArgument(1);
+            consumidor.accept(new LancamentoResumo(1L, "Mercado", 1, 2021, 1L, BigDecimal.valueOf(100), null,
+                    TipoLancamento.DESPESA, StatusLancamento.PENDENTE));
+            consumidor.accept(new LancamentoResumo(2L, "Salario", 1, 2021, 1L, BigDecimal.valueOf(500), null,
+                    TipoLancamento.RECEITA, StatusLancamento.EFETIVADO));
+            return null;
+        }).when(lancamentoRepository).percorrer(Mockito.any(LancamentoDTO.class), Mockito.any());
+    }
+
+    @Test
+    public void deveCarregarOInstantaneoUmaUnicaVez(){
+        //acao
+        analiseLancamentoService.analisar(filtro(), null);
+        AnaliseLancamentosDTO analise = analiseLancamentoService.analisar(filtro(), null);
+
+        //verificacao
+        assertEquals(new BigDecimal("400.00"), analise.getSaldo());
+        verify(lancamentoRepository, times(1)).percorrer(Mockito.any(LancamentoDTO.class), Mockito.any());
+    }
+
+    @Test
+    public void deveAplicarAsAlteracoesNoInstantaneoCarregado(){
+        //cenario
+        analiseLancamentoService.analisar(filtro(), null);
+        Lancamento anterior = criarLancamento(1L, 100);
+        Lancamento atual = criarLancamento(1L, 40);
+
+        //acao
+        analiseLancamentoService.aplicar(LancamentosAlteradosEvent.alteracao(anterior, atual));
+        analiseLancamentoService.aplicar(LancamentosAlteradosEvent.inclusao(List.of(criarLancamento(3L, 60))));
+        AnaliseLancamentosDTO analise = analiseLancamentoService.analisar(filtro(), null);
+
+        //verificacao
+        assertEquals(new BigDecimal("100.00"), analise.getDespesas());
+        assertEquals(3L, analise.getQuantidade());
+        verify(lancamentoRepository, times(1)).percorrer(Mockito.any(LancamentoDTO.class), Mockito.any());
+    }
+
+    @Test
+    public void deveRecarregarOInstantaneoExpiradoMesmoQueTenhaRecebidoAlteracoes(){
+        //cenario
+        analiseLancamentoService = new AnaliseLancamentoServiceImpl(lancamentoRepository, usuarioService, true,
+                DataSize.ofMegabytes(1), Duration.ZERO);
+        analiseLancamentoService.analisar(filtro(), null);
+        analiseLancamentoService.aplicar(LancamentosAlteradosEvent.inclusao(List.of(criarLancamento(3L, 60))));
+
+        //acao
+        AnaliseLancamentosDTO analise = analiseLancamentoService.analisar(filtro(), null);
+
+        //verificacao
+        assertEquals(2L, analise.getQuantidade());
+        verify(lancamentoRepository, times(2)).percorrer(Mockito.any(LancamentoDTO.class), Mockito.any());
+    }
+
+    @Test
+    public void naoDeveGuardarOInstantaneoQuandoDesabilitado(){
+        //cenario
+        analiseLancamentoService = new AnaliseLancamentoServiceImpl(lancamentoRepository, usuarioService, false, DataSize.ofMegabytes(1), Duration.ofMinutes(10));
+
+        //acao
+        analiseLancamentoService.analisar(filtro(), null);
+        analiseLancamentoService.analisar(filtro(), null);
+
+        //verificacao
+        verify(lancamentoRepository, times(2)).percorrer(Mockito.any(LancamentoDTO.class), Mockito.any());
+    }
+
+    @Test
+    public void deveLancarErroParaFiltrosInvalidos(){
+        //cenario
+        LancamentoDTO tipoInvalido = LancamentoDTO.builder().usuario(1L).tipo("OUTRO").build();
+
+        //acao e verificacao
+        assertThrows(RegraNegocioException.class, () -> analiseLancamentoService.analisar(tipoInvalido, null));
+        assertThrows(RegraNegocioException.class, () -> analiseLancamentoService.analisar(filtro(), 0));
+        verify(lancamentoRepository, never()).percorrer(Mockito.any(LancamentoDTO.class), Mockito.any());
+    }
+
+    private LancamentoDTO filtro() {
+        return LancamentoDTO.builder().usuario(1L).build();
+    }
+
+    private Lancamento criarLancamento(Long id, long valor) {
+        return Lancamento.builder()
+                .id(id)
+                .descricao("Mercado")
+                .mes(1)
+                .ano(2021)
+                .usuario(Usuario.builder().id(1L).build())
+                .valor(BigDecimal.valueOf(valor))
+                .tipo(TipoLancamento.DESPESA)
+                .status(StatusLancamento.PENDENTE)
+                .build();
+    }
+}
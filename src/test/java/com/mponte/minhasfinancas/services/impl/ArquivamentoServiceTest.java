@@ -0,0 +1,143 @@
+package com.mponte.minhasfinancas.services.impl;
+
+import com.mponte.minhasfinancas.model.dtos.ArquivamentoDTO;
+import com.mponte.minhasfinancas.model.entities.AnoArquivado;
+import com.mponte.minhasfinancas.model.entities.TravaArquivamento;
+import com.mponte.minhasfinancas.repositories.AnoArquivadoRepository;
+import com.mponte.minhasfinancas.repositories.LancamentoRepository;
+import com.mponte.minhasfinancas.repositories.ResumoMensalRepository;
+import com.mponte.minhasfinancas.repositories.TravaArquivamentoRepository;
+import com.mponte.minhasfinancas.services.events.AnoArquivadoEvent;
+import com.mponte.minhasfinancas.services.exceptions.RegraNegocioException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class ArquivamentoServiceTest {
+    private static final Instant AGORA = Instant.parse("2022-03-01T10:00:00Z");
+
+    private ArquivamentoServiceImpl arquivamentoService;
+
+    @Mock
+    private AnoArquivadoRepository anoArquivadoRepository;
+
+    @Mock
+    private LancamentoRepository lancamentoRepository;
+
+    @Mock
+    private ResumoMensalRepository resumoMensalRepository;
+
+    @Mock
+    private TravaArquivamentoRepository travaArquivamentoRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    public void setUp(){
+        TravaArquivamento trava = new TravaArquivamento(TravaArquivamento.UNICA);
+        when(travaArquivamentoRepository.travarExclusiva(TravaArquivamento.UNICA)).thenReturn(Optional.of(trava));
+        when(travaArquivamentoRepository.travarCompartilhada(TravaArquivamento.UNICA)).thenReturn(Optional.of(trava));
+        arquivamentoService = new ArquivamentoServiceImpl(anoArquivadoRepository, lancamentoRepository,
+                resumoMensalRepository, travaArquivamentoRepository, eventPublisher, 2, Duration.ofMinutes(1), Clock.fixed(AGORA, ZoneOffset.UTC));
+    }
+
+    @Test
+    public void deveCondensarOAnoEmResumosAntesDeMoverOsLancamentos(){
+        //cenario
+        when(resumoMensalRepository.consolidarAno(2020)).thenReturn(4);
+        when(lancamentoRepository.copiarParaArquivo(2020)).thenReturn(30);
+
+        //acao
+        ArquivamentoDTO arquivamento = arquivamentoService.arquivar(2020);
+
+        //verificacao
+        assertEquals(30, arquivamento.getLancamentos());
+        assertEquals(4, arquivamento.getResumos());
+        InOrder ordem = inOrder(travaArquivamentoRepository, resumoMensalRepository, lancamentoRepository,
+                anoArquivadoRepository);
+        ordem.verify(travaArquivamentoRepository).travarExclusiva(TravaArquivamento.UNICA);
+        ordem.verify(resumoMensalRepository).apagarAno(2020);
+        ordem.verify(resumoMensalRepository).consolidarAno(2020);
+        ordem.verify(lancamentoRepository).copiarParaArquivo(2020);
+        ordem.verify(lancamentoRepository).apagarAno(2020);
+        ordem.verify(anoArquivadoRepository).save(Mockito.any(AnoArquivado.class));
+        verify(eventPublisher).publishEvent(Mockito.any(AnoArquivadoEvent.class));
+    }
+
+    @Test
+    public void naoDeveArquivarAnosAbertosOuJaArquivados(){
+        //cenario
+        when(anoArquivadoRepository.existsById(2019)).thenReturn(true);
+
+        //acao e verificacao
+        assertThrows(RegraNegocioException.class, () -> arquivamentoService.arquivar(2021));
+        assertThrows(RegraNegocioException.class, () -> arquivamentoService.arquivar(2019));
+        verify(lancamentoRepository, never()).apagarAno(Mockito.anyInt());
+    }
+
+    @Test
+    public void deveReconhecerOsAnosArquivadosAposOArquivamento(){
+        //cenario
+        when(anoArquivadoRepository.listarAnos()).thenReturn(List.of(2019));
+        assertTrue(arquivamentoService.arquivado(2019));
+        assertFalse(arquivamentoService.arquivado(2020));
+        when(anoArquivadoRepository.listarAnos()).thenReturn(List.of(2019, 2020));
+
+        //acao
+        arquivamentoService.arquivar(2020);
+
+        //verificacao
+        assertTrue(arquivamentoService.arquivado(2020));
+        assertFalse(arquivamentoService.arquivado(null));
+    }
+
+    @Test
+    public void deveListarSomenteAnosFechadosParaArquivar(){
+        //cenario
+        when(lancamentoRepository.listarAnosAte(2020)).thenReturn(List.of(2018, 2020));
+
+        //acao e verificacao
+        assertEquals(List.of(2018, 2020), arquivamentoService.anosParaArquivar());
+    }
+
+    @Test
+    public void deveRecusarGravacoesEmAnoArquivadoMesmoAntesDeAtualizarOCache(){
+        //cenario
+        when(anoArquivadoRepository.listarAnos()).thenReturn(List.of());
+        assertFalse(arquivamentoService.arquivado(2019));
+        when(anoArquivadoRepository.existsById(2019)).thenReturn(true);
+
+        //acao e verificacao
+        assertThrows(RegraNegocioException.class, () -> arquivamentoService.garantirAnosAbertos(Set.of(2019, 2022)));
+        verify(travaArquivamentoRepository).travarCompartilhada(TravaArquivamento.UNICA);
+    }
+
+    @Test
+    public void naoDeveTravarGravacoesEmAnosAbertos(){
+        //acao
+        arquivamentoService.garantirAnosAbertos(Set.of(2021, 2022));
+
+        //verificacao
+        verifyNoInteractions(travaArquivamentoRepository, anoArquivadoRepository);
+    }
+}
@@ -0,0 +1,205 @@
+package com.mponte.minhasfinancas.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mponte.minhasfinancas.model.entities.Lancamento;
+import com.mponte.minhasfinancas.model.entities.Usuario;
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.model.projections.TotalMensalUsuario;
+import com.mponte.minhasfinancas.services.events.LancamentosAlteradosEvent;
+import com.mponte.minhasfinancas.services.events.StatusLancamentosAlteradosEvent;
+import com.mponte.minhasfinancas.services.interfaces.UsuarioService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class EventosUsuarioServiceTest {
+
+    private EventosUsuarioServiceImpl eventosUsuarioService;
+    private ScheduledExecutorService despachante;
+    private ExecutorService escritores;
+    private final Deque<ResponseBodyEmitter> emissores = new ArrayDeque<>();
+
+    @Mock
+    private UsuarioService usuarioService;
+
+    @BeforeEach
+    public void setUp(){
+        despachante = Executors.newSingleThreadScheduledExecutor();
+        escritores = Executors.newCachedThreadPool();
+        eventosUsuarioService = new EventosUsuarioServiceImpl(usuarioService, new ObjectMapper(), new SimpleMeterRegistry(),
+                emissores::poll, 3, despachante, escritores, Duration.ofMillis(500), Duration.ofHours(1));
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        despachante.shutdownNow();
+        despachante.awaitTermination(1, TimeUnit.SECONDS);
+        escritores.shutdownNow();
+    }
+
+    @Test
+    public void deveEnviarAVariacaoDoSaldoEOsLancamentosAlteradosApenasAosAssinantesDoUsuario() throws IOException {
+        //cenario
+        ResponseBodyEmitter doUsuario = emissor();
+        ResponseBodyEmitter deOutroUsuario = emissor();
+        eventosUsuarioService.assinar(1L);
+        eventosUsuarioService.assinar(2L);
+        Lancamento anterior = lancamento(7L, 1L, TipoLancamento.DESPESA, "50.00");
+        Lancamento atual = lancamento(7L, 1L, TipoLancamento.DESPESA, "80.00");
+
+        //acao
+        eventosUsuarioService.notificar(LancamentosAlteradosEvent.alteracao(anterior, atual));
+
+        //verificacao
+        List<String> enviados = enviados(doUsuario, 3);
+        assertEquals(":conectado\n\n", enviados.get(0));
+        assertEquals("event:saldo\ndata:{\"usuario\":1,\"variacao\":-30.00}\n\n", enviados.get(1));
+        assertEquals("event:lancamentos\ndata:{\"usuario\":1,\"acao\":\"alteracao\",\"status\":null," +
+                "\"quantidade\":1,\"ids\":[7]}\n\n", enviados.get(2));
+        assertEquals(1, enviados(deOutroUsuario, 1).size());
+    }
+
+    @Test
+    public void deveNotificarAAlteracaoDeStatusSemVariacaoDeSaldo() throws IOException {
+        //cenario
+        ResponseBodyEmitter doUsuario = emissor();
+        eventosUsuarioService.assinar(1L);
+        TotalMensalUsuario total = mock(TotalMensalUsuario.class);
+        when(total.getUsuarioId()).thenReturn(1L);
+
+        //acao
+        eventosUsuarioService.notificar(new StatusLancamentosAlteradosEvent(List.of(total, total), StatusLancamento.EFETIVADO));
+
+        //verificacao
+        List<String> enviados = enviados(doUsuario, 2);
+        assertEquals("event:lancamentos\ndata:{\"usuario\":1,\"acao\":\"status\",\"status\":\"EFETIVADO\"," +
+                "\"quantidade\":null,\"ids\":null}\n\n", enviados.get(1));
+    }
+
+    @Test
+    public void deveEncerrarAAssinaturaDoClienteLentoQuandoAFilaEnche() throws Exception {
+        //cenario
+        ResponseBodyEmitter lento = emissor();
+        CountDownLatch enviando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        doAnswer(invocacao -> {
+            enviando.countDown();
+            liberar.await();
+            return null;
+        }).when(lento).send(any(byte[].class), eq(MediaType.TEXT_EVENT_STREAM));
+        eventosUsuarioService.assinar(1L);
+        assertTrue(enviando.await(1, TimeUnit.SECONDS));
+
+        //acao
+        for (long id = 1; id <= 4; id++) {
+            eventosUsuarioService.notificar(LancamentosAlteradosEvent.inclusao(
+                    List.of(lancamento(id, 1L, TipoLancamento.RECEITA, "10.00"))));
+        }
+
+        //verificacao
+        assertEquals(0, eventosUsuarioService.contarAssinaturas());
+        verify(lento, never()).complete();
+        liberar.countDown();
+        verify(lento, timeout(1000)).complete();
+        verify(lento, times(1)).send(any(byte[].class), eq(MediaType.TEXT_EVENT_STREAM));
+    }
+
+    @Test
+    public void deveEncerrarSomenteAAssinaturaCujaEscritaTrava() throws Exception {
+        //cenario
+        ResponseBodyEmitter travado = emissor();
+        ResponseBodyEmitter ativo = emissor();
+        CountDownLatch liberar = new CountDownLatch(1);
+        doAnswer(invocacao -> {
+            liberar.await();
+            return null;
+        }).when(travado).send(any(byte[].class), eq(MediaType.TEXT_EVENT_STREAM));
+        eventosUsuarioService.assinar(1L);
+
+        //acao
+        eventosUsuarioService.assinar(2L);
+
+        //verificacao
+        assertEquals(":conectado\n\n", enviados(ativo, 1).get(0));
+        assertEquals(1, eventosUsuarioService.contarAssinaturas());
+        liberar.countDown();
+        verify(travado, timeout(1000)).complete();
+    }
+
+    @Test
+    public void deveRemoverAAssinaturaQuandoOEnvioFalha() throws IOException {
+        //cenario
+        ResponseBodyEmitter desconectado = emissor();
+        doThrow(new IOException("Broken pipe")).when(desconectado).send(any(byte[].class), eq(MediaType.TEXT_EVENT_STREAM));
+
+        //acao
+        eventosUsuarioService.assinar(1L);
+
+        //verificacao
+        verify(desconectado, timeout(1000)).complete();
+        assertEquals(0, eventosUsuarioService.contarAssinaturas());
+    }
+
+    @Test
+    public void deveEnviarHeartbeatATodasAsAssinaturas() throws IOException {
+        //cenario
+        ResponseBodyEmitter primeiro = emissor();
+        ResponseBodyEmitter segundo = emissor();
+        eventosUsuarioService.assinar(1L);
+        eventosUsuarioService.assinar(1L);
+
+        //acao
+        eventosUsuarioService.manterConexoes();
+
+        //verificacao
+        assertEquals(":ping\n\n", enviados(primeiro, 2).get(1));
+        assertEquals(":ping\n\n", enviados(segundo, 2).get(1));
+        assertEquals(2, eventosUsuarioService.contarAssinaturas());
+    }
+
+    private ResponseBodyEmitter emissor() {
+        ResponseBodyEmitter emissor = mock(ResponseBodyEmitter.class);
+        emissores.add(emissor);
+        return emissor;
+    }
+
+    private List<String> enviados(ResponseBodyEmitter emissor, int quantidade) throws IOException {
+        ArgumentCaptor<byte[]> quadros = ArgumentCaptor.forClass(byte[].class);
+        verify(emissor, timeout(1000).times(quantidade)).send(quadros.capture(), eq(MediaType.TEXT_EVENT_STREAM));
+        return quadros.getAllValues().stream().map(quadro -> new String(quadro, StandardCharsets.UTF_8))
+                .collect(Collectors.toList());
+    }
+
+    private Lancamento lancamento(Long id, Long usuario, TipoLancamento tipo, String valor) {
+        return Lancamento.builder().id(id).usuario(Usuario.builder().id(usuario).build()).tipo(tipo)
+                .valor(new BigDecimal(valor)).build();
+    }
+}
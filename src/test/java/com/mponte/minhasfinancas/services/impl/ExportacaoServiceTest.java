@@ -0,0 +1,135 @@
+package com.mponte.minhasfinancas.services.impl;
+
+import com.mponte.minhasfinancas.model.dtos.LancamentoDTO;
+import com.mponte.minhasfinancas.model.entities.Usuario;
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.model.projections.LancamentoResumo;
+import com.mponte.minhasfinancas.services.exceptions.ObjetoNaoEncontradoException;
+import com.mponte.minhasfinancas.services.exceptions.RegraNegocioException;
+import com.mponte.minhasfinancas.services.exportacao.Exportacao;
+import com.mponte.minhasfinancas.services.exportacao.FormatoExportacao;
+import com.mponte.minhasfinancas.services.interfaces.LancamentoService;
+import com.mponte.minhasfinancas.services.interfaces.UsuarioService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class ExportacaoServiceTest {
+
+    @InjectMocks
+    private ExportacaoServiceImpl exportacaoService;
+
+    @Mock
+    private LancamentoService lancamentoService;
+
+    @Mock
+    private UsuarioService usuarioService;
+
+    @Test
+    public void devePrepararAExportacaoDeUmUsuarioExistente(){
+        //cenario
+        when(usuarioService.findById(1L)).thenReturn(Usuario.builder().id(1L).build());
+
+        //acao
+        Exportacao exportacao = exportacaoService.preparar(1L, 2021, "OFX");
+
+        //verificacao
+        assertEquals(FormatoExportacao.OFX, exportacao.getFormato());
+        assertEquals("lancamentos-1-2021.ofx", exportacao.getNomeArquivo());
+    }
+
+    @Test
+    public void deveLancarErroAoPrepararExportacaoEmFormatoInvalido(){
+        assertThrows(RegraNegocioException.class, () -> exportacaoService.preparar(1L, 2021, "pdf"));
+        verifyNoInteractions(usuarioService);
+    }
+
+    @Test
+    public void deveLancarErroAoPrepararExportacaoDeUsuarioInexistente(){
+        //cenario
+        when(usuarioService.findById(1L)).thenThrow(new ObjetoNaoEncontradoException("usuário não encontrado"));
+
+        //acao e verificacao
+        assertThrows(ObjetoNaoEncontradoException.class, () -> exportacaoService.preparar(1L, null, "csv"));
+    }
+
+    @Test
+    public void deveEscreverOsLancamentosEmCsv() throws IOException {
+        //cenario
+        percorrer(criarLancamento(1L, "Mercado, \"centro\"", TipoLancamento.DESPESA, StatusLancamento.PENDENTE));
+
+        //acao
+        String csv = escrever(new Exportacao(1L, 2021, FormatoExportacao.CSV));
+
+        //verificacao
+        assertEquals("id,descricao,mes,ano,valor,tipo,status,data_cadastro\r\n" +
+                "1,\"Mercado, \"\"centro\"\"\",3,2021,10.50,DESPESA,PENDENTE,2021-03-05\r\n", csv);
+        verify(lancamentoService).percorrer(Mockito.argThat(filtro -> filtro.getUsuario() == 1L && filtro.getAno() == 2021), Mockito.any());
+    }
+
+    @Test
+    public void deveEscreverOsLancamentosEmOfxSemOsCancelados() throws IOException {
+        //cenario
+        percorrer(
+                criarLancamento(1L, "Salario", TipoLancamento.RECEITA, StatusLancamento.EFETIVADO),
+                criarLancamento(2L, "Luz & agua", TipoLancamento.DESPESA, StatusLancamento.PENDENTE),
+                criarLancamento(3L, "Cancelado", TipoLancamento.DESPESA, StatusLancamento.CANCELADO));
+
+        //acao
+        String ofx = escrever(new Exportacao(1L, 2021, FormatoExportacao.OFX));
+
+        //verificacao
+        assertTrue(ofx.contains("<TRNTYPE>CREDIT</TRNTYPE><DTPOSTED>20210301</DTPOSTED><TRNAMT>10.50</TRNAMT><FITID>1</FITID>"));
+        assertTrue(ofx.contains("<TRNAMT>-10.50</TRNAMT><FITID>2</FITID><NAME>Luz &amp; agua</NAME>"));
+        assertFalse(ofx.contains("<FITID>3</FITID>"));
+        assertTrue(ofx.contains("<LEDGERBAL><BALAMT>0.00</BALAMT>"));
+        assertTrue(ofx.trim().endsWith("</OFX>"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void percorrer(LancamentoResumo... lancamentos) {
+        doAnswer(invocation -> {
+            Consumer<LancamentoResumo> consumidor = invocation.getArgument(1);
+            List.of(lancamentos).forEach(consumidor);
+            return null;
+        }).when(lancamentoService).percorrer(Mockito.any(LancamentoDTO.class), Mockito.any(Consumer.class));
+    }
+
+    private String escrever(Exportacao exportacao) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        exportacaoService.escrever(exportacao, saida);
+        return saida.toString(StandardCharsets.UTF_8);
+    }
+
+    private LancamentoResumo criarLancamento(Long id, String descricao, TipoLancamento tipo, StatusLancamento status) {
+        return LancamentoResumo.builder()
+                .id(id)
+                .descricao(descricao)
+                .mes(3)
+                .ano(2021)
+                .usuario(1L)
+                .valor(new BigDecimal("10.50"))
+                .dataCadastro(LocalDate.of(2021, 3, 5))
+                .tipo(tipo)
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,155 @@
+package com.mponte.minhasfinancas.services.impl;
+
+import com.mponte.minhasfinancas.model.dtos.LancamentoDTO;
+import com.mponte.minhasfinancas.model.entities.Lancamento;
+import com.mponte.minhasfinancas.services.exceptions.FilaCheiaException;
+import com.mponte.minhasfinancas.services.interfaces.LancamentoService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class GravacaoAgrupadaServiceTest {
+
+    private GravacaoAgrupadaServiceImpl gravacaoAgrupadaService;
+
+    @Mock
+    private LancamentoService lancamentoService;
+
+    private GravacaoAgrupadaServiceImpl criar(int capacidade, int tamanhoLote, Duration intervalo) {
+        when(lancamentoService.preparar(Mockito.any())).thenAnswer(invocation -> new Lancamento());
+        gravacaoAgrupadaService = new GravacaoAgrupadaServiceImpl(lancamentoService, new SimpleMeterRegistry(),
+                capacidade, tamanhoLote, intervalo, Duration.ZERO);
+        return gravacaoAgrupadaService;
+    }
+
+    @AfterEach
+    public void encerrar() throws InterruptedException {
+        gravacaoAgrupadaService.encerrar();
+    }
+
+    @Test
+    public void deveGravarLancamentosEnfileiradosEmUmUnicoLote() throws Exception {
+        //cenario
+        AtomicLong ids = new AtomicLong();
+        doAnswer(invocation -> {
+            List<Lancamento> lancamentos = invocation.getArgument(0);
+            lancamentos.forEach(lancamento -> lancamento.setId(ids.incrementAndGet()));
+            return null;
+        }).when(lancamentoService).salvarPreparados(Mockito.anyList());
+        GravacaoAgrupadaServiceImpl service = criar(10, 3, Duration.ofSeconds(10));
+
+        //acao
+        CompletableFuture<Lancamento> primeiro = service.enfileirar(new LancamentoDTO());
+        CompletableFuture<Lancamento> segundo = service.enfileirar(new LancamentoDTO());
+        CompletableFuture<Lancamento> terceiro = service.enfileirar(new LancamentoDTO());
+        service.iniciar();
+
+        //verificacao
+        assertEquals(1L, primeiro.get(5, TimeUnit.SECONDS).getId());
+        assertEquals(2L, segundo.get(5, TimeUnit.SECONDS).getId());
+        assertEquals(3L, terceiro.get(5, TimeUnit.SECONDS).getId());
+        verify(lancamentoService, times(1)).salvarPreparados(Mockito.argThat(lancamentos -> lancamentos.size() == 3));
+    }
+
+    @Test
+    public void deveGravarOLoteIncompletoAoFimDoIntervalo() throws Exception {
+        //cenario
+        GravacaoAgrupadaServiceImpl service = criar(10, 50, Duration.ofMillis(10));
+        service.iniciar();
+
+        //acao
+        Lancamento lancamento = service.enfileirar(new LancamentoDTO()).get(5, TimeUnit.SECONDS);
+
+        //verificacao
+        assertNotNull(lancamento);
+        verify(lancamentoService).salvarPreparados(List.of(lancamento));
+    }
+
+    @Test
+    public void deveRecusarLancamentosQuandoAFilaEstiverCheia(){
+        //cenario
+        GravacaoAgrupadaServiceImpl service = criar(1, 50, Duration.ofMillis(10));
+        service.enfileirar(new LancamentoDTO());
+
+        //acao e verificacao
+        assertThrows(FilaCheiaException.class, () -> service.enfileirar(new LancamentoDTO()));
+    }
+
+    @Test
+    public void deveFalharTodoOLoteQuandoAGravacaoFalhar() {
+        //cenario
+        doThrow(new DataIntegrityViolationException("erro")).when(lancamentoService).salvarPreparados(Mockito.anyList());
+        GravacaoAgrupadaServiceImpl service = criar(10, 2, Duration.ofSeconds(10));
+
+        //acao
+        CompletableFuture<Lancamento> primeiro = service.enfileirar(new LancamentoDTO());
+        CompletableFuture<Lancamento> segundo = service.enfileirar(new LancamentoDTO());
+        service.iniciar();
+
+        //verificacao
+        ExecutionException erro = assertThrows(ExecutionException.class, () -> primeiro.get(5, TimeUnit.SECONDS));
+        assertTrue(erro.getCause() instanceof DataIntegrityViolationException);
+        assertThrows(ExecutionException.class, () -> segundo.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void deveRegravarUmAUmOsLancamentosDeUmLoteQueFalhou() throws Exception {
+        //cenario
+        GravacaoAgrupadaServiceImpl service = criar(10, 2, Duration.ofSeconds(10));
+        when(lancamentoService.preparar(Mockito.any()))
+                .thenReturn(Lancamento.builder().descricao("valido").build(), Lancamento.builder().descricao("invalido").build());
+        doAnswer(invocation -> {
+            List<Lancamento> lancamentos = invocation.getArgument(0);
+            lancamentos.forEach(lancamento -> lancamento.setId(1L));
+            if (lancamentos.stream().anyMatch(lancamento -> lancamento.getDescricao().equals("invalido"))) {
+                throw new DataIntegrityViolationException("erro");
+            }
+            return null;
+        }).when(lancamentoService).salvarPreparados(Mockito.anyList());
+        CompletableFuture<Lancamento> valido = service.enfileirar(new LancamentoDTO());
+        CompletableFuture<Lancamento> invalido = service.enfileirar(new LancamentoDTO());
+
+        //acao
+        service.iniciar();
+
+        //verificacao
+        assertEquals(1L, valido.get(5, TimeUnit.SECONDS).getId());
+        ExecutionException erro = assertThrows(ExecutionException.class, () -> invalido.get(5, TimeUnit.SECONDS));
+        assertTrue(erro.getCause() instanceof DataIntegrityViolationException);
+        verify(lancamentoService, times(3)).salvarPreparados(Mockito.anyList());
+    }
+
+    @Test
+    public void deveGravarOQueEstiverNaFilaAoEncerrar() throws Exception {
+        //cenario
+        GravacaoAgrupadaServiceImpl service = criar(10, 50, Duration.ofSeconds(10));
+        CompletableFuture<Lancamento> pendente = service.enfileirar(new LancamentoDTO());
+        service.iniciar();
+
+        //acao
+        service.encerrar();
+
+        //verificacao
+        assertTrue(pendente.isDone());
+        assertFalse(pendente.isCompletedExceptionally());
+        assertThrows(FilaCheiaException.class, () -> service.enfileirar(new LancamentoDTO()));
+    }
+}
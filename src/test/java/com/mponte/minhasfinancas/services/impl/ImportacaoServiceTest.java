@@ -0,0 +1,145 @@
+package com.mponte.minhasfinancas.services.impl;
+
+import com.mponte.minhasfinancas.model.dtos.LancamentoDTO;
+import com.mponte.minhasfinancas.model.dtos.ProgressoImportacaoDTO;
+import com.mponte.minhasfinancas.model.entities.Lancamento;
+import com.mponte.minhasfinancas.services.exceptions.RegraNegocioException;
+import com.mponte.minhasfinancas.services.importacao.FormatoImportacao;
+import com.mponte.minhasfinancas.services.importacao.Importacao;
+import com.mponte.minhasfinancas.services.interfaces.LancamentoService;
+import com.mponte.minhasfinancas.services.interfaces.UsuarioService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class ImportacaoServiceTest {
+
+    private ImportacaoServiceImpl importacaoService;
+
+    @Mock
+    private LancamentoService lancamentoService;
+
+    @Mock
+    private UsuarioService usuarioService;
+
+    private final List<ProgressoImportacaoDTO> eventos = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp(){
+        importacaoService = new ImportacaoServiceImpl(lancamentoService, usuarioService, 2);
+        when(lancamentoService.preparar(Mockito.any(LancamentoDTO.class))).thenAnswer(invocation -> {
+            LancamentoDTO dto = invocation.getArgument(0);
+            if (dto.getValor() == null) {
+                throw new RegraNegocioException("Informe um valor válido.");
+            }
+            return Lancamento.builder().descricao(dto.getDescricao()).valor(dto.getValor()).build();
+        });
+    }
+
+    @Test
+    public void deveLancarErroAoPrepararImportacaoEmFormatoInvalido(){
+        assertThrows(RegraNegocioException.class, () -> importacaoService.preparar(1L, "xls"));
+        verifyNoInteractions(usuarioService);
+    }
+
+    @Test
+    public void deveImportarUmCsvGravandoEmLotesERejeitandoAsLinhasInvalidas() throws IOException {
+        //cenario
+        List<List<Lancamento>> lotes = new ArrayList<>();
+        doAnswer(invocation -> lotes.add(new ArrayList<>(invocation.getArgument(0))))
+                .when(lancamentoService).salvarPreparados(Mockito.anyList());
+        String csv = "descricao,mes,ano,valor,tipo\r\n" +
+                "\"Mercado, centro\",3,2021,10.50,DESPESA\r\n" +
+                "Salario,3,2021,\"1000,00\",RECEITA\r\n" +
+                "Sem valor,3,2021,,DESPESA\r\n" +
+                "Luz,4,2021,80.10,DESPESA\r\n";
+
+        //acao
+        ProgressoImportacaoDTO resumo = importar(FormatoImportacao.CSV, csv);
+
+        //verificacao
+        assertEquals(2, lotes.size());
+        assertEquals(4L, resumo.getLidos());
+        assertEquals(3L, resumo.getImportados());
+        assertEquals(1L, resumo.getRejeitados());
+        assertEquals("Mercado, centro", lotes.get(0).get(0).getDescricao());
+        assertEquals(new BigDecimal("1000.00"), lotes.get(0).get(1).getValor());
+        assertTrue(eventos.stream().anyMatch(e -> "erro".equals(e.getTipo()) && e.getLinha() == 4));
+        assertEquals("resumo", eventos.get(eventos.size() - 1).getTipo());
+    }
+
+    @Test
+    public void deveImportarUmOfxSgml() throws IOException {
+        //cenario
+        String ofx = "OFXHEADER:100\nDATA:OFXSGML\n\n<OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>\n" +
+                "<STMTTRN><TRNTYPE>DEBIT<DTPOSTED>20210305120000[-3:BRT]<TRNAMT>-10.50<MEMO>Luz &amp; agua\n</STMTTRN>\n" +
+                "<STMTTRN><TRNTYPE>CREDIT<DTPOSTED>20210401<TRNAMT>1000.00<NAME>Salario</STMTTRN>\n" +
+                "</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>";
+
+        //acao
+        ProgressoImportacaoDTO resumo = importar(FormatoImportacao.OFX, ofx);
+
+        //verificacao
+        ArgumentCaptor<LancamentoDTO> dtos = ArgumentCaptor.forClass(LancamentoDTO.class);
+        verify(lancamentoService, times(2)).preparar(dtos.capture());
+        LancamentoDTO despesa = dtos.getAllValues().get(0);
+        assertEquals("Luz & agua", despesa.getDescricao());
+        assertEquals("DESPESA", despesa.getTipo());
+        assertEquals(3, despesa.getMes());
+        assertEquals(2021, despesa.getAno());
+        assertEquals(new BigDecimal("10.50"), despesa.getValor());
+        assertEquals(1L, despesa.getUsuario());
+        assertEquals("RECEITA", dtos.getAllValues().get(1).getTipo());
+        assertEquals("Salario", dtos.getAllValues().get(1).getDescricao());
+        assertEquals(2L, resumo.getImportados());
+        verify(lancamentoService).salvarPreparados(Mockito.anyList());
+    }
+
+    @Test
+    public void deveInterromperAImportacaoDeUmCsvSemCabecalho() throws IOException {
+        //acao
+        ProgressoImportacaoDTO resumo = importar(FormatoImportacao.CSV, "Mercado,3,2021,10.50,DESPESA\r\n");
+
+        //verificacao
+        assertEquals("erro", eventos.get(0).getTipo());
+        assertEquals(0L, resumo.getImportados());
+        verify(lancamentoService, never()).salvarPreparados(Mockito.anyList());
+    }
+
+    @Test
+    public void deveRejeitarAsLinhasDeUmLoteQueFalhouAoGravar() throws IOException {
+        //cenario
+        doThrow(new IllegalStateException("falha")).when(lancamentoService).salvarPreparados(Mockito.anyList());
+
+        //acao
+        ProgressoImportacaoDTO resumo = importar(FormatoImportacao.CSV,
+                "tipo,valor,ano,mes,descricao\nDESPESA,1,2021,1,A\nDESPESA,2,2021,1,B\n");
+
+        //verificacao
+        assertEquals(0L, resumo.getImportados());
+        assertEquals(2L, resumo.getRejeitados());
+        assertEquals(2L, eventos.stream().filter(e -> "erro".equals(e.getTipo())).count());
+    }
+
+    private ProgressoImportacaoDTO importar(FormatoImportacao formato, String conteudo) throws IOException {
+        return importacaoService.importar(new Importacao(1L, formato),
+                new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8)), eventos::add);
+    }
+}
@@ -1,22 +1,35 @@
 package com.mponte.minhasfinancas.services.impl;
 
+import com.mponte.minhasfinancas.model.dtos.AtualizacaoStatusDTO;
+import com.mponte.minhasfinancas.model.dtos.CursorLancamento;
 import com.mponte.minhasfinancas.model.dtos.LancamentoDTO;
+import com.mponte.minhasfinancas.model.dtos.PaginaDTO;
+import com.mponte.minhasfinancas.model.dtos.ResultadoLoteDTO;
 import com.mponte.minhasfinancas.model.entities.Lancamento;
 import com.mponte.minhasfinancas.model.entities.Usuario;
 import com.mponte.minhasfinancas.model.enums.StatusLancamento;
 import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.model.projections.LancamentoResumo;
+import com.mponte.minhasfinancas.model.projections.TotalMensalUsuario;
 import com.mponte.minhasfinancas.repositories.LancamentoRepository;
+import com.mponte.minhasfinancas.services.events.LancamentosAlteradosEvent;
+import com.mponte.minhasfinancas.services.events.StatusLancamentosAlteradosEvent;
+import com.mponte.minhasfinancas.services.exceptions.AcessoNegadoException;
 import com.mponte.minhasfinancas.services.exceptions.ObjetoNaoEncontradoException;
 import com.mponte.minhasfinancas.services.exceptions.RegraNegocioException;
+import com.mponte.minhasfinancas.services.interfaces.ArquivamentoService;
+import com.mponte.minhasfinancas.services.interfaces.SaldoUsuarioService;
 import com.mponte.minhasfinancas.services.interfaces.UsuarioService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.Spy;
-import org.springframework.data.domain.Example;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
@@ -24,6 +37,8 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -42,6 +57,15 @@ public class LancamentoServiceTest {
     @Mock
     private UsuarioService usuarioService;
 
+    @Mock
+    private SaldoUsuarioService saldoUsuarioService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ArquivamentoService arquivamentoService;
+
     @Test
     public void deveSalvarUmLancamento(){
         //cenario
@@ -62,6 +86,46 @@ public class LancamentoServiceTest {
         Assertions.assertEquals(BigDecimal.valueOf(10), lancamentoSalvo.getValor());
         Assertions.assertEquals(TipoLancamento.RECEITA, lancamentoSalvo.getTipo());
         Assertions.assertEquals(StatusLancamento.PENDENTE, lancamentoSalvo.getStatus());
+        ArgumentCaptor<LancamentosAlteradosEvent> evento = ArgumentCaptor.forClass(LancamentosAlteradosEvent.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertTrue(evento.getValue().getAnteriores().isEmpty());
+        assertEquals(List.of(lancamento), evento.getValue().getAtuais());
+    }
+
+    @Test
+    public void deveSalvarUmLoteResolvendoCadaUsuarioUmaUnicaVez(){
+        //cenario
+        when(usuarioService.findById(1L)).thenReturn(criarUsuario());
+        when(usuarioService.findById(2L)).thenThrow(new ObjetoNaoEncontradoException("usuário não encontrado com o id: 2"));
+        LancamentoDTO invalido = criarDto();
+        invalido.setMes(13);
+        LancamentoDTO deOutroUsuario = criarDto();
+        deOutroUsuario.setUsuario(2L);
+        List<LancamentoDTO> dtos = List.of(criarDto(), invalido, criarDto(), deOutroUsuario, deOutroUsuario);
+        doAnswer(invocation -> {
+            List<Lancamento> lancamentos = invocation.getArgument(0);
+            long id = 10;
+            for (Lancamento lancamento : lancamentos) {
+                lancamento.setId(id++);
+            }
+            return null;
+        }).when(lancamentoRepository).salvarEmLote(Mockito.anyList());
+
+        //acao
+        List<ResultadoLoteDTO> resultados = lancamentoService.salvarLote(dtos);
+
+        //verificacao
+        assertEquals(5, resultados.size());
+        assertEquals(10L, resultados.get(0).getId());
+        assertEquals("Informe um Mês válido.", resultados.get(1).getErro());
+        assertNull(resultados.get(1).getId());
+        assertEquals(11L, resultados.get(2).getId());
+        assertEquals("usuário não encontrado com o id: 2", resultados.get(3).getErro());
+        assertEquals("usuário não encontrado com o id: 2", resultados.get(4).getErro());
+        verify(usuarioService, times(1)).findById(1L);
+        verify(usuarioService, times(1)).findById(2L);
+        verify(eventPublisher).publishEvent(Mockito.argThat((Object evento) ->
+                ((LancamentosAlteradosEvent) evento).getAtuais().size() == 2));
     }
 
     @Test
@@ -159,13 +223,52 @@ public class LancamentoServiceTest {
     public void deveDeletarUmLancamento(){
         //cenario
         Lancamento lancamentoADeletar = criarLancamento();
+        lancamentoADeletar.setUsuario(criarUsuario());
         doReturn(lancamentoADeletar).when(lancamentoService).obterLancamentoPorId(Mockito.anyLong());
 
         //acao
-        lancamentoService.deletar(1L);
+        lancamentoService.deletar(1L, lancamentoADeletar.getUsuario().getId());
 
         //
         verify(lancamentoRepository, times(1)).delete(lancamentoADeletar);
+        ArgumentCaptor<LancamentosAlteradosEvent> evento = ArgumentCaptor.forClass(LancamentosAlteradosEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(evento.capture());
+        assertEquals(List.of(lancamentoADeletar), evento.getValue().getAnteriores());
+        assertTrue(evento.getValue().getAtuais().isEmpty());
+    }
+
+    @Test
+    public void naoDeveAlterarLancamentosDeAnoArquivadoDuranteOArquivamento(){
+        //cenario
+        Lancamento lancamento = criarLancamento();
+        lancamento.setUsuario(criarUsuario());
+        doReturn(lancamento).when(lancamentoService).obterLancamentoPorId(Mockito.anyLong());
+        doThrow(new RegraNegocioException("O ano de 2000 está arquivado e não aceita lançamentos."))
+                .when(arquivamentoService).garantirAnosAbertos(Mockito.argThat(anos -> anos.contains(lancamento.getAno())));
+        when(lancamentoRepository.listarAnos(List.of(1L), 1L)).thenReturn(List.of(lancamento.getAno()));
+
+        //acao / verificacao
+        assertThrows(RegraNegocioException.class, () -> lancamentoService.deletar(1L, 1L));
+        assertThrows(RegraNegocioException.class, () -> lancamentoService.atualizarStatus(1L, StatusLancamento.EFETIVADO, 1L));
+        assertThrows(RegraNegocioException.class, () -> lancamentoService.atualizarStatus(
+                AtualizacaoStatusDTO.builder().ids(List.of(1L)).usuario(1L).status("EFETIVADO").build()));
+        verify(lancamentoRepository, never()).delete(Mockito.any(Lancamento.class));
+        verify(lancamentoRepository, never()).save(Mockito.any(Lancamento.class));
+        verify(lancamentoRepository, never()).atualizarStatus(Mockito.anyCollection(), Mockito.any(), Mockito.any(), Mockito.any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    public void naoDeveDeletarUmLancamentoDeOutroUsuario(){
+        //cenario
+        Lancamento lancamento = criarLancamento();
+        lancamento.setUsuario(Usuario.builder().id(2L).build());
+        doReturn(lancamento).when(lancamentoService).obterLancamentoPorId(Mockito.anyLong());
+
+        //acao / verificacao
+        assertThrows(AcessoNegadoException.class, () -> lancamentoService.deletar(1L, 3L));
+        verify(lancamentoRepository, never()).delete(Mockito.any());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -173,10 +276,9 @@ public class LancamentoServiceTest {
         //cenario
         LancamentoDTO dto = criarDto();
         Lancamento lancamento = criarLancamento();
-        doReturn(lancamento).when(lancamentoService).converterDTO(Mockito.any(LancamentoDTO.class));
         lancamento.setId(1L);
         List<Lancamento> lancamentos = List.of(lancamento);
-        when(lancamentoRepository.findAll(Mockito.any(Example.class))).thenReturn(lancamentos);
+        when(lancamentoRepository.buscar(dto)).thenReturn(lancamentos);
 
         //ação
         List<Lancamento> lancamentosBuscados = lancamentoService.buscar(dto);
@@ -184,39 +286,210 @@ public class LancamentoServiceTest {
         //verificação
         assertNotEquals(0,lancamentosBuscados.size());
         assertNotNull(lancamentosBuscados);
+        verify(usuarioService, never()).findById(Mockito.anyLong());
     }
     
+    @Test
+    public void deveRetornarOCursorDaProximaPaginaQuandoHouverMaisLancamentos(){
+        //cenario
+        LancamentoDTO filtro = LancamentoDTO.builder().usuario(1L).build();
+        LancamentoResumo primeiro = criarResumo(1L);
+        LancamentoResumo segundo = criarResumo(2L);
+        when(lancamentoRepository.buscarPagina(filtro, null, 2)).thenReturn(List.of(primeiro, segundo));
+
+        //ação
+        PaginaDTO<LancamentoResumo> pagina = lancamentoService.buscarPagina(filtro, null, 1);
+
+        //verificação
+        assertEquals(List.of(primeiro), pagina.getItens());
+        CursorLancamento cursor = CursorLancamento.decodificar(pagina.getProximoCursor());
+        assertEquals(2000, cursor.getAno());
+        assertEquals(1, cursor.getMes());
+        assertEquals(1L, cursor.getId());
+    }
+
+    @Test
+    public void naoDeveRetornarCursorNaUltimaPagina(){
+        //cenario
+        LancamentoDTO filtro = LancamentoDTO.builder().usuario(1L).build();
+        when(lancamentoRepository.buscarPagina(filtro, null, 101)).thenReturn(List.of(criarResumo(1L)));
+
+        //ação
+        PaginaDTO<LancamentoResumo> pagina = lancamentoService.buscarPagina(filtro, null, null);
+
+        //verificação
+        assertEquals(1, pagina.getItens().size());
+        assertNull(pagina.getProximoCursor());
+    }
+
+    @Test
+    public void deveLancarErroAoBuscarComLimiteOuCursorInvalido(){
+        LancamentoDTO filtro = LancamentoDTO.builder().usuario(1L).build();
+
+        assertThrows(RegraNegocioException.class, () -> lancamentoService.buscarPagina(filtro, null, 0));
+        assertThrows(RegraNegocioException.class, () -> lancamentoService.buscarPagina(filtro, null, 1001));
+        assertThrows(RegraNegocioException.class, () -> lancamentoService.buscarPagina(filtro, "invalido", 10));
+    }
+
     @Test
     public void deveAtualizarOStatusDoLancamento(){
         //cenario
         Lancamento lancamentoParaAtualizarStatus = criarLancamento();
         lancamentoParaAtualizarStatus.setId(1L);
         lancamentoParaAtualizarStatus.setStatus(StatusLancamento.PENDENTE);
+        lancamentoParaAtualizarStatus.setUsuario(criarUsuario());
 
         StatusLancamento novoStatus = StatusLancamento.EFETIVADO;
         doReturn(lancamentoParaAtualizarStatus).when(lancamentoService).obterLancamentoPorId(Mockito.anyLong());
         Mockito.when(lancamentoRepository.save(Mockito.any(Lancamento.class))).thenReturn(lancamentoParaAtualizarStatus);
 
         //acao
-        lancamentoService.atualizarStatus(lancamentoParaAtualizarStatus.getId(),novoStatus);
+        lancamentoService.atualizarStatus(lancamentoParaAtualizarStatus.getId(), novoStatus,
+                lancamentoParaAtualizarStatus.getUsuario().getId());
 
         //verificacao
         assertEquals(novoStatus, lancamentoParaAtualizarStatus.getStatus());
         verify(lancamentoRepository).save(lancamentoParaAtualizarStatus);
     }
 
+    @Test
+    public void deveAtualizarOStatusEmMassaPublicandoOsTotaisAnteriores(){
+        //cenario
+        AtualizacaoStatusDTO dto = AtualizacaoStatusDTO.builder().usuario(1L).ano(2021).mes(3)
+                .statusAtual("PENDENTE").status("EFETIVADO").build();
+        List<Long> travados = LongStream.rangeClosed(1, 1500).boxed().collect(Collectors.toList());
+        TotalMensalUsuario primeiro = Mockito.mock(TotalMensalUsuario.class);
+        TotalMensalUsuario segundo = Mockito.mock(TotalMensalUsuario.class);
+        when(lancamentoRepository.travarParaStatus(1L, 2021, 3, StatusLancamento.PENDENTE, StatusLancamento.EFETIVADO))
+                .thenReturn(travados);
+        when(lancamentoRepository.totalizarParaStatus(travados.subList(0, 1000), 1L, StatusLancamento.PENDENTE, StatusLancamento.EFETIVADO))
+                .thenReturn(List.of(primeiro));
+        when(lancamentoRepository.totalizarParaStatus(travados.subList(1000, 1500), 1L, StatusLancamento.PENDENTE, StatusLancamento.EFETIVADO))
+                .thenReturn(List.of(segundo));
+        when(lancamentoRepository.atualizarStatus(Mockito.anyCollection(), Mockito.eq(1L), Mockito.eq(StatusLancamento.PENDENTE),
+                Mockito.eq(StatusLancamento.EFETIVADO))).thenAnswer(invocacao -> invocacao.<List<Long>>getArgument(0).size());
+
+        //acao
+        int atualizados = lancamentoService.atualizarStatus(dto);
+
+        //verificacao
+        assertEquals(1500, atualizados);
+        InOrder ordem = Mockito.inOrder(lancamentoRepository);
+        ordem.verify(lancamentoRepository).travarParaStatus(1L, 2021, 3, StatusLancamento.PENDENTE, StatusLancamento.EFETIVADO);
+        ordem.verify(lancamentoRepository).totalizarParaStatus(travados.subList(0, 1000), 1L, StatusLancamento.PENDENTE, StatusLancamento.EFETIVADO);
+        ArgumentCaptor<StatusLancamentosAlteradosEvent> evento = ArgumentCaptor.forClass(StatusLancamentosAlteradosEvent.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertEquals(List.of(primeiro, segundo), evento.getValue().getAnteriores());
+        assertEquals(StatusLancamento.EFETIVADO, evento.getValue().getStatus());
+        verify(lancamentoRepository, never()).findById(Mockito.anyLong());
+    }
+
+    @Test
+    public void naoDeveAtualizarOStatusEmMassaDeLancamentosDeOutroUsuario(){
+        //cenario
+        AtualizacaoStatusDTO dto = AtualizacaoStatusDTO.builder().ids(List.of(1L, 2L)).usuario(1L).status("EFETIVADO").build();
+        when(lancamentoRepository.countByIdInAndUsuarioIdNot(dto.getIds(), 1L)).thenReturn(1L);
+
+        //acao / verificacao
+        assertThrows(AcessoNegadoException.class, () -> lancamentoService.atualizarStatus(dto));
+        verify(lancamentoRepository, never()).atualizarStatus(Mockito.anyCollection(), Mockito.any(), Mockito.any(), Mockito.any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    public void deveLancarErroAoAtualizarStatusEmMassaSemFiltroOuComStatusInvalido(){
+        assertThrows(RegraNegocioException.class,
+                () -> lancamentoService.atualizarStatus(AtualizacaoStatusDTO.builder().status("EFETIVADO").build()));
+        assertThrows(RegraNegocioException.class,
+                () -> lancamentoService.atualizarStatus(AtualizacaoStatusDTO.builder().usuario(1L).status("PAGO").build()));
+        assertThrows(RegraNegocioException.class,
+                () -> lancamentoService.atualizarStatus(AtualizacaoStatusDTO.builder().usuario(1L).build()));
+        verifyNoInteractions(lancamentoRepository, eventPublisher);
+    }
+
     @Test
     public void NaoDeveAtualizarOStatusDoLancamentoComIdInexistente(){
         //cenario
         //acao
         try {
-            lancamentoService.atualizarStatus(1L, StatusLancamento.EFETIVADO);
+            lancamentoService.atualizarStatus(1L, StatusLancamento.EFETIVADO, 1L);
             fail();
         }catch (ObjetoNaoEncontradoException e){
             assertEquals("não foi encontrado um lançamento com o id: 1", e.getMessage());
         }
     }
 
+    @Test
+    public void deveObterOSaldoDoLivroDeSaldos(){
+        //cenario
+        when(saldoUsuarioService.saldo(1L)).thenReturn(Optional.of(BigDecimal.valueOf(5)));
+
+        //acao
+        BigDecimal saldo = lancamentoService.saldoUsuario(1L);
+
+        //verificacao
+        assertEquals(BigDecimal.valueOf(5), saldo);
+        verify(usuarioService, never()).findById(Mockito.anyLong());
+        verify(lancamentoRepository, never()).buscarSaldoPorTipoLancamento(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void deveCalcularOSaldoQuandoNaoHouverRegistroNoLivroDeSaldos(){
+        //cenario
+        Usuario usuario = criarUsuario();
+        when(saldoUsuarioService.saldo(1L)).thenReturn(Optional.empty());
+        when(usuarioService.findById(1L)).thenReturn(usuario);
+        when(lancamentoRepository.buscarSaldoPorTipoLancamento(usuario, TipoLancamento.RECEITA)).thenReturn(BigDecimal.valueOf(30));
+        when(lancamentoRepository.buscarSaldoPorTipoLancamento(usuario, TipoLancamento.DESPESA)).thenReturn(BigDecimal.valueOf(12));
+        when(saldoUsuarioService.saldoArquivado(1L)).thenReturn(BigDecimal.ZERO);
+
+        //acao
+        BigDecimal saldo = lancamentoService.saldoUsuario(1L);
+
+        //verificacao
+        assertEquals(new BigDecimal("18.00"), saldo);
+    }
+
+    @Test
+    public void deveSomarOsAnosArquivadosAoCalcularOSaldo(){
+        //cenario
+        Usuario usuario = criarUsuario();
+        when(saldoUsuarioService.saldo(1L)).thenReturn(Optional.empty());
+        when(usuarioService.findById(1L)).thenReturn(usuario);
+        when(lancamentoRepository.buscarSaldoPorTipoLancamento(usuario, TipoLancamento.RECEITA)).thenReturn(BigDecimal.valueOf(30));
+        when(saldoUsuarioService.saldoArquivado(1L)).thenReturn(BigDecimal.valueOf(-8));
+
+        //acao
+        BigDecimal saldo = lancamentoService.saldoUsuario(1L);
+
+        //verificacao
+        assertEquals(new BigDecimal("22.00"), saldo);
+    }
+
+    @Test
+    public void naoDeveAceitarLancamentosEmAnoArquivado(){
+        //cenário
+        Lancamento lancamento = criarLancamento();
+        lancamento.setUsuario(criarUsuario());
+        when(arquivamentoService.arquivado(lancamento.getAno())).thenReturn(true);
+
+        //acao / verificação
+        RegraNegocioException erro = assertThrows(RegraNegocioException.class, () -> lancamentoService.validar(lancamento));
+        assertTrue(erro.getMessage().contains("arquivado"));
+    }
+
+    @Test
+    public void naoDeveAceitarValorComMaisDeDuasCasasDecimais(){
+        //cenário
+        Lancamento lancamento = criarLancamento();
+        lancamento.setUsuario(criarUsuario());
+        lancamento.setValor(new BigDecimal("10.005"));
+
+        //acao / verificação
+        RegraNegocioException erro = assertThrows(RegraNegocioException.class, () -> lancamentoService.validar(lancamento));
+        assertTrue(erro.getMessage().contains("casas decimais"));
+    }
+
     @Test
     public void deveValidarUmLancamentoComSucesso(){
         //cenário
@@ -293,6 +566,19 @@ public class LancamentoServiceTest {
                 .build();
     }
 
+    private LancamentoResumo criarResumo(Long id) {
+        return LancamentoResumo.builder()
+                .id(id)
+                .descricao("descricao")
+                .mes(1)
+                .ano(2000)
+                .usuario(1L)
+                .valor(BigDecimal.valueOf(10))
+                .tipo(TipoLancamento.RECEITA)
+                .status(StatusLancamento.PENDENTE)
+                .build();
+    }
+
     private LancamentoDTO criarDto() {
         return LancamentoDTO.builder()
                 .descricao("descricao")
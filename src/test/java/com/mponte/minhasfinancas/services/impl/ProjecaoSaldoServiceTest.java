@@ -0,0 +1,166 @@
+package com.mponte.minhasfinancas.services.impl;
+
+import com.mponte.minhasfinancas.model.dtos.ProjecaoMesDTO;
+import com.mponte.minhasfinancas.model.dtos.ProjecaoSaldoDTO;
+import com.mponte.minhasfinancas.model.entities.Lancamento;
+import com.mponte.minhasfinancas.model.entities.Recorrencia;
+import com.mponte.minhasfinancas.model.entities.ResumoMensal;
+import com.mponte.minhasfinancas.model.entities.ResumoMensalId;
+import com.mponte.minhasfinancas.model.entities.Usuario;
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.model.projections.TotalMensalUsuario;
+import com.mponte.minhasfinancas.repositories.RecorrenciaRepository;
+import com.mponte.minhasfinancas.repositories.ResumoMensalRepository;
+import com.mponte.minhasfinancas.services.events.LancamentosAlteradosEvent;
+import com.mponte.minhasfinancas.services.events.StatusLancamentosAlteradosEvent;
+import com.mponte.minhasfinancas.services.exceptions.RegraNegocioException;
+import com.mponte.minhasfinancas.services.interfaces.UsuarioService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class ProjecaoSaldoServiceTest {
+
+    private ProjecaoSaldoServiceImpl projecaoSaldoService;
+
+    @Mock
+    private ResumoMensalRepository resumoMensalRepository;
+
+    @Mock
+    private RecorrenciaRepository recorrenciaRepository;
+
+    @Mock
+    private UsuarioService usuarioService;
+
+    @BeforeEach
+    public void setUp(){
+        Clock relogio = Clock.fixed(Instant.parse("2021-03-10T12:00:00Z"), ZoneOffset.UTC);
+        projecaoSaldoService = new ProjecaoSaldoServiceImpl(resumoMensalRepository, recorrenciaRepository, usuarioService,
+                100, Duration.ofMinutes(10), relogio);
+        when(resumoMensalRepository.findByIdUsuarioId(1L)).thenReturn(List.of(
+                resumo(1, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 1000),
+                resumo(2, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, 200),
+                resumo(2, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 100),
+                resumo(2, TipoLancamento.DESPESA, StatusLancamento.CANCELADO, 999),
+                resumo(3, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 50),
+                resumo(4, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 300)));
+        when(recorrenciaRepository.findByUsuarioId(1L)).thenReturn(List.of(Recorrencia.builder()
+                .valor(BigDecimal.valueOf(500))
+                .tipo(TipoLancamento.RECEITA)
+                .inicio(LocalDate.of(2021, 2, 5))
+                .intervaloMeses(1)
+                .proximaOcorrencia(LocalDate.of(2021, 2, 5))
+                .ocorrencias(0L)
+                .build()));
+    }
+
+    @Test
+    public void deveProjetarOSaldoAcumuladoComPendentesERecorrencias(){
+        //acao
+        ProjecaoSaldoDTO projecao = projecaoSaldoService.projetar(1L, 3);
+
+        //verificacao
+        assertEquals(new BigDecimal("800.00"), projecao.getSaldoRealizado());
+        assertEquals(new BigDecimal("-100.00"), projecao.getPendentesAtrasados());
+        assertEquals(3, projecao.getMeses().size());
+
+        ProjecaoMesDTO marco = projecao.getMeses().get(0);
+        assertEquals(2021, marco.getAno());
+        assertEquals(3, marco.getMes());
+        assertEquals(new BigDecimal("50.00"), marco.getRealizado());
+        assertEquals(new BigDecimal("1000.00"), marco.getRecorrente());
+        assertEquals(new BigDecimal("850.00"), marco.getSaldoRealizado());
+        assertEquals(new BigDecimal("1750.00"), marco.getSaldoProjetado());
+
+        ProjecaoMesDTO abril = projecao.getMeses().get(1);
+        assertEquals(new BigDecimal("-300.00"), abril.getPendente());
+        assertEquals(new BigDecimal("850.00"), abril.getSaldoRealizado());
+        assertEquals(new BigDecimal("1950.00"), abril.getSaldoProjetado());
+        assertEquals(new BigDecimal("2450.00"), projecao.getMeses().get(2).getSaldoProjetado());
+    }
+
+    @Test
+    public void deveAtualizarOsBaldesIncrementalmenteSemRecarregarOHistorico(){
+        //cenario
+        projecaoSaldoService.projetar(1L, 1);
+        Lancamento despesa = Lancamento.builder()
+                .usuario(Usuario.builder().id(1L).build())
+                .ano(2021).mes(3)
+                .tipo(TipoLancamento.DESPESA)
+                .status(StatusLancamento.EFETIVADO)
+                .valor(BigDecimal.valueOf(30))
+                .build();
+        TotalMensalUsuario pendente = mock(TotalMensalUsuario.class);
+        when(pendente.getUsuarioId()).thenReturn(1L);
+        when(pendente.getAno()).thenReturn(2021);
+        when(pendente.getMes()).thenReturn(2);
+        when(pendente.getTipo()).thenReturn(TipoLancamento.DESPESA);
+        when(pendente.getStatus()).thenReturn(StatusLancamento.PENDENTE);
+        when(pendente.getTotal()).thenReturn(BigDecimal.valueOf(100));
+
+        //acao
+        projecaoSaldoService.aplicar(LancamentosAlteradosEvent.inclusao(List.of(despesa)));
+        projecaoSaldoService.aplicar(new StatusLancamentosAlteradosEvent(List.of(pendente), StatusLancamento.EFETIVADO));
+        ProjecaoSaldoDTO projecao = projecaoSaldoService.projetar(1L, 1);
+
+        //verificacao
+        assertEquals(new BigDecimal("700.00"), projecao.getSaldoRealizado());
+        assertEquals(new BigDecimal("0.00"), projecao.getPendentesAtrasados());
+        assertEquals(new BigDecimal("20.00"), projecao.getMeses().get(0).getRealizado());
+        assertEquals(new BigDecimal("1720.00"), projecao.getMeses().get(0).getSaldoProjetado());
+        verify(resumoMensalRepository, times(1)).findByIdUsuarioId(1L);
+    }
+
+    @Test
+    public void naoDeveManterEmCacheUmaCargaConcorrenteComUmaAlteracao(){
+        //cenario
+        Lancamento despesa = Lancamento.builder()
+                .usuario(Usuario.builder().id(1L).build())
+                .ano(2021).mes(3)
+                .tipo(TipoLancamento.DESPESA)
+                .status(StatusLancamento.EFETIVADO)
+                .valor(BigDecimal.valueOf(30))
+                .build();
+        List<ResumoMensal> resumos = resumoMensalRepository.findByIdUsuarioId(1L);
+        when(resumoMensalRepository.findByIdUsuarioId(1L)).thenAnswer(invocacao -> {
+            projecaoSaldoService.aplicar(LancamentosAlteradosEvent.inclusao(List.of(despesa)));
+            return resumos;
+        }).thenReturn(resumos);
+        clearInvocations(resumoMensalRepository);
+
+        //acao
+        projecaoSaldoService.projetar(1L, 1);
+        projecaoSaldoService.projetar(1L, 1);
+        projecaoSaldoService.projetar(1L, 1);
+
+        //verificacao
+        verify(resumoMensalRepository, times(2)).findByIdUsuarioId(1L);
+    }
+
+    @Test
+    public void deveLancarErroQuandoAQuantidadeDeMesesForInvalida(){
+        assertThrows(RegraNegocioException.class, () -> projecaoSaldoService.projetar(1L, 0));
+        assertThrows(RegraNegocioException.class, () -> projecaoSaldoService.projetar(1L, 61));
+    }
+
+    private ResumoMensal resumo(int mes, TipoLancamento tipo, StatusLancamento status, long total) {
+        return new ResumoMensal(new ResumoMensalId(1L, 2021, mes, tipo, status), BigDecimal.valueOf(total), 1L);
+    }
+}
@@ -0,0 +1,170 @@
+package com.mponte.minhasfinancas.services.impl;
+
+import com.mponte.minhasfinancas.model.dtos.MaterializacaoDTO;
+import com.mponte.minhasfinancas.model.dtos.RecorrenciaDTO;
+import com.mponte.minhasfinancas.model.entities.Lancamento;
+import com.mponte.minhasfinancas.model.entities.Recorrencia;
+import com.mponte.minhasfinancas.model.entities.Usuario;
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.repositories.RecorrenciaRepository;
+import com.mponte.minhasfinancas.services.exceptions.RegraNegocioException;
+import com.mponte.minhasfinancas.services.interfaces.ArquivamentoService;
+import com.mponte.minhasfinancas.services.interfaces.LancamentoService;
+import com.mponte.minhasfinancas.services.interfaces.UsuarioService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class RecorrenciaServiceTest {
+    private static final LocalDate HOJE = LocalDate.of(2021, 4, 15);
+
+    private RecorrenciaServiceImpl recorrenciaService;
+
+    @Mock
+    private RecorrenciaRepository recorrenciaRepository;
+
+    @Mock
+    private UsuarioService usuarioService;
+
+    @Mock
+    private LancamentoService lancamentoService;
+
+    @Mock
+    private ArquivamentoService arquivamentoService;
+
+    @BeforeEach
+    public void setUp(){
+        recorrenciaService = new RecorrenciaServiceImpl(recorrenciaRepository, usuarioService, lancamentoService,
+                arquivamentoService, 100);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void deveMaterializarAsOcorrenciasAtrasadasEAvancarARecorrencia(){
+        //cenario
+        Recorrencia recorrencia = criarRecorrencia(7L, LocalDate.of(2021, 1, 31), 1, null);
+        when(recorrenciaRepository.buscarVencidas(Mockito.eq(HOJE), Mockito.eq(1), Mockito.eq(4), Mockito.eq(0L), Mockito.any()))
+                .thenReturn(List.of(recorrencia));
+
+        //acao
+        MaterializacaoDTO lote = recorrenciaService.materializarLote(1, 4, 0L, HOJE);
+
+        //verificacao
+        ArgumentCaptor<List<Lancamento>> captor = ArgumentCaptor.forClass(List.class);
+        verify(lancamentoService).salvarPreparados(captor.capture());
+        List<Lancamento> lancamentos = captor.getValue();
+        assertEquals(List.of(1, 2, 3), lancamentos.stream().map(Lancamento::getMes).collect(Collectors.toList()));
+        assertTrue(lancamentos.stream().allMatch(lancamento -> lancamento.getRecorrencia() == 7L
+                && lancamento.getStatus() == StatusLancamento.PENDENTE && HOJE.equals(lancamento.getDataCadastro())));
+        assertEquals(LocalDate.of(2021, 4, 30), recorrencia.getProximaOcorrencia());
+        assertEquals(3L, recorrencia.getOcorrencias());
+        assertEquals(1, lote.getRecorrencias());
+        assertEquals(3, lote.getLancamentos());
+        assertEquals(7L, lote.getUltimaRecorrencia());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void deveRespeitarOIntervaloADataFinalEOsAnosArquivados(){
+        //cenario
+        Recorrencia recorrencia = criarRecorrencia(7L, LocalDate.of(2020, 11, 5), 2, LocalDate.of(2021, 3, 31));
+        when(arquivamentoService.arquivado(2020)).thenReturn(true);
+        when(recorrenciaRepository.buscarVencidas(Mockito.any(), Mockito.anyInt(), Mockito.anyInt(), Mockito.any(), Mockito.any()))
+                .thenReturn(List.of(recorrencia));
+
+        //acao
+        recorrenciaService.materializarLote(0, 1, null, HOJE);
+
+        //verificacao
+        ArgumentCaptor<List<Lancamento>> captor = ArgumentCaptor.forClass(List.class);
+        verify(lancamentoService).salvarPreparados(captor.capture());
+        assertEquals(List.of(1, 3), captor.getValue().stream().map(Lancamento::getMes).collect(Collectors.toList()));
+        assertEquals(LocalDate.of(2021, 5, 5), recorrencia.getProximaOcorrencia());
+    }
+
+    @Test
+    public void naoDeveGravarNadaQuandoNaoHouverRecorrenciasVencidas(){
+        //cenario
+        when(recorrenciaRepository.buscarVencidas(Mockito.any(), Mockito.anyInt(), Mockito.anyInt(), Mockito.any(), Mockito.any()))
+                .thenReturn(List.of());
+
+        //acao
+        MaterializacaoDTO lote = recorrenciaService.materializarLote(0, 1, 42L, HOJE);
+
+        //verificacao
+        assertEquals(0, lote.getRecorrencias());
+        assertEquals(42L, lote.getUltimaRecorrencia());
+        verify(lancamentoService, never()).salvarPreparados(Mockito.any());
+    }
+
+    @Test
+    public void deveSalvarUmaRecorrenciaValidandoOModeloComoLancamento(){
+        //cenario
+        Usuario usuario = Usuario.builder().id(1L).build();
+        when(usuarioService.findById(1L)).thenReturn(usuario);
+        when(recorrenciaRepository.save(Mockito.any(Recorrencia.class))).thenAnswer(invocation -> {
+            Recorrencia recorrencia = invocation.getArgument(0);
+            recorrencia.setId(9L);
+            return recorrencia;
+        });
+
+        //acao
+        RecorrenciaDTO salva = recorrenciaService.salvar(RecorrenciaDTO.builder()
+                .descricao("Salario")
+                .usuario(1L)
+                .valor(BigDecimal.valueOf(5000))
+                .tipo("RECEITA")
+                .inicio(LocalDate.of(2021, 1, 5))
+                .build());
+
+        //verificacao
+        assertEquals(9L, salva.getId());
+        assertEquals(1, salva.getIntervaloMeses());
+        assertEquals(LocalDate.of(2021, 1, 5), salva.getProximaOcorrencia());
+        verify(lancamentoService).validar(Mockito.argThat(lancamento -> lancamento.getMes() == 1
+                && lancamento.getAno() == 2021 && lancamento.getUsuario() == usuario));
+    }
+
+    @Test
+    public void deveLancarErroAoSalvarUmaRegraInvalida(){
+        assertThrows(RegraNegocioException.class, () -> recorrenciaService.salvar(RecorrenciaDTO.builder()
+                .inicio(LocalDate.of(2021, 1, 5)).intervaloMeses(0).build()));
+        assertThrows(RegraNegocioException.class, () -> recorrenciaService.salvar(RecorrenciaDTO.builder().build()));
+        assertThrows(RegraNegocioException.class, () -> recorrenciaService.salvar(RecorrenciaDTO.builder()
+                .inicio(LocalDate.of(2021, 1, 5)).fim(LocalDate.of(2020, 12, 31)).build()));
+        assertThrows(RegraNegocioException.class, () -> recorrenciaService.salvar(RecorrenciaDTO.builder()
+                .inicio(LocalDate.of(2021, 1, 5)).tipo("MENSAL").build()));
+        verify(recorrenciaRepository, never()).save(Mockito.any());
+    }
+
+    private Recorrencia criarRecorrencia(Long id, LocalDate inicio, int intervalo, LocalDate fim) {
+        return Recorrencia.builder()
+                .id(id)
+                .descricao("Aluguel")
+                .usuario(Usuario.builder().id(1L).build())
+                .valor(BigDecimal.valueOf(800))
+                .tipo(TipoLancamento.DESPESA)
+                .inicio(inicio)
+                .intervaloMeses(intervalo)
+                .fim(fim)
+                .proximaOcorrencia(inicio)
+                .ocorrencias(0L)
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.mponte.minhasfinancas.services.impl;
+
+import com.mponte.minhasfinancas.model.dtos.RelatorioAnualDTO;
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.model.projections.LancamentoResumo;
+import com.mponte.minhasfinancas.repositories.LancamentoRepository;
+import com.mponte.minhasfinancas.services.exceptions.RegraNegocioException;
+import com.mponte.minhasfinancas.services.interfaces.UsuarioService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class RelatorioAnualServiceTest {
+
+    private RelatorioAnualServiceImpl relatorioAnualService;
+
+    @Mock
+    private LancamentoRepository lancamentoRepository;
+
+    @Mock
+    private UsuarioService usuarioService;
+
+
+    @BeforeEach
+    public void setUp(){
+        relatorioAnualService = new RelatorioAnualServiceImpl(lancamentoRepository, usuarioService, 2);
+    }
+
+    @AfterEach
+    public void tearDown(){
+        relatorioAnualService.encerrar();
+    }
+
+    @Test
+    public void deveGerarORelatorioComOsLancamentosDoAno(){
+        //cenario
+        doAnswer(invocation -> {
+            Consumer<LancamentoResumo> consumidor = invocation.getArgument(1);
+            consumidor.accept(new LancamentoResumo(1L, "Mercado", 1, 2021, 1L, BigDecimal.valueOf(100), null,
+                    TipoLancamento.DESPESA, StatusLancamento.PENDENTE));
+            consumidor.accept(new LancamentoResumo(2L, "Salario", 2, 2021, 1L, BigDecimal.valueOf(500), null,
+                    TipoLancamento.RECEITA, StatusLancamento.EFETIVADO));
+            return null;
+        }).when(lancamentoRepository).percorrer(Mockito.argThat(filtro -> filtro.getUsuario() == 1L
+                && filtro.getAno() == 2021), Mockito.any());
+
+        //acao
+        RelatorioAnualDTO relatorio = relatorioAnualService.gerar(1L, 2021, null);
+
+        //verificacao
+        assertEquals(2L, relatorio.getQuantidade());
+        assertEquals(new BigDecimal("400.00"), relatorio.getSaldo());
+        assertEquals(new BigDecimal("600.00"), relatorio.getMeses().get(1).getVariacaoSaldo());
+        assertEquals("Mercado", relatorio.getMaioresDespesas().get(0).getDescricao());
+        verify(usuarioService).findById(1L);
+    }
+
+    @Test
+    public void deveLancarErroQuandoOLimiteForInvalido(){
+        assertThrows(RegraNegocioException.class, () -> relatorioAnualService.gerar(1L, 2021, 0));
+        assertThrows(RegraNegocioException.class, () -> relatorioAnualService.gerar(1L, 2021, 101));
+        assertThrows(RegraNegocioException.class, () -> relatorioAnualService.gerar(1L, null, null));
+    }
+}
@@ -0,0 +1,273 @@
+package com.mponte.minhasfinancas.services.impl;
+
+import com.mponte.minhasfinancas.model.dtos.ResumoAnualDTO;
+import com.mponte.minhasfinancas.model.dtos.ResumoMesDTO;
+import com.mponte.minhasfinancas.model.entities.Lancamento;
+import com.mponte.minhasfinancas.model.entities.ResumoMensal;
+import com.mponte.minhasfinancas.model.entities.ResumoMensalId;
+import com.mponte.minhasfinancas.model.entities.Usuario;
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.model.projections.TotalMensal;
+import com.mponte.minhasfinancas.model.projections.TotalMensalUsuario;
+import com.mponte.minhasfinancas.repositories.LancamentoRepository;
+import com.mponte.minhasfinancas.repositories.ResumoMensalRepository;
+import com.mponte.minhasfinancas.services.events.LancamentosAlteradosEvent;
+import com.mponte.minhasfinancas.services.events.StatusLancamentosAlteradosEvent;
+import com.mponte.minhasfinancas.services.exceptions.RegraNegocioException;
+import com.mponte.minhasfinancas.services.interfaces.ArquivamentoService;
+import com.mponte.minhasfinancas.services.interfaces.UsuarioService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class ResumoMensalServiceTest {
+
+    private ResumoMensalServiceImpl resumoMensalService;
+
+    @Mock
+    private ResumoMensalRepository resumoMensalRepository;
+
+    @Mock
+    private LancamentoRepository lancamentoRepository;
+
+    @Mock
+    private UsuarioService usuarioService;
+
+    @Mock
+    private ArquivamentoService arquivamentoService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void setUp(){
+        resumoMensalService = new ResumoMensalServiceImpl(resumoMensalRepository, lancamentoRepository, usuarioService, arquivamentoService,
+                transactionManager, true);
+    }
+
+    @Test
+    public void deveMontarOResumoAnualAPartirDoConsolidado(){
+        //cenario
+        when(resumoMensalRepository.findByIdUsuarioIdAndIdAno(1L, 2021)).thenReturn(List.of(
+                consolidado(1, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 100, 2),
+                consolidado(1, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 30, 1),
+                consolidado(3, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, 50, 1)));
+
+        //acao
+        ResumoAnualDTO resumo = resumoMensalService.resumoAnual(1L, 2021);
+
+        //verificacao
+        assertEquals(12, resumo.getMeses().size());
+        assertEquals(new BigDecimal("20.00"), resumo.getSaldo());
+        ResumoMesDTO janeiro = resumo.getMeses().get(0);
+        assertEquals(new BigDecimal("70.00"), janeiro.getSaldo());
+        assertEquals(new BigDecimal("100.00"), janeiro.getStatus().get(StatusLancamento.EFETIVADO).getReceitas());
+        assertEquals(2L, janeiro.getStatus().get(StatusLancamento.EFETIVADO).getQuantidade());
+        assertEquals(new BigDecimal("30.00"), janeiro.getStatus().get(StatusLancamento.PENDENTE).getDespesas());
+        assertEquals(new BigDecimal("0.00"), resumo.getMeses().get(1).getSaldo());
+        assertEquals(new BigDecimal("-50.00"), resumo.getMeses().get(2).getSaldo());
+        verify(lancamentoRepository, never()).totalizarPorMes(Mockito.anyLong(), Mockito.anyInt());
+    }
+
+    @Test
+    public void deveAgruparOsLancamentosQuandoOConsolidadoEstiverDesligado(){
+        //cenario
+        resumoMensalService = new ResumoMensalServiceImpl(resumoMensalRepository, lancamentoRepository, usuarioService, arquivamentoService,
+                transactionManager, false);
+        List<TotalMensal> totais = List.of(consolidado(2, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 10, 1));
+        doReturn(totais).when(lancamentoRepository).totalizarPorMes(1L, 2021);
+
+        //acao
+        ResumoAnualDTO resumo = resumoMensalService.resumoAnual(1L, 2021);
+
+        //verificacao
+        assertEquals(new BigDecimal("10.00"), resumo.getMeses().get(1).getReceitas());
+        verify(resumoMensalRepository, never()).findByIdUsuarioIdAndIdAno(Mockito.anyLong(), Mockito.anyInt());
+    }
+
+    @Test
+    public void deveUsarOConsolidadoParaAnosArquivadosMesmoComOConsolidadoDesligado(){
+        //cenario
+        resumoMensalService = new ResumoMensalServiceImpl(resumoMensalRepository, lancamentoRepository, usuarioService, arquivamentoService,
+                transactionManager, false);
+        when(arquivamentoService.arquivado(2019)).thenReturn(true);
+        when(resumoMensalRepository.findByIdUsuarioIdAndIdAno(1L, 2019)).thenReturn(List.of(
+                consolidado(5, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 40, 2)));
+
+        //acao
+        ResumoAnualDTO resumo = resumoMensalService.resumoAnual(1L, 2019);
+
+        //verificacao
+        assertEquals(new BigDecimal("40.00"), resumo.getSaldo());
+        verify(lancamentoRepository, never()).totalizarPorMes(Mockito.anyLong(), Mockito.anyInt());
+    }
+
+    @Test
+    public void deveLancarErroAoPedirResumoDeAnoInvalido(){
+        assertThrows(RegraNegocioException.class, () -> resumoMensalService.resumoAnual(1L, 21));
+    }
+
+    @Test
+    public void deveMoverOTotalEntreStatusAoAtualizarOStatus(){
+        //cenario
+        Lancamento anterior = criarLancamento(StatusLancamento.PENDENTE);
+        Lancamento atual = criarLancamento(StatusLancamento.EFETIVADO);
+        when(resumoMensalRepository.somar(Mockito.any(), Mockito.any(), Mockito.anyLong())).thenReturn(1);
+
+        //acao
+        resumoMensalService.aplicar(LancamentosAlteradosEvent.alteracao(anterior, atual));
+
+        //verificacao
+        verify(resumoMensalRepository).somar(chave(StatusLancamento.PENDENTE), new BigDecimal("-10.00"), -1L);
+        verify(resumoMensalRepository).somar(chave(StatusLancamento.EFETIVADO), new BigDecimal("10.00"), 1L);
+    }
+
+    @Test
+    public void deveMoverOsTotaisEntreStatusAoAtualizarOStatusEmMassa(){
+        //cenario
+        TotalMensalUsuario anterior = mock(TotalMensalUsuario.class);
+        when(anterior.getUsuarioId()).thenReturn(1L);
+        when(anterior.getAno()).thenReturn(2021);
+        when(anterior.getMes()).thenReturn(1);
+        when(anterior.getTipo()).thenReturn(TipoLancamento.RECEITA);
+        when(anterior.getStatus()).thenReturn(StatusLancamento.PENDENTE);
+        when(anterior.getTotal()).thenReturn(BigDecimal.valueOf(300));
+        when(anterior.getQuantidade()).thenReturn(30L);
+        when(resumoMensalRepository.somar(Mockito.any(), Mockito.any(), Mockito.anyLong())).thenReturn(1);
+
+        //acao
+        resumoMensalService.aplicar(new StatusLancamentosAlteradosEvent(List.of(anterior), StatusLancamento.EFETIVADO));
+
+        //verificacao
+        verify(resumoMensalRepository).somar(chave(StatusLancamento.PENDENTE), BigDecimal.valueOf(-300), -30L);
+        verify(resumoMensalRepository).somar(chave(StatusLancamento.EFETIVADO), BigDecimal.valueOf(300), 30L);
+    }
+
+    @Test
+    public void deveCriarOConsolidadoAPartirDosLancamentosQuandoNaoExistir(){
+        //cenario
+        when(resumoMensalRepository.somar(chave(StatusLancamento.PENDENTE), new BigDecimal("10.00"), 1L)).thenReturn(0, 1);
+        List<TotalMensal> totais = List.of(consolidado(1, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 25, 3));
+        doReturn(totais).when(lancamentoRepository).totalizarMes(1L, 2021, 1, TipoLancamento.RECEITA, StatusLancamento.PENDENTE);
+
+        //acao
+        resumoMensalService.aplicar(LancamentosAlteradosEvent.inclusao(List.of(criarLancamento(StatusLancamento.PENDENTE))));
+
+        //verificacao
+        ArgumentCaptor<ResumoMensal> captor = ArgumentCaptor.forClass(ResumoMensal.class);
+        verify(resumoMensalRepository).saveAndFlush(captor.capture());
+        assertEquals(chave(StatusLancamento.PENDENTE), captor.getValue().getId());
+        assertEquals(BigDecimal.valueOf(25), captor.getValue().getTotal());
+        assertEquals(3L, captor.getValue().getQuantidade());
+        verify(transactionManager).commit(Mockito.any());
+        verify(resumoMensalRepository, times(2)).somar(chave(StatusLancamento.PENDENTE), new BigDecimal("10.00"), 1L);
+    }
+
+    @Test
+    public void deveSomarAoConsolidadoCriadoPorOutraTransacaoConcorrente(){
+        //cenario
+        when(resumoMensalRepository.somar(chave(StatusLancamento.PENDENTE), new BigDecimal("10.00"), 1L)).thenReturn(0, 1);
+        when(resumoMensalRepository.saveAndFlush(Mockito.any())).thenThrow(new DataIntegrityViolationException("duplicado"));
+
+        //acao
+        resumoMensalService.aplicar(LancamentosAlteradosEvent.inclusao(List.of(criarLancamento(StatusLancamento.PENDENTE))));
+
+        //verificacao
+        verify(transactionManager).rollback(Mockito.any());
+        verify(resumoMensalRepository, times(2)).somar(chave(StatusLancamento.PENDENTE), new BigDecimal("10.00"), 1L);
+    }
+
+    @Test
+    public void deveCarregarOConsolidadoVazioAoIniciarSobOLock(){
+        //cenario
+        when(resumoMensalRepository.existeNaoArquivado()).thenReturn(false);
+        when(lancamentoRepository.existeAlgum()).thenReturn(true);
+
+        //acao
+        resumoMensalService.semear();
+
+        //verificacao
+        InOrder ordem = inOrder(resumoMensalRepository);
+        ordem.verify(resumoMensalRepository).travarParaConsolidar();
+        ordem.verify(resumoMensalRepository).apagarNaoArquivados();
+        ordem.verify(resumoMensalRepository).consolidarLancamentos();
+    }
+
+    @Test
+    public void naoDeveRecarregarOConsolidadoJaPreenchido(){
+        //cenario
+        when(resumoMensalRepository.existeNaoArquivado()).thenReturn(true);
+        when(lancamentoRepository.existeAlgum()).thenReturn(true);
+
+        //acao
+        resumoMensalService.semear();
+
+        //verificacao
+        verify(resumoMensalRepository, never()).travarParaConsolidar();
+        verify(resumoMensalRepository, never()).consolidarLancamentos();
+    }
+
+    @Test
+    public void naoDeveRecarregarOConsolidadoCarregadoPorOutraInstanciaEnquantoAguardavaOLock(){
+        //cenario
+        when(resumoMensalRepository.existeNaoArquivado()).thenReturn(false, true);
+        when(lancamentoRepository.existeAlgum()).thenReturn(true);
+
+        //acao
+        resumoMensalService.semear();
+
+        //verificacao
+        verify(resumoMensalRepository).travarParaConsolidar();
+        verify(resumoMensalRepository, never()).apagarNaoArquivados();
+        verify(resumoMensalRepository, never()).consolidarLancamentos();
+    }
+
+    @Test
+    public void deveReconstruirOConsolidadoSobOLock(){
+        //acao
+        resumoMensalService.reconstruir();
+
+        //verificacao
+        InOrder ordem = inOrder(resumoMensalRepository);
+        ordem.verify(resumoMensalRepository).travarParaConsolidar();
+        ordem.verify(resumoMensalRepository).apagarNaoArquivados();
+        ordem.verify(resumoMensalRepository).consolidarLancamentos();
+    }
+
+    private ResumoMensalId chave(StatusLancamento status) {
+        return new ResumoMensalId(1L, 2021, 1, TipoLancamento.RECEITA, status);
+    }
+
+    private Lancamento criarLancamento(StatusLancamento status) {
+        return Lancamento.builder()
+                .descricao("descricao")
+                .mes(1)
+                .ano(2021)
+                .usuario(Usuario.builder().id(1L).build())
+                .valor(BigDecimal.valueOf(10))
+                .tipo(TipoLancamento.RECEITA)
+                .status(status)
+                .build();
+    }
+
+    private ResumoMensal consolidado(int mes, TipoLancamento tipo, StatusLancamento status, long total, long quantidade) {
+        return new ResumoMensal(new ResumoMensalId(1L, 2021, mes, tipo, status), BigDecimal.valueOf(total), quantidade);
+    }
+}
@@ -0,0 +1,228 @@
+package com.mponte.minhasfinancas.services.impl;
+
+import com.mponte.minhasfinancas.model.dtos.DivergenciaSaldoDTO;
+import com.mponte.minhasfinancas.model.entities.Lancamento;
+import com.mponte.minhasfinancas.model.entities.SaldoUsuario;
+import com.mponte.minhasfinancas.model.entities.Usuario;
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.model.projections.TotalMensalUsuario;
+import com.mponte.minhasfinancas.model.projections.TotalPorTipo;
+import com.mponte.minhasfinancas.repositories.LancamentoRepository;
+import com.mponte.minhasfinancas.repositories.ResumoMensalRepository;
+import com.mponte.minhasfinancas.repositories.SaldoUsuarioRepository;
+import com.mponte.minhasfinancas.services.events.LancamentosAlteradosEvent;
+import com.mponte.minhasfinancas.services.events.StatusLancamentosAlteradosEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class SaldoUsuarioServiceTest {
+
+    @InjectMocks
+    private SaldoUsuarioServiceImpl saldoUsuarioService;
+
+    @Mock
+    private SaldoUsuarioRepository saldoUsuarioRepository;
+
+    @Mock
+    private LancamentoRepository lancamentoRepository;
+
+    @Mock
+    private ResumoMensalRepository resumoMensalRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void deveSomarUmaReceitaAoSaldo(){
+        //cenario
+        when(saldoUsuarioRepository.somar(1L, new BigDecimal("10.00"), new BigDecimal("0.00"))).thenReturn(1);
+
+        //acao
+        saldoUsuarioService.aplicar(LancamentosAlteradosEvent.inclusao(List.of(criarLancamento(TipoLancamento.RECEITA, 10))));
+
+        //verificacao
+        verify(saldoUsuarioRepository).somar(1L, new BigDecimal("10.00"), new BigDecimal("0.00"));
+        verify(saldoUsuarioRepository, never()).save(Mockito.any());
+    }
+
+    @Test
+    public void deveRegistrarUmLoteComUmaAtualizacaoPorUsuario(){
+        //cenario
+        when(saldoUsuarioRepository.somar(Mockito.anyLong(), Mockito.any(), Mockito.any())).thenReturn(1);
+
+        //acao
+        saldoUsuarioService.aplicar(LancamentosAlteradosEvent.inclusao(List.of(
+                criarLancamento(TipoLancamento.RECEITA, 10),
+                criarLancamento(TipoLancamento.RECEITA, 5),
+                criarLancamento(TipoLancamento.DESPESA, 3))));
+
+        //verificacao
+        verify(saldoUsuarioRepository, times(1)).somar(1L, new BigDecimal("15.00"), new BigDecimal("3.00"));
+    }
+
+    @Test
+    public void deveEstornarUmaDespesaDoSaldo(){
+        //cenario
+        when(saldoUsuarioRepository.somar(1L, new BigDecimal("0.00"), new BigDecimal("-10.00"))).thenReturn(1);
+
+        //acao
+        saldoUsuarioService.aplicar(LancamentosAlteradosEvent.exclusao(criarLancamento(TipoLancamento.DESPESA, 10)));
+
+        //verificacao
+        verify(saldoUsuarioRepository).somar(1L, new BigDecimal("0.00"), new BigDecimal("-10.00"));
+    }
+
+    @Test
+    public void deveAplicarApenasADiferencaAoAtualizarUmLancamento(){
+        //cenario
+        Lancamento anterior = criarLancamento(TipoLancamento.RECEITA, 10);
+        Lancamento atual = criarLancamento(TipoLancamento.DESPESA, 4);
+        when(saldoUsuarioRepository.somar(Mockito.anyLong(), Mockito.any(), Mockito.any())).thenReturn(1);
+
+        //acao
+        saldoUsuarioService.aplicar(LancamentosAlteradosEvent.alteracao(anterior, atual));
+
+        //verificacao
+        verify(saldoUsuarioRepository, times(1)).somar(1L, new BigDecimal("-10.00"), new BigDecimal("4.00"));
+    }
+
+    @Test
+    public void deveApenasAvancarAVersaoQuandoOSaldoNaoMudar(){
+        //cenario
+        Lancamento anterior = criarLancamento(TipoLancamento.RECEITA, 10);
+        Lancamento atual = criarLancamento(TipoLancamento.RECEITA, 10);
+        atual.setStatus(StatusLancamento.EFETIVADO);
+        when(saldoUsuarioRepository.somar(1L, new BigDecimal("0.00"), new BigDecimal("0.00"))).thenReturn(1);
+
+        //acao
+        saldoUsuarioService.aplicar(LancamentosAlteradosEvent.alteracao(anterior, atual));
+
+        //verificacao
+        verify(saldoUsuarioRepository).somar(1L, new BigDecimal("0.00"), new BigDecimal("0.00"));
+        verify(saldoUsuarioRepository, never()).save(Mockito.any());
+    }
+
+    @Test
+    public void deveAvancarAVersaoDosUsuariosNaAlteracaoDeStatusEmMassa(){
+        //cenario
+        TotalMensalUsuario total = mock(TotalMensalUsuario.class);
+        when(total.getUsuarioId()).thenReturn(1L);
+        when(saldoUsuarioRepository.somar(Mockito.anyLong(), Mockito.any(), Mockito.any())).thenReturn(1);
+
+        //acao
+        saldoUsuarioService.aplicar(new StatusLancamentosAlteradosEvent(List.of(total, total), StatusLancamento.EFETIVADO));
+
+        //verificacao
+        verify(saldoUsuarioRepository, times(1)).somar(1L, new BigDecimal("0.00"), new BigDecimal("0.00"));
+    }
+
+    @Test
+    public void deveCriarORegistroDeSaldoAPartirDosLancamentosQuandoNaoExistir(){
+        //cenario
+        when(saldoUsuarioRepository.somar(1L, new BigDecimal("10.00"), new BigDecimal("0.00"))).thenReturn(0, 1);
+        when(lancamentoRepository.totalizarPorTipo(1L)).thenReturn(List.of(
+                total(1L, TipoLancamento.RECEITA, 25),
+                total(1L, TipoLancamento.DESPESA, 5)));
+
+        //acao
+        saldoUsuarioService.aplicar(LancamentosAlteradosEvent.inclusao(List.of(criarLancamento(TipoLancamento.RECEITA, 10))));
+
+        //verificacao
+        ArgumentCaptor<SaldoUsuario> captor = ArgumentCaptor.forClass(SaldoUsuario.class);
+        verify(saldoUsuarioRepository).saveAndFlush(captor.capture());
+        assertEquals(1L, captor.getValue().getUsuarioId());
+        assertEquals(new BigDecimal("20.00"), captor.getValue().getSaldo());
+        assertEquals(1L, captor.getValue().getVersao());
+        verify(transactionManager).commit(Mockito.any());
+        verify(saldoUsuarioRepository, times(2)).somar(1L, new BigDecimal("10.00"), new BigDecimal("0.00"));
+    }
+
+    @Test
+    public void deveSomarAoRegistroCriadoPorOutraTransacaoConcorrente(){
+        //cenario
+        when(saldoUsuarioRepository.somar(1L, new BigDecimal("10.00"), new BigDecimal("0.00"))).thenReturn(0, 1);
+        when(saldoUsuarioRepository.saveAndFlush(Mockito.any())).thenThrow(new DataIntegrityViolationException("duplicado"));
+
+        //acao
+        saldoUsuarioService.aplicar(LancamentosAlteradosEvent.inclusao(List.of(criarLancamento(TipoLancamento.RECEITA, 10))));
+
+        //verificacao
+        verify(transactionManager).rollback(Mockito.any());
+        verify(saldoUsuarioRepository, times(2)).somar(1L, new BigDecimal("10.00"), new BigDecimal("0.00"));
+    }
+
+    @Test
+    public void deveReportarEReconstruirSaldosDivergentes(){
+        //cenario
+        when(lancamentoRepository.totalizarPorUsuarioETipo()).thenReturn(List.of(
+                total(1L, TipoLancamento.RECEITA, 25),
+                total(2L, TipoLancamento.DESPESA, 5)));
+        when(saldoUsuarioRepository.findAll()).thenReturn(List.of(
+                new SaldoUsuario(1L, BigDecimal.valueOf(25), BigDecimal.ZERO),
+                new SaldoUsuario(2L, BigDecimal.ZERO, BigDecimal.valueOf(7))));
+
+        //acao
+        List<DivergenciaSaldoDTO> divergencias = saldoUsuarioService.reconstruir();
+
+        //verificacao
+        assertEquals(1, divergencias.size());
+        assertEquals(2L, divergencias.get(0).getUsuario());
+        assertEquals(BigDecimal.valueOf(7), divergencias.get(0).getDespesasRegistradas());
+        assertEquals(BigDecimal.valueOf(5), divergencias.get(0).getDespesasCalculadas());
+        verify(saldoUsuarioRepository, times(1)).save(Mockito.any(SaldoUsuario.class));
+    }
+
+    @Test
+    public void deveConsiderarOsAnosArquivadosAoVerificarOsSaldos(){
+        //cenario
+        when(lancamentoRepository.totalizarPorUsuarioETipo()).thenReturn(List.of(total(1L, TipoLancamento.RECEITA, 25)));
+        when(resumoMensalRepository.totalizarArquivadosPorUsuarioETipo()).thenReturn(List.of(
+                total(1L, TipoLancamento.RECEITA, 75),
+                total(1L, TipoLancamento.DESPESA, 40)));
+        when(saldoUsuarioRepository.findAll()).thenReturn(List.of(
+                new SaldoUsuario(1L, BigDecimal.valueOf(100), BigDecimal.valueOf(40))));
+
+        //acao
+        List<DivergenciaSaldoDTO> divergencias = saldoUsuarioService.verificar();
+
+        //verificacao
+        assertTrue(divergencias.isEmpty());
+    }
+
+    private Lancamento criarLancamento(TipoLancamento tipo, long valor) {
+        return Lancamento.builder()
+                .descricao("descricao")
+                .mes(1)
+                .ano(2000)
+                .usuario(Usuario.builder().id(1L).build())
+                .valor(BigDecimal.valueOf(valor))
+                .tipo(tipo)
+                .status(StatusLancamento.PENDENTE)
+                .build();
+    }
+
+    private TotalPorTipo total(Long usuarioId, TipoLancamento tipo, long valor) {
+        return new TotalPorTipo() {
+            public Long getUsuarioId() { return usuarioId; }
+            public TipoLancamento getTipo() { return tipo; }
+            public BigDecimal getTotal() { return BigDecimal.valueOf(valor); }
+        };
+    }
+}
@@ -0,0 +1,108 @@
+package com.mponte.minhasfinancas.services.impl;
+
+import com.mponte.minhasfinancas.model.dtos.AutenticacaoDTO;
+import com.mponte.minhasfinancas.model.entities.Usuario;
+import com.mponte.minhasfinancas.services.exceptions.TokenInvalidoException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class TokenServiceTest {
+    private static final String CHAVE = "chave-de-teste-com-pelo-menos-32-bytes";
+    private static final Instant AGORA = Instant.parse("2021-03-01T10:00:00Z");
+
+    private final Usuario usuario = Usuario.builder().id(7L).nome("usuario").email("usuario@email.com").build();
+
+    @Test
+    public void deveEmitirUmTokenVerificavel(){
+        //cenario
+        TokenServiceImpl tokenService = criar(AGORA);
+
+        //acao
+        AutenticacaoDTO autenticacao = tokenService.emitir(usuario);
+
+        //verificacao
+        assertEquals(7L, tokenService.verificar(autenticacao.getToken()));
+        assertEquals(AGORA.plus(Duration.ofHours(2)), autenticacao.getExpiraEm());
+        assertEquals("usuario@email.com", autenticacao.getEmail());
+    }
+
+    @Test
+    public void deveRecusarUmTokenAdulterado(){
+        //cenario
+        TokenServiceImpl tokenService = criar(AGORA);
+        String token = tokenService.emitir(usuario).getToken();
+        String outro = criar(AGORA, "outra-chave-de-teste-com-pelo-menos-32-bytes").emitir(usuario).getToken();
+
+        //acao e verificacao
+        assertThrows(TokenInvalidoException.class, () -> tokenService.verificar(outro));
+        assertThrows(TokenInvalidoException.class, () -> tokenService.verificar(token.substring(1)));
+        assertThrows(TokenInvalidoException.class, () -> tokenService.verificar("sem-assinatura"));
+        assertThrows(TokenInvalidoException.class, () -> tokenService.verificar(null));
+    }
+
+    @Test
+    public void deveRecusarUmTokenExpirado(){
+        //cenario
+        String token = criar(AGORA).emitir(usuario).getToken();
+
+        //acao e verificacao
+        assertEquals(7L, criar(AGORA.plus(Duration.ofMinutes(119))).verificar(token));
+        assertThrows(TokenInvalidoException.class, () -> criar(AGORA.plus(Duration.ofHours(2))).verificar(token));
+    }
+
+    @Test
+    public void deveRecusarUmTokenRevogadoSemAfetarOsDemais(){
+        //cenario
+        TokenServiceImpl tokenService = criar(AGORA);
+        String token = tokenService.emitir(usuario).getToken();
+        String outro = tokenService.emitir(usuario).getToken();
+
+        //acao
+        tokenService.revogar(token);
+
+        //verificacao
+        assertThrows(TokenInvalidoException.class, () -> tokenService.verificar(token));
+        assertEquals(7L, tokenService.verificar(outro));
+    }
+
+    @Test
+    public void deveAceitarOTokenDeEventosSomenteNosEventosEPorPoucoTempo(){
+        //cenario
+        TokenServiceImpl tokenService = criar(AGORA);
+
+        //acao
+        AutenticacaoDTO eventos = tokenService.emitirEventos(7L);
+        String comum = tokenService.emitir(usuario).getToken();
+
+        //verificacao
+        assertEquals(7L, tokenService.verificarEventos(eventos.getToken()));
+        assertEquals(AGORA.plus(Duration.ofMinutes(1)), eventos.getExpiraEm());
+        assertThrows(TokenInvalidoException.class, () -> tokenService.verificar(eventos.getToken()));
+        assertThrows(TokenInvalidoException.class, () -> tokenService.verificarEventos(comum));
+        assertThrows(TokenInvalidoException.class, () -> criar(AGORA.plus(Duration.ofMinutes(1))).verificarEventos(eventos.getToken()));
+    }
+
+    @Test
+    public void deveExigirUmaChaveDeAoMenos32Bytes(){
+        assertThrows(IllegalStateException.class, () -> criar(AGORA, "curta"));
+    }
+
+    private TokenServiceImpl criar(Instant agora) {
+        return criar(agora, CHAVE);
+    }
+
+    private TokenServiceImpl criar(Instant agora, String chave) {
+        return new TokenServiceImpl(chave, Duration.ofHours(2), Duration.ofMinutes(1), 1000, Clock.fixed(agora, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,108 @@
+package com.mponte.minhasfinancas.services.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mponte.minhasfinancas.model.entities.Usuario;
+import com.mponte.minhasfinancas.repositories.UsuarioRepository;
+import com.mponte.minhasfinancas.services.interfaces.UsuarioService;
+import com.mponte.minhasfinancas.services.usuario.CodificadorSenha;
+import com.mponte.minhasfinancas.services.usuario.FiltroEmails;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@SpringBootTest(classes = {UsuarioServiceImpl.class, UsuarioServiceCacheTest.Configuracao.class})
+public class UsuarioServiceCacheTest {
+
+    @EnableCaching
+    @ImportAutoConfiguration(CacheAutoConfiguration.class)
+    static class Configuracao {
+    }
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockBean
+    private UsuarioRepository usuarioRepository;
+
+    @MockBean
+    private FiltroEmails filtroEmails;
+
+    @MockBean
+    private CodificadorSenha codificadorSenha;
+
+    @BeforeEach
+    public void limparCache(){
+        cacheManager.getCache(UsuarioServiceImpl.CACHE_USUARIOS).clear();
+    }
+
+    @Test
+    public void deveBuscarOUsuarioNoBancoApenasUmaVez(){
+        //cenario
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(criarUsuario()));
+        CacheStats antes = estatisticas();
+
+        //ação
+        usuarioService.findById(1L);
+        usuarioService.findById(1L);
+        usuarioService.findById(1L);
+
+        //verificação
+        verify(usuarioRepository, times(1)).findById(1L);
+        CacheStats depois = estatisticas().minus(antes);
+        assertEquals(1, depois.missCount());
+        assertEquals(2, depois.hitCount());
+    }
+
+    @Test
+    public void naoDeveGuardarOHashDaSenhaNoCache(){
+        //cenario
+        Usuario salvo = criarUsuario();
+        when(usuarioRepository.save(Mockito.any(Usuario.class))).thenReturn(salvo);
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(salvo));
+
+        //ação
+        usuarioService.salvarUsuario(Usuario.builder().email("usuario@email.com").build());
+        Usuario usuario = usuarioService.findById(1L);
+
+        //verificação
+        assertNotSame(salvo, usuario);
+        assertEquals("usuario@email.com", usuario.getEmail());
+        assertNull(usuario.getSenha());
+        assertSame(usuario, usuarioService.findById(1L));
+    }
+
+    @SuppressWarnings("unchecked")
+    private CacheStats estatisticas(){
+        return ((Cache<Object, Object>) cacheManager.getCache(UsuarioServiceImpl.CACHE_USUARIOS).getNativeCache()).stats();
+    }
+
+    private Usuario criarUsuario(){
+        return Usuario.builder()
+                .id(1L)
+                .nome("usuario")
+                .email("usuario@email.com")
+                .senha("senha")
+                .build();
+    }
+}
@@ -5,15 +5,21 @@ import com.mponte.minhasfinancas.repositories.UsuarioRepository;
 import com.mponte.minhasfinancas.services.exceptions.ErroAutenticacao;
 import com.mponte.minhasfinancas.services.exceptions.ObjetoNaoEncontradoException;
 import com.mponte.minhasfinancas.services.exceptions.RegraNegocioException;
+import com.mponte.minhasfinancas.services.usuario.CodificadorSenha;
+import com.mponte.minhasfinancas.services.usuario.FiltroEmails;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.Spy;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.sql.SQLException;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -29,6 +35,17 @@ public class UsuarioServiceTest {
     @Mock
     private UsuarioRepository usuarioRepository;
 
+    @Mock
+    private FiltroEmails filtroEmails;
+
+    @Spy
+    private CodificadorSenha codificadorSenha = new CodificadorSenha(1000);
+
+    @BeforeEach
+    public void setUp(){
+        when(filtroEmails.podeExistir(Mockito.any())).thenReturn(true);
+    }
+
 //    @Before
 //    public void setUp(){
 //        usuarioService = Mockito.spy(UsuarioServiceImpl.class);
@@ -65,18 +82,75 @@ public class UsuarioServiceTest {
         Usuario usuario = Usuario.builder()
                 .email(email)
                 .build();
-        doThrow(RegraNegocioException.class).when(usuarioService).validarEmail(email);
-
-//        try {
-//            Usuario usuarioNaoSalvo = usuarioService.salvarUsuario(usuario);
-//            fail();
-//        }catch(RegraNegocioException e){
-//            assertTrue(true);
-//        }
+        when(usuarioRepository.existsByEmail(email)).thenReturn(true);
+
+        //acao
+        assertThrows(RegraNegocioException.class, () -> usuarioService.salvarUsuario(usuario));
+
         //verificacao
         verify(usuarioRepository, never()).save(usuario);
     }
 
+    @Test
+    public void deveLancarErroAoSalvarUsuarioQuandoOIndiceDeEmailForViolado(){
+        //cenario
+        Usuario usuario = Usuario.builder().email("email@email.com").build();
+        when(filtroEmails.podeExistir("email@email.com")).thenReturn(false);
+        when(usuarioRepository.save(usuario)).thenThrow(new DataIntegrityViolationException("duplicado",
+                new ConstraintViolationException("duplicado", new SQLException(), "PUBLIC.UK_USUARIO_EMAIL_INDEX_3")));
+
+        //ação
+        Exception exception = assertThrows(RegraNegocioException.class, () -> usuarioService.salvarUsuario(usuario));
+
+        //verificação
+        assertEquals("Já existe um usuário cadastrado com este e-mail.", exception.getMessage());
+        verify(usuarioRepository, never()).existsByEmail(anyString());
+        verify(filtroEmails, never()).adicionar(anyString());
+    }
+
+    @Test
+    public void deveAdicionarOEmailAoFiltroAoSalvarUmUsuario(){
+        //cenario
+        Usuario usuario = Usuario.builder().id(1L).email("email@email.com").build();
+        when(filtroEmails.podeExistir("email@email.com")).thenReturn(false);
+        when(usuarioRepository.save(usuario)).thenReturn(usuario);
+
+        //ação
+        usuarioService.salvarUsuario(usuario);
+
+        //verificação
+        verify(filtroEmails).adicionar("email@email.com");
+        verify(usuarioRepository, never()).existsByEmail(anyString());
+    }
+
+    @Test
+    public void naoDeveConsultarOBancoAoValidarQuandoOFiltroDescartaOEmail(){
+        //cenario
+        when(filtroEmails.podeExistir("novo@email.com")).thenReturn(false);
+
+        //ação
+        usuarioService.validarEmail("novo@email.com");
+
+        //verificação
+        verifyNoInteractions(usuarioRepository);
+    }
+
+    @Test
+    public void deveAutenticarOUsuarioCadastradoEmOutraInstanciaMesmoQueOFiltroDescarteOEmail(){
+        //cenario
+        String email = "outra-instancia@email.com";
+        Usuario usuario = Usuario.builder().id(1L).email(email).senha(codificadorSenha.codificar("senha")).build();
+        when(filtroEmails.podeExistir(email)).thenReturn(false);
+        when(usuarioRepository.findByEmail(email)).thenReturn(Optional.of(usuario));
+
+        //ação
+        Usuario resultado = usuarioService.autenticar(email, "senha");
+
+        //verificação
+        assertEquals(1L, resultado.getId());
+        verify(filtroEmails).adicionar(email);
+    }
+
     @Test()
     public void deveValidarEmail(){
         //cenario
@@ -106,7 +180,7 @@ public class UsuarioServiceTest {
         //Arrange
         String email = "email@email.com";
         String senha = "senha";
-        Usuario usuario = Usuario.builder().id(1L).email(email).senha(senha).build();
+        Usuario usuario = Usuario.builder().id(1L).email(email).senha(codificadorSenha.codificar(senha)).build();
         when(usuarioRepository.findByEmail(email)).thenReturn(Optional.of(usuario));
 
         //Act
@@ -114,6 +188,39 @@ public class UsuarioServiceTest {
 
         //Assert
         assertNotNull(resultado);
+        verify(usuarioRepository, never()).save(Mockito.any(Usuario.class));
+    }
+
+    @Test
+    public void deveCodificarASenhaLegadaAoAutenticar(){
+        //Arrange
+        String email = "email@email.com";
+        Usuario usuario = Usuario.builder().id(1L).email(email).senha("senha").build();
+        when(usuarioRepository.findByEmail(email)).thenReturn(Optional.of(usuario));
+        when(usuarioRepository.save(usuario)).thenReturn(usuario);
+
+        //Act
+        usuarioService.autenticar(email, "senha");
+
+        //Assert
+        verify(usuarioRepository).save(usuario);
+        assertNotEquals("senha", usuario.getSenha());
+        assertTrue(codificadorSenha.confere("senha", usuario.getSenha()));
+    }
+
+    @Test
+    public void deveSalvarOUsuarioComASenhaCodificada(){
+        //cenario
+        Usuario usuario = Usuario.builder().email("email@email.com").senha("senha").build();
+        when(usuarioRepository.save(usuario)).thenReturn(usuario);
+
+        //ação
+        usuarioService.salvarUsuario(usuario);
+
+        //verificação
+        assertTrue(usuario.getSenha().startsWith("pbkdf2-sha256$1000$"));
+        assertTrue(codificadorSenha.confere("senha", usuario.getSenha()));
+        assertFalse(codificadorSenha.confere("outra", usuario.getSenha()));
     }
 
     @Test
@@ -0,0 +1,50 @@
+package com.mponte.minhasfinancas.services.impl;
+
+import com.mponte.minhasfinancas.repositories.SaldoUsuarioRepository;
+import com.mponte.minhasfinancas.services.versao.VersaoDados;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class VersaoDadosServiceTest {
+
+    @InjectMocks
+    private VersaoDadosServiceImpl service;
+
+    @Mock
+    private SaldoUsuarioRepository saldoUsuarioRepository;
+
+    @Test
+    public void deveDerivarAVersaoDoSaldoDoUsuario(){
+        //cenario
+        when(saldoUsuarioRepository.buscarVersao(1L)).thenReturn(Optional.of(7L), Optional.of(8L));
+
+        //acao
+        VersaoDados primeira = service.versao(1L);
+        VersaoDados segunda = service.versao(1L);
+
+        //verificacao
+        assertEquals(7L, primeira.getVersao());
+        assertNotEquals(primeira.etag("json"), segunda.etag("json"));
+        assertNotEquals(primeira.etag("json"), primeira.etag("ndjson"));
+    }
+
+    @Test
+    public void deveUsarAVersaoZeroParaUsuariosSemSaldo(){
+        //cenario
+        when(saldoUsuarioRepository.buscarVersao(2L)).thenReturn(Optional.empty());
+
+        //acao e verificacao
+        assertEquals(0L, service.versao(2L).getVersao());
+    }
+}
@@ -0,0 +1,94 @@
+package com.mponte.minhasfinancas.services.relatorio;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mponte.minhasfinancas.model.dtos.RelatorioAnualDTO;
+import com.mponte.minhasfinancas.model.dtos.RelatorioMesDTO;
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class MotorRelatorioAnualTest {
+
+    @Test
+    public void deveCalcularAsMetricasDoAno(){
+        //cenario
+        DadosRelatorio dados = new DadosRelatorio();
+        dados.adicionar(3, "Salario", new BigDecimal("1000.00"), TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
+        dados.adicionar(1, "Salario", new BigDecimal("1000.00"), TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
+        dados.adicionar(1, "Mercado", new BigDecimal("150.25"), TipoLancamento.DESPESA, StatusLancamento.EFETIVADO);
+        dados.adicionar(2, "Mercado", new BigDecimal("99.75"), TipoLancamento.DESPESA, StatusLancamento.PENDENTE);
+        dados.adicionar(2, "Aluguel", new BigDecimal("800"), TipoLancamento.DESPESA, StatusLancamento.PENDENTE);
+
+        //acao
+        RelatorioAnualDTO relatorio;
+        try (MotorRelatorioAnual motor = new MotorRelatorioAnual(2, 1)) {
+            relatorio = motor.gerar(1L, 2021, dados, 1);
+        }
+
+        //verificacao
+        assertEquals(5L, relatorio.getQuantidade());
+        assertEquals(new BigDecimal("2000.00"), relatorio.getReceitas());
+        assertEquals(new BigDecimal("1050.00"), relatorio.getDespesas());
+        assertEquals(new BigDecimal("950.00"), relatorio.getSaldo());
+        assertEquals(new BigDecimal("1000.00"), relatorio.getTicketMedioReceitas());
+        assertEquals(new BigDecimal("350.00"), relatorio.getTicketMedioDespesas());
+        assertEquals(new BigDecimal("899.75"), relatorio.getStatus().get(StatusLancamento.PENDENTE).getDespesas());
+        assertEquals(3L, relatorio.getStatus().get(StatusLancamento.EFETIVADO).getQuantidade());
+
+        RelatorioMesDTO janeiro = relatorio.getMeses().get(0);
+        RelatorioMesDTO fevereiro = relatorio.getMeses().get(1);
+        RelatorioMesDTO marco = relatorio.getMeses().get(2);
+        assertNull(janeiro.getVariacaoSaldo());
+        assertEquals(new BigDecimal("849.75"), janeiro.getSaldo());
+        assertEquals(new BigDecimal("-899.75"), fevereiro.getSaldo());
+        assertEquals(new BigDecimal("-1749.50"), fevereiro.getVariacaoSaldo());
+        assertEquals(new BigDecimal("1899.75"), marco.getVariacaoSaldo());
+        assertEquals(new BigDecimal("0.00"), relatorio.getMeses().get(11).getSaldo());
+
+        assertEquals(1, relatorio.getMaioresDespesas().size());
+        assertEquals("Aluguel", relatorio.getMaioresDespesas().get(0).getDescricao());
+    }
+
+    @Test
+    public void deveProduzirOMesmoRelatorioComQualquerParalelismo() throws JsonProcessingException {
+        //cenario
+        Random aleatorio = new Random(7);
+        DadosRelatorio dados = new DadosRelatorio();
+        BigDecimal despesas = BigDecimal.ZERO;
+        for (int i = 0; i < 200_000; i++) {
+            BigDecimal valor = BigDecimal.valueOf(aleatorio.nextInt(1_000_000), 2);
+            TipoLancamento tipo = aleatorio.nextInt(3) == 0 ? TipoLancamento.RECEITA : TipoLancamento.DESPESA;
+            dados.adicionar(aleatorio.nextInt(12) + 1, "Descricao " + aleatorio.nextInt(500), valor, tipo,
+                    StatusLancamento.values()[aleatorio.nextInt(StatusLancamento.values().length)]);
+            if (tipo == TipoLancamento.DESPESA) {
+                despesas = despesas.add(valor);
+            }
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        //acao
+        RelatorioAnualDTO sequencial;
+        RelatorioAnualDTO paralelo;
+        try (MotorRelatorioAnual umaThread = new MotorRelatorioAnual(1, Integer.MAX_VALUE);
+             MotorRelatorioAnual variasThreads = new MotorRelatorioAnual(4, 1_000)) {
+            sequencial = umaThread.gerar(1L, 2021, dados, 20);
+            paralelo = variasThreads.gerar(1L, 2021, dados, 20);
+        }
+
+        //verificacao
+        assertEquals(despesas, sequencial.getDespesas());
+        assertEquals(200_000L, paralelo.getQuantidade());
+        assertEquals(objectMapper.writeValueAsString(sequencial), objectMapper.writeValueAsString(paralelo));
+    }
+}
@@ -0,0 +1,96 @@
+package com.mponte.minhasfinancas.services.serializacao;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mponte.minhasfinancas.model.dtos.PaginaDTO;
+import com.mponte.minhasfinancas.model.enums.StatusLancamento;
+import com.mponte.minhasfinancas.model.enums.TipoLancamento;
+import com.mponte.minhasfinancas.model.projections.LancamentoResumo;
+import com.mponte.minhasfinancas.services.exceptions.RegraNegocioException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class ProjecaoLancamentosTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    public void deveEscreverTodosOsCamposComoOJacksonQuandoNaoHouverSelecao() throws IOException {
+        //cenario
+        PaginaDTO<LancamentoResumo> pagina = new PaginaDTO<>(List.of(criarLancamento(1L), criarLancamento(2L)), "proximo");
+        ObjectMapper comDatasIso = objectMapper.copy()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        //acao
+        String json = escrever(ProjecaoLancamentos.de(null, null), pagina);
+
+        //verificacao
+        assertEquals(comDatasIso.readTree(comDatasIso.writeValueAsString(pagina)), objectMapper.readTree(json));
+    }
+
+    @Test
+    public void deveEscreverSomenteOsCamposSelecionados() throws IOException {
+        //cenario
+        PaginaDTO<LancamentoResumo> pagina = new PaginaDTO<>(List.of(criarLancamento(1L)), null);
+
+        //acao
+        String json = escrever(ProjecaoLancamentos.de("id, valor,id", "linhas"), pagina);
+
+        //verificacao
+        assertEquals("{\"itens\":[{\"id\":1,\"valor\":10}],\"proximoCursor\":null}", json);
+    }
+
+    @Test
+    public void deveEscreverEmColunas() throws IOException {
+        //cenario
+        PaginaDTO<LancamentoResumo> pagina = new PaginaDTO<>(List.of(criarLancamento(1L), criarLancamento(2L)), "proximo");
+
+        //acao
+        String json = escrever(ProjecaoLancamentos.de("id,status", "colunas"), pagina);
+
+        //verificacao
+        assertEquals("{\"quantidade\":2,\"colunas\":{\"id\":[1,2],\"status\":[\"PENDENTE\",\"PENDENTE\"]},"
+                + "\"proximoCursor\":\"proximo\"}", json);
+    }
+
+    @Test
+    public void deveLancarErroQuandoOCampoOuOFormatoForemInvalidos(){
+        //acao e verificacao
+        assertThrows(RegraNegocioException.class, () -> ProjecaoLancamentos.de("id,email", null));
+        assertThrows(RegraNegocioException.class, () -> ProjecaoLancamentos.de("id", "tabela"));
+    }
+
+    private String escrever(ProjecaoLancamentos projecao, PaginaDTO<LancamentoResumo> pagina) throws IOException {
+        StringWriter saida = new StringWriter();
+        try (JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+            projecao.escreverPagina(gerador, pagina);
+        }
+        return saida.toString();
+    }
+
+    private LancamentoResumo criarLancamento(Long id) {
+        return LancamentoResumo.builder()
+                .id(id)
+                .descricao("descricao")
+                .mes(1)
+                .ano(2021)
+                .usuario(1L)
+                .valor(BigDecimal.TEN)
+                .dataCadastro(LocalDate.of(2021, 1, 5))
+                .tipo(TipoLancamento.DESPESA)
+                .status(StatusLancamento.PENDENTE)
+                .build();
+    }
+}
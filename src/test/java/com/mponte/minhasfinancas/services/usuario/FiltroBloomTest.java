@@ -0,0 +1,48 @@
+package com.mponte.minhasfinancas.services.usuario;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class FiltroBloomTest {
+
+    @Test
+    public void deveReconhecerTodosOsValoresAdicionados(){
+        //cenario
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+
+        //acao
+        IntStream.range(0, 10_000).forEach(i -> filtro.adicionar("usuario" + i + "@email.com"));
+
+        //verificacao
+        assertTrue(IntStream.range(0, 10_000).allMatch(i -> filtro.podeConter("usuario" + i + "@email.com")));
+    }
+
+    @Test
+    public void deveManterATaxaDeFalsosPositivosProximaDaConfigurada(){
+        //cenario
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filtro.adicionar("usuario" + i + "@email.com"));
+
+        //acao
+        long falsosPositivos = IntStream.range(0, 100_000)
+                .filter(i -> filtro.podeConter("outro" + i + "@email.com"))
+                .count();
+
+        //verificacao
+        assertTrue(falsosPositivos < 2_000, "falsos positivos: " + falsosPositivos);
+    }
+
+    @Test
+    public void deveRecusarParametrosInvalidos(){
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(10, 1));
+    }
+}